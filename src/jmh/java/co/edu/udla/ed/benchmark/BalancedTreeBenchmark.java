@@ -0,0 +1,217 @@
+package co.edu.udla.ed.benchmark;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import co.edu.udla.ed.impl.scratch.LinkedAVLTree;
+import co.edu.udla.ed.impl.scratch.RedBlackTree;
+
+/**
+ * Insert, remove, and lookup throughput of {@link RedBlackTree} and
+ * {@link LinkedAVLTree}, with the rotations each one performs.
+ *
+ * <p>
+ * The tree always holds {@code keyCount} keys from a sliding window over a
+ * key sequence: {@code update} inserts the next key and removes the oldest
+ * one, so the size stays fixed while every call rebalances. With
+ * {@code SEQUENTIAL} keys the sequence is ascending, which always inserts at
+ * the right edge and removes at the left edge; with {@code RANDOM} keys it is
+ * a scrambled permutation of the integers. {@code lookup} searches random keys
+ * of the current window, and {@code mixed} does three lookups for every
+ * update.
+ * </p>
+ *
+ * <p>
+ * Besides ops/s, JMH reports the {@code rotations} and {@code updates}
+ * secondary counters; {@code rotations / updates} is the average number of
+ * rotations per insertion-and-removal pair.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class BalancedTreeBenchmark {
+
+  private static final int LOOKUPS_PER_UPDATE = 3;
+
+  /**
+   * The balanced tree under test, behind the few operations the benchmark
+   * needs, since the two trees implement different tree interfaces.
+   */
+  public enum Tree {
+    RED_BLACK {
+      @Override
+      OrderedSet create() {
+        RedBlackTree<Integer> tree = new RedBlackTree<>();
+        return new OrderedSet() {
+          @Override
+          public void insert(Integer key) {
+            tree.insert(key);
+          }
+
+          @Override
+          public boolean remove(Integer key) {
+            return tree.remove(key);
+          }
+
+          @Override
+          public boolean contains(Integer key) {
+            return tree.contains(key);
+          }
+
+          @Override
+          public long rotationCount() {
+            return tree.rotationCount();
+          }
+        };
+      }
+    },
+    AVL {
+      @Override
+      OrderedSet create() {
+        LinkedAVLTree<Integer> tree = new LinkedAVLTree<>();
+        return new OrderedSet() {
+          @Override
+          public void insert(Integer key) {
+            tree.insert(key);
+          }
+
+          @Override
+          public boolean remove(Integer key) {
+            return tree.remove(key);
+          }
+
+          @Override
+          public boolean contains(Integer key) {
+            return tree.contains(key);
+          }
+
+          @Override
+          public long rotationCount() {
+            return tree.rotationCount();
+          }
+        };
+      }
+    };
+
+    abstract OrderedSet create();
+  }
+
+  /**
+   * Order of the key sequence the window slides over.
+   */
+  public enum KeyOrder {
+    SEQUENTIAL,
+    RANDOM
+  }
+
+  interface OrderedSet {
+    void insert(Integer key);
+
+    boolean remove(Integer key);
+
+    boolean contains(Integer key);
+
+    long rotationCount();
+  }
+
+  /**
+   * Rotation and update counts of one measurement iteration, reported by JMH
+   * next to the primary score.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class RotationCounters {
+    public long rotations;
+    public long updates;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      rotations = 0;
+      updates = 0;
+    }
+  }
+
+  @Param({"RED_BLACK", "AVL"})
+  public Tree tree;
+
+  @Param({"SEQUENTIAL", "RANDOM"})
+  public KeyOrder keyOrder;
+
+  @Param({"100000", "1000000"})
+  public int keyCount;
+
+  private OrderedSet set;
+  private SplittableRandom random;
+  private int next;
+  private int lookupCountdown;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    set = tree.create();
+    random = new SplittableRandom(24L);
+    for (next = 0; next < keyCount; next++) {
+      set.insert(key(next));
+    }
+  }
+
+  @Benchmark
+  public boolean update(RotationCounters counters) {
+    return slideWindow(counters);
+  }
+
+  @Benchmark
+  public boolean lookup() {
+    return set.contains(key(next - 1 - random.nextInt(keyCount)));
+  }
+
+  @Benchmark
+  public boolean mixed(RotationCounters counters) {
+    if (lookupCountdown == 0) {
+      lookupCountdown = LOOKUPS_PER_UPDATE;
+      return slideWindow(counters);
+    }
+    lookupCountdown--;
+    return set.contains(key(next - 1 - random.nextInt(keyCount)));
+  }
+
+  /**
+   * Inserts the next key of the sequence and removes the oldest one in the
+   * window.
+   */
+  private boolean slideWindow(RotationCounters counters) {
+    long before = set.rotationCount();
+    set.insert(key(next));
+    boolean removed = set.remove(key(next - keyCount));
+    next++;
+    counters.rotations += set.rotationCount() - before;
+    counters.updates++;
+    return removed;
+  }
+
+  /**
+   * Returns the {@code index}-th key of the sequence. Multiplying by an odd
+   * constant is a bijection on {@code int}, so random keys never repeat.
+   */
+  private Integer key(int index) {
+    return keyOrder == KeyOrder.SEQUENTIAL ? index : index * 0x9E3779B1;
+  }
+
+}
@@ -0,0 +1,82 @@
+package co.edu.udla.ed.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import co.edu.udla.ed.impl.scratch.SeparateChainingHashTable;
+import co.edu.udla.ed.impl.scratch.SeparateChainingHashTable.IndexingMode;
+import co.edu.udla.ed.impl.scratch.SeparateChainingHashTable.ResizeMode;
+
+/**
+ * Lookup throughput of {@link SeparateChainingHashTable} under both
+ * {@link IndexingMode} settings, with realistic unscrambled keys.
+ *
+ * <p>
+ * Two effects show up in the scores. With well-spread keys, the difference
+ * between {@code MODULO} and {@code POWER_OF_TWO} is the cost of the integer
+ * division against the mask plus the mixing step. With
+ * {@link RealisticKeySet#STRIDED_INTEGERS}, {@code MODULO} piles the keys into
+ * a few long chains (tree bins, eventually), while the mixed hash keeps them
+ * spread. {@link BucketOccupancyReport} prints the matching chain-length
+ * histograms.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BucketIndexingBenchmark {
+
+  private static final int TRACE_LENGTH = 1 << 16;
+  private static final long TRACE_SEED = 42L;
+
+  @Param({"MODULO", "POWER_OF_TWO"})
+  public IndexingMode indexingMode;
+
+  @Param({"STRING_IDS", "SEQUENTIAL_INTEGERS", "STRIDED_INTEGERS"})
+  public RealisticKeySet keySet;
+
+  @Param({"10000", "1000000"})
+  public int keyCount;
+
+  private Object[] trace;
+  private int cursor;
+  private SeparateChainingHashTable<Object, Integer> table;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    Object[] keys = keySet.keys(keyCount);
+    table = new SeparateChainingHashTable<>(16, 0.75, ResizeMode.ALL_AT_ONCE, indexingMode);
+    for (int i = 0; i < keys.length; i++) {
+      table.put(keys[i], i);
+    }
+
+    int[] indices = KeyDistribution.UNIFORM.trace(keyCount, TRACE_LENGTH, TRACE_SEED);
+    trace = new Object[TRACE_LENGTH];
+    for (int i = 0; i < TRACE_LENGTH; i++) {
+      trace[i] = keys[indices[i]];
+    }
+  }
+
+  @Benchmark
+  public Integer get() {
+    Object key = trace[cursor];
+    cursor = (cursor + 1) & (TRACE_LENGTH - 1);
+    return table.get(key);
+  }
+
+}
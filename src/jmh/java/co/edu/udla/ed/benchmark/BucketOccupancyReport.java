@@ -0,0 +1,57 @@
+package co.edu.udla.ed.benchmark;
+
+import co.edu.udla.ed.impl.scratch.SeparateChainingHashTable;
+import co.edu.udla.ed.impl.scratch.SeparateChainingHashTable.IndexingMode;
+import co.edu.udla.ed.impl.scratch.SeparateChainingHashTable.ResizeMode;
+
+/**
+ * Prints bucket-occupancy histograms of {@link SeparateChainingHashTable} for
+ * every {@link RealisticKeySet} under both {@link IndexingMode} settings.
+ *
+ * <p>
+ * Each row lists how many buckets hold {@code 0, 1, 2, ...} entries. With a
+ * good spread at load factor {@code 0.75} the counts follow a Poisson
+ * distribution: roughly 47% empty buckets, 35% with one entry, and almost
+ * nothing beyond four. The program only needs the compiled classes and takes
+ * an optional key count (default {@code 100000}):
+ * </p>
+ *
+ * <pre>
+ * mvn -Pjmh compile
+ * java -cp target/classes co.edu.udla.ed.benchmark.BucketOccupancyReport 100000
+ * </pre>
+ */
+public final class BucketOccupancyReport {
+
+  private static final int DEFAULT_KEY_COUNT = 100_000;
+
+  private BucketOccupancyReport() {
+  }
+
+  public static void main(String[] args) {
+    int keyCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_KEY_COUNT;
+    for (RealisticKeySet keySet : RealisticKeySet.values()) {
+      Object[] keys = keySet.keys(keyCount);
+      for (IndexingMode mode : IndexingMode.values()) {
+        SeparateChainingHashTable<Object, Integer> table =
+            new SeparateChainingHashTable<>(16, 0.75, ResizeMode.ALL_AT_ONCE, mode);
+        for (int i = 0; i < keys.length; i++) {
+          table.put(keys[i], i);
+        }
+        System.out.printf("%-20s %-13s %s%n", keySet, mode, describe(table.chainLengthHistogram()));
+      }
+    }
+  }
+
+  /**
+   * Formats the first few histogram cells and the longest chain.
+   */
+  private static String describe(int[] histogram) {
+    StringBuilder row = new StringBuilder();
+    for (int length = 0; length < Math.min(histogram.length, 6); length++) {
+      row.append(String.format("%d:%-8d", length, histogram[length]));
+    }
+    return row.append(" longest=").append(histogram.length - 1).toString();
+  }
+
+}
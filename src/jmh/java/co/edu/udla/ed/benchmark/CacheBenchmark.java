@@ -0,0 +1,101 @@
+package co.edu.udla.ed.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import co.edu.udla.ed.impl.scratch.BoundedCacheHashTable;
+import co.edu.udla.ed.impl.scratch.BoundedCacheHashTable.EvictionPolicy;
+
+/**
+ * Throughput and hit ratio of {@link BoundedCacheHashTable} on a Zipfian
+ * request trace.
+ *
+ * <p>
+ * Each call looks a key up and, on a miss, stores it, which is the usual
+ * read-through pattern. Besides ops/s, JMH reports the {@code hits} and
+ * {@code misses} secondary counters; the hit ratio is
+ * {@code hits / (hits + misses)}. The key universe is larger than every
+ * {@code cacheSize}, so the policies differ in which keys they keep.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheBenchmark {
+
+  private static final int TRACE_LENGTH = 1 << 20;
+  private static final long TRACE_SEED = 42L;
+  private static final Integer VALUE = 7;
+
+  /**
+   * Hit and miss counts of one measurement iteration, reported by JMH next to
+   * the primary score.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class HitCounters {
+    public long hits;
+    public long misses;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      hits = 0;
+      misses = 0;
+    }
+  }
+
+  @Param({"LRU", "TINY_LFU"})
+  public EvictionPolicy policy;
+
+  @Param({"1000", "10000"})
+  public int cacheSize;
+
+  @Param({"100000"})
+  public int keyCount;
+
+  private Object[] trace;
+  private int cursor;
+  private BoundedCacheHashTable<Object, Integer> cache;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    Object[] keys = KeyDistribution.ZIPFIAN.keys(keyCount);
+    int[] indices = KeyDistribution.ZIPFIAN.trace(keyCount, TRACE_LENGTH, TRACE_SEED);
+    trace = new Object[TRACE_LENGTH];
+    for (int i = 0; i < TRACE_LENGTH; i++) {
+      trace[i] = keys[indices[i]];
+    }
+    cache = new BoundedCacheHashTable<>(cacheSize, policy);
+  }
+
+  @Benchmark
+  public Integer getOrLoad(HitCounters counters) {
+    Object key = trace[cursor];
+    cursor = (cursor + 1) & (TRACE_LENGTH - 1);
+    Integer value = cache.get(key);
+    if (value != null) {
+      counters.hits++;
+      return value;
+    }
+    counters.misses++;
+    cache.put(key, VALUE);
+    return VALUE;
+  }
+
+}
@@ -0,0 +1,179 @@
+package co.edu.udla.ed.benchmark;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import co.edu.udla.ed.api.HashTable;
+import co.edu.udla.ed.impl.scratch.CopyOnWriteHashTable;
+import co.edu.udla.ed.impl.scratch.LockStripedHashTable;
+import co.edu.udla.ed.impl.scratch.SeparateChainingHashTable;
+
+/**
+ * Multi-threaded throughput of a shared hash table under a read-mostly mix.
+ *
+ * <p>
+ * Every thread works on the same table: {@code writePercent} percent of the
+ * calls are {@code put} on an existing key and the rest are {@code get}. The
+ * baseline guards a {@link SeparateChainingHashTable} with one monitor, which
+ * is what a caller without a concurrent table would write. Run the class with
+ * {@code -t 1}, {@code -t 2}, {@code -t 4}, and so on up to {@code -t max}
+ * to see how total throughput scales with the thread count.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentHashTableBenchmark {
+
+  private static final int TRACE_LENGTH = 1 << 16;
+  private static final Integer VALUE = 7;
+
+  /**
+   * Concurrent table variants under comparison.
+   */
+  public enum Implementation {
+    LOCK_STRIPED {
+      @Override
+      HashTable<Object, Integer> create() {
+        return new LockStripedHashTable<>();
+      }
+    },
+    GLOBAL_LOCK {
+      @Override
+      HashTable<Object, Integer> create() {
+        return new SynchronizedHashTable<>(new SeparateChainingHashTable<>());
+      }
+    },
+    COPY_ON_WRITE {
+      @Override
+      HashTable<Object, Integer> create() {
+        return new CopyOnWriteHashTable<>();
+      }
+    };
+
+    abstract HashTable<Object, Integer> create();
+  }
+
+  /**
+   * Per-thread position in the shared key trace. Each thread starts at a
+   * different seed so the threads do not walk the same keys in lockstep.
+   */
+  @State(Scope.Thread)
+  public static class ThreadCursor {
+    private static final AtomicLong SEEDS = new AtomicLong(42L);
+
+    int cursor;
+    SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+      random = new SplittableRandom(SEEDS.getAndIncrement());
+      cursor = random.nextInt(TRACE_LENGTH);
+    }
+  }
+
+  @Param({"LOCK_STRIPED", "GLOBAL_LOCK"})
+  public Implementation implementation;
+
+  @Param({"100000"})
+  public int keyCount;
+
+  @Param({"10"})
+  public int writePercent;
+
+  private Object[] keys;
+  private int[] trace;
+  private HashTable<Object, Integer> table;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    keys = KeyDistribution.UNIFORM.keys(keyCount);
+    table = implementation.create();
+    for (Object key : keys) {
+      table.put(key, VALUE);
+    }
+    trace = KeyDistribution.UNIFORM.trace(keyCount, TRACE_LENGTH, 7L);
+  }
+
+  @Benchmark
+  public Integer mixed(ThreadCursor thread) {
+    Object key = keys[trace[thread.cursor]];
+    thread.cursor = (thread.cursor + 1) & (TRACE_LENGTH - 1);
+    if (thread.random.nextInt(100) < writePercent) {
+      return table.put(key, VALUE);
+    }
+    return table.get(key);
+  }
+
+  /**
+   * Coarse-grained baseline: every operation holds the same monitor.
+   */
+  private static final class SynchronizedHashTable<K, V> implements HashTable<K, V> {
+    private final HashTable<K, V> delegate;
+
+    SynchronizedHashTable(HashTable<K, V> delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public synchronized V put(K key, V value) {
+      return delegate.put(key, value);
+    }
+
+    @Override
+    public synchronized V get(K key) {
+      return delegate.get(key);
+    }
+
+    @Override
+    public synchronized V remove(K key) {
+      return delegate.remove(key);
+    }
+
+    @Override
+    public synchronized boolean containsKey(K key) {
+      return delegate.containsKey(key);
+    }
+
+    @Override
+    public synchronized int size() {
+      return delegate.size();
+    }
+
+    @Override
+    public synchronized void clear() {
+      delegate.clear();
+    }
+
+    @Override
+    public synchronized Iterator<Map.Entry<K, V>> iterator() {
+      List<Map.Entry<K, V>> snapshot = new ArrayList<>();
+      for (Map.Entry<K, V> entry : delegate) {
+        snapshot.add(entry);
+      }
+      return snapshot.iterator();
+    }
+  }
+
+}
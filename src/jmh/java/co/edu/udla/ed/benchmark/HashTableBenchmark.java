@@ -0,0 +1,134 @@
+package co.edu.udla.ed.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import co.edu.udla.ed.api.HashTable;
+
+/**
+ * Throughput of {@code put}, {@code get}, and {@code remove} across every
+ * {@link HashTable} implementation.
+ *
+ * <p>
+ * Each trial fills a table with {@code keyCount} keys and then replays a
+ * precomputed access trace, so the measured loop does no random-number
+ * generation and no key allocation. Run with {@code -prof gc} (the default
+ * {@code jmh.args} of the {@code jmh} Maven profile) to get
+ * {@code gc.alloc.rate.norm}, the bytes allocated per operation.
+ * </p>
+ *
+ * <p>
+ * {@code loadFactor} only affects implementations that expose it; the others
+ * report the same numbers for every value. Combinations whose population step
+ * is quadratic (the {@code linear} table, or all-colliding keys) are rejected
+ * above {@link #QUADRATIC_KEY_LIMIT} keys so a full matrix run still finishes.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HashTableBenchmark {
+
+  static final int QUADRATIC_KEY_LIMIT = 10_000;
+
+  private static final int TRACE_LENGTH = 1 << 16;
+  private static final long TRACE_SEED = 42L;
+  private static final Integer VALUE = 7;
+
+  @Param({"SCRATCH", "SCRATCH_INCREMENTAL", "SCRATCH_POWER_OF_TWO", "ROBIN_HOOD", "CUCKOO", "LINEAR",
+      "LINEAR_ADAPTIVE", "COLLECTIONS"})
+  public HashTableKind implementation;
+
+  @Param({"1000", "10000", "100000", "1000000", "10000000"})
+  public int keyCount;
+
+  @Param({"UNIFORM", "ZIPFIAN", "COLLIDING"})
+  public KeyDistribution distribution;
+
+  @Param({"0.5", "0.75", "1.0"})
+  public double loadFactor;
+
+  private Object[] keys;
+  private Object[] trace;
+  private int cursor;
+  private HashTable<Object, Integer> table;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    boolean quadratic = implementation.isLinearScan() || distribution.isAllColliding();
+    if (quadratic && keyCount > QUADRATIC_KEY_LIMIT) {
+      throw new IllegalStateException("Skipping " + implementation + "/" + distribution
+          + ": populating " + keyCount + " keys is quadratic.");
+    }
+
+    keys = distribution.keys(keyCount);
+    int[] indices = distribution.trace(keyCount, TRACE_LENGTH, TRACE_SEED);
+    trace = new Object[TRACE_LENGTH];
+    for (int i = 0; i < TRACE_LENGTH; i++) {
+      trace[i] = keys[indices[i]];
+    }
+    table = fill();
+  }
+
+  @Benchmark
+  public Integer get() {
+    return table.get(nextKey());
+  }
+
+  @Benchmark
+  public Integer putExisting() {
+    return table.put(nextKey(), VALUE);
+  }
+
+  /**
+   * Removes a key and inserts it again, so the table size stays constant while
+   * both the unlink and the insert-new-entry paths are exercised.
+   */
+  @Benchmark
+  public Integer removeAndPut() {
+    Object key = nextKey();
+    Integer removed = table.remove(key);
+    table.put(key, VALUE);
+    return removed;
+  }
+
+  /**
+   * Builds a table from empty, including every resize along the way.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public HashTable<Object, Integer> populate() {
+    return fill();
+  }
+
+  private HashTable<Object, Integer> fill() {
+    HashTable<Object, Integer> fresh = implementation.create(loadFactor);
+    for (Object key : keys) {
+      fresh.put(key, VALUE);
+    }
+    return fresh;
+  }
+
+  private Object nextKey() {
+    Object key = trace[cursor];
+    cursor = (cursor + 1) & (TRACE_LENGTH - 1);
+    return key;
+  }
+
+}
@@ -0,0 +1,114 @@
+package co.edu.udla.ed.benchmark;
+
+import co.edu.udla.ed.api.HashTable;
+import co.edu.udla.ed.impl.collections.CollectionsHashTable;
+import co.edu.udla.ed.impl.linear.LinearHashTable;
+import co.edu.udla.ed.impl.scratch.BloomFilteredHashTable;
+import co.edu.udla.ed.impl.scratch.CuckooHashTable;
+import co.edu.udla.ed.impl.scratch.RobinHoodHashTable;
+import co.edu.udla.ed.impl.scratch.SeparateChainingHashTable;
+
+/**
+ * Hash-table implementations that the benchmarks can instantiate by name.
+ *
+ * <p>
+ * JMH passes enum constants through {@code @Param}, so adding a new
+ * {@link HashTable} implementation to the benchmark matrix only requires a new
+ * constant here. Implementations that do not expose a load-factor setting
+ * ignore the {@code loadFactor} argument; open-addressing tables cap it below
+ * {@code 1} because they need a free slot to end every probe sequence.
+ * </p>
+ */
+public enum HashTableKind {
+
+  SCRATCH(false) {
+    @Override
+    <K, V> HashTable<K, V> create(double loadFactor) {
+      return new SeparateChainingHashTable<>(16, loadFactor);
+    }
+  },
+
+  SCRATCH_INCREMENTAL(false) {
+    @Override
+    <K, V> HashTable<K, V> create(double loadFactor) {
+      return new SeparateChainingHashTable<>(16, loadFactor, SeparateChainingHashTable.ResizeMode.INCREMENTAL);
+    }
+  },
+
+  SCRATCH_POWER_OF_TWO(false) {
+    @Override
+    <K, V> HashTable<K, V> create(double loadFactor) {
+      return new SeparateChainingHashTable<>(16, loadFactor, SeparateChainingHashTable.ResizeMode.ALL_AT_ONCE,
+          SeparateChainingHashTable.IndexingMode.POWER_OF_TWO);
+    }
+  },
+
+  SCRATCH_BLOOM(false) {
+    @Override
+    <K, V> HashTable<K, V> create(double loadFactor) {
+      return new BloomFilteredHashTable<>(new SeparateChainingHashTable<>(16, loadFactor));
+    }
+  },
+
+  ROBIN_HOOD(false) {
+    @Override
+    <K, V> HashTable<K, V> create(double loadFactor) {
+      return new RobinHoodHashTable<>(16, Math.min(loadFactor, 0.9));
+    }
+  },
+
+  CUCKOO(false) {
+    @Override
+    <K, V> HashTable<K, V> create(double loadFactor) {
+      return new CuckooHashTable<>(16, Math.min(loadFactor, 0.9));
+    }
+  },
+
+  LINEAR(true) {
+    @Override
+    <K, V> HashTable<K, V> create(double loadFactor) {
+      return new LinearHashTable<>();
+    }
+  },
+
+  LINEAR_ADAPTIVE(false) {
+    @Override
+    <K, V> HashTable<K, V> create(double loadFactor) {
+      return new LinearHashTable<>(LinearHashTable.LookupMode.ADAPTIVE);
+    }
+  },
+
+  COLLECTIONS(false) {
+    @Override
+    <K, V> HashTable<K, V> create(double loadFactor) {
+      return new CollectionsHashTable<>();
+    }
+  };
+
+  private final boolean linearScan;
+
+  HashTableKind(boolean linearScan) {
+    this.linearScan = linearScan;
+  }
+
+  /**
+   * Creates an empty table of this kind.
+   *
+   * @param loadFactor the resize threshold for implementations that support one
+   * @param <K> the key type
+   * @param <V> the value type
+   * @return a new empty table
+   */
+  abstract <K, V> HashTable<K, V> create(double loadFactor);
+
+  /**
+   * Reports whether every key lookup scans all stored entries, which makes
+   * populating the table quadratic in the number of keys.
+   *
+   * @return {@code true} for scan-based implementations
+   */
+  boolean isLinearScan() {
+    return linearScan;
+  }
+
+}
@@ -0,0 +1,180 @@
+package co.edu.udla.ed.benchmark;
+
+import java.util.SplittableRandom;
+
+/**
+ * Key populations and access patterns used by the hash-table benchmarks.
+ *
+ * <p>
+ * Each distribution produces two things: the distinct keys stored in the table
+ * and a trace of key indices that a benchmark replays in a loop.
+ * </p>
+ *
+ * <ul>
+ * <li>{@link #UNIFORM}: scrambled {@code Integer} keys, every key equally
+ * likely to be accessed.</li>
+ * <li>{@link #ZIPFIAN}: the same keys, but accesses follow a Zipf law so a few
+ * hot keys dominate the trace.</li>
+ * <li>{@link #COLLIDING}: keys whose {@code hashCode()} is always {@code 1},
+ * mirroring the forced-collision key of the guided exercises.</li>
+ * </ul>
+ */
+public enum KeyDistribution {
+
+  UNIFORM {
+    @Override
+    Object[] keys(int count) {
+      return scrambledIntegers(count);
+    }
+
+    @Override
+    int[] trace(int keyCount, int length, long seed) {
+      return uniformTrace(keyCount, length, seed);
+    }
+  },
+
+  ZIPFIAN {
+    @Override
+    Object[] keys(int count) {
+      return scrambledIntegers(count);
+    }
+
+    @Override
+    int[] trace(int keyCount, int length, long seed) {
+      ZipfianSampler sampler = new ZipfianSampler(keyCount, ZipfianSampler.DEFAULT_SKEW);
+      SplittableRandom random = new SplittableRandom(seed);
+      int[] trace = new int[length];
+      for (int i = 0; i < length; i++) {
+        trace[i] = sampler.next(random);
+      }
+      return trace;
+    }
+  },
+
+  COLLIDING(true) {
+    @Override
+    Object[] keys(int count) {
+      Object[] keys = new Object[count];
+      for (int i = 0; i < count; i++) {
+        keys[i] = new CollidingKey(i);
+      }
+      return keys;
+    }
+
+    @Override
+    int[] trace(int keyCount, int length, long seed) {
+      return uniformTrace(keyCount, length, seed);
+    }
+  };
+
+  private final boolean allCollide;
+
+  KeyDistribution() {
+    this(false);
+  }
+
+  KeyDistribution(boolean allCollide) {
+    this.allCollide = allCollide;
+  }
+
+  /**
+   * Builds {@code count} distinct keys.
+   *
+   * @param count the number of keys
+   * @return the keys, indexed from {@code 0} to {@code count - 1}
+   */
+  abstract Object[] keys(int count);
+
+  /**
+   * Builds an access trace of key indices.
+   *
+   * @param keyCount the number of distinct keys the indices refer to
+   * @param length the number of accesses in the trace
+   * @param seed the random seed, so every fork replays the same trace
+   * @return indices in the range {@code [0, keyCount)}
+   */
+  abstract int[] trace(int keyCount, int length, long seed);
+
+  /**
+   * Reports whether every key lands in the same bucket.
+   *
+   * @return {@code true} when the distribution defeats hashing entirely
+   */
+  boolean isAllColliding() {
+    return allCollide;
+  }
+
+  /**
+   * Produces distinct {@code Integer} keys whose low bits look random.
+   *
+   * <p>
+   * Sequential integers would fill a modulo-indexed table perfectly, which is
+   * not representative of real identifiers. The murmur3 finalizer is a
+   * bijection on {@code int}, so scrambling {@code 0..count-1} keeps the keys
+   * distinct without a deduplication pass.
+   * </p>
+   */
+  private static Object[] scrambledIntegers(int count) {
+    Object[] keys = new Object[count];
+    for (int i = 0; i < count; i++) {
+      keys[i] = fmix32(i);
+    }
+    return keys;
+  }
+
+  private static int[] uniformTrace(int keyCount, int length, long seed) {
+    SplittableRandom random = new SplittableRandom(seed);
+    int[] trace = new int[length];
+    for (int i = 0; i < length; i++) {
+      trace[i] = random.nextInt(keyCount);
+    }
+    return trace;
+  }
+
+  private static int fmix32(int h) {
+    h ^= h >>> 16;
+    h *= 0x85ebca6b;
+    h ^= h >>> 13;
+    h *= 0xc2b2ae35;
+    h ^= h >>> 16;
+    return h;
+  }
+
+  /**
+   * Key with a constant hash code and identity given by an integer id.
+   *
+   * <p>
+   * It deliberately does not implement {@link Comparable}, so tree-based
+   * collision fallbacks cannot order it.
+   * </p>
+   */
+  static final class CollidingKey {
+    private final int id;
+
+    CollidingKey(int id) {
+      this.id = id;
+    }
+
+    @Override
+    public int hashCode() {
+      return 1;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof CollidingKey other)) {
+        return false;
+      }
+      return id == other.id;
+    }
+
+    @Override
+    public String toString() {
+      return "K" + id;
+    }
+  }
+
+}
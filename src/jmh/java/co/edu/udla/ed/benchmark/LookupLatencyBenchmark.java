@@ -0,0 +1,96 @@
+package co.edu.udla.ed.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import co.edu.udla.ed.api.HashTable;
+
+/**
+ * Latency distribution of {@code get} for the hashed {@link HashTable}
+ * implementations.
+ *
+ * <p>
+ * {@link HashTableBenchmark} reports mean throughput, which hides the slow
+ * lookups that land on a long chain or probe run. This benchmark samples the
+ * time of individual calls instead, and JMH prints the {@code p0.50},
+ * {@code p0.90}, {@code p0.99}, {@code p0.999}, {@code p0.9999}, and
+ * {@code p1.00} percentiles for each configuration. A call takes a few tens of
+ * nanoseconds, close to the timer resolution, so compare the tail percentiles
+ * rather than the median.
+ * </p>
+ *
+ * <p>
+ * {@code hitRatio} is the fraction of lookups for a stored key. Misses are the
+ * worst case for chaining and probing, which must reach the end of a chain or
+ * probe run, while a cuckoo table always stops after two buckets and the stash.
+ * {@code SCRATCH_BLOOM} puts a Bloom filter in front of the chaining table, so
+ * most misses end after a few bit tests; compare it with {@code SCRATCH} at a
+ * low {@code hitRatio}.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LookupLatencyBenchmark {
+
+  private static final int TRACE_LENGTH = 1 << 16;
+  private static final long TRACE_SEED = 42L;
+  private static final Integer VALUE = 7;
+
+  @Param({"SCRATCH", "SCRATCH_BLOOM", "SCRATCH_POWER_OF_TWO", "ROBIN_HOOD", "CUCKOO", "COLLECTIONS"})
+  public HashTableKind implementation;
+
+  @Param({"100000", "1000000"})
+  public int keyCount;
+
+  @Param({"UNIFORM", "ZIPFIAN"})
+  public KeyDistribution distribution;
+
+  @Param({"1.0", "0.5", "0.1"})
+  public double hitRatio;
+
+  private Object[] trace;
+  private int cursor;
+  private HashTable<Object, Integer> table;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    Object[] keys = distribution.keys(keyCount * 2);
+    table = implementation.create(0.75);
+    for (int i = 0; i < keyCount; i++) {
+      table.put(keys[i], VALUE);
+    }
+
+    int[] indices = distribution.trace(keyCount, TRACE_LENGTH, TRACE_SEED);
+    int misses = (int) Math.round(TRACE_LENGTH * (1.0 - hitRatio));
+    trace = new Object[TRACE_LENGTH];
+    for (int i = 0; i < TRACE_LENGTH; i++) {
+      // Spread the misses evenly; the second half of the keys was never stored.
+      boolean miss = (long) i * misses / TRACE_LENGTH != (long) (i + 1) * misses / TRACE_LENGTH;
+      trace[i] = keys[miss ? keyCount + indices[i] : indices[i]];
+    }
+  }
+
+  @Benchmark
+  public Integer get() {
+    Object key = trace[cursor];
+    cursor = (cursor + 1) & (TRACE_LENGTH - 1);
+    return table.get(key);
+  }
+
+}
@@ -0,0 +1,125 @@
+package co.edu.udla.ed.benchmark;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.SplittableRandom;
+
+import co.edu.udla.ed.api.Codec;
+import co.edu.udla.ed.api.HashTable;
+import co.edu.udla.ed.impl.scratch.OffHeapHashTable;
+import co.edu.udla.ed.impl.scratch.SeparateChainingHashTable;
+
+/**
+ * Compares the heap footprint and garbage-collection cost of
+ * {@link SeparateChainingHashTable} and {@link OffHeapHashTable} holding the
+ * same {@code Long -> Long} entries.
+ *
+ * <p>
+ * For each table the program prints:
+ * </p>
+ *
+ * <ul>
+ * <li>the heap retained after filling it, measured after a full collection,
+ * and the native bytes reserved by the off-heap table;</li>
+ * <li>the number of collections and the total collection time during a churn
+ * phase that overwrites random keys, which is where a large on-heap table
+ * makes every old-generation collection trace millions of entries;</li>
+ * <li>the duration of an explicit full collection with the table still
+ * live.</li>
+ * </ul>
+ *
+ * <p>
+ * The numbers depend on the collector and heap settings, so pass the ones used
+ * in production. Running one table per JVM (the optional second argument,
+ * {@code ON_HEAP} or {@code OFF_HEAP}) keeps the two measurements independent:
+ * </p>
+ *
+ * <pre>
+ * mvn -Pjmh compile
+ * java -Xmx4g -cp target/classes co.edu.udla.ed.benchmark.OffHeapFootprintReport 5000000 ON_HEAP
+ * java -Xmx4g -cp target/classes co.edu.udla.ed.benchmark.OffHeapFootprintReport 5000000 OFF_HEAP
+ * </pre>
+ */
+public final class OffHeapFootprintReport {
+
+  private static final int DEFAULT_ENTRY_COUNT = 5_000_000;
+  private static final long SEED = 42L;
+
+  private enum Storage {
+    ON_HEAP,
+    OFF_HEAP
+  }
+
+  private OffHeapFootprintReport() {
+  }
+
+  public static void main(String[] args) {
+    int entryCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ENTRY_COUNT;
+    Storage[] storages = args.length > 1 ? new Storage[] {Storage.valueOf(args[1])} : Storage.values();
+
+    System.out.printf("%-9s %12s %14s %10s %12s %14s%n",
+        "storage", "heap MiB", "off-heap MiB", "churn GCs", "churn GC ms", "full GC ms");
+    for (Storage storage : storages) {
+      report(storage, entryCount);
+    }
+  }
+
+  private static void report(Storage storage, int entryCount) {
+    long baseline = usedHeapAfterGc();
+    HashTable<Long, Long> table = storage == Storage.ON_HEAP
+        ? new SeparateChainingHashTable<>()
+        : new OffHeapHashTable<>(Codec.int64(), Codec.int64());
+    for (long key = 0; key < entryCount; key++) {
+      table.put(key, key);
+    }
+    long retainedHeap = usedHeapAfterGc() - baseline;
+    long offHeap = table instanceof OffHeapHashTable<Long, Long> offHeapTable ? offHeapTable.offHeapBytes() : 0;
+
+    long collectionsBefore = collectionCount();
+    long timeBefore = collectionTimeMillis();
+    SplittableRandom random = new SplittableRandom(SEED);
+    for (int i = 0; i < entryCount; i++) {
+      long key = random.nextInt(entryCount);
+      table.put(key, key + i);
+    }
+    long churnCollections = collectionCount() - collectionsBefore;
+    long churnMillis = collectionTimeMillis() - timeBefore;
+
+    long start = System.nanoTime();
+    System.gc();
+    long fullGcMillis = (System.nanoTime() - start) / 1_000_000;
+
+    System.out.printf("%-9s %12.1f %14.1f %10d %12d %14d%n",
+        storage, mebibytes(retainedHeap), mebibytes(offHeap), churnCollections, churnMillis, fullGcMillis);
+
+    if (table instanceof OffHeapHashTable<Long, Long> offHeapTable) {
+      offHeapTable.close();
+    }
+  }
+
+  private static long usedHeapAfterGc() {
+    System.gc();
+    return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+  }
+
+  private static long collectionCount() {
+    long count = 0;
+    for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+      count += Math.max(collector.getCollectionCount(), 0);
+    }
+    return count;
+  }
+
+  private static long collectionTimeMillis() {
+    long time = 0;
+    for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+      time += Math.max(collector.getCollectionTime(), 0);
+    }
+    return time;
+  }
+
+  private static double mebibytes(long bytes) {
+    return bytes / (1024.0 * 1024.0);
+  }
+
+}
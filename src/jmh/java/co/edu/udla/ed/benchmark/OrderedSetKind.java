@@ -0,0 +1,116 @@
+package co.edu.udla.ed.benchmark;
+
+import java.util.Iterator;
+
+import co.edu.udla.ed.api.AVLTree;
+import co.edu.udla.ed.api.BinarySearchTree;
+import co.edu.udla.ed.impl.collections.CollectionsAVLTree;
+import co.edu.udla.ed.impl.scratch.BPlusTree;
+import co.edu.udla.ed.impl.scratch.LinkedAVLTree;
+
+/**
+ * Ordered-set implementations that the tree benchmarks can instantiate by
+ * name.
+ *
+ * <p>
+ * {@link BinarySearchTree} and {@link AVLTree} are separate interfaces, so
+ * every constant wraps its tree in an {@link OrderedSet} with the few
+ * operations the benchmarks need. Implementations without a fanout ignore the
+ * {@code fanout} argument.
+ * </p>
+ */
+public enum OrderedSetKind {
+
+  B_PLUS_TREE {
+    @Override
+    OrderedSet create(int fanout) {
+      return of(new BPlusTree<>(fanout));
+    }
+  },
+
+  LINKED_AVL {
+    @Override
+    OrderedSet create(int fanout) {
+      return of(new LinkedAVLTree<>());
+    }
+  },
+
+  COLLECTIONS_AVL {
+    @Override
+    OrderedSet create(int fanout) {
+      return of(new CollectionsAVLTree<>());
+    }
+  };
+
+  /**
+   * The operations of an ordered set of {@code Integer} keys used by the
+   * benchmarks.
+   */
+  interface OrderedSet {
+    void insert(Integer key);
+
+    boolean contains(Integer key);
+
+    Iterator<Integer> iteratorFrom(Integer key);
+
+    int height();
+  }
+
+  /**
+   * Creates an empty set of this kind.
+   *
+   * @param fanout the maximum number of children per node for implementations
+   *        that support one
+   * @return a new empty set
+   */
+  abstract OrderedSet create(int fanout);
+
+  private static OrderedSet of(BinarySearchTree<Integer> tree) {
+    return new OrderedSet() {
+      @Override
+      public void insert(Integer key) {
+        tree.insert(key);
+      }
+
+      @Override
+      public boolean contains(Integer key) {
+        return tree.contains(key);
+      }
+
+      @Override
+      public Iterator<Integer> iteratorFrom(Integer key) {
+        return tree.iteratorFrom(key);
+      }
+
+      @Override
+      public int height() {
+        return tree.height();
+      }
+    };
+  }
+
+  private static OrderedSet of(AVLTree<Integer> tree) {
+    return new OrderedSet() {
+      @Override
+      public void insert(Integer key) {
+        tree.insert(key);
+      }
+
+      @Override
+      public boolean contains(Integer key) {
+        return tree.contains(key);
+      }
+
+      @Override
+      public Iterator<Integer> iteratorFrom(Integer key) {
+        return tree.iteratorFrom(key);
+      }
+
+      @Override
+      public int height() {
+        return tree.height();
+      }
+    };
+  }
+
+}
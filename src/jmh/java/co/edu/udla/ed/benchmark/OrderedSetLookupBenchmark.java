@@ -0,0 +1,116 @@
+package co.edu.udla.ed.benchmark;
+
+import java.util.Iterator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import co.edu.udla.ed.impl.scratch.BPlusTree;
+
+/**
+ * Lookup latency and short range scans of {@link BPlusTree} against the binary
+ * trees, with up to ten million keys.
+ *
+ * <p>
+ * Once a tree outgrows the CPU caches, a lookup costs about one cache miss per
+ * node it visits. The binary trees visit about {@code log2(n)} nodes, while
+ * the B+ tree visits one node per level and searches its packed key array
+ * there. {@code contains} samples single lookups of stored keys in random
+ * order, so JMH prints latency percentiles; {@code scan} reads
+ * {@value #SCAN_LENGTH} consecutive values from a random starting key, which
+ * the B+ tree serves from a few leaf arrays.
+ * </p>
+ *
+ * <p>
+ * {@code fanout} only applies to {@code B_PLUS_TREE}. To compare fanouts
+ * without repeating the other trees, run that tree alone:
+ * </p>
+ *
+ * <pre>
+ * mvn -Pjmh compile exec:exec -Djmh.args="OrderedSetLookupBenchmark -p tree=B_PLUS_TREE -p fanout=16,64,256"
+ * </pre>
+ *
+ * <p>
+ * {@link TreeFootprintReport} prints the memory per key of the same trees.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class OrderedSetLookupBenchmark {
+
+  private static final int TRACE_LENGTH = 1 << 16;
+  private static final int SCAN_LENGTH = 100;
+  private static final long TRACE_SEED = 42L;
+
+  @Param({"B_PLUS_TREE", "LINKED_AVL", "COLLECTIONS_AVL"})
+  public OrderedSetKind tree;
+
+  @Param({"64"})
+  public int fanout;
+
+  @Param({"1000000", "10000000"})
+  public int keyCount;
+
+  private OrderedSetKind.OrderedSet set;
+  private Integer[] trace;
+  private int cursor;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    set = tree.create(fanout);
+    for (int i = 0; i < keyCount; i++) {
+      set.insert(key(i));
+    }
+
+    SplittableRandom random = new SplittableRandom(TRACE_SEED);
+    trace = new Integer[TRACE_LENGTH];
+    for (int i = 0; i < TRACE_LENGTH; i++) {
+      trace[i] = key(random.nextInt(keyCount));
+    }
+  }
+
+  @Benchmark
+  public boolean contains() {
+    Integer key = trace[cursor];
+    cursor = (cursor + 1) & (TRACE_LENGTH - 1);
+    return set.contains(key);
+  }
+
+  @Benchmark
+  public int scan() {
+    Integer key = trace[cursor];
+    cursor = (cursor + 1) & (TRACE_LENGTH - 1);
+    Iterator<Integer> iterator = set.iteratorFrom(key);
+    int sum = 0;
+    for (int i = 0; i < SCAN_LENGTH && iterator.hasNext(); i++) {
+      sum += iterator.next();
+    }
+    return sum;
+  }
+
+  /**
+   * Returns the {@code index}-th key. Multiplying by an odd constant is a
+   * bijection on {@code int}, so the keys are distinct and arrive in random
+   * order.
+   */
+  static Integer key(int index) {
+    return index * 0x9E3779B1;
+  }
+
+}
@@ -0,0 +1,114 @@
+package co.edu.udla.ed.benchmark;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import co.edu.udla.ed.impl.scratch.LinearProbingIntObjectHashTable;
+import co.edu.udla.ed.impl.scratch.LinearProbingLongLongHashTable;
+import co.edu.udla.ed.impl.scratch.SeparateChainingHashTable;
+
+/**
+ * Id-lookup throughput of the primitive-key tables against the boxed
+ * {@link SeparateChainingHashTable}.
+ *
+ * <p>
+ * Keys are generated as primitives in the measured loop, which is what an
+ * id-lookup hot path looks like. The boxed benchmarks therefore pay
+ * {@code Integer.valueOf}/{@code Long.valueOf} on every call for ids outside
+ * the small-integer cache; {@code -prof gc} shows that allocation as a non-zero
+ * {@code gc.alloc.rate.norm}, while the primitive tables report zero.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitiveHashTableBenchmark {
+
+  private static final int TRACE_LENGTH = 1 << 16;
+  private static final String VALUE = "value";
+
+  @Param({"1000", "100000", "1000000", "10000000"})
+  public int keyCount;
+
+  private int[] intIds;
+  private long[] longIds;
+  private int cursor;
+  private LinearProbingIntObjectHashTable<String> intObject;
+  private LinearProbingLongLongHashTable longLong;
+  private SeparateChainingHashTable<Integer, String> boxedInt;
+  private SeparateChainingHashTable<Long, Long> boxedLong;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    intObject = new LinearProbingIntObjectHashTable<>();
+    longLong = new LinearProbingLongLongHashTable(-1L);
+    boxedInt = new SeparateChainingHashTable<>();
+    boxedLong = new SeparateChainingHashTable<>();
+
+    SplittableRandom random = new SplittableRandom(42L);
+    int[] stored = new int[keyCount];
+    for (int i = 0; i < keyCount; i++) {
+      stored[i] = random.nextInt();
+      intObject.put(stored[i], VALUE);
+      longLong.put(stored[i], i);
+      boxedInt.put(stored[i], VALUE);
+      boxedLong.put((long) stored[i], (long) i);
+    }
+
+    intIds = new int[TRACE_LENGTH];
+    longIds = new long[TRACE_LENGTH];
+    for (int i = 0; i < TRACE_LENGTH; i++) {
+      intIds[i] = stored[random.nextInt(keyCount)];
+      longIds[i] = intIds[i];
+    }
+  }
+
+  @Benchmark
+  public String intObjectGet() {
+    return intObject.get(intIds[next()]);
+  }
+
+  @Benchmark
+  public String boxedIntegerGet() {
+    return boxedInt.get(intIds[next()]);
+  }
+
+  @Benchmark
+  public long longLongGet() {
+    return longLong.get(longIds[next()]);
+  }
+
+  @Benchmark
+  public Long boxedLongGet() {
+    return boxedLong.get(longIds[next()]);
+  }
+
+  @Benchmark
+  public long longLongPutExisting() {
+    int index = next();
+    return longLong.put(longIds[index], index);
+  }
+
+  private int next() {
+    int index = cursor;
+    cursor = (cursor + 1) & (TRACE_LENGTH - 1);
+    return index;
+  }
+
+}
@@ -0,0 +1,115 @@
+package co.edu.udla.ed.benchmark;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import co.edu.udla.ed.api.HashTable;
+import co.edu.udla.ed.benchmark.ConcurrentHashTableBenchmark.Implementation;
+
+/**
+ * Read throughput of a shared table while one thread keeps writing to it.
+ *
+ * <p>
+ * This models a configuration table: many threads call {@code get}, and a
+ * single writer occasionally replaces one value, pausing for
+ * {@code writePauseTokens} units of busy work between writes. The
+ * {@code readWhileWriting} group runs readers and the writer together; change
+ * the split with JMH's {@code -tg} option, for example {@code -tg 1,1},
+ * {@code -tg 3,1}, {@code -tg 7,1}, to see how the {@code reader} score
+ * scales with the number of reading threads. All threads of a group share one
+ * table. A very large {@code writePauseTokens} approximates a read-only load.
+ * </p>
+ *
+ * <p>
+ * {@code COPY_ON_WRITE} should scale almost linearly, since its readers share
+ * no lock and no written cache line; the locking implementations are the
+ * baseline. Its writer score is expected to be low, because every write copies
+ * the table.
+ * </p>
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReadScalingBenchmark {
+
+  private static final int TRACE_LENGTH = 1 << 16;
+  private static final Integer VALUE = 7;
+
+  /**
+   * Per-thread position in the shared key trace.
+   */
+  @State(Scope.Thread)
+  public static class ThreadCursor {
+    private static final AtomicLong SEEDS = new AtomicLong(42L);
+
+    int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+      cursor = new SplittableRandom(SEEDS.getAndIncrement()).nextInt(TRACE_LENGTH);
+    }
+  }
+
+  @Param({"COPY_ON_WRITE", "LOCK_STRIPED", "GLOBAL_LOCK"})
+  public Implementation implementation;
+
+  @Param({"1000"})
+  public int keyCount;
+
+  @Param({"100000"})
+  public long writePauseTokens;
+
+  private Object[] keys;
+  private int[] trace;
+  private HashTable<Object, Integer> table;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    keys = KeyDistribution.UNIFORM.keys(keyCount);
+    table = implementation.create();
+    for (Object key : keys) {
+      table.put(key, VALUE);
+    }
+    trace = KeyDistribution.UNIFORM.trace(keyCount, TRACE_LENGTH, 7L);
+  }
+
+  @Benchmark
+  @Group("readWhileWriting")
+  @GroupThreads(3)
+  public Integer reader(ThreadCursor thread) {
+    Object key = keys[trace[thread.cursor]];
+    thread.cursor = (thread.cursor + 1) & (TRACE_LENGTH - 1);
+    return table.get(key);
+  }
+
+  @Benchmark
+  @Group("readWhileWriting")
+  @GroupThreads(1)
+  public Integer writer(ThreadCursor thread) {
+    Blackhole.consumeCPU(writePauseTokens);
+    Object key = keys[trace[thread.cursor]];
+    thread.cursor = (thread.cursor + 1) & (TRACE_LENGTH - 1);
+    return table.put(key, VALUE);
+  }
+
+}
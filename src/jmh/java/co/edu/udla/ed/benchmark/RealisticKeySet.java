@@ -0,0 +1,66 @@
+package co.edu.udla.ed.benchmark;
+
+/**
+ * Key populations with the hash-code shapes that real programs produce, used to
+ * compare bucket-indexing strategies.
+ *
+ * <p>
+ * Unlike {@link KeyDistribution}, these keys are not scrambled: the point is to
+ * feed the table the raw {@code hashCode()} values it would see in practice.
+ * </p>
+ *
+ * <ul>
+ * <li>{@link #STRING_IDS}: identifiers such as {@code "order-000042"}.</li>
+ * <li>{@link #SEQUENTIAL_INTEGERS}: consecutive {@code Integer} ids, whose
+ * hash codes are the ids themselves.</li>
+ * <li>{@link #STRIDED_INTEGERS}: {@code Integer} keys that are multiples of
+ * {@code 1024}, such as aligned offsets or ids allocated in blocks; their low
+ * ten bits are always zero.</li>
+ * </ul>
+ */
+public enum RealisticKeySet {
+
+  STRING_IDS {
+    @Override
+    Object key(int index) {
+      return String.format("order-%06d", index);
+    }
+  },
+
+  SEQUENTIAL_INTEGERS {
+    @Override
+    Object key(int index) {
+      return index;
+    }
+  },
+
+  STRIDED_INTEGERS {
+    @Override
+    Object key(int index) {
+      return index * 1024;
+    }
+  };
+
+  /**
+   * Returns the key with the given position in this population.
+   *
+   * @param index a position in {@code [0, count)}
+   * @return the key, distinct for every index
+   */
+  abstract Object key(int index);
+
+  /**
+   * Returns the first {@code count} keys of this population.
+   *
+   * @param count the number of distinct keys
+   * @return the keys in index order
+   */
+  Object[] keys(int count) {
+    Object[] keys = new Object[count];
+    for (int i = 0; i < count; i++) {
+      keys[i] = key(i);
+    }
+    return keys;
+  }
+
+}
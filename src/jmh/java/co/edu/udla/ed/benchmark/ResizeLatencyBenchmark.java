@@ -0,0 +1,68 @@
+package co.edu.udla.ed.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import co.edu.udla.ed.impl.scratch.SeparateChainingHashTable;
+import co.edu.udla.ed.impl.scratch.SeparateChainingHashTable.ResizeMode;
+
+/**
+ * Latency distribution of {@code put} on a growing
+ * {@link SeparateChainingHashTable}, comparing both resize modes.
+ *
+ * <p>
+ * The benchmark keeps inserting new keys, so every doubling of the table
+ * happens inside the measured loop. {@code SampleTime} mode records individual
+ * call latencies; compare the {@code p0.999} and {@code p1.0} rows between
+ * {@code ALL_AT_ONCE} and {@code INCREMENTAL}. Once {@code tableSize} keys are
+ * stored, the table is replaced by an empty one and the cycle starts over.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ResizeLatencyBenchmark {
+
+  private static final Integer VALUE = 7;
+
+  @Param({"ALL_AT_ONCE", "INCREMENTAL"})
+  public ResizeMode resizeMode;
+
+  @Param({"1000000", "4000000"})
+  public int tableSize;
+
+  private Object[] keys;
+  private int cursor;
+  private SeparateChainingHashTable<Object, Integer> table;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    keys = KeyDistribution.UNIFORM.keys(tableSize);
+    table = new SeparateChainingHashTable<>(16, 0.75, resizeMode);
+  }
+
+  @Benchmark
+  public Integer putNewKey() {
+    if (cursor == keys.length) {
+      cursor = 0;
+      table = new SeparateChainingHashTable<>(16, 0.75, resizeMode);
+    }
+    return table.put(keys[cursor++], VALUE);
+  }
+
+}
@@ -0,0 +1,71 @@
+package co.edu.udla.ed.benchmark;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Prints the heap that {@link OrderedSetKind} trees retain per stored key.
+ *
+ * <p>
+ * The boxed keys are created and kept alive before the first measurement, so
+ * the reported bytes cover only the tree structure: the nodes of the binary
+ * trees, or the nodes and key arrays of the B+ tree. A binary tree pays a
+ * node with two or three references and balance data for every key, while a
+ * B+ tree pays one array slot per key plus node headers shared by many keys.
+ * The report also prints the height, the number of nodes a lookup visits.
+ * </p>
+ *
+ * <p>
+ * Running one tree per JVM (the optional second argument, an
+ * {@link OrderedSetKind} name) keeps the measurements independent. The third
+ * argument sets the B+ tree fanout:
+ * </p>
+ *
+ * <pre>
+ * mvn -Pjmh compile
+ * java -Xmx4g -cp target/classes co.edu.udla.ed.benchmark.TreeFootprintReport 10000000 LINKED_AVL
+ * java -Xmx4g -cp target/classes co.edu.udla.ed.benchmark.TreeFootprintReport 10000000 B_PLUS_TREE 64
+ * </pre>
+ */
+public final class TreeFootprintReport {
+
+  private static final int DEFAULT_KEY_COUNT = 1_000_000;
+  private static final int DEFAULT_FANOUT = 64;
+
+  private TreeFootprintReport() {
+  }
+
+  public static void main(String[] args) {
+    int keyCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_KEY_COUNT;
+    OrderedSetKind[] kinds = args.length > 1 ? new OrderedSetKind[] {OrderedSetKind.valueOf(args[1])}
+        : OrderedSetKind.values();
+    int fanout = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_FANOUT;
+
+    Integer[] keys = new Integer[keyCount];
+    for (int i = 0; i < keyCount; i++) {
+      keys[i] = OrderedSetLookupBenchmark.key(i);
+    }
+
+    System.out.printf("%-16s %12s %14s %8s%n", "tree", "heap MiB", "bytes per key", "height");
+    for (OrderedSetKind kind : kinds) {
+      report(kind, keys, fanout);
+    }
+  }
+
+  private static void report(OrderedSetKind kind, Integer[] keys, int fanout) {
+    long baseline = usedHeapAfterGc();
+    OrderedSetKind.OrderedSet set = kind.create(fanout);
+    for (Integer key : keys) {
+      set.insert(key);
+    }
+    long retainedHeap = usedHeapAfterGc() - baseline;
+
+    System.out.printf("%-16s %12.1f %14.1f %8d%n",
+        kind, retainedHeap / (1024.0 * 1024.0), (double) retainedHeap / keys.length, set.height());
+  }
+
+  private static long usedHeapAfterGc() {
+    System.gc();
+    return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+  }
+
+}
@@ -0,0 +1,58 @@
+package co.edu.udla.ed.benchmark;
+
+import java.util.SplittableRandom;
+
+/**
+ * Samples ranks from a Zipf distribution over {@code [0, n)}.
+ *
+ * <p>
+ * Uses the closed-form approximation of Gray et al. ("Quickly Generating
+ * Billion-Record Synthetic Databases"), the same one YCSB uses. Rank {@code 0}
+ * is the hottest key. The constructor costs {@code O(n)} to compute the zeta
+ * constant; each sample is {@code O(1)}.
+ * </p>
+ */
+final class ZipfianSampler {
+
+  static final double DEFAULT_SKEW = 0.99;
+
+  private final int n;
+  private final double theta;
+  private final double alpha;
+  private final double zetaN;
+  private final double eta;
+
+  ZipfianSampler(int n, double theta) {
+    if (n <= 0) {
+      throw new IllegalArgumentException("Item count must be greater than zero.");
+    }
+    this.n = n;
+    this.theta = theta;
+    this.alpha = 1.0 / (1.0 - theta);
+    this.zetaN = zeta(n, theta);
+    double zeta2 = zeta(Math.min(n, 2), theta);
+    this.eta = (1.0 - Math.pow(2.0 / n, 1.0 - theta)) / (1.0 - zeta2 / zetaN);
+  }
+
+  int next(SplittableRandom random) {
+    double u = random.nextDouble();
+    double uz = u * zetaN;
+    if (uz < 1.0) {
+      return 0;
+    }
+    if (n > 1 && uz < 1.0 + Math.pow(0.5, theta)) {
+      return 1;
+    }
+    int rank = (int) (n * Math.pow(eta * u - eta + 1.0, alpha));
+    return Math.min(rank, n - 1);
+  }
+
+  private static double zeta(int n, double theta) {
+    double sum = 0.0;
+    for (int i = 1; i <= n; i++) {
+      sum += 1.0 / Math.pow(i, theta);
+    }
+    return sum;
+  }
+
+}
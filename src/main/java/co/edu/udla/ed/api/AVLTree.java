@@ -1,6 +1,12 @@
 package co.edu.udla.ed.api;
 
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+import co.edu.udla.ed.common.SortedListQueries;
 
 /**
  * AVL Tree is a self-balancing binary search tree where the difference in
@@ -13,10 +19,14 @@ import java.util.List;
  * removing values, calculating the size and height of the tree, performing an
  * in-order traversal, and clearing the tree.
  *
+ * Iterating a tree visits its values in ascending order. Implementations that
+ * store real nodes do so lazily, so a scan can stop early without copying the
+ * whole tree.
+ *
  * @param <T> the type of elements stored in the AVL tree, which must be
  *            comparable to ensure proper ordering.
  */
-public interface AVLTree<T extends Comparable<T>> {
+public interface AVLTree<T extends Comparable<T>> extends Iterable<T> {
 
   void insert(T value);
 
@@ -32,6 +42,164 @@ public interface AVLTree<T extends Comparable<T>> {
 
   void clear();
 
+  /**
+   * Returns the number of stored values strictly smaller than {@code value}.
+   *
+   * @param value the value to rank; it does not have to be stored
+   * @return the position {@code value} has or would have in {@link #inOrder()}
+   *
+   * @implSpec The default implementation searches a copy made by
+   *           {@link #inOrder()}, so it costs {@code O(n)}.
+   */
+  default int rank(T value) {
+    return SortedListQueries.rank(inOrder(), value);
+  }
+
+  /**
+   * Returns the stored value at position {@code index} in ascending order, so
+   * that {@code select(0)} is the minimum and {@code select(size() - 1)} the
+   * maximum.
+   *
+   * @param index the zero-based position of the value
+   * @return the {@code index}-th smallest value
+   * @throws IndexOutOfBoundsException if {@code index} is negative or not
+   *         smaller than {@link #size()}
+   *
+   * @implSpec The default implementation reads a copy made by
+   *           {@link #inOrder()}, so it costs {@code O(n)}.
+   */
+  default T select(int index) {
+    return SortedListQueries.select(inOrder(), index);
+  }
+
+  /**
+   * Returns the greatest stored value less than or equal to {@code value}.
+   *
+   * @param value the upper bound
+   * @return the floor of {@code value}, or {@code null} if there is none
+   *
+   * @implSpec The default implementation searches a copy made by
+   *           {@link #inOrder()}, so it costs {@code O(n)}.
+   */
+  default T floor(T value) {
+    return SortedListQueries.floor(inOrder(), value);
+  }
+
+  /**
+   * Returns the smallest stored value greater than or equal to {@code value}.
+   *
+   * @param value the lower bound
+   * @return the ceiling of {@code value}, or {@code null} if there is none
+   *
+   * @implSpec The default implementation searches a copy made by
+   *           {@link #inOrder()}, so it costs {@code O(n)}.
+   */
+  default T ceiling(T value) {
+    return SortedListQueries.ceiling(inOrder(), value);
+  }
+
+  /**
+   * Returns the number of stored values {@code v} with
+   * {@code low <= v <= high}.
+   *
+   * @param low the inclusive lower bound
+   * @param high the inclusive upper bound
+   * @return the number of values in the range, or {@code 0} if
+   *         {@code low > high}
+   *
+   * @implSpec The default implementation searches a copy made by
+   *           {@link #inOrder()}, so it costs {@code O(n)}.
+   */
+  default int countInRange(T low, T high) {
+    return SortedListQueries.countInRange(inOrder(), low, high);
+  }
+
+  /**
+   * Returns the stored values {@code v} with {@code low <= v <= high} in
+   * ascending order.
+   *
+   * @param low the inclusive lower bound
+   * @param high the inclusive upper bound
+   * @return a new list with the values in the range, empty if
+   *         {@code low > high}
+   *
+   * @implSpec The default implementation filters a copy made by
+   *           {@link #inOrder()}, so it costs {@code O(n)}.
+   */
+  default List<T> range(T low, T high) {
+    return SortedListQueries.range(inOrder(), low, high);
+  }
+
+  /**
+   * Returns an iterator over the stored values in ascending order, the same
+   * order as {@link #inOrder()}.
+   *
+   * <p>The tree must not be modified while an iteration is in progress, and
+   * the iterator does not support {@code remove}.</p>
+   *
+   * @return an ascending iterator
+   *
+   * @implSpec The default implementation iterates a copy made by
+   *           {@link #inOrder()}.
+   */
+  @Override
+  default Iterator<T> iterator() {
+    return Collections.unmodifiableList(inOrder()).iterator();
+  }
+
+  /**
+   * Returns an iterator over the stored values in descending order.
+   *
+   * <p>The same rules as for {@link #iterator()} apply.</p>
+   *
+   * @return a descending iterator
+   *
+   * @implSpec The default implementation iterates a reversed copy made by
+   *           {@link #inOrder()}.
+   */
+  default Iterator<T> descendingIterator() {
+    List<T> values = inOrder();
+    Collections.reverse(values);
+    return Collections.unmodifiableList(values).iterator();
+  }
+
+  /**
+   * Returns an iterator over the stored values greater than or equal to
+   * {@code fromValue}, in ascending order.
+   *
+   * <p>The same rules as for {@link #iterator()} apply. Stopping early is
+   * cheap when the implementation iterates lazily.</p>
+   *
+   * @param fromValue the inclusive lower bound; it does not have to be stored
+   * @return an ascending iterator that starts at {@code ceiling(fromValue)}
+   *
+   * @implSpec The default implementation iterates part of a copy made by
+   *           {@link #inOrder()}.
+   */
+  default Iterator<T> iteratorFrom(T fromValue) {
+    List<T> values = inOrder();
+    int start = SortedListQueries.rank(values, fromValue);
+    return Collections.unmodifiableList(values.subList(start, values.size())).iterator();
+  }
+
+  /**
+   * Returns a spliterator over the stored values in ascending order. It
+   * reports {@link Spliterator#SIZED}, {@link Spliterator#ORDERED},
+   * {@link Spliterator#SORTED}, {@link Spliterator#DISTINCT}, and
+   * {@link Spliterator#NONNULL}, so
+   * {@code StreamSupport.stream(tree.spliterator(), false)} knows its size and
+   * order without a sort step.
+   *
+   * @return a spliterator over every stored value
+   *
+   * @implSpec The default implementation wraps {@link #iterator()}.
+   */
+  @Override
+  default Spliterator<T> spliterator() {
+    return Spliterators.spliterator(iterator(), size(),
+        Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL);
+  }
+
   /**
    * Checks if the AVL tree is empty.
    *
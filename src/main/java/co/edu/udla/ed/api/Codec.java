@@ -0,0 +1,165 @@
+package co.edu.udla.ed.api;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Converts values to and from a compact binary form.
+ *
+ * <p>Hash tables that keep their data outside the Java heap, or in a file,
+ * store keys and values as bytes. A codec defines that representation. The
+ * encoded form of a key also defines key equality and the key's hash in those
+ * tables: two keys are the same key exactly when their encodings are equal
+ * byte for byte, so a codec must encode equal values identically.</p>
+ *
+ * <p>Codecs never receive {@code null}; tables that accept {@code null} keys or
+ * values record that case themselves.</p>
+ *
+ * @param <T> the type of the encoded values
+ */
+public interface Codec<T> {
+
+  /**
+   * Returns the number of bytes {@link #encode(Object, ByteBuffer)} writes for
+   * {@code value}.
+   *
+   * @param value the value to measure
+   * @return the encoded length in bytes
+   */
+  int encodedSize(T value);
+
+  /**
+   * Returns the encoded length shared by every value, if there is one.
+   *
+   * <p>Tables can store fixed-width encodings inline, next to the hash,
+   * instead of in a separate variable-length area.</p>
+   *
+   * @return the fixed encoded length in bytes, or {@code -1} if the length
+   *         depends on the value
+   */
+  default int fixedSize() {
+    return -1;
+  }
+
+  /**
+   * Writes the encoded form of {@code value} at the buffer's position and
+   * advances the position by {@link #encodedSize(Object)} bytes.
+   *
+   * @param value the value to encode
+   * @param target the destination buffer, with enough remaining space
+   */
+  void encode(T value, ByteBuffer target);
+
+  /**
+   * Reads a value whose encoded form spans the buffer's remaining bytes.
+   *
+   * @param source a buffer positioned at the first encoded byte and limited
+   *        at the last one
+   * @return the decoded value
+   */
+  T decode(ByteBuffer source);
+
+  /**
+   * Returns a codec that stores strings as UTF-8 bytes.
+   *
+   * @return the string codec
+   */
+  static Codec<String> utf8() {
+    return new Codec<>() {
+      @Override
+      public int encodedSize(String value) {
+        // Counted without encoding, so a put encodes the string only once. An
+        // unpaired surrogate is the single '?' byte that getBytes writes.
+        int length = value.length();
+        int size = length;
+        for (int i = 0; i < length; i++) {
+          char c = value.charAt(i);
+          if (c < 0x80) {
+            continue;
+          }
+          if (c < 0x800) {
+            size++;
+          } else if (!Character.isSurrogate(c)) {
+            size += 2;
+          } else if (Character.isHighSurrogate(c) && i + 1 < length
+              && Character.isLowSurrogate(value.charAt(i + 1))) {
+            size += 2;
+            i++;
+          }
+        }
+        return size;
+      }
+
+      @Override
+      public void encode(String value, ByteBuffer target) {
+        target.put(value.getBytes(StandardCharsets.UTF_8));
+      }
+
+      @Override
+      public String decode(ByteBuffer source) {
+        byte[] bytes = new byte[source.remaining()];
+        source.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+      }
+    };
+  }
+
+  /**
+   * Returns a codec that stores integers as four big-endian bytes.
+   *
+   * @return the integer codec
+   */
+  static Codec<Integer> int32() {
+    return new Codec<>() {
+      @Override
+      public int encodedSize(Integer value) {
+        return Integer.BYTES;
+      }
+
+      @Override
+      public int fixedSize() {
+        return Integer.BYTES;
+      }
+
+      @Override
+      public void encode(Integer value, ByteBuffer target) {
+        target.putInt(value);
+      }
+
+      @Override
+      public Integer decode(ByteBuffer source) {
+        return source.getInt();
+      }
+    };
+  }
+
+  /**
+   * Returns a codec that stores longs as eight big-endian bytes.
+   *
+   * @return the long codec
+   */
+  static Codec<Long> int64() {
+    return new Codec<>() {
+      @Override
+      public int encodedSize(Long value) {
+        return Long.BYTES;
+      }
+
+      @Override
+      public int fixedSize() {
+        return Long.BYTES;
+      }
+
+      @Override
+      public void encode(Long value, ByteBuffer target) {
+        target.putLong(value);
+      }
+
+      @Override
+      public Long decode(ByteBuffer source) {
+        return source.getLong();
+      }
+    };
+  }
+
+}
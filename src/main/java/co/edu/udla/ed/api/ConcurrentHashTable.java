@@ -0,0 +1,58 @@
+package co.edu.udla.ed.api;
+
+import java.util.function.Function;
+
+/**
+ * Defines the contract for a hash table that many threads can use at the same
+ * time without external locking.
+ *
+ * <p>Every inherited operation is thread-safe and behaves as if it happened at
+ * one instant between its call and its return. Because another thread may
+ * change the table between two calls, a "check then act" sequence such as
+ * {@code if (!containsKey(k)) put(k, v)} is not atomic; the methods declared
+ * here perform that kind of sequence as a single atomic step. So do the
+ * inherited {@link #compute(Object, java.util.function.BiFunction) compute}
+ * and {@link #merge(Object, Object, java.util.function.BiFunction) merge}:
+ * their function runs while other writers of the same key are held off, so it
+ * must be short and must not modify this table.</p>
+ *
+ * <p>{@link #size()} and {@link #isEmpty()} are exact when no other thread is
+ * writing. While writes are in flight they return an estimate, which is enough
+ * for monitoring but not for coordination. {@link #clear()} is not atomic with
+ * respect to concurrent insertions.</p>
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public interface ConcurrentHashTable<K, V> extends HashTable<K, V> {
+
+  /**
+   * Associates {@code value} with {@code key} only if the key is not present.
+   *
+   * @param key the key to insert
+   * @param value the value to associate if the key is absent
+   * @return the value already associated with {@code key} (possibly
+   *         {@code null} if the key maps to {@code null}), or {@code null} if
+   *         the key was absent and {@code value} has been inserted
+   */
+  V putIfAbsent(K key, V value);
+
+  /**
+   * Returns the value for {@code key}, computing and inserting it first if the
+   * key is absent or mapped to {@code null}.
+   *
+   * <p>The mapping function runs at most once per absent key, even when many
+   * threads ask for the same key at the same time; the other callers wait and
+   * then see the inserted value. If the function returns {@code null}, nothing
+   * is inserted. The function must be short and must not modify this
+   * table.</p>
+   *
+   * @param key the key to look up
+   * @param mappingFunction computes the value for an absent key
+   * @return the existing or newly computed value, or {@code null} if the
+   *         function returned {@code null}
+   * @throws NullPointerException if {@code mappingFunction} is {@code null}
+   */
+  V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction);
+
+}
@@ -1,5 +1,12 @@
 package co.edu.udla.ed.api;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
 /**
  * Defines the contract for a key-value hash table.
  *
@@ -8,10 +15,18 @@ package co.edu.udla.ed.api;
  * The API is intentionally small so students can focus on hashing, collision
  * handling, and resizing policies.</p>
  *
+ * <p>A table is also {@link Iterable} over its entries, so data can be read
+ * back without copying it through a side structure. Iteration order is
+ * unspecified unless an implementation documents it. Entries describe the
+ * mapping at the moment they are returned; whether
+ * {@link Map.Entry#setValue(Object)} writes through to the table is
+ * implementation-specific. The table must not be structurally modified while an
+ * iteration is in progress.</p>
+ *
  * @param <K> the key type
  * @param <V> the value type
  */
-public interface HashTable<K, V> {
+public interface HashTable<K, V> extends Iterable<Map.Entry<K, V>> {
 
   /**
    * Associates {@code value} with {@code key}.
@@ -68,4 +83,161 @@ public interface HashTable<K, V> {
    */
   void clear();
 
+  /**
+   * Returns the value associated with {@code key}, or {@code defaultValue} if
+   * the key is not present.
+   *
+   * @param key the key to search for
+   * @param defaultValue the value to return for an absent key
+   * @return the associated value, which may be {@code null} if the key maps
+   *         to {@code null}; otherwise {@code defaultValue}
+   *
+   * @implSpec The default implementation calls {@link #get(Object)} and, when
+   *           it returns {@code null}, {@link #containsKey(Object)}.
+   */
+  default V getOrDefault(K key, V defaultValue) {
+    V value = get(key);
+    return value != null || containsKey(key) ? value : defaultValue;
+  }
+
+  /**
+   * Returns the value for {@code key}, computing and inserting it first if the
+   * key is absent or mapped to {@code null}.
+   *
+   * <p>If the function returns {@code null}, nothing is inserted. The function
+   * must not modify this table.</p>
+   *
+   * @param key the key to look up
+   * @param mappingFunction computes the value for an absent key
+   * @return the existing or newly computed value, or {@code null} if the
+   *         function returned {@code null}
+   * @throws NullPointerException if {@code mappingFunction} is {@code null}
+   *
+   * @implSpec The default implementation calls {@link #get(Object)} and, for
+   *           an absent key whose computed value is not {@code null},
+   *           {@link #put(Object, Object)}.
+   */
+  default V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+    Objects.requireNonNull(mappingFunction, "Mapping function must not be null.");
+    V value = get(key);
+    if (value != null) {
+      return value;
+    }
+    V computed = mappingFunction.apply(key);
+    if (computed != null) {
+      put(key, computed);
+    }
+    return computed;
+  }
+
+  /**
+   * Replaces the mapping for {@code key} with the result of
+   * {@code remappingFunction}, which receives the current value or
+   * {@code null} if the key is absent.
+   *
+   * <p>If the function returns {@code null}, the key is removed, or stays
+   * absent. The function must not modify this table.</p>
+   *
+   * @param key the key to update
+   * @param remappingFunction computes the new value from the key and its
+   *        current value
+   * @return the new value, or {@code null} if the key is now absent
+   * @throws NullPointerException if {@code remappingFunction} is {@code null}
+   *
+   * @implSpec The default implementation calls {@link #get(Object)}, then
+   *           {@link #put(Object, Object)} or {@link #remove(Object)}.
+   */
+  default V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+    Objects.requireNonNull(remappingFunction, "Remapping function must not be null.");
+    V computed = remappingFunction.apply(key, get(key));
+    if (computed != null) {
+      put(key, computed);
+    } else {
+      remove(key);
+    }
+    return computed;
+  }
+
+  /**
+   * Combines {@code value} with the current value of {@code key}.
+   *
+   * <p>If the key is absent or mapped to {@code null}, {@code value} is stored
+   * as is. Otherwise the stored value becomes
+   * {@code remappingFunction.apply(current, value)}, and a {@code null} result
+   * removes the key. A counter is incremented with
+   * {@code merge(key, 1, Integer::sum)}. The function must not modify this
+   * table.</p>
+   *
+   * @param key the key to update
+   * @param value the value to store or combine; must not be {@code null}
+   * @param remappingFunction combines the current value with {@code value}
+   * @return the new value, or {@code null} if the key was removed
+   * @throws NullPointerException if {@code value} or
+   *         {@code remappingFunction} is {@code null}
+   *
+   * @implSpec The default implementation calls {@link #get(Object)}, then
+   *           {@link #put(Object, Object)} or {@link #remove(Object)}.
+   */
+  default V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+    Objects.requireNonNull(value, "Value must not be null.");
+    Objects.requireNonNull(remappingFunction, "Remapping function must not be null.");
+    V current = get(key);
+    V merged = current == null ? value : remappingFunction.apply(current, value);
+    if (merged != null) {
+      put(key, merged);
+    } else {
+      remove(key);
+    }
+    return merged;
+  }
+
+  /**
+   * Copies every entry of {@code source} into this table, overwriting the
+   * values of keys that are already present.
+   *
+   * @param source the table whose entries are copied
+   *
+   * @implSpec The default implementation calls {@link #put(Object, Object)}
+   *           once per source entry.
+   */
+  default void putAll(HashTable<? extends K, ? extends V> source) {
+    for (Map.Entry<? extends K, ? extends V> entry : source) {
+      put(entry.getKey(), entry.getValue());
+    }
+  }
+
+  /**
+   * Passes every key-value pair to {@code action}.
+   *
+   * @param action the callback invoked once per entry
+   *
+   * @implSpec The default implementation walks {@link #iterator()}.
+   */
+  default void forEach(BiConsumer<? super K, ? super V> action) {
+    for (Map.Entry<K, V> entry : this) {
+      action.accept(entry.getKey(), entry.getValue());
+    }
+  }
+
+  /**
+   * Looks up several keys in one call.
+   *
+   * @param keys the keys to search for
+   * @return a map from every requested key that is present to its value, in
+   *         the order the keys were given; absent keys are left out, while
+   *         present keys mapped to {@code null} are included
+   *
+   * @implSpec The default implementation calls {@link #containsKey(Object)}
+   *           and {@link #get(Object)} once per key.
+   */
+  default Map<K, V> getAll(Iterable<? extends K> keys) {
+    Map<K, V> found = new LinkedHashMap<>();
+    for (K key : keys) {
+      if (containsKey(key)) {
+        found.put(key, get(key));
+      }
+    }
+    return found;
+  }
+
 }
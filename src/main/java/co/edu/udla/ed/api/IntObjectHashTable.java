@@ -0,0 +1,72 @@
+package co.edu.udla.ed.api;
+
+/**
+ * Defines the contract for a hash table whose keys are primitive {@code int}
+ * values.
+ *
+ * <p>This is the primitive counterpart of {@link HashTable}: the operations and
+ * their meaning are the same, but keys are passed as {@code int}, so no
+ * {@code Integer} object is created to look a key up. Every {@code int},
+ * including {@code 0} and negative numbers, is a valid key.</p>
+ *
+ * @param <V> the value type
+ */
+public interface IntObjectHashTable<V> {
+
+  /**
+   * Associates {@code value} with {@code key}.
+   *
+   * @param key the key to insert or update
+   * @param value the value associated with the key; may be {@code null}
+   * @return the previous value for {@code key}, or {@code null} if the key was
+   *         not present
+   */
+  V put(int key, V value);
+
+  /**
+   * Returns the value currently associated with {@code key}.
+   *
+   * @param key the key to search for
+   * @return the associated value, or {@code null} if the key is not present
+   */
+  V get(int key);
+
+  /**
+   * Removes the mapping associated with {@code key}.
+   *
+   * @param key the key to remove
+   * @return the removed value, or {@code null} if the key was not present
+   */
+  V remove(int key);
+
+  /**
+   * Checks whether the table contains {@code key}, even if it is mapped to
+   * {@code null}.
+   *
+   * @param key the key to search for
+   * @return {@code true} if the key exists; {@code false} otherwise
+   */
+  boolean containsKey(int key);
+
+  /**
+   * Returns the number of key-value mappings currently stored in the table.
+   *
+   * @return the number of entries
+   */
+  int size();
+
+  /**
+   * Checks whether the table contains no entries.
+   *
+   * @return {@code true} if the table is empty; {@code false} otherwise
+   */
+  default boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /**
+   * Removes all entries from the table.
+   */
+  void clear();
+
+}
@@ -0,0 +1,81 @@
+package co.edu.udla.ed.api;
+
+/**
+ * Defines the contract for a hash table that maps primitive {@code long} keys
+ * to primitive {@code long} values.
+ *
+ * <p>This is the primitive counterpart of {@link HashTable}. Because a
+ * {@code long} result cannot be {@code null}, operations that would return
+ * {@code null} for an absent key return the table's {@link #missingValue()}
+ * instead. The sentinel is chosen when the table is created; a caller that
+ * also stores that value must use {@link #containsKey(long)} to tell both
+ * cases apart.</p>
+ */
+public interface LongLongHashTable {
+
+  /**
+   * Associates {@code value} with {@code key}.
+   *
+   * @param key the key to insert or update
+   * @param value the value associated with the key
+   * @return the previous value for {@code key}, or {@link #missingValue()} if
+   *         the key was not present
+   */
+  long put(long key, long value);
+
+  /**
+   * Returns the value currently associated with {@code key}.
+   *
+   * @param key the key to search for
+   * @return the associated value, or {@link #missingValue()} if the key is not
+   *         present
+   */
+  long get(long key);
+
+  /**
+   * Removes the mapping associated with {@code key}.
+   *
+   * @param key the key to remove
+   * @return the removed value, or {@link #missingValue()} if the key was not
+   *         present
+   */
+  long remove(long key);
+
+  /**
+   * Checks whether the table contains {@code key}.
+   *
+   * @param key the key to search for
+   * @return {@code true} if the key exists; {@code false} otherwise
+   */
+  boolean containsKey(long key);
+
+  /**
+   * Returns the sentinel reported for absent keys.
+   *
+   * @return the value returned by {@link #get(long)}, {@link #put(long, long)},
+   *         and {@link #remove(long)} when the key is not present
+   */
+  long missingValue();
+
+  /**
+   * Returns the number of key-value mappings currently stored in the table.
+   *
+   * @return the number of entries
+   */
+  int size();
+
+  /**
+   * Checks whether the table contains no entries.
+   *
+   * @return {@code true} if the table is empty; {@code false} otherwise
+   */
+  default boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /**
+   * Removes all entries from the table.
+   */
+  void clear();
+
+}
@@ -0,0 +1,144 @@
+package co.edu.udla.ed.common;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Order-statistic and range queries over a sorted list without duplicates.
+ *
+ * <p>
+ * The tree APIs of this project answer these queries from the values returned
+ * by {@code inOrder()} unless an implementation can do better, and the
+ * implementations that store their values in a sorted {@code ArrayList} answer
+ * them directly from that list. Every method locates its bounds by binary
+ * search, so the list must support fast random access.
+ * </p>
+ */
+public final class SortedListQueries {
+
+  private SortedListQueries() {
+  }
+
+  /**
+   * Returns the number of values strictly smaller than {@code value}.
+   *
+   * @param sorted the values in ascending order, without duplicates
+   * @param value the value to rank; it does not have to be in the list
+   * @param <T> the element type
+   * @return the position {@code value} has or would have in the list
+   *
+   * @implNote Time complexity is {@code O(log n)}.
+   */
+  public static <T extends Comparable<T>> int rank(List<T> sorted, T value) {
+    return lowerBound(sorted, value, false);
+  }
+
+  /**
+   * Returns the value at position {@code index} in ascending order.
+   *
+   * @param sorted the values in ascending order, without duplicates
+   * @param index the zero-based position of the value
+   * @param <T> the element type
+   * @return the {@code index}-th smallest value
+   * @throws IndexOutOfBoundsException if {@code index} is negative or not
+   *         smaller than the list size
+   *
+   * @implNote Time complexity is {@code O(1)}.
+   */
+  public static <T extends Comparable<T>> T select(List<T> sorted, int index) {
+    if (index < 0 || index >= sorted.size()) {
+      throw new IndexOutOfBoundsException("index=" + index + ", size=" + sorted.size());
+    }
+    return sorted.get(index);
+  }
+
+  /**
+   * Returns the greatest value less than or equal to {@code value}.
+   *
+   * @param sorted the values in ascending order, without duplicates
+   * @param value the upper bound
+   * @param <T> the element type
+   * @return the floor of {@code value}, or {@code null} if there is none
+   *
+   * @implNote Time complexity is {@code O(log n)}.
+   */
+  public static <T extends Comparable<T>> T floor(List<T> sorted, T value) {
+    int index = lowerBound(sorted, value, true) - 1;
+    return index >= 0 ? sorted.get(index) : null;
+  }
+
+  /**
+   * Returns the smallest value greater than or equal to {@code value}.
+   *
+   * @param sorted the values in ascending order, without duplicates
+   * @param value the lower bound
+   * @param <T> the element type
+   * @return the ceiling of {@code value}, or {@code null} if there is none
+   *
+   * @implNote Time complexity is {@code O(log n)}.
+   */
+  public static <T extends Comparable<T>> T ceiling(List<T> sorted, T value) {
+    int index = lowerBound(sorted, value, false);
+    return index < sorted.size() ? sorted.get(index) : null;
+  }
+
+  /**
+   * Returns the number of values {@code v} with {@code low <= v <= high}.
+   *
+   * @param sorted the values in ascending order, without duplicates
+   * @param low the inclusive lower bound
+   * @param high the inclusive upper bound
+   * @param <T> the element type
+   * @return the number of values in the range, or {@code 0} if
+   *         {@code low > high}
+   *
+   * @implNote Time complexity is {@code O(log n)}.
+   */
+  public static <T extends Comparable<T>> int countInRange(List<T> sorted, T low, T high) {
+    if (low.compareTo(high) > 0) {
+      return 0;
+    }
+    return lowerBound(sorted, high, true) - lowerBound(sorted, low, false);
+  }
+
+  /**
+   * Returns the values {@code v} with {@code low <= v <= high} in ascending
+   * order.
+   *
+   * @param sorted the values in ascending order, without duplicates
+   * @param low the inclusive lower bound
+   * @param high the inclusive upper bound
+   * @param <T> the element type
+   * @return a new list with the values in the range, empty if
+   *         {@code low > high}
+   *
+   * @implNote Time complexity is {@code O(log n + k)} for {@code k} values in
+   *           the range.
+   */
+  public static <T extends Comparable<T>> List<T> range(List<T> sorted, T low, T high) {
+    if (low.compareTo(high) > 0) {
+      return new ArrayList<>();
+    }
+    return new ArrayList<>(sorted.subList(lowerBound(sorted, low, false), lowerBound(sorted, high, true)));
+  }
+
+  /**
+   * Returns the number of values smaller than {@code value}, or smaller than
+   * or equal to it when {@code inclusive} is set.
+   */
+  private static <T extends Comparable<T>> int lowerBound(List<T> sorted, T value, boolean inclusive) {
+    int low = 0;
+    int high = sorted.size();
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      int comparison = sorted.get(middle).compareTo(value);
+      if (comparison < 0 || (inclusive && comparison == 0)) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+}
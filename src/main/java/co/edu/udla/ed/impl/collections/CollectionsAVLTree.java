@@ -1,7 +1,10 @@
 package co.edu.udla.ed.impl.collections;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
 import java.util.TreeSet;
 
 import co.edu.udla.ed.api.AVLTree;
@@ -100,4 +103,128 @@ public class CollectionsAVLTree<T extends Comparable<T>> implements AVLTree<T> {
     data.clear();
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(log n + k)}, where {@code k} is the
+   *           result, because the size of a {@link TreeSet} view is counted
+   *           by iterating it.
+   */
+  @Override
+  public int rank(T value) {
+    return data.headSet(value, false).size();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(log n + index)}, because
+   *           {@link TreeSet} has no positional access.
+   */
+  @Override
+  public T select(int index) {
+    if (index < 0 || index >= data.size()) {
+      throw new IndexOutOfBoundsException("index=" + index + ", size=" + data.size());
+    }
+    Iterator<T> iterator = data.iterator();
+    for (int i = 0; i < index; i++) {
+      iterator.next();
+    }
+    return iterator.next();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(log n)}.
+   */
+  @Override
+  public T floor(T value) {
+    return data.floor(value);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(log n)}.
+   */
+  @Override
+  public T ceiling(T value) {
+    return data.ceiling(value);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(log n + k)} for {@code k} values in
+   *           the range.
+   */
+  @Override
+  public int countInRange(T low, T high) {
+    if (low.compareTo(high) > 0) {
+      return 0;
+    }
+    return data.subSet(low, true, high, true).size();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(log n + k)} for {@code k} values in
+   *           the range.
+   */
+  @Override
+  public List<T> range(T low, T high) {
+    if (low.compareTo(high) > 0) {
+      return new ArrayList<>();
+    }
+    return new ArrayList<>(data.subSet(low, true, high, true));
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Creating the iterator is {@code O(log n)}; it walks the
+   *           underlying {@link TreeSet} lazily.
+   */
+  @Override
+  public Iterator<T> iterator() {
+    return Collections.unmodifiableNavigableSet(data).iterator();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Creating the iterator is {@code O(log n)}.
+   */
+  @Override
+  public Iterator<T> descendingIterator() {
+    return Collections.unmodifiableNavigableSet(data).descendingIterator();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Creating the iterator is {@code O(log n)}.
+   */
+  @Override
+  public Iterator<T> iteratorFrom(T fromValue) {
+    return Collections.unmodifiableNavigableSet(data).tailSet(fromValue, true).iterator();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * The spliterator is the one of the underlying {@link TreeSet}, which also
+   * splits for parallel streams.
+   * </p>
+   *
+   * @implNote Creating the spliterator is {@code O(1)}.
+   */
+  @Override
+  public Spliterator<T> spliterator() {
+    return data.spliterator();
+  }
+
 }
@@ -1,7 +1,12 @@
 package co.edu.udla.ed.impl.collections;
 
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 import co.edu.udla.ed.api.HashTable;
 
@@ -10,9 +15,8 @@ import co.edu.udla.ed.api.HashTable;
  *
  * <p>
  * This wrapper is useful when students need to compare the project API with a
- * production-ready hash-based map. The use of {@link LinkedHashMap} preserves
- * deterministic iteration order internally, although the project hash-table API
- * does not currently expose iteration.
+ * production-ready hash-based map. The use of {@link LinkedHashMap} gives the
+ * entry iterator a deterministic insertion order.
  * </p>
  *
  * @param <K> the key type
@@ -83,4 +87,67 @@ public class CollectionsHashTable<K, V> implements HashTable<K, V> {
     data.clear();
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Average-case time complexity is {@code O(1)}.
+   */
+  @Override
+  public V getOrDefault(K key, V defaultValue) {
+    return data.getOrDefault(key, defaultValue);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Average-case time complexity is {@code O(1)} plus the cost of the
+   *           mapping function.
+   */
+  @Override
+  public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+    Objects.requireNonNull(mappingFunction, "Mapping function must not be null.");
+    return data.computeIfAbsent(key, mappingFunction);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Average-case time complexity is {@code O(1)} plus the cost of the
+   *           remapping function.
+   */
+  @Override
+  public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+    Objects.requireNonNull(remappingFunction, "Remapping function must not be null.");
+    return data.compute(key, remappingFunction);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Average-case time complexity is {@code O(1)} plus the cost of the
+   *           remapping function.
+   */
+  @Override
+  public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+    Objects.requireNonNull(value, "Value must not be null.");
+    Objects.requireNonNull(remappingFunction, "Remapping function must not be null.");
+    return data.merge(key, value, remappingFunction);
+  }
+
+  /**
+   * Returns an iterator over the entries in insertion order.
+   *
+   * <p>
+   * The entries are read-only views of the backing map.
+   * </p>
+   *
+   * @return an iterator from the oldest entry to the newest
+   *
+   * @implNote Creating the iterator is {@code O(1)}.
+   */
+  @Override
+  public Iterator<Map.Entry<K, V>> iterator() {
+    return Collections.unmodifiableMap(data).entrySet().iterator();
+  }
+
 }
@@ -1,13 +1,18 @@
 package co.edu.udla.ed.impl.linear;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.ListIterator;
 
 import co.edu.udla.ed.api.AVLTree;
+import co.edu.udla.ed.common.SortedListQueries;
 import co.edu.udla.ed.common.TreeHeights;
 
 /**
- * AVL representation backed by a sorted list and iterative logic.
+ * AVL representation backed by a sorted list and binary search.
  *
  * <p>
  * Like the linear BST wrapper, this class does not store explicit left and
@@ -16,6 +21,14 @@ import co.edu.udla.ed.common.TreeHeights;
  * comparing API semantics against a much simpler internal representation.
  * </p>
  *
+ * <p>
+ * A binary search over the sorted list visits the same {@code O(log n)} values
+ * a balanced tree would compare on its way down, without following any
+ * pointers. Insertions and removals shift the later elements instead of
+ * rotating, and {@link #insertAll(Collection)} merges a whole batch
+ * in one pass.
+ * </p>
+ *
  * @param <T> the element type
  */
 public class LinearAVLTree<T extends Comparable<T>> implements AVLTree<T> {
@@ -25,52 +38,70 @@ public class LinearAVLTree<T extends Comparable<T>> implements AVLTree<T> {
   /**
    * {@inheritDoc}
    *
-   * @implNote Time complexity is {@code O(n)}.
+   * <p>
+   * The list remains sorted at all times. Duplicate values are ignored to match
+   * the repository AVL contract.
+   * </p>
+   *
+   * @implNote Finding the insertion point takes {@code O(log n)} comparisons
+   *           by binary search. Time complexity is still {@code O(n)} because
+   *           later elements shift one position, which is a single
+   *           {@code System.arraycopy} inside {@link ArrayList}.
    */
   @Override
   public void insert(T value) {
-    for (int i = 0; i < data.size(); i++) {
-      int comparison = value.compareTo(data.get(i));
-      if (comparison == 0) {
-        return;
-      }
-      if (comparison < 0) {
-        data.add(i, value);
-        return;
-      }
+    int index = Collections.binarySearch(data, value);
+    if (index < 0) {
+      data.add(-index - 1, value);
     }
-    data.add(value);
+  }
+
+  /**
+   * Inserts every value of a collection, ignoring duplicates.
+   *
+   * <p>
+   * The values are sorted once and merged with the stored ones in a single
+   * pass, which is much cheaper than inserting them one at a time when the
+   * batch is large or unsorted. The result is the same as calling
+   * {@link #insert(Comparable)} for each value.
+   * </p>
+   *
+   * @param values the values to insert, in any order
+   * @throws NullPointerException if {@code values} is {@code null} or contains
+   *         {@code null}
+   *
+   * @implNote Time complexity is {@code O(n + k log k)} for {@code k} new
+   *           values.
+   */
+  public void insertAll(Collection<? extends T> values) {
+    SortedLists.mergeAll(data, values);
   }
 
   /**
    * {@inheritDoc}
    *
-   * @implNote Time complexity is {@code O(n)}.
+   * @implNote Time complexity is {@code O(log n)} by binary search.
    */
   @Override
   public boolean contains(T value) {
-    for (T current : data) {
-      if (current.compareTo(value) == 0) {
-        return true;
-      }
-    }
-    return false;
+    return Collections.binarySearch(data, value) >= 0;
   }
 
   /**
    * {@inheritDoc}
    *
-   * @implNote Time complexity is {@code O(n)}.
+   * @implNote The value is located in {@code O(log n)} comparisons. Time
+   *           complexity is {@code O(n)} because later elements shift one
+   *           position.
    */
   @Override
   public boolean remove(T value) {
-    for (int i = 0; i < data.size(); i++) {
-      if (data.get(i).compareTo(value) == 0) {
-        data.remove(i);
-        return true;
-      }
+    int index = Collections.binarySearch(data, value);
+    if (index < 0) {
+      return false;
     }
-    return false;
+    data.remove(index);
+    return true;
   }
 
   /**
@@ -119,4 +150,110 @@ public class LinearAVLTree<T extends Comparable<T>> implements AVLTree<T> {
     data.clear();
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(log n)} by binary search over the
+   *           stored list, without copying it.
+   */
+  @Override
+  public int rank(T value) {
+    return SortedListQueries.rank(data, value);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(1)}.
+   */
+  @Override
+  public T select(int index) {
+    return SortedListQueries.select(data, index);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(log n)}.
+   */
+  @Override
+  public T floor(T value) {
+    return SortedListQueries.floor(data, value);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(log n)}.
+   */
+  @Override
+  public T ceiling(T value) {
+    return SortedListQueries.ceiling(data, value);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(log n)}.
+   */
+  @Override
+  public int countInRange(T low, T high) {
+    return SortedListQueries.countInRange(data, low, high);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(log n + k)} for {@code k} values in
+   *           the range.
+   */
+  @Override
+  public List<T> range(T low, T high) {
+    return SortedListQueries.range(data, low, high);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Creating the iterator is {@code O(1)}; it reads the stored list
+   *           directly instead of a copy.
+   */
+  @Override
+  public Iterator<T> iterator() {
+    return Collections.unmodifiableList(data).iterator();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Creating the iterator is {@code O(1)}; it walks the stored list
+   *           backwards.
+   */
+  @Override
+  public Iterator<T> descendingIterator() {
+    ListIterator<T> backwards = data.listIterator(data.size());
+    return new Iterator<T>() {
+      @Override
+      public boolean hasNext() {
+        return backwards.hasPrevious();
+      }
+
+      @Override
+      public T next() {
+        return backwards.previous();
+      }
+    };
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Creating the iterator is {@code O(log n)} by binary search.
+   */
+  @Override
+  public Iterator<T> iteratorFrom(T fromValue) {
+    int start = SortedListQueries.rank(data, fromValue);
+    return Collections.unmodifiableList(data.subList(start, data.size())).iterator();
+  }
+
 }
@@ -1,18 +1,31 @@
 package co.edu.udla.ed.impl.linear;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.ListIterator;
 
 import co.edu.udla.ed.api.BinarySearchTree;
+import co.edu.udla.ed.common.SortedListQueries;
 
 /**
- * BST representation backed by a sorted list and linear scans.
+ * BST representation backed by a sorted list and binary search.
  *
  * <p>
  * This class does not maintain an actual linked tree. Instead, it preserves
  * the observable BST rules through a sorted sequence of values. The design is
  * intentionally didactic: students can still validate the API contract while
- * seeing how costs degrade when structure-specific shortcuts are removed.
+ * seeing how costs change when structure-specific shortcuts are removed.
+ * </p>
+ *
+ * <p>
+ * Binary search over the sorted list plays the role of the root-to-leaf walk,
+ * so lookups take {@code O(log n)} comparisons. Insertions and removals still
+ * shift the elements after the affected position, which is cheap for
+ * read-heavy sets of a few hundred thousand values. Large batches should go
+ * through {@link #insertAll(Collection)}.
  * </p>
  *
  * @param <T> the element type
@@ -29,53 +42,65 @@ public class LinearBinarySearchTree<T extends Comparable<T>> implements BinarySe
    * the repository BST contract.
    * </p>
    *
-   * @implNote Time complexity is {@code O(n)} because the insertion point is
-   *           found by linear scan and later elements may shift.
+   * @implNote Finding the insertion point takes {@code O(log n)} comparisons
+   *           by binary search. Time complexity is still {@code O(n)} because
+   *           later elements shift one position, which is a single
+   *           {@code System.arraycopy} inside {@link ArrayList}.
    */
   @Override
   public void insert(T value) {
-    for (int i = 0; i < data.size(); i++) {
-      int comparison = value.compareTo(data.get(i));
-      if (comparison == 0) {
-        return;
-      }
-      if (comparison < 0) {
-        data.add(i, value);
-        return;
-      }
+    int index = Collections.binarySearch(data, value);
+    if (index < 0) {
+      data.add(-index - 1, value);
     }
-    data.add(value);
+  }
+
+  /**
+   * Inserts every value of a collection, ignoring duplicates.
+   *
+   * <p>
+   * The values are sorted once and merged with the stored ones in a single
+   * pass, which is much cheaper than inserting them one at a time when the
+   * batch is large or unsorted. The result is the same as calling
+   * {@link #insert(Comparable)} for each value.
+   * </p>
+   *
+   * @param values the values to insert, in any order
+   * @throws NullPointerException if {@code values} is {@code null} or contains
+   *         {@code null}
+   *
+   * @implNote Time complexity is {@code O(n + k log k)} for {@code k} new
+   *           values.
+   */
+  public void insertAll(Collection<? extends T> values) {
+    SortedLists.mergeAll(data, values);
   }
 
   /**
    * {@inheritDoc}
    *
-   * @implNote Time complexity is {@code O(n)}.
+   * @implNote Time complexity is {@code O(log n)} by binary search.
    */
   @Override
   public boolean contains(T value) {
-    for (T current : data) {
-      if (current.compareTo(value) == 0) {
-        return true;
-      }
-    }
-    return false;
+    return Collections.binarySearch(data, value) >= 0;
   }
 
   /**
    * {@inheritDoc}
    *
-   * @implNote Time complexity is {@code O(n)}.
+   * @implNote The value is located in {@code O(log n)} comparisons. Time
+   *           complexity is {@code O(n)} because later elements shift one
+   *           position.
    */
   @Override
   public boolean remove(T value) {
-    for (int i = 0; i < data.size(); i++) {
-      if (data.get(i).compareTo(value) == 0) {
-        data.remove(i);
-        return true;
-      }
+    int index = Collections.binarySearch(data, value);
+    if (index < 0) {
+      return false;
     }
-    return false;
+    data.remove(index);
+    return true;
   }
 
   /**
@@ -124,4 +149,110 @@ public class LinearBinarySearchTree<T extends Comparable<T>> implements BinarySe
     data.clear();
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(log n)} by binary search over the
+   *           stored list, without copying it.
+   */
+  @Override
+  public int rank(T value) {
+    return SortedListQueries.rank(data, value);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(1)}.
+   */
+  @Override
+  public T select(int index) {
+    return SortedListQueries.select(data, index);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(log n)}.
+   */
+  @Override
+  public T floor(T value) {
+    return SortedListQueries.floor(data, value);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(log n)}.
+   */
+  @Override
+  public T ceiling(T value) {
+    return SortedListQueries.ceiling(data, value);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(log n)}.
+   */
+  @Override
+  public int countInRange(T low, T high) {
+    return SortedListQueries.countInRange(data, low, high);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(log n + k)} for {@code k} values in
+   *           the range.
+   */
+  @Override
+  public List<T> range(T low, T high) {
+    return SortedListQueries.range(data, low, high);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Creating the iterator is {@code O(1)}; it reads the stored list
+   *           directly instead of a copy.
+   */
+  @Override
+  public Iterator<T> iterator() {
+    return Collections.unmodifiableList(data).iterator();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Creating the iterator is {@code O(1)}; it walks the stored list
+   *           backwards.
+   */
+  @Override
+  public Iterator<T> descendingIterator() {
+    ListIterator<T> backwards = data.listIterator(data.size());
+    return new Iterator<T>() {
+      @Override
+      public boolean hasNext() {
+        return backwards.hasPrevious();
+      }
+
+      @Override
+      public T next() {
+        return backwards.previous();
+      }
+    };
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Creating the iterator is {@code O(log n)} by binary search.
+   */
+  @Override
+  public Iterator<T> iteratorFrom(T fromValue) {
+    int start = SortedListQueries.rank(data, fromValue);
+    return Collections.unmodifiableList(data.subList(start, data.size())).iterator();
+  }
+
 }
@@ -1,7 +1,12 @@
 package co.edu.udla.ed.impl.linear;
 
+import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 
 import co.edu.udla.ed.api.HashTable;
@@ -12,7 +17,19 @@ import co.edu.udla.ed.api.HashTable;
  * <p>
  * This class deliberately sacrifices hashing performance so students can
  * compare a hash-table interface against a simple sequential search strategy.
- * Every key-based operation scans the stored entries from left to right.
+ * In the default {@link LookupMode#LINEAR_SCAN} mode every key-based operation
+ * scans the stored entries from left to right.
+ * </p>
+ *
+ * <p>
+ * {@link LookupMode#ADAPTIVE} keeps that scan while the table is small, where
+ * it is as fast as hashing, and adds a {@link HashMap} from each key to its
+ * position in the list once the size exceeds a threshold. Entries stay in the
+ * list in insertion order; removing one while the index exists leaves a
+ * {@code null} placeholder, and the list is compacted when placeholders
+ * outnumber live entries. The index is dropped again when the size falls below
+ * half of the threshold, so a table that hovers around the threshold does not
+ * rebuild it on every operation.
  * </p>
  *
  * @param <K> the key type
@@ -33,72 +50,151 @@ public class LinearHashTable<K, V> implements HashTable<K, V> {
     }
   }
 
+  /**
+   * How key lookups find an entry.
+   */
+  public enum LookupMode {
+    /**
+     * Every lookup scans the list of entries.
+     */
+    LINEAR_SCAN,
+
+    /**
+     * Lookups scan the list while it is small and use a hash index once the
+     * size exceeds the index threshold.
+     */
+    ADAPTIVE
+  }
+
+  private static final int DEFAULT_INDEX_THRESHOLD = 16;
+
   private final List<Entry<K, V>> entries = new ArrayList<>();
+  private final LookupMode lookupMode;
+  private final int indexThreshold;
+
+  /**
+   * Position of every live key in {@link #entries}, or {@code null} while the
+   * table is scanned linearly.
+   */
+  private Map<K, Integer> index;
+  private int removedCount;
+
+  /**
+   * Creates a table that always scans its entries linearly.
+   */
+  public LinearHashTable() {
+    this(LookupMode.LINEAR_SCAN, DEFAULT_INDEX_THRESHOLD);
+  }
+
+  /**
+   * Creates a table with the given lookup mode and the default index
+   * threshold of {@code 16} entries.
+   *
+   * @param lookupMode how key lookups find an entry
+   */
+  public LinearHashTable(LookupMode lookupMode) {
+    this(lookupMode, DEFAULT_INDEX_THRESHOLD);
+  }
+
+  /**
+   * Creates a table with the given lookup mode and index threshold.
+   *
+   * @param lookupMode how key lookups find an entry
+   * @param indexThreshold the size above which {@link LookupMode#ADAPTIVE}
+   *        builds the hash index; ignored by {@link LookupMode#LINEAR_SCAN}
+   * @throws NullPointerException if {@code lookupMode} is {@code null}
+   * @throws IllegalArgumentException if {@code indexThreshold <= 0}
+   */
+  public LinearHashTable(LookupMode lookupMode, int indexThreshold) {
+    if (indexThreshold <= 0) {
+      throw new IllegalArgumentException("Index threshold must be greater than zero.");
+    }
+    this.lookupMode = Objects.requireNonNull(lookupMode, "Lookup mode must not be null.");
+    this.indexThreshold = indexThreshold;
+  }
 
   /**
    * {@inheritDoc}
    *
-   * @implNote Time complexity is {@code O(n)} because the method must search
-   *           for an existing key before deciding whether to update or append.
+   * @implNote Time complexity is {@code O(n)} while scanning, because the
+   *           method must search for an existing key before deciding whether
+   *           to update or append. With the index it is {@code O(1)} on
+   *           average; building the index costs {@code O(n)} once.
    */
   @Override
   public V put(K key, V value) {
-    for (Entry<K, V> entry : entries) {
-      if (Objects.equals(entry.key, key)) {
-        V previous = entry.value;
-        entry.value = value;
-        return previous;
-      }
+    int position = indexOf(key);
+    if (position >= 0) {
+      Entry<K, V> entry = entries.get(position);
+      V previous = entry.value;
+      entry.value = value;
+      return previous;
     }
+
     entries.add(new Entry<>(key, value));
+    if (index != null) {
+      index.put(key, entries.size() - 1);
+    } else if (lookupMode == LookupMode.ADAPTIVE && entries.size() > indexThreshold) {
+      index = new HashMap<>();
+      reindex();
+    }
     return null;
   }
 
   /**
    * {@inheritDoc}
    *
-   * @implNote Time complexity is {@code O(n)}.
+   * @implNote Time complexity is {@code O(n)} while scanning and {@code O(1)}
+   *           on average with the index.
    */
   @Override
   public V get(K key) {
-    for (Entry<K, V> entry : entries) {
-      if (Objects.equals(entry.key, key)) {
-        return entry.value;
-      }
-    }
-    return null;
+    int position = indexOf(key);
+    return position < 0 ? null : entries.get(position).value;
   }
 
   /**
    * {@inheritDoc}
    *
-   * @implNote Time complexity is {@code O(n)}.
+   * @implNote Time complexity is {@code O(n)} while scanning. With the index
+   *           it is {@code O(1)} amortized: the entry is replaced by a
+   *           placeholder, and the {@code O(n)} compaction runs only after as
+   *           many removals as there are live entries.
    */
   @Override
   public V remove(K key) {
-    for (int i = 0; i < entries.size(); i++) {
-      Entry<K, V> entry = entries.get(i);
-      if (Objects.equals(entry.key, key)) {
-        entries.remove(i);
-        return entry.value;
-      }
+    int position = indexOf(key);
+    if (position < 0) {
+      return null;
     }
-    return null;
+
+    Entry<K, V> entry = entries.get(position);
+    if (index == null) {
+      entries.remove(position);
+      return entry.value;
+    }
+
+    index.remove(key);
+    entries.set(position, null);
+    removedCount++;
+    if (size() < indexThreshold / 2) {
+      index = null;
+      compact();
+    } else if (removedCount > size()) {
+      compact();
+    }
+    return entry.value;
   }
 
   /**
    * {@inheritDoc}
    *
-   * @implNote Time complexity is {@code O(n)}.
+   * @implNote Time complexity is {@code O(n)} while scanning and {@code O(1)}
+   *           on average with the index.
    */
   @Override
   public boolean containsKey(K key) {
-    for (Entry<K, V> entry : entries) {
-      if (Objects.equals(entry.key, key)) {
-        return true;
-      }
-    }
-    return false;
+    return indexOf(key) >= 0;
   }
 
   /**
@@ -108,17 +204,105 @@ public class LinearHashTable<K, V> implements HashTable<K, V> {
    */
   @Override
   public int size() {
-    return entries.size();
+    return entries.size() - removedCount;
   }
 
   /**
    * {@inheritDoc}
    *
+   * <p>
+   * The table returns to linear scanning.
+   * </p>
+   *
    * @implNote Time complexity is {@code O(n)}.
    */
   @Override
   public void clear() {
     entries.clear();
+    index = null;
+    removedCount = 0;
+  }
+
+  /**
+   * Returns an iterator over the entries in insertion order.
+   *
+   * <p>
+   * Each returned entry is an immutable snapshot of one stored pair.
+   * </p>
+   *
+   * @return an iterator from the oldest entry to the newest
+   *
+   * @implNote Creating the iterator is {@code O(1)}.
+   */
+  @Override
+  public Iterator<Map.Entry<K, V>> iterator() {
+    return new Iterator<Map.Entry<K, V>>() {
+      private int position = nextLive(0);
+
+      @Override
+      public boolean hasNext() {
+        return position < entries.size();
+      }
+
+      @Override
+      public Map.Entry<K, V> next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        Entry<K, V> entry = entries.get(position);
+        position = nextLive(position + 1);
+        return new AbstractMap.SimpleImmutableEntry<>(entry.key, entry.value);
+      }
+    };
+  }
+
+  /**
+   * Returns the position of {@code key} in {@link #entries}, or {@code -1}.
+   */
+  private int indexOf(K key) {
+    if (index != null) {
+      Integer position = index.get(key);
+      return position == null ? -1 : position;
+    }
+    for (int i = 0; i < entries.size(); i++) {
+      if (Objects.equals(entries.get(i).key, key)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the first position at or after {@code from} that holds an entry
+   * rather than a removal placeholder.
+   */
+  private int nextLive(int from) {
+    int position = from;
+    while (position < entries.size() && entries.get(position) == null) {
+      position++;
+    }
+    return position;
+  }
+
+  /**
+   * Removes the placeholders left by {@link #remove}, keeping insertion order,
+   * and refreshes the index positions.
+   *
+   * @implNote Time complexity is {@code O(n)}.
+   */
+  private void compact() {
+    entries.removeIf(Objects::isNull);
+    removedCount = 0;
+    if (index != null) {
+      reindex();
+    }
+  }
+
+  private void reindex() {
+    index.clear();
+    for (int i = 0; i < entries.size(); i++) {
+      index.put(entries.get(i).key, i);
+    }
   }
 
 }
@@ -0,0 +1,82 @@
+package co.edu.udla.ed.impl.linear;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Helpers shared by the tree wrappers that keep their values in a sorted,
+ * duplicate-free {@link java.util.ArrayList}.
+ */
+final class SortedLists {
+
+  private SortedLists() {
+  }
+
+  /**
+   * Merges a batch of values into a sorted, duplicate-free list, keeping it
+   * sorted and duplicate-free.
+   *
+   * <p>
+   * The batch is copied and sorted once, then merged with the list in a single
+   * forward pass. Values already in the list and repeated values in the batch
+   * are kept once, exactly as repeated single insertions would.
+   * </p>
+   *
+   * @param data the sorted list to update
+   * @param values the values to add, in any order
+   * @throws NullPointerException if {@code values} is {@code null} or contains
+   *         {@code null}
+   *
+   * @implNote Time complexity is {@code O(n + k log k)} for {@code n} stored
+   *           and {@code k} new values, instead of the {@code O(n k)} element
+   *           shifts of {@code k} single insertions.
+   */
+  @SuppressWarnings("unchecked")
+  static <T extends Comparable<T>> void mergeAll(List<T> data, Collection<? extends T> values) {
+    Objects.requireNonNull(values, "Values must not be null.");
+    Object[] batch = values.toArray();
+    if (batch.length == 0) {
+      return;
+    }
+    for (Object value : batch) {
+      Objects.requireNonNull(value, "Values must not contain null.");
+    }
+    Arrays.sort(batch);
+
+    int n = data.size();
+    Object[] merged = new Object[n + batch.length];
+    int size = 0;
+    int i = 0;
+    int j = 0;
+    while (i < n || j < batch.length) {
+      T next;
+      if (j == batch.length) {
+        next = data.get(i++);
+      } else if (i == n) {
+        next = (T) batch[j++];
+      } else {
+        int comparison = data.get(i).compareTo((T) batch[j]);
+        if (comparison < 0) {
+          next = data.get(i++);
+        } else if (comparison > 0) {
+          next = (T) batch[j++];
+        } else {
+          next = data.get(i++);
+          j++;
+        }
+      }
+      if (size == 0 || ((T) merged[size - 1]).compareTo(next) != 0) {
+        merged[size++] = next;
+      }
+    }
+
+    if (size == n) {
+      return;
+    }
+    data.clear();
+    data.addAll((List<T>) (List<?>) Arrays.asList(merged).subList(0, size));
+  }
+
+}
@@ -0,0 +1,764 @@
+package co.edu.udla.ed.impl.scratch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import co.edu.udla.ed.api.BinarySearchTree;
+
+/**
+ * Ordered set stored as a B+ tree, whose wide nodes keep many values side by
+ * side in one array.
+ *
+ * <p>
+ * A binary tree follows one pointer per level, and with millions of values
+ * almost every one of those nodes is a cache miss: a lookup in a
+ * {@link LinkedAVLTree} of ten million values reads about 24 nodes scattered
+ * across the heap. Here every node holds up to {@code fanout - 1} keys in a
+ * packed array and an inner node up to {@code fanout} children, so the tree
+ * has only {@code O(log n / log fanout)} levels. A lookup binary-searches the
+ * keys of one node, which share a few cache lines, before following a single
+ * child pointer; with the default fanout of {@value #DEFAULT_FANOUT}, ten
+ * million values fit in five levels. The values themselves are still
+ * references, so each comparison reads the value object it points to.
+ * </p>
+ *
+ * <p>
+ * Values are stored only in the leaves. Inner nodes hold separator keys: every
+ * value in the subtree left of a separator is smaller than it, and every value
+ * right of it is greater than or equal to it. The leaves are linked in both
+ * directions, so iteration, {@link #iteratorFrom(Comparable)}, and
+ * {@link #range(Comparable, Comparable)} descend once and then read whole
+ * leaves in order without going back up the tree.
+ * </p>
+ *
+ * <p>
+ * Every node except the root keeps at least {@code (fanout - 1) / 2} keys.
+ * An insertion that overfills a node splits it in two and pushes a separator
+ * up; a removal that underfills a node borrows a key from a neighbour or
+ * merges with it. Inner nodes also store the number of values under each
+ * child, which answers the order-statistic queries in {@code O(log n)}.
+ * {@link #height()} counts levels of nodes, not of values. Duplicate
+ * insertions are ignored.
+ * </p>
+ *
+ * @param <T> the element type
+ */
+public class BPlusTree<T extends Comparable<T>> implements BinarySearchTree<T> {
+
+  /**
+   * Fanout used by {@link #BPlusTree()}. Sixty-three keys of four-byte
+   * compressed references fill four cache lines.
+   */
+  public static final int DEFAULT_FANOUT = 64;
+
+  private static final int MINIMUM_FANOUT = 3;
+
+  /**
+   * A leaf or an inner node. The arrays have room for one key and one child
+   * more than the node may keep, so that an insertion can overfill the node
+   * before it is split.
+   */
+  private static final class Node<T> {
+    final Object[] keys;
+    final Node<T>[] children;
+    final int[] counts;
+    int keyCount;
+    Node<T> previous;
+    Node<T> next;
+
+    @SuppressWarnings("unchecked")
+    Node(int fanout, boolean leaf) {
+      keys = new Object[fanout];
+      children = leaf ? null : (Node<T>[]) new Node<?>[fanout + 1];
+      counts = leaf ? null : new int[fanout + 1];
+    }
+
+    boolean isLeaf() {
+      return children == null;
+    }
+  }
+
+  private final int fanout;
+  private final int minimumKeys;
+  private Node<T> root;
+  private int size;
+
+  /**
+   * Creates an empty tree with {@link #DEFAULT_FANOUT}.
+   */
+  public BPlusTree() {
+    this(DEFAULT_FANOUT);
+  }
+
+  /**
+   * Creates an empty tree whose inner nodes have at most {@code fanout}
+   * children and whose nodes hold at most {@code fanout - 1} keys.
+   *
+   * @param fanout the maximum number of children of an inner node
+   * @throws IllegalArgumentException if {@code fanout} is less than
+   *         {@code 3}
+   */
+  public BPlusTree(int fanout) {
+    if (fanout < MINIMUM_FANOUT) {
+      throw new IllegalArgumentException("Fanout must be at least " + MINIMUM_FANOUT + ".");
+    }
+    this.fanout = fanout;
+    this.minimumKeys = (fanout - 1) / 2;
+    this.root = new Node<>(fanout, true);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * The value goes into its leaf in sorted position. A node left with
+   * {@code fanout} keys is split in two on the way back up, and a root split
+   * adds a level.
+   * </p>
+   *
+   * @implNote Time complexity is {@code O(fanout * log n / log fanout)}, from
+   *           shifting keys inside the nodes on the path. The recursion depth
+   *           is the height.
+   */
+  @Override
+  public void insert(T value) {
+    if (!insert(root, value)) {
+      return;
+    }
+    size++;
+    if (root.keyCount == fanout) {
+      Node<T> newRoot = new Node<>(fanout, false);
+      newRoot.children[0] = root;
+      newRoot.counts[0] = size;
+      root = newRoot;
+      splitChild(newRoot, 0);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(log n)}: one binary search per
+   *           level.
+   */
+  @Override
+  public boolean contains(T value) {
+    Node<T> leaf = findLeaf(value);
+    int position = keysBelow(leaf, value, false);
+    return position < leaf.keyCount && key(leaf, position).compareTo(value) == 0;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * A node left with too few keys borrows one from a neighbour that can spare
+   * it, or otherwise merges with that neighbour. Separators that no longer
+   * match a stored value are left in place, since they still divide the
+   * subtrees correctly.
+   * </p>
+   *
+   * @implNote Time complexity is {@code O(fanout * log n / log fanout)}.
+   */
+  @Override
+  public boolean remove(T value) {
+    if (!remove(root, value)) {
+      return false;
+    }
+    size--;
+    if (!root.isLeaf() && root.keyCount == 0) {
+      root = root.children[0];
+    }
+    return true;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(1)}.
+   */
+  @Override
+  public int size() {
+    return size;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * The height is the number of node levels, so a tree whose values all fit
+   * in the root leaf has height {@code 1}.
+   * </p>
+   *
+   * @implNote Time complexity is {@code O(log n / log fanout)}, because every
+   *           leaf is at the same depth.
+   */
+  @Override
+  public int height() {
+    if (size == 0) {
+      return 0;
+    }
+    int height = 1;
+    for (Node<T> node = root; !node.isLeaf(); node = node.children[0]) {
+      height++;
+    }
+    return height;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(n)}.
+   */
+  @Override
+  public List<T> inOrder() {
+    List<T> out = new ArrayList<>(size);
+    for (Node<T> leaf = firstLeaf(); leaf != null; leaf = leaf.next) {
+      for (int i = 0; i < leaf.keyCount; i++) {
+        out.add(key(leaf, i));
+      }
+    }
+    return out;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(1)}.
+   */
+  @Override
+  public void clear() {
+    root = new Node<>(fanout, true);
+    size = 0;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(fanout * log n / log fanout)}, from
+   *           adding up the stored child counts on the search path.
+   */
+  @Override
+  public int rank(T value) {
+    return countBelow(value, false);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(fanout * log n / log fanout)}, from
+   *           the stored child counts.
+   */
+  @Override
+  public T select(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("index=" + index + ", size=" + size);
+    }
+    Node<T> node = root;
+    int remaining = index;
+    while (!node.isLeaf()) {
+      int child = 0;
+      while (remaining >= node.counts[child]) {
+        remaining -= node.counts[child];
+        child++;
+      }
+      node = node.children[child];
+    }
+    return key(node, remaining);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(log n)}. When the leaf of
+   *           {@code value} holds nothing smaller, the answer is the last key
+   *           of the previous leaf.
+   */
+  @Override
+  public T floor(T value) {
+    Node<T> leaf = findLeaf(value);
+    int position = keysBelow(leaf, value, true) - 1;
+    if (position >= 0) {
+      return key(leaf, position);
+    }
+    Node<T> previous = leaf.previous;
+    return previous == null ? null : key(previous, previous.keyCount - 1);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(log n)}. When the leaf of
+   *           {@code value} holds nothing greater, the answer is the first key
+   *           of the next leaf.
+   */
+  @Override
+  public T ceiling(T value) {
+    Node<T> leaf = findLeaf(value);
+    int position = keysBelow(leaf, value, false);
+    if (position < leaf.keyCount) {
+      return key(leaf, position);
+    }
+    Node<T> next = leaf.next;
+    return next == null ? null : key(next, 0);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(fanout * log n / log fanout)}, from
+   *           the stored child counts.
+   */
+  @Override
+  public int countInRange(T low, T high) {
+    if (low.compareTo(high) > 0) {
+      return 0;
+    }
+    return countBelow(high, true) - countBelow(low, false);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * After one descent to the leaf of {@code low}, the values are copied leaf
+   * by leaf along the leaf links.
+   * </p>
+   *
+   * @implNote Time complexity is {@code O(log n + k)} for {@code k} values in
+   *           the range.
+   */
+  @Override
+  public List<T> range(T low, T high) {
+    List<T> out = new ArrayList<>();
+    if (low.compareTo(high) > 0) {
+      return out;
+    }
+    Node<T> leaf = findLeaf(low);
+    int position = keysBelow(leaf, low, false);
+    while (leaf != null) {
+      for (; position < leaf.keyCount; position++) {
+        T value = key(leaf, position);
+        if (value.compareTo(high) > 0) {
+          return out;
+        }
+        out.add(value);
+      }
+      leaf = leaf.next;
+      position = 0;
+    }
+    return out;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * The iterator reads each leaf array in order and then follows the link to
+   * the next leaf.
+   * </p>
+   *
+   * @implNote Creating the iterator is {@code O(log n / log fanout)} and it
+   *           uses {@code O(1)} memory. A full traversal is {@code O(n)}.
+   */
+  @Override
+  public Iterator<T> iterator() {
+    return new LeafIterator(firstLeaf(), 0, true);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Creating the iterator is {@code O(log n / log fanout)} and it
+   *           uses {@code O(1)} memory.
+   */
+  @Override
+  public Iterator<T> descendingIterator() {
+    Node<T> last = root;
+    while (!last.isLeaf()) {
+      last = last.children[last.keyCount];
+    }
+    return new LeafIterator(last, last.keyCount - 1, false);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Creating the iterator is {@code O(log n)} and it uses
+   *           {@code O(1)} memory.
+   */
+  @Override
+  public Iterator<T> iteratorFrom(T fromValue) {
+    Node<T> leaf = findLeaf(fromValue);
+    return new LeafIterator(leaf, keysBelow(leaf, fromValue, false), true);
+  }
+
+  /**
+   * Returns the maximum number of children of an inner node.
+   *
+   * @return the fanout given at construction
+   *
+   * @implNote Time complexity is {@code O(1)}.
+   */
+  public int fanout() {
+    return fanout;
+  }
+
+  /**
+   * Inserts below {@code node} and splits the child that received the value
+   * if it was overfilled.
+   *
+   * @return {@code true} if the value was added, {@code false} if it was
+   *         already stored
+   */
+  private boolean insert(Node<T> node, T value) {
+    if (node.isLeaf()) {
+      int position = keysBelow(node, value, false);
+      if (position < node.keyCount && key(node, position).compareTo(value) == 0) {
+        return false;
+      }
+      insertKey(node, position, value);
+      return true;
+    }
+    int index = keysBelow(node, value, true);
+    Node<T> child = node.children[index];
+    if (!insert(child, value)) {
+      return false;
+    }
+    node.counts[index]++;
+    if (child.keyCount == fanout) {
+      splitChild(node, index);
+    }
+    return true;
+  }
+
+  /**
+   * Removes from below {@code node} and repairs the child that lost the value
+   * if it was underfilled.
+   *
+   * @return {@code true} if the value was removed, {@code false} if it was not
+   *         stored
+   */
+  private boolean remove(Node<T> node, T value) {
+    if (node.isLeaf()) {
+      int position = keysBelow(node, value, false);
+      if (position == node.keyCount || key(node, position).compareTo(value) != 0) {
+        return false;
+      }
+      removeKey(node, position);
+      return true;
+    }
+    int index = keysBelow(node, value, true);
+    Node<T> child = node.children[index];
+    if (!remove(child, value)) {
+      return false;
+    }
+    node.counts[index]--;
+    if (child.keyCount < minimumKeys) {
+      rebalanceChild(node, index);
+    }
+    return true;
+  }
+
+  /**
+   * Splits the overfilled child at {@code index} in two and inserts the
+   * separator between them into {@code parent}.
+   *
+   * <p>
+   * A leaf keeps its first half and copies the first key of the second half
+   * up as the separator. An inner node moves its middle key up instead, since
+   * inner keys are only separators.
+   * </p>
+   */
+  private void splitChild(Node<T> parent, int index) {
+    Node<T> child = parent.children[index];
+    Node<T> sibling = new Node<>(fanout, child.isLeaf());
+    int middle = fanout / 2;
+    Object separator;
+    int siblingCount;
+    if (child.isLeaf()) {
+      int moved = child.keyCount - middle;
+      System.arraycopy(child.keys, middle, sibling.keys, 0, moved);
+      Arrays.fill(child.keys, middle, child.keyCount, null);
+      sibling.keyCount = moved;
+      child.keyCount = middle;
+      separator = sibling.keys[0];
+      siblingCount = moved;
+
+      sibling.next = child.next;
+      if (sibling.next != null) {
+        sibling.next.previous = sibling;
+      }
+      sibling.previous = child;
+      child.next = sibling;
+    } else {
+      int moved = child.keyCount - middle - 1;
+      separator = child.keys[middle];
+      System.arraycopy(child.keys, middle + 1, sibling.keys, 0, moved);
+      System.arraycopy(child.children, middle + 1, sibling.children, 0, moved + 1);
+      System.arraycopy(child.counts, middle + 1, sibling.counts, 0, moved + 1);
+      Arrays.fill(child.keys, middle, child.keyCount, null);
+      Arrays.fill(child.children, middle + 1, child.keyCount + 1, null);
+      Arrays.fill(child.counts, middle + 1, child.keyCount + 1, 0);
+      sibling.keyCount = moved;
+      child.keyCount = middle;
+      siblingCount = 0;
+      for (int i = 0; i <= moved; i++) {
+        siblingCount += sibling.counts[i];
+      }
+    }
+
+    // El separador queda en la posición index y el nuevo hermano a su derecha.
+    System.arraycopy(parent.keys, index, parent.keys, index + 1, parent.keyCount - index);
+    System.arraycopy(parent.children, index + 1, parent.children, index + 2, parent.keyCount - index);
+    System.arraycopy(parent.counts, index + 1, parent.counts, index + 2, parent.keyCount - index);
+    parent.keys[index] = separator;
+    parent.children[index + 1] = sibling;
+    parent.counts[index + 1] = siblingCount;
+    parent.counts[index] -= siblingCount;
+    parent.keyCount++;
+  }
+
+  /**
+   * Restores the minimum number of keys of the child at {@code index}, first
+   * by borrowing from a neighbour with keys to spare and otherwise by merging
+   * with a neighbour.
+   */
+  private void rebalanceChild(Node<T> parent, int index) {
+    if (index > 0 && parent.children[index - 1].keyCount > minimumKeys) {
+      borrowFromLeft(parent, index);
+    } else if (index < parent.keyCount && parent.children[index + 1].keyCount > minimumKeys) {
+      borrowFromRight(parent, index);
+    } else if (index > 0) {
+      mergeChildren(parent, index - 1);
+    } else {
+      mergeChildren(parent, index);
+    }
+  }
+
+  /**
+   * Moves the last key of the left neighbour into the child at
+   * {@code index}. For inner nodes the key passes through the parent and the
+   * neighbour's last child moves along with it.
+   */
+  private void borrowFromLeft(Node<T> parent, int index) {
+    Node<T> child = parent.children[index];
+    Node<T> left = parent.children[index - 1];
+    int movedCount;
+    if (child.isLeaf()) {
+      Object moved = left.keys[left.keyCount - 1];
+      removeKey(left, left.keyCount - 1);
+      insertKey(child, 0, moved);
+      parent.keys[index - 1] = moved;
+      movedCount = 1;
+    } else {
+      int last = left.keyCount;
+      movedCount = left.counts[last];
+      System.arraycopy(child.keys, 0, child.keys, 1, child.keyCount);
+      System.arraycopy(child.children, 0, child.children, 1, child.keyCount + 1);
+      System.arraycopy(child.counts, 0, child.counts, 1, child.keyCount + 1);
+      child.keys[0] = parent.keys[index - 1];
+      child.children[0] = left.children[last];
+      child.counts[0] = movedCount;
+      child.keyCount++;
+
+      parent.keys[index - 1] = left.keys[last - 1];
+      left.keys[last - 1] = null;
+      left.children[last] = null;
+      left.counts[last] = 0;
+      left.keyCount--;
+    }
+    parent.counts[index - 1] -= movedCount;
+    parent.counts[index] += movedCount;
+  }
+
+  /**
+   * Moves the first key of the right neighbour into the child at
+   * {@code index}. For inner nodes the key passes through the parent and the
+   * neighbour's first child moves along with it.
+   */
+  private void borrowFromRight(Node<T> parent, int index) {
+    Node<T> child = parent.children[index];
+    Node<T> right = parent.children[index + 1];
+    int movedCount;
+    if (child.isLeaf()) {
+      Object moved = right.keys[0];
+      removeKey(right, 0);
+      child.keys[child.keyCount++] = moved;
+      parent.keys[index] = right.keys[0];
+      movedCount = 1;
+    } else {
+      movedCount = right.counts[0];
+      child.keys[child.keyCount] = parent.keys[index];
+      child.children[child.keyCount + 1] = right.children[0];
+      child.counts[child.keyCount + 1] = movedCount;
+      child.keyCount++;
+
+      parent.keys[index] = right.keys[0];
+      System.arraycopy(right.keys, 1, right.keys, 0, right.keyCount - 1);
+      System.arraycopy(right.children, 1, right.children, 0, right.keyCount);
+      System.arraycopy(right.counts, 1, right.counts, 0, right.keyCount);
+      right.keys[right.keyCount - 1] = null;
+      right.children[right.keyCount] = null;
+      right.counts[right.keyCount] = 0;
+      right.keyCount--;
+    }
+    parent.counts[index] += movedCount;
+    parent.counts[index + 1] -= movedCount;
+  }
+
+  /**
+   * Appends the child at {@code index + 1} to the child at {@code index} and
+   * removes the separator between them from {@code parent}. Merging inner
+   * nodes pulls that separator down between the two halves.
+   */
+  private void mergeChildren(Node<T> parent, int index) {
+    Node<T> left = parent.children[index];
+    Node<T> right = parent.children[index + 1];
+    if (left.isLeaf()) {
+      System.arraycopy(right.keys, 0, left.keys, left.keyCount, right.keyCount);
+      left.keyCount += right.keyCount;
+      left.next = right.next;
+      if (right.next != null) {
+        right.next.previous = left;
+      }
+    } else {
+      left.keys[left.keyCount] = parent.keys[index];
+      System.arraycopy(right.keys, 0, left.keys, left.keyCount + 1, right.keyCount);
+      System.arraycopy(right.children, 0, left.children, left.keyCount + 1, right.keyCount + 1);
+      System.arraycopy(right.counts, 0, left.counts, left.keyCount + 1, right.keyCount + 1);
+      left.keyCount += right.keyCount + 1;
+    }
+
+    parent.counts[index] += parent.counts[index + 1];
+    int tail = parent.keyCount - index - 1;
+    System.arraycopy(parent.keys, index + 1, parent.keys, index, tail);
+    System.arraycopy(parent.children, index + 2, parent.children, index + 1, tail);
+    System.arraycopy(parent.counts, index + 2, parent.counts, index + 1, tail);
+    parent.keys[parent.keyCount - 1] = null;
+    parent.children[parent.keyCount] = null;
+    parent.counts[parent.keyCount] = 0;
+    parent.keyCount--;
+  }
+
+  private Node<T> findLeaf(T value) {
+    Node<T> node = root;
+    while (!node.isLeaf()) {
+      node = node.children[keysBelow(node, value, true)];
+    }
+    return node;
+  }
+
+  private Node<T> firstLeaf() {
+    Node<T> node = root;
+    while (!node.isLeaf()) {
+      node = node.children[0];
+    }
+    return node;
+  }
+
+  /**
+   * Returns the number of stored values smaller than {@code value}, or
+   * smaller than or equal to it when {@code inclusive} is set.
+   */
+  private int countBelow(T value, boolean inclusive) {
+    int count = 0;
+    Node<T> node = root;
+    while (!node.isLeaf()) {
+      int index = keysBelow(node, value, true);
+      for (int i = 0; i < index; i++) {
+        count += node.counts[i];
+      }
+      node = node.children[index];
+    }
+    return count + keysBelow(node, value, inclusive);
+  }
+
+  /**
+   * Returns the number of keys of {@code node} smaller than {@code value}, or
+   * smaller than or equal to it when {@code inclusive} is set. With
+   * {@code inclusive} set on an inner node, this is the index of the child
+   * whose subtree holds {@code value}.
+   */
+  private int keysBelow(Node<T> node, T value, boolean inclusive) {
+    int low = 0;
+    int high = node.keyCount;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      int comparison = key(node, middle).compareTo(value);
+      if (comparison < 0 || (inclusive && comparison == 0)) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  private static void insertKey(Node<?> node, int position, Object key) {
+    System.arraycopy(node.keys, position, node.keys, position + 1, node.keyCount - position);
+    node.keys[position] = key;
+    node.keyCount++;
+  }
+
+  private static void removeKey(Node<?> node, int position) {
+    System.arraycopy(node.keys, position + 1, node.keys, position, node.keyCount - position - 1);
+    node.keys[--node.keyCount] = null;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T key(Node<T> node, int position) {
+    return (T) node.keys[position];
+  }
+
+  /**
+   * Iterator that reads the keys of one leaf and then moves to the
+   * neighbouring leaf through the leaf links.
+   */
+  private final class LeafIterator implements Iterator<T> {
+    private Node<T> leaf;
+    private int position;
+    private final boolean ascending;
+
+    LeafIterator(Node<T> leaf, int position, boolean ascending) {
+      this.leaf = leaf;
+      this.position = position;
+      this.ascending = ascending;
+      skipExhaustedLeaf();
+    }
+
+    @Override
+    public boolean hasNext() {
+      return leaf != null;
+    }
+
+    @Override
+    public T next() {
+      if (leaf == null) {
+        throw new NoSuchElementException();
+      }
+      T value = key(leaf, position);
+      position += ascending ? 1 : -1;
+      skipExhaustedLeaf();
+      return value;
+    }
+
+    /**
+     * Moves to the neighbouring leaf once the position has left the current
+     * one. Only an empty root leaf has no keys, and it has no neighbours.
+     */
+    private void skipExhaustedLeaf() {
+      if (ascending && position == leaf.keyCount) {
+        leaf = leaf.next;
+        position = 0;
+      } else if (!ascending && position < 0) {
+        leaf = leaf.previous;
+        position = leaf == null ? 0 : leaf.keyCount - 1;
+      }
+    }
+  }
+
+}
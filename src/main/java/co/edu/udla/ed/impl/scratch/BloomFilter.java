@@ -0,0 +1,209 @@
+package co.edu.udla.ed.impl.scratch;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Probabilistic set that answers "definitely absent" or "possibly present".
+ *
+ * <p>
+ * The filter is an array of {@code m} bits. Adding an element sets {@code k}
+ * bits chosen by hashing it; a query reports the element as possibly present
+ * only if all {@code k} of its bits are set. An added element is therefore
+ * never reported absent, while an element that was never added is reported
+ * present with a small probability, the false-positive rate, because other
+ * elements happened to set all of its bits.
+ * </p>
+ *
+ * <p>
+ * Both {@code m} and {@code k} are derived from the expected number of
+ * elements {@code n} and the target false-positive rate {@code p}:
+ * {@code m = -n ln p / (ln 2)^2} and {@code k = (m / n) ln 2}. One percent
+ * costs about 9.6 bits and 7 probes per element. Adding more than {@code n}
+ * elements still works, but the false-positive rate rises above the target.
+ * </p>
+ *
+ * <p>
+ * The {@code k} positions come from one 64-bit hash of
+ * {@link Object#hashCode()}, split into two halves {@code h1} and {@code h2}
+ * and combined as {@code h1 + i * h2}. Elements with equal hash codes are
+ * therefore indistinguishable to the filter. Bits cannot be cleared one
+ * element at a time; {@link CountingBloomFilter} supports removal.
+ * </p>
+ *
+ * @param <T> the element type
+ */
+public class BloomFilter<T> {
+
+  private final long[] words;
+  private final long bitCount;
+  private final int hashCount;
+  private int count;
+
+  /**
+   * Creates an empty filter sized for {@code expectedInsertions} elements at
+   * the given false-positive rate.
+   *
+   * @param expectedInsertions the number of elements the filter is sized for
+   * @param falsePositiveRate the target probability that an absent element is
+   *        reported as possibly present
+   * @throws IllegalArgumentException if {@code expectedInsertions <= 0}
+   * @throws IllegalArgumentException if {@code falsePositiveRate} is not
+   *         strictly between {@code 0} and {@code 1}
+   *
+   * @implNote Construction is {@code O(m)}, where {@code m} is the number of
+   *           bits.
+   */
+  public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+    long bits = optimalBitCount(expectedInsertions, falsePositiveRate);
+    this.words = new long[(int) ((bits + 63) / 64)];
+    this.bitCount = words.length * 64L;
+    this.hashCount = optimalHashCount(expectedInsertions, bitCount);
+  }
+
+  /**
+   * Adds an element to the filter.
+   *
+   * @param element the element to add; may be {@code null}
+   *
+   * @implNote Time complexity is {@code O(k)}.
+   */
+  public void add(T element) {
+    long hash = hash(element);
+    for (int i = 0; i < hashCount; i++) {
+      long bit = index(hash, i, bitCount);
+      words[(int) (bit >>> 6)] |= 1L << bit;
+    }
+    count++;
+  }
+
+  /**
+   * Reports whether the element may have been added.
+   *
+   * @param element the element to test; may be {@code null}
+   * @return {@code false} if the element was definitely never added;
+   *         {@code true} if it was added or, with the false-positive
+   *         probability, if it was not
+   *
+   * @implNote Time complexity is {@code O(k)}, and a miss usually stops at
+   *           the first clear bit.
+   */
+  public boolean mightContain(T element) {
+    long hash = hash(element);
+    for (int i = 0; i < hashCount; i++) {
+      long bit = index(hash, i, bitCount);
+      if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Removes every element from the filter.
+   *
+   * @implNote Time complexity is {@code O(m)}.
+   */
+  public void clear() {
+    Arrays.fill(words, 0L);
+    count = 0;
+  }
+
+  /**
+   * Returns the number of {@link #add(Object)} calls since the filter was
+   * created or cleared. Adding an element twice counts twice.
+   *
+   * @return the number of insertions
+   *
+   * @implNote Time complexity is {@code O(1)}.
+   */
+  public int insertionCount() {
+    return count;
+  }
+
+  /**
+   * Returns the number of bits in the filter.
+   *
+   * @return the bit count {@code m}
+   *
+   * @implNote Time complexity is {@code O(1)}.
+   */
+  public long bitCount() {
+    return bitCount;
+  }
+
+  /**
+   * Returns the number of bits set or tested per element.
+   *
+   * @return the hash count {@code k}
+   *
+   * @implNote Time complexity is {@code O(1)}.
+   */
+  public int hashCount() {
+    return hashCount;
+  }
+
+  /**
+   * Estimates the current false-positive rate from the number of insertions,
+   * as {@code (1 - e^(-k n / m))^k}.
+   *
+   * @return the estimated probability that an absent element is reported as
+   *         possibly present
+   *
+   * @implNote Time complexity is {@code O(1)}.
+   */
+  public double expectedFalsePositiveRate() {
+    return expectedFalsePositiveRate(count, bitCount, hashCount);
+  }
+
+  /**
+   * Returns the number of bits that makes {@code n} elements reach the
+   * false-positive rate {@code p}.
+   *
+   * @throws IllegalArgumentException if an argument is out of range
+   */
+  static long optimalBitCount(int expectedInsertions, double falsePositiveRate) {
+    if (expectedInsertions <= 0) {
+      throw new IllegalArgumentException("Expected insertions must be greater than zero.");
+    }
+    if (!(falsePositiveRate > 0.0 && falsePositiveRate < 1.0)) {
+      throw new IllegalArgumentException("False-positive rate must be between zero and one.");
+    }
+    double bits = -expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+    return Math.max(64L, (long) Math.ceil(bits));
+  }
+
+  /**
+   * Returns the number of hash functions that minimizes the false-positive
+   * rate for {@code n} elements in {@code m} slots.
+   */
+  static int optimalHashCount(int expectedInsertions, long bitCount) {
+    return Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+  }
+
+  static double expectedFalsePositiveRate(long insertions, long slotCount, int hashCount) {
+    return Math.pow(1.0 - Math.exp(-(double) hashCount * insertions / slotCount), hashCount);
+  }
+
+  /**
+   * Expands the element's hash code into 64 well-mixed bits with the
+   * SplitMix64 finalizer.
+   */
+  static long hash(Object element) {
+    long z = Objects.hashCode(element) * 0x9E3779B97F4A7C15L;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
+  /**
+   * Returns the {@code i}-th of the {@code k} positions for a hash, by double
+   * hashing: {@code h1 + i * h2} modulo the slot count.
+   */
+  static long index(long hash, int i, long slotCount) {
+    long h1 = hash >>> 32;
+    long h2 = (hash & 0xFFFFFFFFL) | 1L;
+    return ((h1 + i * h2) & Long.MAX_VALUE) % slotCount;
+  }
+
+}
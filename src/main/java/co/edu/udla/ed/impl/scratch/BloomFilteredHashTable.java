@@ -0,0 +1,410 @@
+package co.edu.udla.ed.impl.scratch;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+import co.edu.udla.ed.api.HashTable;
+
+/**
+ * Hash-table decorator that answers most lookups of absent keys from a Bloom
+ * filter, without touching the wrapped table.
+ *
+ * <p>
+ * Every key stored in the wrapped table is also added to a filter. A
+ * {@code get}, {@code containsKey}, {@code getOrDefault}, or {@code remove}
+ * first asks the filter; when it reports the key as definitely absent, the
+ * call returns at once instead of walking a bucket. Only keys the filter
+ * cannot rule out, which are the present keys plus a fraction of the absent
+ * ones close to the configured false-positive rate, reach the wrapped table.
+ * This pays off when many lookups miss and a miss in the wrapped table is
+ * expensive, such as a long chain or a cold cache line.
+ * </p>
+ *
+ * <p>
+ * With {@link FilterMode#COUNTING} removed keys are taken out of the filter.
+ * With {@link FilterMode#STANDARD}, which needs a quarter of the memory, they
+ * stay in it as stale positions that can only cause false positives. In both
+ * modes the filter is rebuilt from the wrapped table when the keys it holds,
+ * live and stale, exceed the number it was sized for; the new filter is sized
+ * for twice the current size, so rebuilds cost {@code O(1)} amortized per
+ * insertion or removal.
+ * </p>
+ *
+ * <p>
+ * The decorator counts the lookups it filtered, the ones it answered from the
+ * filter alone, and the false positives that reached the wrapped table only to
+ * miss. Those counters show whether the filter is worth its memory for a
+ * workload. The wrapped table must not be modified except through this
+ * decorator. Like the tables it wraps, the decorator is not thread-safe.
+ * </p>
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class BloomFilteredHashTable<K, V> implements HashTable<K, V> {
+
+  private static final double DEFAULT_FALSE_POSITIVE_RATE = 0.01;
+  private static final int MINIMUM_FILTER_CAPACITY = 64;
+
+  /**
+   * Stands for "no mapping" in {@link HashTable#getOrDefault(Object, Object)}
+   * calls on the wrapped table, so that one lookup separates an absent key
+   * from a key mapped to {@code null}.
+   */
+  private static final Object MISSING = new Object();
+
+  /**
+   * Kind of Bloom filter kept in front of the wrapped table.
+   */
+  public enum FilterMode {
+
+    /**
+     * A {@link BloomFilter}: one bit per position. Removed keys stay in the
+     * filter until the next rebuild.
+     */
+    STANDARD,
+
+    /**
+     * A {@link CountingBloomFilter}: four bits per position, and removed keys
+     * are taken out of the filter immediately.
+     */
+    COUNTING
+  }
+
+  private final HashTable<K, V> delegate;
+  private final double falsePositiveRate;
+  private final FilterMode filterMode;
+  private BloomFilter<K> standardFilter;
+  private CountingBloomFilter<K> countingFilter;
+  private int filterCapacity;
+  private int staleKeyCount;
+
+  private long lookupCount;
+  private long avoidedLookupCount;
+  private long falsePositiveCount;
+  private long rebuildCount;
+
+  /**
+   * Wraps a table with a counting filter at a one percent false-positive
+   * rate.
+   *
+   * @param delegate the table to wrap; keys it already holds are added to the
+   *        filter
+   * @throws NullPointerException if {@code delegate} is {@code null}
+   *
+   * @implNote Construction is {@code O(n)} for a table of {@code n} entries.
+   */
+  public BloomFilteredHashTable(HashTable<K, V> delegate) {
+    this(delegate, DEFAULT_FALSE_POSITIVE_RATE, FilterMode.COUNTING);
+  }
+
+  /**
+   * Wraps a table with a filter of the given kind and false-positive rate.
+   *
+   * @param delegate the table to wrap; keys it already holds are added to the
+   *        filter
+   * @param falsePositiveRate the target probability that an absent key still
+   *        reaches the wrapped table
+   * @param filterMode the kind of filter to keep
+   * @throws NullPointerException if {@code delegate} or {@code filterMode} is
+   *         {@code null}
+   * @throws IllegalArgumentException if {@code falsePositiveRate} is not
+   *         strictly between {@code 0} and {@code 1}
+   *
+   * @implNote Construction is {@code O(n)} for a table of {@code n} entries.
+   */
+  public BloomFilteredHashTable(HashTable<K, V> delegate, double falsePositiveRate, FilterMode filterMode) {
+    this.delegate = Objects.requireNonNull(delegate, "Delegate must not be null.");
+    this.filterMode = Objects.requireNonNull(filterMode, "Filter mode must not be null.");
+    this.falsePositiveRate = falsePositiveRate;
+    rebuildFilter();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * In {@link FilterMode#COUNTING} mode a key that the filter cannot rule out
+   * is looked up once more in the wrapped table, so that overwriting a key
+   * does not count it twice.
+   * </p>
+   *
+   * @implNote Average-case time complexity is {@code O(1)} plus the cost of
+   *           the wrapped {@code put}. Filter rebuilds are amortized.
+   */
+  @Override
+  public V put(K key, V value) {
+    boolean added = filterMode == FilterMode.STANDARD || !filterContains(key) || !delegate.containsKey(key);
+    V previous = delegate.put(key, value);
+    if (added) {
+      addToFilter(key);
+    }
+    return previous;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote {@code O(k)} for a key the filter rules out; otherwise
+   *           {@code O(k)} plus one lookup in the wrapped table.
+   */
+  @Override
+  public V get(K key) {
+    V value = lookup(key);
+    return value == MISSING ? null : value;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote {@code O(k)} for a key the filter rules out; otherwise
+   *           {@code O(k)} plus one lookup in the wrapped table.
+   */
+  @Override
+  public V getOrDefault(K key, V defaultValue) {
+    V value = lookup(key);
+    return value == MISSING ? defaultValue : value;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote {@code O(k)} for a key the filter rules out; otherwise
+   *           {@code O(k)} plus one lookup in the wrapped table.
+   */
+  @Override
+  public boolean containsKey(K key) {
+    return lookup(key) != MISSING;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote {@code O(k)} for a key the filter rules out; otherwise
+   *           {@code O(k)} plus the wrapped {@code remove}. Filter rebuilds
+   *           are amortized.
+   */
+  @Override
+  public V remove(K key) {
+    if (!mightContain(key)) {
+      return null;
+    }
+    int sizeBefore = delegate.size();
+    V previous = delegate.remove(key);
+    if (delegate.size() == sizeBefore) {
+      falsePositiveCount++;
+    } else if (filterMode == FilterMode.COUNTING) {
+      countingFilter.remove(key);
+    } else {
+      staleKeyCount++;
+      rebuildIfOverfilled();
+    }
+    return previous;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(1)}.
+   */
+  @Override
+  public int size() {
+    return delegate.size();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * The filter is replaced by an empty one of the minimum size.
+   * </p>
+   *
+   * @implNote Time complexity is that of the wrapped {@code clear}.
+   */
+  @Override
+  public void clear() {
+    delegate.clear();
+    rebuildFilter();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Delegates to the wrapped table.
+   */
+  @Override
+  public void forEach(BiConsumer<? super K, ? super V> action) {
+    delegate.forEach(action);
+  }
+
+  /**
+   * Returns the wrapped table's iterator.
+   *
+   * @return an iterator over the stored entries
+   *
+   * @implNote Creating the iterator is {@code O(1)} for the wrapped tables in
+   *           this package.
+   */
+  @Override
+  public Iterator<Map.Entry<K, V>> iterator() {
+    return delegate.iterator();
+  }
+
+  /**
+   * Returns the number of key lookups that went through the filter:
+   * {@code get}, {@code getOrDefault}, {@code containsKey}, and
+   * {@code remove}.
+   *
+   * @return the number of filtered lookups since the last reset
+   *
+   * @implNote Time complexity is {@code O(1)}.
+   */
+  public long lookupCount() {
+    return lookupCount;
+  }
+
+  /**
+   * Returns the number of lookups answered by the filter alone, without
+   * touching the wrapped table.
+   *
+   * @return the number of avoided lookups since the last reset
+   *
+   * @implNote Time complexity is {@code O(1)}.
+   */
+  public long avoidedLookupCount() {
+    return avoidedLookupCount;
+  }
+
+  /**
+   * Returns the number of lookups the filter let through for a key the
+   * wrapped table did not hold.
+   *
+   * @return the number of false positives since the last reset
+   *
+   * @implNote Time complexity is {@code O(1)}.
+   */
+  public long falsePositiveCount() {
+    return falsePositiveCount;
+  }
+
+  /**
+   * Returns the share of lookups for absent keys that the filter failed to
+   * stop, which should stay close to the configured false-positive rate.
+   *
+   * @return {@code falsePositives / (falsePositives + avoidedLookups)}, or
+   *         {@code 0} before any absent key was looked up
+   *
+   * @implNote Time complexity is {@code O(1)}.
+   */
+  public double observedFalsePositiveRate() {
+    long misses = falsePositiveCount + avoidedLookupCount;
+    return misses == 0 ? 0.0 : (double) falsePositiveCount / misses;
+  }
+
+  /**
+   * Returns how many times the filter has been rebuilt from the wrapped
+   * table because it held more keys than it was sized for.
+   *
+   * @return the number of rebuilds since the last reset
+   *
+   * @implNote Time complexity is {@code O(1)}.
+   */
+  public long rebuildCount() {
+    return rebuildCount;
+  }
+
+  /**
+   * Sets every counter reported by this decorator back to zero.
+   *
+   * @implNote Time complexity is {@code O(1)}.
+   */
+  public void resetStatistics() {
+    lookupCount = 0;
+    avoidedLookupCount = 0;
+    falsePositiveCount = 0;
+    rebuildCount = 0;
+  }
+
+  /**
+   * Looks a key up through the filter.
+   *
+   * @return the stored value, or {@link #MISSING} if the key is absent
+   */
+  @SuppressWarnings("unchecked")
+  private V lookup(K key) {
+    if (!mightContain(key)) {
+      return (V) MISSING;
+    }
+    V value = delegate.getOrDefault(key, (V) MISSING);
+    if (value == MISSING) {
+      falsePositiveCount++;
+    }
+    return value;
+  }
+
+  /**
+   * Asks the filter about a key and counts the lookup.
+   */
+  private boolean mightContain(K key) {
+    lookupCount++;
+    boolean maybe = filterContains(key);
+    if (!maybe) {
+      avoidedLookupCount++;
+    }
+    return maybe;
+  }
+
+  private boolean filterContains(K key) {
+    return filterMode == FilterMode.COUNTING ? countingFilter.mightContain(key) : standardFilter.mightContain(key);
+  }
+
+  private void addToFilter(K key) {
+    if (filterMode == FilterMode.COUNTING) {
+      countingFilter.add(key);
+    } else {
+      standardFilter.add(key);
+    }
+    rebuildIfOverfilled();
+  }
+
+  /**
+   * Rebuilds the filter once the live and stale keys it holds exceed the
+   * number it was sized for.
+   *
+   * @implNote The check is {@code O(1)}. A rebuild is {@code O(n)} and leaves
+   *           room for as many further changes as there are entries.
+   */
+  private void rebuildIfOverfilled() {
+    if (delegate.size() + staleKeyCount > filterCapacity) {
+      rebuildFilter();
+      rebuildCount++;
+    }
+  }
+
+  /**
+   * Replaces the filter with one sized for twice the current number of
+   * entries and adds every stored key to it.
+   *
+   * @implNote Time complexity is {@code O(n)}.
+   */
+  private void rebuildFilter() {
+    filterCapacity = Math.max(MINIMUM_FILTER_CAPACITY, (int) Math.min(Integer.MAX_VALUE, 2L * delegate.size()));
+    staleKeyCount = 0;
+    if (filterMode == FilterMode.COUNTING) {
+      standardFilter = null;
+      countingFilter = new CountingBloomFilter<>(filterCapacity, falsePositiveRate);
+      for (Map.Entry<K, V> entry : delegate) {
+        countingFilter.add(entry.getKey());
+      }
+    } else {
+      countingFilter = null;
+      standardFilter = new BloomFilter<>(filterCapacity, falsePositiveRate);
+      for (Map.Entry<K, V> entry : delegate) {
+        standardFilter.add(entry.getKey());
+      }
+    }
+  }
+
+}
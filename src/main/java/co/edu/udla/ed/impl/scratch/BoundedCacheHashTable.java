@@ -0,0 +1,646 @@
+package co.edu.udla.ed.impl.scratch;
+
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.ToLongBiFunction;
+
+import co.edu.udla.ed.api.HashTable;
+
+/**
+ * Hash table with a size limit that evicts entries to stay within it, for use
+ * as an in-memory cache.
+ *
+ * <p>
+ * Keys are indexed by a {@link SeparateChainingHashTable} that maps every key
+ * to a node. The nodes are also linked into intrusive doubly linked lists, in
+ * the style of {@link DoublyLinkedList}, that record the eviction order, so
+ * moving an entry or choosing a victim never needs a search.
+ * </p>
+ *
+ * <p>
+ * Two limits are supported and both are enforced after every insertion: a
+ * maximum number of entries, and an optional maximum total weight computed by
+ * a caller-supplied weigher (for example, the byte size of a value). The
+ * {@link EvictionPolicy} decides which entry leaves when a limit is exceeded.
+ * </p>
+ *
+ * <p>
+ * {@link #get(Object)} counts as an access: it updates the eviction order and
+ * the hit and miss counters. {@link #containsKey(Object)} only inspects the
+ * table and changes neither.
+ * </p>
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class BoundedCacheHashTable<K, V> implements HashTable<K, V> {
+
+  /**
+   * Strategy used to choose the entry to evict.
+   */
+  public enum EvictionPolicy {
+
+    /**
+     * Least recently used: evicts the entry whose last access is the oldest.
+     * Cheap and effective for workloads with strong recency, but a single scan
+     * over many cold keys flushes the whole cache.
+     */
+    LRU,
+
+    /**
+     * Window TinyLFU: new entries enter a small LRU window (1% of the
+     * capacity). Entries leaving the window must have been requested more
+     * often than the main area's eviction victim to be admitted, according to
+     * a compact frequency sketch that forgets old history by halving its
+     * counters periodically. The main area is a segmented LRU: entries hit
+     * while on probation are promoted to a protected segment (80% of the main
+     * area). This keeps frequently used keys resident under scans and skewed
+     * (Zipfian) traffic.
+     */
+    TINY_LFU
+  }
+
+  private static final int WINDOW = 0;
+  private static final int PROBATION = 1;
+  private static final int PROTECTED = 2;
+
+  /**
+   * Cache entry, stored both in the key index and in exactly one eviction
+   * list.
+   */
+  private static final class Node<K, V> {
+    final K key;
+    V value;
+    long weight;
+    int queue;
+    Node<K, V> prev;
+    Node<K, V> next;
+
+    Node(K key, V value, long weight) {
+      this.key = key;
+      this.value = value;
+      this.weight = weight;
+    }
+  }
+
+  /**
+   * Intrusive doubly linked list of nodes, ordered from the next eviction
+   * candidate (head) to the most recently used entry (tail).
+   *
+   * <p>
+   * Unlike {@link DoublyLinkedList}, the links live inside the cache nodes, so
+   * a node found through the key index can be unlinked or moved in
+   * {@code O(1)} without searching the list.
+   * </p>
+   */
+  private static final class AccessOrderList<K, V> {
+    private Node<K, V> head;
+    private Node<K, V> tail;
+    private int size;
+
+    void linkLast(Node<K, V> node) {
+      node.prev = tail;
+      node.next = null;
+      if (tail != null) {
+        tail.next = node;
+      }
+      tail = node;
+      if (head == null) {
+        head = node;
+      }
+      size++;
+    }
+
+    void unlink(Node<K, V> node) {
+      if (node.prev == null) {
+        head = node.next;
+      } else {
+        node.prev.next = node.next;
+      }
+      if (node.next == null) {
+        tail = node.prev;
+      } else {
+        node.next.prev = node.prev;
+      }
+      node.prev = null;
+      node.next = null;
+      size--;
+    }
+
+    void moveToLast(Node<K, V> node) {
+      if (node != tail) {
+        unlink(node);
+        linkLast(node);
+      }
+    }
+
+    void clear() {
+      head = null;
+      tail = null;
+      size = 0;
+    }
+  }
+
+  /**
+   * Count-min sketch of 4-bit counters that estimates how often each key was
+   * requested recently.
+   *
+   * <p>
+   * Each row has at least four counters per cached entry. Every key
+   * increments one counter in each of {@value #DEPTH} rows, picked by
+   * differently seeded hashes, and its estimate is the smallest of those
+   * counters: collisions can only inflate a count, and the minimum limits the
+   * damage. Counters saturate at {@code 15}. Once the number of recorded
+   * accesses reaches ten times the cache capacity, every counter is halved so
+   * keys that were popular long ago stop outranking keys that are popular now.
+   * </p>
+   */
+  private static final class FrequencySketch {
+    private static final int DEPTH = 4;
+    private static final int MAX_COUNT = 15;
+    private static final int MAX_WIDTH = 1 << 24;
+    private static final int[] SEEDS = {0x97cb3127, 0x2b6f9c43, 0xc7a5d1e9, 0x5e3d8b6b};
+
+    private final byte[] counters;
+    private final int mask;
+    private final long sampleSize;
+    private long additions;
+
+    FrequencySketch(int capacity) {
+      int width = Math.max(64, Math.min(MAX_WIDTH, Integer.highestOneBit(Math.max(1, capacity - 1)) << 3));
+      this.counters = new byte[DEPTH * width];
+      this.mask = width - 1;
+      this.sampleSize = 10L * Math.max(1, capacity);
+    }
+
+    void increment(Object key) {
+      int hash = Objects.hashCode(key);
+      for (int row = 0; row < DEPTH; row++) {
+        int index = indexOf(hash, row);
+        if (counters[index] < MAX_COUNT) {
+          counters[index]++;
+        }
+      }
+      if (++additions >= sampleSize) {
+        halve();
+      }
+    }
+
+    int frequency(Object key) {
+      int hash = Objects.hashCode(key);
+      int min = MAX_COUNT;
+      for (int row = 0; row < DEPTH; row++) {
+        min = Math.min(min, counters[indexOf(hash, row)]);
+      }
+      return min;
+    }
+
+    void clear() {
+      Arrays.fill(counters, (byte) 0);
+      additions = 0;
+    }
+
+    private void halve() {
+      for (int i = 0; i < counters.length; i++) {
+        counters[i] >>= 1;
+      }
+      additions /= 2;
+    }
+
+    private int indexOf(int hash, int row) {
+      int h = hash * SEEDS[row];
+      h ^= h >>> 15;
+      h *= 0x2c1b3c6d;
+      h ^= h >>> 12;
+      return row * (mask + 1) + (h & mask);
+    }
+  }
+
+  private final SeparateChainingHashTable<K, Node<K, V>> index;
+  private final EvictionPolicy policy;
+  private final int maxEntries;
+  private final long maxWeight;
+  private final ToLongBiFunction<? super K, ? super V> weigher;
+
+  /**
+   * Eviction lists. Under {@link EvictionPolicy#LRU} every entry lives in
+   * {@link #probation}, which then serves as the single access-order list;
+   * the other two stay empty.
+   */
+  private final AccessOrderList<K, V> window = new AccessOrderList<>();
+  private final AccessOrderList<K, V> probation = new AccessOrderList<>();
+  private final AccessOrderList<K, V> protectedList = new AccessOrderList<>();
+  private final int windowCapacity;
+  private final int protectedCapacity;
+  private final FrequencySketch sketch;
+
+  private long weightedSize;
+  private long hitCount;
+  private long missCount;
+  private long evictionCount;
+
+  /**
+   * Creates an LRU cache limited to {@code maxEntries} entries.
+   *
+   * @param maxEntries the maximum number of stored entries
+   * @throws IllegalArgumentException if {@code maxEntries <= 0}
+   *
+   * @implNote Construction is {@code O(1)}.
+   */
+  public BoundedCacheHashTable(int maxEntries) {
+    this(maxEntries, EvictionPolicy.LRU);
+  }
+
+  /**
+   * Creates a cache limited to {@code maxEntries} entries.
+   *
+   * @param maxEntries the maximum number of stored entries
+   * @param policy how the entry to evict is chosen
+   * @throws IllegalArgumentException if {@code maxEntries <= 0}
+   * @throws NullPointerException if {@code policy} is {@code null}
+   *
+   * @implNote Construction is {@code O(c)} for the {@link EvictionPolicy#TINY_LFU}
+   *           frequency sketch, where {@code c} is the capacity, and
+   *           {@code O(1)} otherwise.
+   */
+  public BoundedCacheHashTable(int maxEntries, EvictionPolicy policy) {
+    this(maxEntries, Long.MAX_VALUE, (key, value) -> 1L, policy);
+  }
+
+  /**
+   * Creates a cache limited both by entry count and by total weight.
+   *
+   * @param maxEntries the maximum number of stored entries
+   * @param maxWeight the maximum sum of the weights of the stored entries
+   * @param weigher computes the weight of an entry when it is stored; it must
+   *        return a non-negative value
+   * @param policy how the entry to evict is chosen
+   * @throws IllegalArgumentException if {@code maxEntries <= 0} or
+   *         {@code maxWeight < 0}
+   * @throws NullPointerException if {@code weigher} or {@code policy} is
+   *         {@code null}
+   *
+   * @implNote Construction is {@code O(c)} for the {@link EvictionPolicy#TINY_LFU}
+   *           frequency sketch and {@code O(1)} otherwise.
+   */
+  public BoundedCacheHashTable(int maxEntries, long maxWeight, ToLongBiFunction<? super K, ? super V> weigher,
+      EvictionPolicy policy) {
+    if (maxEntries <= 0) {
+      throw new IllegalArgumentException("Maximum entries must be greater than zero.");
+    }
+    if (maxWeight < 0) {
+      throw new IllegalArgumentException("Maximum weight must not be negative.");
+    }
+    this.weigher = Objects.requireNonNull(weigher, "Weigher must not be null.");
+    this.policy = Objects.requireNonNull(policy, "Eviction policy must not be null.");
+    this.maxEntries = maxEntries;
+    this.maxWeight = maxWeight;
+    this.index = new SeparateChainingHashTable<>(16, 0.75, SeparateChainingHashTable.ResizeMode.ALL_AT_ONCE,
+        SeparateChainingHashTable.IndexingMode.POWER_OF_TWO);
+
+    this.windowCapacity = Math.max(1, maxEntries / 100);
+    this.protectedCapacity = (int) ((maxEntries - windowCapacity) * 0.8);
+    this.sketch = policy == EvictionPolicy.TINY_LFU ? new FrequencySketch(maxEntries) : null;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * The new or updated entry counts as the most recently used one. If the
+   * insertion exceeds a limit, entries are evicted according to the policy
+   * until both limits hold again; with {@link EvictionPolicy#TINY_LFU} that
+   * may be the entry that was just inserted.
+   * </p>
+   *
+   * <p>
+   * An entry heavier than {@code maxWeight} can never fit, so it is dropped
+   * at once and counted as one eviction; the other entries stay cached. If
+   * the key was already stored, its previous value is removed and returned.
+   * </p>
+   *
+   * @implNote Average-case time complexity is {@code O(1)} plus the cost of
+   *           the weigher and of the evictions.
+   */
+  @Override
+  public V put(K key, V value) {
+    long weight = weigh(key, value);
+    recordAccess(key);
+    Node<K, V> node = index.get(key);
+    if (weight > maxWeight) {
+      return dropOversized(node);
+    }
+    if (node != null) {
+      V previous = node.value;
+      node.value = value;
+      weightedSize += weight - node.weight;
+      node.weight = weight;
+      onHit(node);
+      evictIfNeeded();
+      return previous;
+    }
+
+    node = new Node<>(key, value, weight);
+    index.put(key, node);
+    weightedSize += weight;
+    if (policy == EvictionPolicy.LRU) {
+      node.queue = PROBATION;
+      probation.linkLast(node);
+    } else {
+      node.queue = WINDOW;
+      window.linkLast(node);
+      drainWindow();
+    }
+    evictIfNeeded();
+    return null;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * A hit marks the entry as recently used and is counted in
+   * {@link #hitCount()}; a miss is counted in {@link #missCount()}.
+   * </p>
+   *
+   * @implNote Average-case time complexity is {@code O(1)}.
+   */
+  @Override
+  public V get(K key) {
+    recordAccess(key);
+    Node<K, V> node = index.get(key);
+    if (node == null) {
+      missCount++;
+      return null;
+    }
+    hitCount++;
+    onHit(node);
+    return node.value;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Average-case time complexity is {@code O(1)}.
+   */
+  @Override
+  public V remove(K key) {
+    Node<K, V> node = index.remove(key);
+    if (node == null) {
+      return null;
+    }
+    unlink(node);
+    return node.value;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * The lookup does not count as an access.
+   * </p>
+   *
+   * @implNote Average-case time complexity is {@code O(1)}.
+   */
+  @Override
+  public boolean containsKey(K key) {
+    return index.containsKey(key);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(1)}.
+   */
+  @Override
+  public int size() {
+    return index.size();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * The hit, miss, and eviction counters are kept; the frequency history of
+   * {@link EvictionPolicy#TINY_LFU} is discarded.
+   * </p>
+   *
+   * @implNote Time complexity is {@code O(m + c)}.
+   */
+  @Override
+  public void clear() {
+    index.clear();
+    window.clear();
+    probation.clear();
+    protectedList.clear();
+    weightedSize = 0;
+    if (sketch != null) {
+      sketch.clear();
+    }
+  }
+
+  /**
+   * Returns an iterator over the cached entries.
+   *
+   * <p>
+   * Iteration does not count as an access, and each returned entry is an
+   * immutable snapshot.
+   * </p>
+   *
+   * @return an iterator over every cached entry
+   *
+   * @implNote Creating the iterator is {@code O(1)}.
+   */
+  @Override
+  public Iterator<Map.Entry<K, V>> iterator() {
+    Iterator<Map.Entry<K, Node<K, V>>> nodes = index.iterator();
+    return new Iterator<Map.Entry<K, V>>() {
+      @Override
+      public boolean hasNext() {
+        return nodes.hasNext();
+      }
+
+      @Override
+      public Map.Entry<K, V> next() {
+        Node<K, V> node = nodes.next().getValue();
+        return new AbstractMap.SimpleImmutableEntry<>(node.key, node.value);
+      }
+    };
+  }
+
+  /**
+   * Returns the sum of the weights of the cached entries.
+   *
+   * @return the weighted size; equal to {@link #size()} when no weigher was
+   *         configured
+   */
+  public long weightedSize() {
+    return weightedSize;
+  }
+
+  /**
+   * Returns how many {@code get} calls found their key.
+   *
+   * @return the number of hits
+   */
+  public long hitCount() {
+    return hitCount;
+  }
+
+  /**
+   * Returns how many {@code get} calls did not find their key.
+   *
+   * @return the number of misses
+   */
+  public long missCount() {
+    return missCount;
+  }
+
+  /**
+   * Returns how many entries were evicted to respect the limits. Explicit
+   * {@code remove} and {@code clear} calls are not counted.
+   *
+   * @return the number of evictions
+   */
+  public long evictionCount() {
+    return evictionCount;
+  }
+
+  /**
+   * Returns the fraction of {@code get} calls that were hits.
+   *
+   * @return {@code hits / (hits + misses)}, or {@code 0} before the first
+   *         {@code get}
+   */
+  public double hitRate() {
+    long requests = hitCount + missCount;
+    return requests == 0 ? 0.0 : (double) hitCount / requests;
+  }
+
+  private long weigh(K key, V value) {
+    long weight = weigher.applyAsLong(key, value);
+    if (weight < 0) {
+      throw new IllegalArgumentException("Entry weight must not be negative.");
+    }
+    return weight;
+  }
+
+  private void recordAccess(K key) {
+    if (sketch != null) {
+      sketch.increment(key);
+    }
+  }
+
+  /**
+   * Updates the eviction order after an access to a resident entry.
+   *
+   * <p>
+   * Under LRU the entry moves to the tail of its list. Under TinyLFU an entry
+   * on probation is promoted to the protected segment, which may push that
+   * segment's oldest entry back to probation.
+   * </p>
+   */
+  private void onHit(Node<K, V> node) {
+    switch (node.queue) {
+      case WINDOW -> window.moveToLast(node);
+      case PROTECTED -> protectedList.moveToLast(node);
+      default -> {
+        if (policy == EvictionPolicy.LRU) {
+          probation.moveToLast(node);
+          return;
+        }
+        probation.unlink(node);
+        node.queue = PROTECTED;
+        protectedList.linkLast(node);
+        if (protectedList.size > protectedCapacity) {
+          Node<K, V> demoted = protectedList.head;
+          protectedList.unlink(demoted);
+          demoted.queue = PROBATION;
+          probation.linkLast(demoted);
+        }
+      }
+    }
+  }
+
+  /**
+   * Moves the oldest window entries to the tail of probation, where they
+   * become admission candidates, until the window is back within its size.
+   */
+  private void drainWindow() {
+    while (window.size > windowCapacity) {
+      Node<K, V> candidate = window.head;
+      window.unlink(candidate);
+      candidate.queue = PROBATION;
+      probation.linkLast(candidate);
+    }
+  }
+
+  /**
+   * Drops an entry that is heavier than {@code maxWeight} on its own, without
+   * evicting other entries to make room it could never get.
+   *
+   * @param node the stored node of the key, or {@code null} if it is new
+   * @return the previous value of the key, or {@code null} if it was new
+   */
+  private V dropOversized(Node<K, V> node) {
+    evictionCount++;
+    if (node == null) {
+      return null;
+    }
+    index.remove(node.key);
+    unlink(node);
+    return node.value;
+  }
+
+  private void evictIfNeeded() {
+    while (index.size() > maxEntries || weightedSize > maxWeight) {
+      evict(selectVictim());
+    }
+  }
+
+  /**
+   * Chooses the entry to evict.
+   *
+   * <p>
+   * Under LRU it is the head of the single list. Under TinyLFU the newest
+   * probation entry (the candidate that just left the window) competes with
+   * the oldest one (the victim): the candidate is admitted only if the sketch
+   * estimates a strictly higher frequency, otherwise it is the one evicted.
+   * When probation is empty, the protected and window segments are used in
+   * that order.
+   * </p>
+   */
+  private Node<K, V> selectVictim() {
+    if (policy == EvictionPolicy.LRU) {
+      return probation.head;
+    }
+    if (probation.size == 0) {
+      return protectedList.size > 0 ? protectedList.head : window.head;
+    }
+    Node<K, V> victim = probation.head;
+    Node<K, V> candidate = probation.tail;
+    if (victim == candidate) {
+      return victim;
+    }
+    return sketch.frequency(candidate.key) > sketch.frequency(victim.key) ? victim : candidate;
+  }
+
+  private void evict(Node<K, V> node) {
+    index.remove(node.key);
+    unlink(node);
+    evictionCount++;
+  }
+
+  private void unlink(Node<K, V> node) {
+    switch (node.queue) {
+      case WINDOW -> window.unlink(node);
+      case PROTECTED -> protectedList.unlink(node);
+      default -> probation.unlink(node);
+    }
+    weightedSize -= node.weight;
+  }
+
+}
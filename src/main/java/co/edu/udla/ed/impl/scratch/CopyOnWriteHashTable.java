@@ -0,0 +1,645 @@
+package co.edu.udla.ed.impl.scratch;
+
+import java.util.AbstractMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import co.edu.udla.ed.api.ConcurrentHashTable;
+import co.edu.udla.ed.api.HashTable;
+
+/**
+ * Thread-safe hash table for data that is read far more often than it is
+ * written.
+ *
+ * <p>
+ * Readers never lock and never retry. The whole table lives in an immutable
+ * snapshot, an open-addressing array with linear probing, and readers reach it
+ * through a single volatile reference. A {@code get} reads that reference once
+ * and probes the array it points to, so it finishes in a bounded number of
+ * steps whatever the writers are doing: the operation is wait-free.
+ * </p>
+ *
+ * <p>
+ * Writers take one lock, copy the current snapshot, change the copy, and
+ * publish it with one volatile write. This is the copy-on-write, or
+ * read-copy-update, pattern: a reader that is still using the previous
+ * snapshot finishes on it undisturbed, and the garbage collector reclaims it
+ * once no reader holds it. Every write therefore costs {@code O(m)}, where
+ * {@code m} is the array length. {@link #update(Consumer)} applies many
+ * changes to one copy and publishes once, so a batch of {@code k} writes
+ * costs one copy instead of {@code k}.
+ * </p>
+ *
+ * <p>
+ * Since a snapshot never changes after it is published, {@link #size()} is
+ * always exact, {@link #clear()} is atomic, and an iterator sees the table as
+ * it was when the iterator was created.
+ * </p>
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class CopyOnWriteHashTable<K, V> implements ConcurrentHashTable<K, V> {
+
+  private static final int MINIMUM_CAPACITY = 8;
+  private static final int MAXIMUM_CAPACITY = 1 << 29;
+
+  /**
+   * Stands for the {@code null} key in the slot array, where {@code null}
+   * marks an empty slot.
+   */
+  private static final Object NULL_KEY = new Object();
+
+  /**
+   * Open-addressing array of key-value pairs.
+   *
+   * <p>
+   * Slot {@code 2 * i} holds a key and slot {@code 2 * i + 1} its value, so a
+   * probe reads one contiguous array. The load is kept at or below one half
+   * to keep probe sequences short. A snapshot is only modified while it is a
+   * private draft; once published it is read-only.
+   * </p>
+   */
+  private static final class Snapshot {
+    private final Object[] slots;
+    private int size;
+
+    private Snapshot(int capacity) {
+      this.slots = new Object[capacity * 2];
+    }
+
+    private Snapshot(Snapshot source) {
+      this.slots = source.slots.clone();
+      this.size = source.size;
+    }
+
+    private int capacity() {
+      return slots.length / 2;
+    }
+
+    /**
+     * Returns the index of the key slot holding {@code maskedKey}, or
+     * {@code -1}.
+     */
+    private int indexOf(Object maskedKey, int hash) {
+      int mask = slots.length - 1;
+      for (int index = (hash << 1) & mask;; index = (index + 2) & mask) {
+        Object candidate = slots[index];
+        if (candidate == null) {
+          return -1;
+        }
+        if (candidate == maskedKey || candidate.equals(maskedKey)) {
+          return index;
+        }
+      }
+    }
+
+    /**
+     * Stores a key that is known to be absent; the caller has checked that
+     * the snapshot has room for it.
+     */
+    private void insert(Object maskedKey, int hash, Object value) {
+      int mask = slots.length - 1;
+      int index = (hash << 1) & mask;
+      while (slots[index] != null) {
+        index = (index + 2) & mask;
+      }
+      slots[index] = maskedKey;
+      slots[index + 1] = value;
+      size++;
+    }
+
+    /**
+     * Removes the pair whose key slot is {@code index} and shifts later
+     * members of the probe run back, so no tombstones are needed.
+     */
+    private void removeAt(int index) {
+      int mask = slots.length - 1;
+      int gap = index;
+      for (int next = (index + 2) & mask; slots[next] != null; next = (next + 2) & mask) {
+        int home = (hashOfMasked(slots[next]) << 1) & mask;
+        if (((next - home) & mask) >= ((next - gap) & mask)) {
+          slots[gap] = slots[next];
+          slots[gap + 1] = slots[next + 1];
+          gap = next;
+        }
+      }
+      slots[gap] = null;
+      slots[gap + 1] = null;
+      size--;
+    }
+
+    /**
+     * Returns a private copy of this snapshot with room for
+     * {@code neededSize} entries.
+     */
+    private Snapshot copyFor(int neededSize) {
+      if (neededSize <= capacity() / 2) {
+        return new Snapshot(this);
+      }
+      return rehash(capacityFor(neededSize));
+    }
+
+    private Snapshot rehash(int capacity) {
+      Snapshot copy = new Snapshot(capacity);
+      for (int index = 0; index < slots.length; index += 2) {
+        if (slots[index] != null) {
+          copy.insert(slots[index], hashOfMasked(slots[index]), slots[index + 1]);
+        }
+      }
+      return copy;
+    }
+  }
+
+  /**
+   * Private working copy handed to a writer.
+   *
+   * <p>
+   * Reads go to the published snapshot until the first change, which copies
+   * it. Changes that turn out to be no-ops, such as removing an absent key,
+   * therefore neither copy nor publish anything. The draft rejects every call
+   * once its writer has finished.
+   * </p>
+   */
+  private static final class Draft<K, V> implements HashTable<K, V> {
+    private final Snapshot base;
+    private final int minimumCapacity;
+    private Snapshot copy;
+    private boolean finished;
+
+    private Draft(Snapshot base, int minimumCapacity) {
+      this.base = base;
+      this.minimumCapacity = minimumCapacity;
+    }
+
+    @Override
+    public V put(K key, V value) {
+      Snapshot snapshot = readable();
+      Object maskedKey = maskNull(key);
+      int hash = hash(key);
+      int index = snapshot.indexOf(maskedKey, hash);
+      if (index >= 0) {
+        Snapshot target = writable(snapshot.size);
+        V previous = cast(target.slots[index + 1]);
+        target.slots[index + 1] = value;
+        return previous;
+      }
+      writable(snapshot.size + 1).insert(maskedKey, hash, value);
+      return null;
+    }
+
+    @Override
+    public V get(K key) {
+      return lookup(readable(), key);
+    }
+
+    @Override
+    public V remove(K key) {
+      Snapshot snapshot = readable();
+      int index = snapshot.indexOf(maskNull(key), hash(key));
+      if (index < 0) {
+        return null;
+      }
+      Snapshot target = writable(snapshot.size);
+      V previous = cast(target.slots[index + 1]);
+      target.removeAt(index);
+      return previous;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+      return readable().indexOf(maskNull(key), hash(key)) >= 0;
+    }
+
+    @Override
+    public int size() {
+      return readable().size;
+    }
+
+    @Override
+    public void clear() {
+      readable();
+      copy = new Snapshot(minimumCapacity);
+    }
+
+    @Override
+    public void putAll(HashTable<? extends K, ? extends V> source) {
+      writable(readable().size + source.size());
+      for (Map.Entry<? extends K, ? extends V> entry : source) {
+        put(entry.getKey(), entry.getValue());
+      }
+    }
+
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+      return iterate(readable());
+    }
+
+    private Snapshot readable() {
+      if (finished) {
+        throw new IllegalStateException("The batch has already been published.");
+      }
+      return copy != null ? copy : base;
+    }
+
+    /**
+     * Returns the private copy, creating or enlarging it so it can hold
+     * {@code neededSize} entries. Slot indices found in the copy stay valid
+     * as long as it is not enlarged, which only happens when
+     * {@code neededSize} exceeds the current size.
+     */
+    private Snapshot writable(int neededSize) {
+      if (copy == null) {
+        copy = base.copyFor(neededSize);
+      } else if (neededSize > copy.capacity() / 2) {
+        copy = copy.rehash(capacityFor(neededSize));
+      }
+      return copy;
+    }
+
+    /**
+     * Returns the snapshot to publish, or {@code null} if nothing changed. A
+     * copy that removals left sparse is rehashed into a smaller array, but not
+     * below the initial capacity.
+     */
+    private Snapshot finish() {
+      finished = true;
+      if (copy == null) {
+        return null;
+      }
+      if (copy.capacity() > minimumCapacity && copy.size * 8 < copy.capacity()) {
+        return copy.rehash(Math.max(minimumCapacity, capacityFor(copy.size)));
+      }
+      return copy;
+    }
+  }
+
+  private final ReentrantLock writeLock = new ReentrantLock();
+  private final int minimumCapacity;
+  private volatile Snapshot current;
+
+  /**
+   * Creates an empty table sized for a few entries.
+   *
+   * @implNote Construction is {@code O(1)}.
+   */
+  public CopyOnWriteHashTable() {
+    this(MINIMUM_CAPACITY / 2);
+  }
+
+  /**
+   * Creates an empty table that can hold {@code expectedSize} entries before
+   * its array is enlarged.
+   *
+   * @param expectedSize the number of entries the table should hold without
+   *        being resized
+   * @throws IllegalArgumentException if {@code expectedSize <= 0}
+   *
+   * @implNote Construction is {@code O(m)}, where {@code m} is the initial
+   *           array length.
+   */
+  public CopyOnWriteHashTable(int expectedSize) {
+    if (expectedSize <= 0) {
+      throw new IllegalArgumentException("Expected size must be greater than zero.");
+    }
+    this.minimumCapacity = capacityFor(expectedSize);
+    this.current = new Snapshot(minimumCapacity);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * The new value is visible to readers once the updated copy is published.
+   * </p>
+   *
+   * @implNote Time complexity is {@code O(m)} because the snapshot is copied.
+   */
+  @Override
+  public V put(K key, V value) {
+    return write(draft -> draft.put(key, value));
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Wait-free. Average-case time complexity is {@code O(1)}.
+   */
+  @Override
+  public V get(K key) {
+    return lookup(current, key);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(m)} when the key is present, because
+   *           the snapshot is copied, and {@code O(1)} on average otherwise.
+   */
+  @Override
+  public V remove(K key) {
+    return write(draft -> draft.remove(key));
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Wait-free. Average-case time complexity is {@code O(1)}.
+   */
+  @Override
+  public boolean containsKey(K key) {
+    return current.indexOf(maskNull(key), hash(key)) >= 0;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * The size is read from the current snapshot, so it is always exact.
+   * </p>
+   *
+   * @implNote Time complexity is {@code O(1)}.
+   */
+  @Override
+  public int size() {
+    return current.size;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * An empty snapshot of the initial capacity is published in one step, so
+   * clearing is atomic.
+   * </p>
+   *
+   * @implNote Time complexity is {@code O(1)} with respect to the number of
+   *           entries.
+   */
+  @Override
+  public void clear() {
+    write(draft -> {
+      draft.clear();
+      return null;
+    });
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Wait-free. Average-case time complexity is {@code O(1)}, with a
+   *           single lookup.
+   */
+  @Override
+  public V getOrDefault(K key, V defaultValue) {
+    Snapshot snapshot = current;
+    int index = snapshot.indexOf(maskNull(key), hash(key));
+    return index < 0 ? defaultValue : cast(snapshot.slots[index + 1]);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Wait-free when the key is present. Otherwise time complexity is
+   *           {@code O(m)} because the snapshot is copied.
+   */
+  @Override
+  public V putIfAbsent(K key, V value) {
+    Snapshot snapshot = current;
+    int index = snapshot.indexOf(maskNull(key), hash(key));
+    if (index >= 0) {
+      return cast(snapshot.slots[index + 1]);
+    }
+    return write(draft -> draft.containsKey(key) ? draft.get(key) : draft.put(key, value));
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * A present non-{@code null} value is returned without locking. Otherwise
+   * the key is checked again under the write lock before the function runs.
+   * </p>
+   *
+   * @implNote Wait-free when the key is present. Otherwise time complexity is
+   *           {@code O(m)} plus the cost of the mapping function.
+   */
+  @Override
+  public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+    Objects.requireNonNull(mappingFunction, "Mapping function must not be null.");
+    V value = get(key);
+    if (value != null) {
+      return value;
+    }
+    return write(draft -> draft.computeIfAbsent(key, mappingFunction));
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(m)} plus the cost of the remapping
+   *           function.
+   */
+  @Override
+  public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+    Objects.requireNonNull(remappingFunction, "Remapping function must not be null.");
+    return write(draft -> draft.compute(key, remappingFunction));
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(m)} plus the cost of the remapping
+   *           function.
+   */
+  @Override
+  public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+    Objects.requireNonNull(value, "Value must not be null.");
+    Objects.requireNonNull(remappingFunction, "Remapping function must not be null.");
+    return write(draft -> draft.merge(key, value, remappingFunction));
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * Every entry of {@code source} is written into one copy, which is
+   * published once.
+   * </p>
+   *
+   * @implNote Time complexity is {@code O(m + s)}, where {@code s} is the size
+   *           of {@code source}.
+   */
+  @Override
+  public void putAll(HashTable<? extends K, ? extends V> source) {
+    if (source.isEmpty()) {
+      return;
+    }
+    write(draft -> {
+      draft.putAll(source);
+      return null;
+    });
+  }
+
+  /**
+   * Applies a batch of changes and publishes them as one new snapshot.
+   *
+   * <p>
+   * {@code changes} receives a private working copy of the table and may call
+   * any {@link HashTable} method on it. Readers see either none or all of the
+   * batch. If {@code changes} throws, nothing is published and the table is
+   * left as it was. The working copy must not be used after this method
+   * returns, and {@code changes} must not modify this table directly.
+   * </p>
+   *
+   * @param changes the changes to apply to the working copy
+   * @throws NullPointerException if {@code changes} is {@code null}
+   * @throws IllegalStateException if called from inside another batch or
+   *         mapping function of this table
+   *
+   * @implNote Time complexity is {@code O(m)} for the single copy plus the
+   *           cost of the changes, which run at hash-table speed on the copy.
+   */
+  public void update(Consumer<? super HashTable<K, V>> changes) {
+    Objects.requireNonNull(changes, "Changes must not be null.");
+    write(draft -> {
+      changes.accept(draft);
+      return null;
+    });
+  }
+
+  /**
+   * Returns an iterator over the snapshot that is current when this method is
+   * called.
+   *
+   * <p>
+   * Later writes are not reflected, and the iterator never fails because of
+   * them. Each returned entry is an immutable copy of one stored pair.
+   * </p>
+   *
+   * @return an iterator over a consistent snapshot of the entries
+   *
+   * @implNote Creating the iterator is {@code O(1)}. A full traversal is
+   *           {@code O(m)}.
+   */
+  @Override
+  public Iterator<Map.Entry<K, V>> iterator() {
+    return iterate(current);
+  }
+
+  /**
+   * Runs one writer: copies the current snapshot on its first change, applies
+   * {@code change}, and publishes the result.
+   *
+   * @throws IllegalStateException if the current thread is already writing,
+   *         which means a batch or a mapping function tried to modify this
+   *         table directly
+   */
+  private <R> R write(Function<Draft<K, V>, R> change) {
+    writeLock.lock();
+    try {
+      if (writeLock.getHoldCount() > 1) {
+        throw new IllegalStateException("The table must not be modified from inside a batch or a mapping function.");
+      }
+      Draft<K, V> draft = new Draft<>(current, minimumCapacity);
+      R result;
+      try {
+        result = change.apply(draft);
+      } catch (RuntimeException | Error e) {
+        draft.finished = true;
+        throw e;
+      }
+      Snapshot next = draft.finish();
+      if (next != null) {
+        current = next;
+      }
+      return result;
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  private static <V> V lookup(Snapshot snapshot, Object key) {
+    int index = snapshot.indexOf(maskNull(key), hash(key));
+    return index < 0 ? null : cast(snapshot.slots[index + 1]);
+  }
+
+  private static <K, V> Iterator<Map.Entry<K, V>> iterate(Snapshot snapshot) {
+    return new Iterator<Map.Entry<K, V>>() {
+      private int index = advance(0);
+
+      @Override
+      public boolean hasNext() {
+        return index < snapshot.slots.length;
+      }
+
+      @Override
+      public Map.Entry<K, V> next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        Object key = snapshot.slots[index];
+        Object value = snapshot.slots[index + 1];
+        index = advance(index + 2);
+        return new AbstractMap.SimpleImmutableEntry<>(cast(key == NULL_KEY ? null : key), cast(value));
+      }
+
+      private int advance(int from) {
+        int position = from;
+        while (position < snapshot.slots.length && snapshot.slots[position] == null) {
+          position += 2;
+        }
+        return position;
+      }
+    };
+  }
+
+  /**
+   * Returns the smallest power-of-two capacity that keeps {@code size}
+   * entries at or below half load.
+   */
+  private static int capacityFor(int size) {
+    if (size > MAXIMUM_CAPACITY / 2) {
+      return MAXIMUM_CAPACITY;
+    }
+    int capacity = MINIMUM_CAPACITY;
+    while (capacity < size * 2) {
+      capacity <<= 1;
+    }
+    return capacity;
+  }
+
+  private static Object maskNull(Object key) {
+    return key == null ? NULL_KEY : key;
+  }
+
+  private static int hashOfMasked(Object maskedKey) {
+    return hash(maskedKey == NULL_KEY ? null : maskedKey);
+  }
+
+  /**
+   * Spreads the key's hash code with the murmur3 finalizer, so the low bits
+   * that choose the starting slot depend on every bit of the original code.
+   */
+  private static int hash(Object key) {
+    int h = Objects.hashCode(key);
+    h ^= h >>> 16;
+    h *= 0x85ebca6b;
+    h ^= h >>> 13;
+    h *= 0xc2b2ae35;
+    h ^= h >>> 16;
+    return h;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T cast(Object value) {
+    return (T) value;
+  }
+
+}
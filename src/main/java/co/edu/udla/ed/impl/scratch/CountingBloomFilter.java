@@ -0,0 +1,175 @@
+package co.edu.udla.ed.impl.scratch;
+
+import java.util.Arrays;
+
+/**
+ * Bloom filter whose elements can also be removed.
+ *
+ * <p>
+ * Each position of a {@link BloomFilter} is a single bit, so clearing it could
+ * erase another element that shares the position. Here each position is a
+ * 4-bit counter instead: adding an element increments its {@code k} counters
+ * and removing it decrements them, and a query reports the element as possibly
+ * present when none of its counters is zero. The counters take four times the
+ * memory of the plain filter for the same false-positive rate.
+ * </p>
+ *
+ * <p>
+ * A counter that reaches {@code 15} sticks there: it is no longer
+ * incremented or decremented, because its true value is unknown. With the
+ * optimal number of hash functions this needs about fifteen elements on one
+ * position, which is very unlikely. A stuck counter can only cause false
+ * positives, never false negatives.
+ * </p>
+ *
+ * <p>
+ * Only elements that were added may be removed. Removing an element that was
+ * never added decrements counters that belong to other elements, which can
+ * make them report a false negative.
+ * </p>
+ *
+ * @param <T> the element type
+ */
+public class CountingBloomFilter<T> {
+
+  private static final int COUNTER_BITS = 4;
+  private static final int COUNTERS_PER_WORD = Long.SIZE / COUNTER_BITS;
+  private static final long MAX_COUNT = (1L << COUNTER_BITS) - 1;
+
+  private final long[] words;
+  private final long counterCount;
+  private final int hashCount;
+  private int count;
+
+  /**
+   * Creates an empty filter sized for {@code expectedInsertions} elements at
+   * the given false-positive rate.
+   *
+   * @param expectedInsertions the number of elements the filter is sized for
+   * @param falsePositiveRate the target probability that an absent element is
+   *        reported as possibly present
+   * @throws IllegalArgumentException if {@code expectedInsertions <= 0}
+   * @throws IllegalArgumentException if {@code falsePositiveRate} is not
+   *         strictly between {@code 0} and {@code 1}
+   *
+   * @implNote Construction is {@code O(m)}, where {@code m} is the number of
+   *           counters.
+   */
+  public CountingBloomFilter(int expectedInsertions, double falsePositiveRate) {
+    long counters = BloomFilter.optimalBitCount(expectedInsertions, falsePositiveRate);
+    this.words = new long[(int) ((counters + COUNTERS_PER_WORD - 1) / COUNTERS_PER_WORD)];
+    this.counterCount = (long) words.length * COUNTERS_PER_WORD;
+    this.hashCount = BloomFilter.optimalHashCount(expectedInsertions, counterCount);
+  }
+
+  /**
+   * Adds an element to the filter. Adding the same element twice requires
+   * two removals to take it out again.
+   *
+   * @param element the element to add; may be {@code null}
+   *
+   * @implNote Time complexity is {@code O(k)}.
+   */
+  public void add(T element) {
+    long hash = BloomFilter.hash(element);
+    for (int i = 0; i < hashCount; i++) {
+      long counter = BloomFilter.index(hash, i, counterCount);
+      int word = (int) (counter / COUNTERS_PER_WORD);
+      int shift = (int) (counter % COUNTERS_PER_WORD) * COUNTER_BITS;
+      if (((words[word] >>> shift) & MAX_COUNT) != MAX_COUNT) {
+        words[word] += 1L << shift;
+      }
+    }
+    count++;
+  }
+
+  /**
+   * Removes one occurrence of an element that was previously added.
+   *
+   * @param element the element to remove; may be {@code null}
+   *
+   * @implNote Time complexity is {@code O(k)}.
+   */
+  public void remove(T element) {
+    long hash = BloomFilter.hash(element);
+    for (int i = 0; i < hashCount; i++) {
+      long counter = BloomFilter.index(hash, i, counterCount);
+      int word = (int) (counter / COUNTERS_PER_WORD);
+      int shift = (int) (counter % COUNTERS_PER_WORD) * COUNTER_BITS;
+      long value = (words[word] >>> shift) & MAX_COUNT;
+      if (value != 0 && value != MAX_COUNT) {
+        words[word] -= 1L << shift;
+      }
+    }
+    count--;
+  }
+
+  /**
+   * Reports whether the element may currently be in the filter.
+   *
+   * @param element the element to test; may be {@code null}
+   * @return {@code false} if the element is definitely absent; {@code true}
+   *         if it is present or, with the false-positive probability, if it
+   *         is not
+   *
+   * @implNote Time complexity is {@code O(k)}, and a miss usually stops at
+   *           the first zero counter.
+   */
+  public boolean mightContain(T element) {
+    long hash = BloomFilter.hash(element);
+    for (int i = 0; i < hashCount; i++) {
+      long counter = BloomFilter.index(hash, i, counterCount);
+      int shift = (int) (counter % COUNTERS_PER_WORD) * COUNTER_BITS;
+      if (((words[(int) (counter / COUNTERS_PER_WORD)] >>> shift) & MAX_COUNT) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Removes every element from the filter.
+   *
+   * @implNote Time complexity is {@code O(m)}.
+   */
+  public void clear() {
+    Arrays.fill(words, 0L);
+    count = 0;
+  }
+
+  /**
+   * Returns the number of elements currently added, counting duplicates.
+   *
+   * @return additions minus removals since the filter was created or cleared
+   *
+   * @implNote Time complexity is {@code O(1)}.
+   */
+  public int elementCount() {
+    return count;
+  }
+
+  /**
+   * Returns the number of counters incremented or decremented per element.
+   *
+   * @return the hash count {@code k}
+   *
+   * @implNote Time complexity is {@code O(1)}.
+   */
+  public int hashCount() {
+    return hashCount;
+  }
+
+  /**
+   * Estimates the current false-positive rate from the number of elements, as
+   * {@code (1 - e^(-k n / m))^k}.
+   *
+   * @return the estimated probability that an absent element is reported as
+   *         possibly present
+   *
+   * @implNote Time complexity is {@code O(1)}.
+   */
+  public double expectedFalsePositiveRate() {
+    return BloomFilter.expectedFalsePositiveRate(count, counterCount, hashCount);
+  }
+
+}
@@ -0,0 +1,555 @@
+package co.edu.udla.ed.impl.scratch;
+
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+import co.edu.udla.ed.api.HashTable;
+
+/**
+ * Hash-table implementation based on bucketized cuckoo hashing.
+ *
+ * <p>
+ * Every key has exactly two candidate buckets, chosen by two independent hash
+ * functions, and each bucket holds up to four entries. A lookup therefore
+ * inspects at most eight slots plus a small stash, no matter how the table was
+ * filled: the four stored hashes of a bucket are adjacent {@code int}s, so a
+ * {@code get} reads a bounded number of cache lines instead of walking a chain
+ * of unknown length the way {@link SeparateChainingHashTable} can.
+ * </p>
+ *
+ * <p>
+ * Insertion pays for that guarantee. When both candidate buckets are full, a
+ * random resident of one of them is evicted to its own alternate bucket,
+ * possibly evicting another entry in turn. A displacement chain longer than
+ * {@link #MAX_KICKS} is treated as a cycle: the entry left without a slot goes
+ * to the stash, and when the stash is full too the whole table is rehashed
+ * with new hash functions.
+ * </p>
+ *
+ * <p>
+ * The bounded lookup assumes that {@code hashCode()} spreads the keys. Keys
+ * that share one hash code also share both buckets, and no choice of hash
+ * functions separates them; the stash then grows and is scanned linearly.
+ * </p>
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class CuckooHashTable<K, V> implements HashTable<K, V> {
+
+  private static final int DEFAULT_CAPACITY = 16;
+  private static final double DEFAULT_LOAD_FACTOR = 0.9;
+  private static final int SLOTS_PER_BUCKET = 4;
+  private static final int MAXIMUM_BUCKETS = 1 << 28;
+  private static final int DEFAULT_STASH_CAPACITY = 4;
+
+  /**
+   * Longest displacement chain tried before an insertion is considered to be
+   * caught in a cycle.
+   */
+  private static final int MAX_KICKS = 256;
+
+  /**
+   * Failed rebuilds with fresh hash functions before the stash is enlarged.
+   */
+  private static final int MAX_REHASH_ATTEMPTS = 4;
+
+  /**
+   * Marker stored in {@link #hashes} for a free slot. Real hashes are remapped
+   * away from this value by {@link #hash(Object)}.
+   */
+  private static final int EMPTY = 0;
+
+  private final double loadFactor;
+
+  private int[] hashes;
+  private Object[] keys;
+  private Object[] values;
+  private int bucketMask;
+  private int threshold;
+  private int size;
+  private int firstSeed;
+  private int secondSeed;
+
+  private int[] stashHashes;
+  private Object[] stashKeys;
+  private Object[] stashValues;
+  private int stashSize;
+
+  private int random = 0x2545f491;
+
+  /**
+   * The entry left without a slot by the last failed {@link #place}.
+   */
+  private int homelessHash;
+  private Object homelessKey;
+  private Object homelessValue;
+
+  /**
+   * Creates a table with the default capacity and default load factor.
+   *
+   * @implNote Construction is {@code O(m)}, where {@code m} is the initial
+   *           number of slots.
+   */
+  public CuckooHashTable() {
+    this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR);
+  }
+
+  /**
+   * Creates a table with custom capacity and load-factor settings.
+   *
+   * @param initialCapacity the minimum number of slots in the initial table;
+   *        it is rounded up to a power-of-two number of four-slot buckets
+   * @param loadFactor the resize threshold expressed as a ratio of
+   *        {@code size / slotCount}
+   * @throws IllegalArgumentException if {@code initialCapacity <= 0}
+   * @throws IllegalArgumentException if {@code loadFactor} is not in the open
+   *         interval {@code (0, 1)}
+   *
+   * @implNote Construction is {@code O(m)}. Two-choice, four-way buckets fill
+   *           up to about 95% before displacement chains get long, so load
+   *           factors up to {@code 0.9} keep insertion cheap.
+   */
+  public CuckooHashTable(int initialCapacity, double loadFactor) {
+    if (initialCapacity <= 0) {
+      throw new IllegalArgumentException("Initial capacity must be greater than zero.");
+    }
+    if (!(loadFactor > 0.0 && loadFactor < 1.0)) {
+      throw new IllegalArgumentException("Load factor must be greater than zero and less than one.");
+    }
+
+    this.loadFactor = loadFactor;
+    allocate(bucketCountFor(initialCapacity), DEFAULT_STASH_CAPACITY);
+    chooseHashFunctions();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * A new key takes a free slot in one of its two buckets when there is one.
+   * Otherwise residents are displaced along a random walk between their
+   * alternate buckets until one lands in a free slot.
+   * </p>
+   *
+   * @implNote Expected amortized time complexity is {@code O(1)}. A
+   *           displacement chain is capped at {@link #MAX_KICKS} moves, and a
+   *           rehash costs {@code O(n + m)} but is rare below the load factor.
+   */
+  @Override
+  public V put(K key, V value) {
+    int hash = hash(key);
+    int slot = findSlot(key, hash);
+    if (slot >= 0) {
+      V previous = valueAt(slot);
+      setValueAt(slot, value);
+      return previous;
+    }
+
+    if (size + 1 > threshold) {
+      rebuild(bucketMask + 1 < MAXIMUM_BUCKETS ? (bucketMask + 1) * 2 : bucketMask + 1, false);
+    }
+    if (!place(hash, key, value)) {
+      rebuild(bucketMask + 1, true);
+    }
+    size++;
+    return null;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Worst-case time complexity is {@code O(1)} for keys with
+   *           distinct hash codes: two buckets of four slots plus the stash.
+   */
+  @Override
+  public V get(K key) {
+    int slot = findSlot(key, hash(key));
+    return slot < 0 ? null : valueAt(slot);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * Freeing a bucket slot also gives stashed entries a chance to move back
+   * into their buckets, which keeps the stash short.
+   * </p>
+   *
+   * @implNote Worst-case time complexity is {@code O(1)} for keys with
+   *           distinct hash codes.
+   */
+  @Override
+  public V remove(K key) {
+    int slot = findSlot(key, hash(key));
+    if (slot < 0) {
+      return null;
+    }
+
+    V removed = valueAt(slot);
+    if (slot < hashes.length) {
+      hashes[slot] = EMPTY;
+      keys[slot] = null;
+      values[slot] = null;
+      drainStash();
+    } else {
+      removeFromStash(slot - hashes.length);
+    }
+    size--;
+    return removed;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Worst-case time complexity is {@code O(1)} for keys with
+   *           distinct hash codes.
+   */
+  @Override
+  public boolean containsKey(K key) {
+    return findSlot(key, hash(key)) >= 0;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(1)}.
+   */
+  @Override
+  public int size() {
+    return size;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(m)}, where {@code m} is the number of
+   *           slots, because the backing arrays are reset.
+   */
+  @Override
+  public void clear() {
+    Arrays.fill(hashes, EMPTY);
+    Arrays.fill(keys, null);
+    Arrays.fill(values, null);
+    Arrays.fill(stashKeys, null);
+    Arrays.fill(stashValues, null);
+    stashSize = 0;
+    size = 0;
+  }
+
+  /**
+   * Returns an iterator over the stored entries: bucket slots in order, then
+   * the stash.
+   *
+   * <p>
+   * Each returned entry is an immutable snapshot of one slot.
+   * </p>
+   *
+   * @return an iterator over every entry
+   *
+   * @implNote Creating the iterator is {@code O(1)}. A full traversal is
+   *           {@code O(m)}.
+   */
+  @Override
+  public Iterator<Map.Entry<K, V>> iterator() {
+    return new Iterator<Map.Entry<K, V>>() {
+      private int slot = nextOccupied(0);
+
+      @Override
+      public boolean hasNext() {
+        return slot < hashes.length + stashSize;
+      }
+
+      @Override
+      @SuppressWarnings("unchecked")
+      public Map.Entry<K, V> next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        Object key = slot < hashes.length ? keys[slot] : stashKeys[slot - hashes.length];
+        Map.Entry<K, V> entry = new AbstractMap.SimpleImmutableEntry<>((K) key, valueAt(slot));
+        slot = nextOccupied(slot + 1);
+        return entry;
+      }
+    };
+  }
+
+  /**
+   * Returns the first occupied position at or after {@code from}. Positions
+   * past the bucket slots address the stash.
+   */
+  private int nextOccupied(int from) {
+    int slot = from;
+    while (slot < hashes.length && hashes[slot] == EMPTY) {
+      slot++;
+    }
+    return slot;
+  }
+
+  /**
+   * Locates {@code key} in its two buckets or in the stash.
+   *
+   * @param key the key to search for
+   * @param hash the precomputed hash of {@code key}
+   * @return the bucket slot, {@code hashes.length + i} for stash entry
+   *         {@code i}, or {@code -1} if the key is absent
+   */
+  private int findSlot(Object key, int hash) {
+    int slot = findInBucket(bucket(hash, firstSeed), key, hash);
+    if (slot >= 0) {
+      return slot;
+    }
+    slot = findInBucket(bucket(hash, secondSeed), key, hash);
+    if (slot >= 0) {
+      return slot;
+    }
+    for (int i = 0; i < stashSize; i++) {
+      if (stashHashes[i] == hash && Objects.equals(stashKeys[i], key)) {
+        return hashes.length + i;
+      }
+    }
+    return -1;
+  }
+
+  private int findInBucket(int bucket, Object key, int hash) {
+    int start = bucket * SLOTS_PER_BUCKET;
+    for (int slot = start; slot < start + SLOTS_PER_BUCKET; slot++) {
+      if (hashes[slot] == hash && Objects.equals(keys[slot], key)) {
+        return slot;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Stores an entry that is known to be absent.
+   *
+   * @return {@code true} if the entry, and every entry it displaced, found a
+   *         slot or a stash position; {@code false} if one entry is left over
+   *         in {@link #homelessKey}
+   *
+   * @implNote Time complexity is {@code O(MAX_KICKS)} in the worst case.
+   */
+  private boolean place(int hash, Object key, Object value) {
+    int first = bucket(hash, firstSeed);
+    int second = bucket(hash, secondSeed);
+    if (placeInBucket(first, hash, key, value) || placeInBucket(second, hash, key, value)) {
+      return true;
+    }
+
+    int bucket = (nextRandom() & 1) == 0 ? first : second;
+    for (int kick = 0; kick < MAX_KICKS; kick++) {
+      int slot = bucket * SLOTS_PER_BUCKET + (nextRandom() & (SLOTS_PER_BUCKET - 1));
+      int evictedHash = hashes[slot];
+      Object evictedKey = keys[slot];
+      Object evictedValue = values[slot];
+      hashes[slot] = hash;
+      keys[slot] = key;
+      values[slot] = value;
+      hash = evictedHash;
+      key = evictedKey;
+      value = evictedValue;
+
+      int alternate = bucket(hash, firstSeed);
+      bucket = alternate == bucket ? bucket(hash, secondSeed) : alternate;
+      if (placeInBucket(bucket, hash, key, value)) {
+        return true;
+      }
+    }
+
+    if (stashSize < stashHashes.length) {
+      stashHashes[stashSize] = hash;
+      stashKeys[stashSize] = key;
+      stashValues[stashSize] = value;
+      stashSize++;
+      return true;
+    }
+    homelessHash = hash;
+    homelessKey = key;
+    homelessValue = value;
+    return false;
+  }
+
+  private boolean placeInBucket(int bucket, int hash, Object key, Object value) {
+    int start = bucket * SLOTS_PER_BUCKET;
+    for (int slot = start; slot < start + SLOTS_PER_BUCKET; slot++) {
+      if (hashes[slot] == EMPTY) {
+        hashes[slot] = hash;
+        keys[slot] = key;
+        values[slot] = value;
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Moves stashed entries whose buckets have a free slot back into them.
+   */
+  private void drainStash() {
+    for (int i = stashSize - 1; i >= 0; i--) {
+      int hash = stashHashes[i];
+      if (placeInBucket(bucket(hash, firstSeed), hash, stashKeys[i], stashValues[i])
+          || placeInBucket(bucket(hash, secondSeed), hash, stashKeys[i], stashValues[i])) {
+        removeFromStash(i);
+      }
+    }
+  }
+
+  private void removeFromStash(int index) {
+    int last = stashSize - 1;
+    stashHashes[index] = stashHashes[last];
+    stashKeys[index] = stashKeys[last];
+    stashValues[index] = stashValues[last];
+    stashKeys[last] = null;
+    stashValues[last] = null;
+    stashSize = last;
+  }
+
+  /**
+   * Reinserts every entry with new hash functions into {@code bucketCount}
+   * buckets, retrying with other functions until all of them fit.
+   *
+   * @param bucketCount the number of buckets of the rebuilt table
+   * @param includeHomeless whether the entry left over by a failed
+   *        {@link #place} must be reinserted too
+   *
+   * @implNote Expected time complexity is {@code O(n + m)}. After
+   *           {@link #MAX_REHASH_ATTEMPTS} failures the stash is doubled,
+   *           which only happens when many keys share a hash code.
+   */
+  private void rebuild(int bucketCount, boolean includeHomeless) {
+    int count = 0;
+    int total = size + (includeHomeless ? 1 : 0);
+    int[] oldHashes = new int[total];
+    Object[] oldKeys = new Object[total];
+    Object[] oldValues = new Object[total];
+    for (int slot = 0; slot < hashes.length; slot++) {
+      if (hashes[slot] != EMPTY) {
+        oldHashes[count] = hashes[slot];
+        oldKeys[count] = keys[slot];
+        oldValues[count] = values[slot];
+        count++;
+      }
+    }
+    for (int i = 0; i < stashSize; i++) {
+      oldHashes[count] = stashHashes[i];
+      oldKeys[count] = stashKeys[i];
+      oldValues[count] = stashValues[i];
+      count++;
+    }
+    if (includeHomeless) {
+      oldHashes[count] = homelessHash;
+      oldKeys[count] = homelessKey;
+      oldValues[count] = homelessValue;
+      count++;
+      homelessKey = null;
+      homelessValue = null;
+    }
+
+    int stashCapacity = stashHashes.length;
+    int attempts = 0;
+    while (true) {
+      allocate(bucketCount, stashCapacity);
+      chooseHashFunctions();
+      boolean placedAll = true;
+      for (int i = 0; i < count && placedAll; i++) {
+        placedAll = place(oldHashes[i], oldKeys[i], oldValues[i]);
+      }
+      if (placedAll) {
+        homelessKey = null;
+        homelessValue = null;
+        return;
+      }
+      if (++attempts % MAX_REHASH_ATTEMPTS == 0) {
+        stashCapacity *= 2;
+      }
+    }
+  }
+
+  private void allocate(int bucketCount, int stashCapacity) {
+    int slotCount = bucketCount * SLOTS_PER_BUCKET;
+    hashes = new int[slotCount];
+    keys = new Object[slotCount];
+    values = new Object[slotCount];
+    bucketMask = bucketCount - 1;
+    threshold = Math.max(1, (int) (slotCount * loadFactor));
+    stashHashes = new int[stashCapacity];
+    stashKeys = new Object[stashCapacity];
+    stashValues = new Object[stashCapacity];
+    stashSize = 0;
+  }
+
+  /**
+   * Picks new seeds for the two bucket functions, which changes both
+   * candidate buckets of every key.
+   */
+  private void chooseHashFunctions() {
+    firstSeed = nextRandom();
+    do {
+      secondSeed = nextRandom();
+    } while (secondSeed == firstSeed);
+  }
+
+  private int nextRandom() {
+    int x = random;
+    x ^= x << 13;
+    x ^= x >>> 17;
+    x ^= x << 5;
+    random = x;
+    return x;
+  }
+
+  @SuppressWarnings("unchecked")
+  private V valueAt(int slot) {
+    return (V) (slot < hashes.length ? values[slot] : stashValues[slot - hashes.length]);
+  }
+
+  private void setValueAt(int slot, V value) {
+    if (slot < hashes.length) {
+      values[slot] = value;
+    } else {
+      stashValues[slot - hashes.length] = value;
+    }
+  }
+
+  /**
+   * Selects one of the two candidate buckets. Stored hashes are mixed again
+   * with a per-function seed, so a rehash with new seeds never calls
+   * {@code hashCode()}.
+   */
+  private int bucket(int hash, int seed) {
+    return fmix32(hash ^ seed) & bucketMask;
+  }
+
+  /**
+   * Computes the stored hash of a key. The result is never {@link #EMPTY}, so
+   * the hash array doubles as the occupancy map.
+   */
+  private static int hash(Object key) {
+    int h = fmix32(Objects.hashCode(key));
+    return h == EMPTY ? 1 : h;
+  }
+
+  private static int fmix32(int h) {
+    h ^= h >>> 16;
+    h *= 0x85ebca6b;
+    h ^= h >>> 13;
+    h *= 0xc2b2ae35;
+    h ^= h >>> 16;
+    return h;
+  }
+
+  private static int bucketCountFor(int capacity) {
+    int buckets = (capacity + SLOTS_PER_BUCKET - 1) / SLOTS_PER_BUCKET;
+    if (buckets >= MAXIMUM_BUCKETS) {
+      return MAXIMUM_BUCKETS;
+    }
+    return Math.max(2, Integer.highestOneBit(Math.max(1, buckets - 1)) << 1);
+  }
+
+}
@@ -0,0 +1,172 @@
+package co.edu.udla.ed.impl.scratch;
+
+import java.util.Arrays;
+
+/**
+ * Immutable snapshot of the internal shape and usage counters of a
+ * {@link SeparateChainingHashTable}.
+ *
+ * <p>
+ * The structural values (bucket count, chain lengths, histogram) are computed
+ * when the snapshot is taken. Resize counters are always maintained by the
+ * table. The {@code get} counters are only collected while statistics are
+ * enabled with {@link SeparateChainingHashTable#setStatisticsEnabled(boolean)},
+ * so a table that never enables them pays nothing on its lookup path.
+ * </p>
+ *
+ * <p>
+ * Typical tuning signals:
+ * </p>
+ *
+ * <ul>
+ * <li>a high {@link #resizeCount()} for a table of known final size suggests a
+ * larger {@code initialCapacity};</li>
+ * <li>a {@link #maxChainLength()} far above {@link #meanChainLength()}, or a
+ * long histogram tail, points to clustered hash codes rather than to the load
+ * factor;</li>
+ * <li>{@link #averageProbesPerGet()} close to {@code 1} means lookups rarely
+ * walk past the first entry of a bucket; lowering {@code loadFactor} trades
+ * memory for fewer probes.</li>
+ * </ul>
+ */
+public final class HashTableStats {
+
+  private final int size;
+  private final int bucketCount;
+  private final int[] chainLengthHistogram;
+  private final long resizeCount;
+  private final long rehashedEntryCount;
+  private final long getCount;
+  private final long getProbeCount;
+
+  HashTableStats(int size, int bucketCount, int[] chainLengthHistogram, long resizeCount, long rehashedEntryCount,
+      long getCount, long getProbeCount) {
+    this.size = size;
+    this.bucketCount = bucketCount;
+    this.chainLengthHistogram = chainLengthHistogram;
+    this.resizeCount = resizeCount;
+    this.rehashedEntryCount = rehashedEntryCount;
+    this.getCount = getCount;
+    this.getProbeCount = getProbeCount;
+  }
+
+  /**
+   * Returns the number of entries stored when the snapshot was taken.
+   *
+   * @return the table size
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the number of buckets, counting both arrays while an incremental
+   * migration is in progress.
+   *
+   * @return the bucket count
+   */
+  public int bucketCount() {
+    return bucketCount;
+  }
+
+  /**
+   * Returns the current load, {@code size / bucketCount}.
+   *
+   * @return the average number of entries per bucket
+   */
+  public double load() {
+    return bucketCount == 0 ? 0.0 : (double) size / bucketCount;
+  }
+
+  /**
+   * Returns the number of entries in the longest chain or tree bin.
+   *
+   * @return the maximum bucket length
+   */
+  public int maxChainLength() {
+    return chainLengthHistogram.length - 1;
+  }
+
+  /**
+   * Returns the average length of the non-empty buckets, which is the chain a
+   * successful lookup lands on.
+   *
+   * @return the mean length of non-empty buckets, or {@code 0} for an empty
+   *         table
+   */
+  public double meanChainLength() {
+    int nonEmpty = bucketCount - chainLengthHistogram[0];
+    return nonEmpty == 0 ? 0.0 : (double) size / nonEmpty;
+  }
+
+  /**
+   * Returns how many buckets hold each number of entries.
+   *
+   * @return a copy of the histogram; element {@code i} counts the buckets that
+   *         store exactly {@code i} entries
+   */
+  public int[] chainLengthHistogram() {
+    return chainLengthHistogram.clone();
+  }
+
+  /**
+   * Returns how many times the bucket array has been resized, whether it grew
+   * or shrank, since the table was created or the statistics were last reset.
+   *
+   * @return the number of resizes
+   */
+  public long resizeCount() {
+    return resizeCount;
+  }
+
+  /**
+   * Returns how many entries have been moved to a new bucket array by
+   * resizes, across every resize counted by {@link #resizeCount()}.
+   *
+   * @return the total number of rehashed entries
+   */
+  public long rehashedEntryCount() {
+    return rehashedEntryCount;
+  }
+
+  /**
+   * Returns how many {@code get} calls were recorded while statistics were
+   * enabled.
+   *
+   * @return the number of recorded lookups
+   */
+  public long getCount() {
+    return getCount;
+  }
+
+  /**
+   * Returns the average number of entries examined per recorded {@code get}.
+   *
+   * <p>
+   * In a chain every visited entry counts as one probe. In a tree bin the
+   * height of the tree is counted, which is the number of nodes a lookup of an
+   * ordered key visits at most.
+   * </p>
+   *
+   * @return the average probe count, or {@code 0} when no lookup was recorded
+   */
+  public double averageProbesPerGet() {
+    return getCount == 0 ? 0.0 : (double) getProbeCount / getCount;
+  }
+
+  @Override
+  public String toString() {
+    return "HashTableStats{size=" + size
+        + ", buckets=" + bucketCount
+        + ", load=" + String.format("%.3f", load())
+        + ", maxChain=" + maxChainLength()
+        + ", meanChain=" + String.format("%.3f", meanChainLength())
+        + ", histogram=" + Arrays.toString(chainLengthHistogram)
+        + ", resizes=" + resizeCount
+        + ", rehashed=" + rehashedEntryCount
+        + ", gets=" + getCount
+        + ", probesPerGet=" + String.format("%.3f", averageProbesPerGet())
+        + "}";
+  }
+
+}
@@ -0,0 +1,82 @@
+package co.edu.udla.ed.impl.scratch;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Lazy in-order iterator over the nodes of {@link LinkedBinarySearchTree} and
+ * {@link LinkedAVLTree}. Instead of copying the tree into a list, it keeps an
+ * explicit stack with the nodes whose left subtree has been visited but which
+ * have not been returned yet. The top of the stack is always the next node to
+ * return; after returning a node, the iterator pushes the path to the first
+ * node of its other subtree. It therefore uses O(h) memory for a tree of
+ * height h, and each call to {@code next} is O(1) amortized. A descending
+ * iterator is the mirror image and follows right children first. The tree
+ * must not be modified while an iteration is in progress, and the iterator
+ * does not support {@code remove}.
+ *
+ * @param <T> the type of the values
+ * @param <N> the node type of the tree
+ */
+final class InOrderIterator<T extends Comparable<T>, N extends SizedNode<T, N>> implements Iterator<T> {
+  private final Deque<N> stack = new ArrayDeque<>();
+  private final boolean ascending;
+
+  /**
+   * Creates an iterator over the whole tree.
+   *
+   * @param root      the root of the tree, or null if it is empty
+   * @param ascending {@code true} for ascending order, {@code false} for
+   *                  descending order
+   */
+  InOrderIterator(N root, boolean ascending) {
+    this.ascending = ascending;
+    pushPath(root);
+  }
+
+  /**
+   * Creates an ascending iterator over the values greater than or equal to
+   * {@code fromValue}. One root-to-leaf walk pushes only the nodes not smaller
+   * than {@code fromValue}, so positioning costs O(h) and the values before
+   * the start are never visited.
+   *
+   * @param root      the root of the tree, or null if it is empty
+   * @param fromValue the inclusive lower bound; it does not have to be stored
+   */
+  InOrderIterator(N root, T fromValue) {
+    this.ascending = true;
+    N cur = root;
+    while (cur != null) {
+      if (cur.value.compareTo(fromValue) < 0) {
+        cur = cur.right; // este nodo y su subárbol izquierdo quedan antes
+      } else {
+        stack.push(cur);
+        cur = cur.left;
+      }
+    }
+  }
+
+  private void pushPath(N node) {
+    while (node != null) {
+      stack.push(node);
+      node = ascending ? node.left : node.right;
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+    return !stack.isEmpty();
+  }
+
+  @Override
+  public T next() {
+    if (stack.isEmpty()) {
+      throw new NoSuchElementException();
+    }
+    N node = stack.pop();
+    pushPath(ascending ? node.right : node.left);
+    return node.value;
+  }
+}
@@ -0,0 +1,317 @@
+package co.edu.udla.ed.impl.scratch;
+
+import co.edu.udla.ed.api.LongLongHashTable;
+
+/**
+ * Open-addressing hash table specialized for primitive {@code long} keys and
+ * values.
+ *
+ * <p>
+ * Keys and values are stored in two parallel {@code long[]} arrays, so no
+ * operation allocates except a resize: there is no boxed key, no boxed value,
+ * and no entry object. Collisions are resolved with linear probing: a key that
+ * finds its home slot occupied tries the next slot, wrapping around at the end
+ * of the array.
+ * </p>
+ *
+ * <p>
+ * Absent keys are reported with the {@link #missingValue()} sentinel chosen at
+ * construction time, {@code 0} by default.
+ * </p>
+ *
+ * <p>
+ * The key {@code 0} marks a free slot in the key array. The mapping for the
+ * real key {@code 0} is therefore kept outside the arrays, in
+ * {@code hasZeroKey} and {@code zeroValue}. Removal uses backward shifting:
+ * entries after the freed slot move back when that brings them closer to
+ * their home slot, so no tombstones are needed and probe sequences stay
+ * contiguous.
+ * </p>
+ *
+ * <p>
+ * The slot count is a power of two so the home slot is computed with a mask
+ * after mixing the key bits. The load factor must stay below {@code 1}
+ * because a probe sequence ends only at a free slot.
+ * </p>
+ */
+public class LinearProbingLongLongHashTable implements LongLongHashTable {
+
+  private static final int DEFAULT_CAPACITY = 16;
+  private static final double DEFAULT_LOAD_FACTOR = 0.75;
+  private static final int MAXIMUM_CAPACITY = 1 << 30;
+  private static final long FREE_KEY = 0L;
+
+  private long[] keys;
+  private long[] values;
+  private int mask;
+  private final double loadFactor;
+  private final long missingValue;
+  private int threshold;
+  private int slotsInUse;
+  private boolean hasZeroKey;
+  private long zeroValue;
+
+  /**
+   * Creates a table with the default capacity, default load factor, and
+   * {@code 0} as the missing-value sentinel.
+   *
+   * @implNote Construction is {@code O(m)}, where {@code m} is the initial
+   *           number of slots.
+   */
+  public LinearProbingLongLongHashTable() {
+    this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR, 0L);
+  }
+
+  /**
+   * Creates a table with the default capacity and load factor and a custom
+   * sentinel for absent keys.
+   *
+   * @param missingValue the value reported for absent keys
+   *
+   * @implNote Construction is {@code O(m)}.
+   */
+  public LinearProbingLongLongHashTable(long missingValue) {
+    this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR, missingValue);
+  }
+
+  /**
+   * Creates a table with custom capacity and load-factor settings.
+   *
+   * @param initialCapacity the minimum number of slots in the initial table;
+   *        it is rounded up to a power of two
+   * @param loadFactor the resize threshold expressed as a ratio of
+   *        {@code size / slotCount}
+   * @param missingValue the value reported for absent keys
+   * @throws IllegalArgumentException if {@code initialCapacity <= 0}
+   * @throws IllegalArgumentException if {@code loadFactor} is not in the open
+   *         interval {@code (0, 1)}
+   *
+   * @implNote Construction is {@code O(m)}.
+   */
+  public LinearProbingLongLongHashTable(int initialCapacity, double loadFactor, long missingValue) {
+    if (initialCapacity <= 0) {
+      throw new IllegalArgumentException("Initial capacity must be greater than zero.");
+    }
+    if (!(loadFactor > 0.0 && loadFactor < 1.0)) {
+      throw new IllegalArgumentException("Load factor must be greater than zero and less than one.");
+    }
+
+    this.loadFactor = loadFactor;
+    this.missingValue = missingValue;
+    this.zeroValue = missingValue;
+    allocate(tableSizeFor(initialCapacity));
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Average-case time complexity is {@code O(1)}. A resize step costs
+   *           {@code O(n + m)}, but it happens only occasionally.
+   */
+  @Override
+  public long put(long key, long value) {
+    if (key == FREE_KEY) {
+      long previous = zeroValue;
+      zeroValue = value;
+      hasZeroKey = true;
+      return previous;
+    }
+
+    int slot = mix(key) & mask;
+    while (keys[slot] != FREE_KEY) {
+      if (keys[slot] == key) {
+        long previous = values[slot];
+        values[slot] = value;
+        return previous;
+      }
+      slot = (slot + 1) & mask;
+    }
+
+    keys[slot] = key;
+    values[slot] = value;
+    if (++slotsInUse > threshold) {
+      resize(keys.length * 2);
+    }
+    return missingValue;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Average-case time complexity is {@code O(1)}.
+   */
+  @Override
+  public long get(long key) {
+    if (key == FREE_KEY) {
+      return zeroValue;
+    }
+    int slot = findSlot(key);
+    return slot < 0 ? missingValue : values[slot];
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Average-case time complexity is {@code O(1)}.
+   */
+  @Override
+  public long remove(long key) {
+    if (key == FREE_KEY) {
+      long removed = zeroValue;
+      zeroValue = missingValue;
+      hasZeroKey = false;
+      return removed;
+    }
+
+    int slot = findSlot(key);
+    if (slot < 0) {
+      return missingValue;
+    }
+    long removed = values[slot];
+    shiftBack(slot);
+    slotsInUse--;
+    return removed;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Average-case time complexity is {@code O(1)}.
+   */
+  @Override
+  public boolean containsKey(long key) {
+    return key == FREE_KEY ? hasZeroKey : findSlot(key) >= 0;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(1)}.
+   */
+  @Override
+  public long missingValue() {
+    return missingValue;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(1)}.
+   */
+  @Override
+  public int size() {
+    return hasZeroKey ? slotsInUse + 1 : slotsInUse;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(m)}, where {@code m} is the number of
+   *           slots, because both backing arrays are reset.
+   */
+  @Override
+  public void clear() {
+    for (int i = 0; i < keys.length; i++) {
+      keys[i] = FREE_KEY;
+      values[i] = 0L;
+    }
+    slotsInUse = 0;
+    hasZeroKey = false;
+    zeroValue = missingValue;
+  }
+
+  /**
+   * Locates the slot that stores a non-zero {@code key}.
+   *
+   * @return the slot index, or {@code -1} if the key is absent
+   */
+  private int findSlot(long key) {
+    int slot = mix(key) & mask;
+    while (keys[slot] != FREE_KEY) {
+      if (keys[slot] == key) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  /**
+   * Frees {@code slot} and closes the gap it leaves in the probe sequence.
+   *
+   * <p>
+   * Each following entry up to the next free slot is moved into the gap when
+   * the gap lies between that entry's home slot and its current slot. The
+   * moved entry's old slot becomes the new gap.
+   * </p>
+   *
+   * @implNote Average-case time complexity is {@code O(1)}.
+   */
+  private void shiftBack(int slot) {
+    int gap = slot;
+    int current = (gap + 1) & mask;
+    while (keys[current] != FREE_KEY) {
+      int home = mix(keys[current]) & mask;
+      if (((current - home) & mask) >= ((current - gap) & mask)) {
+        keys[gap] = keys[current];
+        values[gap] = values[current];
+        gap = current;
+      }
+      current = (current + 1) & mask;
+    }
+    keys[gap] = FREE_KEY;
+    values[gap] = 0L;
+  }
+
+  /**
+   * Reinserts every slot entry into arrays of a larger size.
+   *
+   * @implNote Time complexity is {@code O(n + m)}.
+   */
+  private void resize(int newCapacity) {
+    if (keys.length >= MAXIMUM_CAPACITY) {
+      throw new IllegalStateException("Hash table cannot grow beyond " + MAXIMUM_CAPACITY + " slots.");
+    }
+
+    long[] oldKeys = keys;
+    long[] oldValues = values;
+    allocate(newCapacity);
+
+    for (int i = 0; i < oldKeys.length; i++) {
+      long key = oldKeys[i];
+      if (key != FREE_KEY) {
+        int slot = mix(key) & mask;
+        while (keys[slot] != FREE_KEY) {
+          slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+
+  private void allocate(int capacity) {
+    keys = new long[capacity];
+    values = new long[capacity];
+    mask = capacity - 1;
+    threshold = Math.min(capacity - 1, Math.max(1, (int) (capacity * loadFactor)));
+  }
+
+  /**
+   * Spreads the key bits so that keys differing only in their high bits still
+   * reach different home slots once masked (Fibonacci hashing), then folds
+   * the 64-bit product into an {@code int}.
+   */
+  private static int mix(long key) {
+    long h = key * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32));
+  }
+
+  private static int tableSizeFor(int capacity) {
+    if (capacity >= MAXIMUM_CAPACITY) {
+      return MAXIMUM_CAPACITY;
+    }
+    return Math.max(2, Integer.highestOneBit(capacity - 1) << 1);
+  }
+
+}
@@ -1,7 +1,11 @@
 package co.edu.udla.ed.impl.scratch;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
 
 import co.edu.udla.ed.api.AVLTree;
 
@@ -20,43 +24,141 @@ public class LinkedAVLTree<T extends Comparable<T>> implements AVLTree<T> {
 
   /**
    * Node class representing a node in the AVL tree. Each node contains a value,
-   * references to its left and right children, and the height of the node. The
-   * height is used to maintain the balance of the AVL tree, where a leaf node has
-   * a height of 1.
+   * references to its left and right children, the height of the node, and the
+   * number of nodes in its subtree, the last three inherited from
+   * {@link SizedNode}. The height is used to maintain the balance of the AVL
+   * tree, where a leaf node has a height of 1.
    *
    * @param <T> the type of the value stored in the node, which must be comparable
    *            to maintain the AVL tree properties.
    */
-  private static class Node<T> {
-    T value;
-    Node<T> left;
-    Node<T> right;
+  private static class Node<T> extends SizedNode<T, Node<T>> {
     int height; // altura del nodo (leaf=1)
 
     Node(T value) {
-      this.value = value;
+      super(value);
       this.height = 1;
     }
   }
 
+  private static final int INITIAL_PATH_CAPACITY = 32;
+
+  /**
+   * How {@link LinkedAVLTree#insert(Comparable)} and
+   * {@link LinkedAVLTree#remove(Comparable)} walk the tree and restore the AVL
+   * balance afterwards.
+   */
+  public enum UpdateMode {
+    /**
+     * Each update recurses down to the affected node and, while the calls
+     * return, updates the height of and rebalances every ancestor up to the
+     * root.
+     */
+    RECURSIVE,
+
+    /**
+     * Each update descends in a loop, remembering the visited nodes in an
+     * explicit path, and then retraces that path upwards only until a subtree
+     * keeps its previous height. Above that point no height or balance factor
+     * can have changed, so the remaining ancestors are not rebalanced; their
+     * subtree sizes only need a single increment or decrement.
+     */
+    ITERATIVE
+  }
+
+  private final UpdateMode updateMode;
   private Node<T> root;
   private int size;
+  private long rotationCount;
+
+  /**
+   * Nodes visited by the current iterative update, from the root downwards.
+   * The array is reused between updates and grows with the tree height.
+   */
+  private Node<T>[] path;
+
+  /**
+   * Creates an empty AVL tree that uses {@link UpdateMode#ITERATIVE} updates.
+   */
+  public LinkedAVLTree() {
+    this(UpdateMode.ITERATIVE);
+  }
+
+  /**
+   * Creates an empty AVL tree with the given update mode. Both modes build
+   * exactly the same tree for the same sequence of operations; they differ
+   * only in how much work each update does.
+   *
+   * @param updateMode how insertions and removals restore the balance
+   * @throws NullPointerException if {@code updateMode} is {@code null}
+   */
+  @SuppressWarnings("unchecked")
+  public LinkedAVLTree(UpdateMode updateMode) {
+    this.updateMode = Objects.requireNonNull(updateMode, "Update mode must not be null.");
+    this.path = (Node<T>[]) new Node<?>[INITIAL_PATH_CAPACITY];
+  }
 
   /**
    * Inserts a value into the AVL tree. If the value already exists, it is
    * ignored. After insertion, the tree is rebalanced to maintain the AVL
    * properties. The size of the tree is updated only if a new node is created
    * (i.e., when inserting a non-duplicate value). This operation has a time
-   * complexity of O(log n) due to the balancing steps involved.
+   * complexity of O(log n) due to the balancing steps involved. In
+   * {@link UpdateMode#ITERATIVE} mode the retracing stops at the first
+   * ancestor whose height does not change; after an insertion that happens at
+   * the latest at the first rotation.
    *
    * @param value the value to be inserted into the AVL tree
    */
   @Override
   public void insert(T value) {
-    int before = size;
-    root = insert(root, value);
-    // size solo cambia si se insertó
-    // (insert incrementa size cuando crea un nodo)
+    if (updateMode == UpdateMode.ITERATIVE) {
+      insertIteratively(value);
+    } else {
+      root = insert(root, value);
+    }
+  }
+
+  /**
+   * Inserts a value by descending in a loop and retracing the recorded path.
+   * Each visited node is stored in {@link #path}; after the new leaf is
+   * linked, the path is walked back upwards, updating heights and rebalancing,
+   * until a subtree ends up with the same height it had before the insertion.
+   *
+   * @param value the value to be inserted
+   */
+  private void insertIteratively(T value) {
+    if (root == null) {
+      root = new Node<>(value);
+      size++;
+      return;
+    }
+
+    ensurePathCapacity();
+    int depth = 0;
+    Node<T> current = root;
+    while (true) {
+      int cmp = value.compareTo(current.value);
+      if (cmp == 0) {
+        clearPath(depth);
+        return; // duplicado: ignorar
+      }
+      path[depth++] = current;
+      Node<T> next = cmp < 0 ? current.left : current.right;
+      if (next == null) {
+        if (cmp < 0)
+          current.left = new Node<>(value);
+        else
+          current.right = new Node<>(value);
+        break;
+      }
+      current = next;
+    }
+    size++;
+    for (int i = 0; i < depth; i++) {
+      path[i].size++; // todos los ancestros ganan un nodo
+    }
+    retrace(depth);
   }
 
   /**
@@ -87,7 +189,7 @@ public class LinkedAVLTree<T extends Comparable<T>> implements AVLTree<T> {
     else
       return node; // duplicado: ignorar
 
-    updateHeight(node);
+    update(node);
     return rebalance(node);
   }
 
@@ -119,6 +221,68 @@ public class LinkedAVLTree<T extends Comparable<T>> implements AVLTree<T> {
     return false;
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is O(log n), from the stored subtree sizes.
+   */
+  @Override
+  public int rank(T value) {
+    return SizedNode.countBelow(root, value, false);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is O(log n), from the stored subtree sizes.
+   */
+  @Override
+  public T select(int index) {
+    return SizedNode.select(root, index);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is O(log n).
+   */
+  @Override
+  public T floor(T value) {
+    return SizedNode.floor(root, value);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is O(log n).
+   */
+  @Override
+  public T ceiling(T value) {
+    return SizedNode.ceiling(root, value);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is O(log n), from the stored subtree sizes.
+   */
+  @Override
+  public int countInRange(T low, T high) {
+    if (low.compareTo(high) > 0)
+      return 0;
+    return SizedNode.countBelow(root, high, true) - SizedNode.countBelow(root, low, false);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is O(log n + k) for k values in the range.
+   */
+  @Override
+  public List<T> range(T low, T high) {
+    return SizedNode.range(root, low, high);
+  }
+
   /**
    * Removes a value from the AVL tree. The method first checks if the value
    * exists in the tree. If it does, it proceeds to remove the node containing the
@@ -135,11 +299,115 @@ public class LinkedAVLTree<T extends Comparable<T>> implements AVLTree<T> {
    */
   @Override
   public boolean remove(T value) {
+    if (updateMode == UpdateMode.ITERATIVE) {
+      return removeIteratively(value);
+    }
     int before = size;
     root = remove(root, value);
     return size < before;
   }
 
+  /**
+   * Removes a value by descending in a loop and retracing the recorded path.
+   * A node with two children takes the value of its successor, and the
+   * successor, which has no left child, is unlinked instead. The path then
+   * holds every ancestor of the unlinked node and is retraced until a subtree
+   * keeps its previous height.
+   *
+   * @param value the value to be removed
+   * @return true if the value was found and removed, false otherwise
+   */
+  private boolean removeIteratively(T value) {
+    ensurePathCapacity();
+    int depth = 0;
+    Node<T> current = root;
+    while (current != null) {
+      int cmp = value.compareTo(current.value);
+      if (cmp == 0)
+        break;
+      path[depth++] = current;
+      current = cmp < 0 ? current.left : current.right;
+    }
+    if (current == null) {
+      clearPath(depth);
+      return false;
+    }
+    size--;
+
+    if (current.left != null && current.right != null) {
+      // 2 hijos: copiar el sucesor y desenlazarlo a él
+      Node<T> found = current;
+      path[depth++] = found;
+      current = found.right;
+      while (current.left != null) {
+        path[depth++] = current;
+        current = current.left;
+      }
+      found.value = current.value;
+    }
+
+    Node<T> child = current.left != null ? current.left : current.right;
+    replaceChild(depth == 0 ? null : path[depth - 1], current, child);
+    for (int i = 0; i < depth; i++) {
+      path[i].size--; // todos los ancestros pierden un nodo
+    }
+    retrace(depth);
+    return true;
+  }
+
+  /**
+   * Walks the first {@code depth} entries of {@link #path} from the deepest
+   * upwards, updating heights and rebalancing, and stops at the first subtree
+   * whose height is the same as before the update. The used part of the path
+   * is cleared afterwards so that it does not keep nodes reachable.
+   *
+   * @param depth the number of nodes recorded in the path
+   */
+  private void retrace(int depth) {
+    for (int i = depth - 1; i >= 0; i--) {
+      Node<T> node = path[i];
+      int previousHeight = node.height;
+      update(node);
+      Node<T> subtree = rebalance(node);
+      if (subtree != node) {
+        replaceChild(i == 0 ? null : path[i - 1], node, subtree);
+      }
+      if (subtree.height == previousHeight) {
+        break;
+      }
+    }
+    clearPath(depth);
+  }
+
+  /**
+   * Replaces the link from {@code parent} to {@code oldChild} with a link to
+   * {@code newChild}. A {@code null} parent means that {@code oldChild} is the
+   * root.
+   */
+  private void replaceChild(Node<T> parent, Node<T> oldChild, Node<T> newChild) {
+    if (parent == null)
+      root = newChild;
+    else if (parent.left == oldChild)
+      parent.left = newChild;
+    else
+      parent.right = newChild;
+  }
+
+  /**
+   * Makes sure {@link #path} can hold every node on a root-to-leaf walk. An
+   * AVL tree of height {@code h} has at most {@code h} nodes on such a walk.
+   */
+  @SuppressWarnings("unchecked")
+  private void ensurePathCapacity() {
+    if (h(root) > path.length) {
+      path = (Node<T>[]) new Node<?>[Math.max(h(root), path.length * 2)];
+    }
+  }
+
+  private void clearPath(int depth) {
+    Arrays.fill(path, 0, depth, null);
+  }
+
   /**
    * Removes a value from the subtree rooted at the given node. The method
    * searches for the node containing the value to be removed. If the node is
@@ -188,7 +456,7 @@ public class LinkedAVLTree<T extends Comparable<T>> implements AVLTree<T> {
     if (node == null)
       return null;
 
-    updateHeight(node);
+    update(node);
     return rebalance(node);
   }
 
@@ -229,7 +497,7 @@ public class LinkedAVLTree<T extends Comparable<T>> implements AVLTree<T> {
       return node.right;
     }
     node.left = removeMin(node.left);
-    updateHeight(node);
+    update(node);
     return rebalance(node);
   }
 
@@ -247,6 +515,18 @@ public class LinkedAVLTree<T extends Comparable<T>> implements AVLTree<T> {
     return size;
   }
 
+  /**
+   * Returns the number of single rotations performed since the tree was
+   * created. A double rotation (LR or RL) counts as two. The counter is not
+   * reset by {@link #clear()}, so it can be compared across a whole workload,
+   * for example against {@link RedBlackTree#rotationCount()}.
+   *
+   * @return the number of rotations performed so far
+   */
+  public long rotationCount() {
+    return rotationCount;
+  }
+
   /**
    * Returns the height of the AVL tree. The height is calculated as the maximum
    * height of the left and right subtrees of the root node. An empty tree has a
@@ -263,31 +543,53 @@ public class LinkedAVLTree<T extends Comparable<T>> implements AVLTree<T> {
     return h(root);
   }
 
+  /**
+   * Returns the values of the AVL tree in ascending order. The method drains
+   * {@link #iterator()} into a list sized for the whole tree. This operation
+   * has a time complexity of O(n) since it visits each node exactly once.
+   *
+   * @return a list of values in the tree in sorted order
+   */
   @Override
   public List<T> inOrder() {
-    List<T> out = new ArrayList<>();
-    inOrder(root, out);
+    List<T> out = new ArrayList<>(size);
+    for (T value : this)
+      out.add(value);
     return out;
   }
 
   /**
-   * Performs an in-order traversal of the AVL tree and adds the values to the
-   * given list. The in-order traversal visits the left subtree, the current node,
-   * and then the right subtree, resulting in a sorted order of values. The method
-   * is called recursively for each node in the tree, starting from the root. If
-   * the current node is null, it simply returns without adding anything to the
-   * list. This operation has a time complexity of O(n), where n is the number of
-   * nodes in the tree, as it visits each node exactly once.
+   * {@inheritDoc}
    *
-   * @param currentNode the current node in the traversal
-   * @param out         the list to which values are added
+   * @implNote The iterator is lazy and keeps an explicit stack of the pending
+   *           nodes, so it uses O(log n) memory; each call to {@code next}
+   *           is O(1) amortized.
    */
-  private void inOrder(Node<T> currentNode, List<T> out) {
-    if (currentNode == null)
-      return;
-    inOrder(currentNode.left, out);
-    out.add(currentNode.value);
-    inOrder(currentNode.right, out);
+  @Override
+  public Iterator<T> iterator() {
+    return new InOrderIterator<>(root, true);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote The mirror image of {@link #iterator()}: the stack follows
+   *           right children first.
+   */
+  @Override
+  public Iterator<T> descendingIterator() {
+    return new InOrderIterator<>(root, false);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Positioning is a single root-to-leaf walk, O(log n); the
+   *           values before the start are never visited.
+   */
+  @Override
+  public Iterator<T> iteratorFrom(T fromValue) {
+    return new InOrderIterator<>(root, fromValue);
   }
 
   /**
@@ -304,6 +606,26 @@ public class LinkedAVLTree<T extends Comparable<T>> implements AVLTree<T> {
     size = 0;
   }
 
+  /**
+   * Replaces the contents of the AVL tree with the given values, which must
+   * be in strictly ascending order, and builds a perfectly balanced tree from
+   * them in O(n) time instead of n separate insertions. Every node gets its
+   * correct AVL height, so later insertions and removals rebalance as usual.
+   * If the values are not in order, the method throws and the tree keeps its
+   * previous contents.
+   *
+   * @param sortedValues the values to load, in strictly ascending order
+   * @throws NullPointerException     if {@code sortedValues} is {@code null}
+   *                                  or contains {@code null}
+   * @throws IllegalArgumentException if a value is not greater than the one
+   *                                  before it
+   */
+  public void buildFromSorted(Iterable<? extends T> sortedValues) {
+    Collection<? extends T> values = SortedBulkLoad.sized(sortedValues);
+    root = SortedBulkLoad.build(values, Node::new, this::update);
+    size = values.size();
+  }
+
   // ---- AVL helpers ----
 
   /**
@@ -317,12 +639,14 @@ public class LinkedAVLTree<T extends Comparable<T>> implements AVLTree<T> {
   }
 
   /**
-   * Updates the height of the given node based on the heights of its children.
+   * Updates the height and the subtree size of the given node based on those
+   * of its children.
    *
-   * @param n the node for which to update the height
+   * @param n the node to update
    */
-  private void updateHeight(Node<T> n) {
+  private void update(Node<T> n) {
     n.height = 1 + Math.max(h(n.left), h(n.right));
+    n.size = 1 + SizedNode.sizeOf(n.left) + SizedNode.sizeOf(n.right);
   }
 
   /**
@@ -377,6 +701,7 @@ public class LinkedAVLTree<T extends Comparable<T>> implements AVLTree<T> {
    * @return the new root of the subtree after rotation
    */
   private Node<T> rotateRight(Node<T> y) {
+    rotationCount++;
     Node<T> x = y.left;
     Node<T> t2 = x.right;
 
@@ -385,8 +710,8 @@ public class LinkedAVLTree<T extends Comparable<T>> implements AVLTree<T> {
     y.left = t2;
 
     // update heights
-    updateHeight(y);
-    updateHeight(x);
+    update(y);
+    update(x);
 
     return x;
   }
@@ -399,6 +724,7 @@ public class LinkedAVLTree<T extends Comparable<T>> implements AVLTree<T> {
    * @return the new root of the subtree after rotation
    */
   private Node<T> rotateLeft(Node<T> x) {
+    rotationCount++;
     Node<T> y = x.right;
     Node<T> t2 = y.left;
 
@@ -407,8 +733,8 @@ public class LinkedAVLTree<T extends Comparable<T>> implements AVLTree<T> {
     x.right = t2;
 
     // update heights
-    updateHeight(x);
-    updateHeight(y);
+    update(x);
+    update(y);
 
     return y;
   }
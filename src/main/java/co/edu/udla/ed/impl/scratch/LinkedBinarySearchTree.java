@@ -1,6 +1,8 @@
 package co.edu.udla.ed.impl.scratch;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 
 import co.edu.udla.ed.api.BinarySearchTree;
@@ -8,19 +10,16 @@ import co.edu.udla.ed.api.BinarySearchTree;
 public class LinkedBinarySearchTree<T extends Comparable<T>> implements BinarySearchTree<T> {
 
   /**
-   * Node class represents a single node in the binary search tree, containing a
-   * value and references to the left and right child nodes.
+   * Node class represents a single node in the binary search tree. The value,
+   * the references to the left and right child nodes, and the number of nodes
+   * in its subtree all come from {@link SizedNode}.
    *
    * @param <T> the type of value stored in the node, which must be comparable to
    *            maintain the properties of the binary search tree.
    */
-  private static class Node<T> {
-    T value;
-    Node<T> left;
-    Node<T> right;
-
+  private static class Node<T> extends SizedNode<T, Node<T>> {
     Node(T value) {
-      this.value = value;
+      super(value);
     }
   }
 
@@ -33,7 +32,8 @@ public class LinkedBinarySearchTree<T extends Comparable<T>> implements BinarySe
    * correct position for the new value, maintaining the properties of the binary
    * search tree. This implementation does not allow duplicate values, and the
    * size of the tree is only incremented when a new value is successfully
-   * inserted.
+   * inserted. Every node on the way down counts the new node in its subtree
+   * size; if the value turns out to be a duplicate, those counts are reverted.
    *
    * This operation has an average time complexity of O(log n) for balanced trees,
    * but can degrade to O(n) in the worst case (e.g., when the tree becomes a
@@ -52,6 +52,12 @@ public class LinkedBinarySearchTree<T extends Comparable<T>> implements BinarySe
     Node<T> currentNode = root;
     while (true) {
       int comparisonResult = value.compareTo(currentNode.value);
+      if (comparisonResult == 0) {
+        // duplicado: decisión didáctica -> ignorar (no incrementa size)
+        undoSizeIncrements(value);
+        return;
+      }
+      currentNode.size++; // el nuevo nodo quedará en este subárbol
       if (comparisonResult < 0) {
         if (currentNode.left == null) {
           currentNode.left = new Node<>(value);
@@ -59,20 +65,33 @@ public class LinkedBinarySearchTree<T extends Comparable<T>> implements BinarySe
           return;
         }
         currentNode = currentNode.left;
-      } else if (comparisonResult > 0) {
+      } else {
         if (currentNode.right == null) {
           currentNode.right = new Node<>(value);
           size++;
           return;
         }
         currentNode = currentNode.right;
-      } else {
-        // duplicado: decisión didáctica -> ignorar (no incrementa size)
-        return;
       }
     }
   }
 
+  /**
+   * Reverts the subtree-size increments made by an insertion that reached a
+   * duplicate. The method follows the same path from the root and decrements
+   * every node above the one that holds {@code value}.
+   *
+   * @param value the duplicate value whose insertion is being undone
+   */
+  private void undoSizeIncrements(T value) {
+    Node<T> currentNode = root;
+    int comparisonResult;
+    while ((comparisonResult = value.compareTo(currentNode.value)) != 0) {
+      currentNode.size--;
+      currentNode = comparisonResult < 0 ? currentNode.left : currentNode.right;
+    }
+  }
+
   /**
    * Checks if a value is present in the binary search tree. The method traverses
    * the tree, comparing the target value with the values of the nodes. If the
@@ -97,6 +116,72 @@ public class LinkedBinarySearchTree<T extends Comparable<T>> implements BinarySe
     return false;
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is O(h) for a tree of height h, from the
+   *           stored subtree sizes.
+   */
+  @Override
+  public int rank(T value) {
+    return SizedNode.countBelow(root, value, false);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is O(h) for a tree of height h, from the
+   *           stored subtree sizes.
+   */
+  @Override
+  public T select(int index) {
+    return SizedNode.select(root, index);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is O(h) for a tree of height h.
+   */
+  @Override
+  public T floor(T value) {
+    return SizedNode.floor(root, value);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is O(h) for a tree of height h.
+   */
+  @Override
+  public T ceiling(T value) {
+    return SizedNode.ceiling(root, value);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is O(h) for a tree of height h, from the
+   *           stored subtree sizes.
+   */
+  @Override
+  public int countInRange(T low, T high) {
+    if (low.compareTo(high) > 0)
+      return 0;
+    return SizedNode.countBelow(root, high, true) - SizedNode.countBelow(root, low, false);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is O(h + k) for a tree of height h and k
+   *           values in the range.
+   */
+  @Override
+  public List<T> range(T low, T high) {
+    return SizedNode.range(root, low, high);
+  }
+
   /**
    * Removes a value from the binary search tree. The method first searches for
    * the node containing the target value. If the node is found, it handles three
@@ -157,21 +242,57 @@ public class LinkedBinarySearchTree<T extends Comparable<T>> implements BinarySe
 
   /**
    * Performs an in-order traversal of the binary search tree, which visits the
-   * nodes in sorted order. The method uses recursion to traverse the left
-   * subtree, adds the current node's value to the output list, and then
-   * traverses the right subtree. The resulting list contains all values in the
-   * tree in ascending order. This operation has a time complexity of O(n) since
-   * it needs to visit each node in the tree exactly once.
+   * nodes in sorted order. The method drains {@link #iterator()}, which keeps
+   * an explicit stack instead of recursing, so even a tree degenerated into a
+   * chain cannot overflow the call stack. The resulting list contains all
+   * values in the tree in ascending order. This operation has a time
+   * complexity of O(n) since it needs to visit each node in the tree exactly
+   * once.
    *
    * @return a list of values in the tree in sorted order.
    */
   @Override
   public List<T> inOrder() {
-    List<T> out = new ArrayList<>();
-    inOrder(root, out);
+    List<T> out = new ArrayList<>(size);
+    for (T value : this)
+      out.add(value);
     return out;
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote The iterator is lazy and keeps an explicit stack of the pending
+   *           nodes, so it uses O(h) memory for a tree of height h; each call to
+   *           {@code next} is O(1) amortized.
+   */
+  @Override
+  public Iterator<T> iterator() {
+    return new InOrderIterator<>(root, true);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote The mirror image of {@link #iterator()}: the stack follows
+   *           right children first.
+   */
+  @Override
+  public Iterator<T> descendingIterator() {
+    return new InOrderIterator<>(root, false);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Positioning is a single root-to-leaf walk, O(h); the
+   *           values before the start are never visited.
+   */
+  @Override
+  public Iterator<T> iteratorFrom(T fromValue) {
+    return new InOrderIterator<>(root, fromValue);
+  }
+
   /**
    * Clears the binary search tree by setting the root to null and resetting the
    * size to zero. This effectively removes all nodes from the tree, allowing for
@@ -186,6 +307,27 @@ public class LinkedBinarySearchTree<T extends Comparable<T>> implements BinarySe
     size = 0;
   }
 
+  /**
+   * Replaces the contents of the binary search tree with the given values,
+   * which must be in strictly ascending order, using O(n) time. Inserting
+   * sorted values one at a time would build a chain as deep as the tree is
+   * large; this method links the nodes directly into a tree that is as
+   * shallow as possible. The tree does not rebalance itself, so later
+   * insertions and removals can still make it lopsided. If the values are not
+   * in order, the method throws and the tree keeps its previous contents.
+   *
+   * @param sortedValues the values to load, in strictly ascending order
+   * @throws NullPointerException     if {@code sortedValues} is {@code null}
+   *                                  or contains {@code null}
+   * @throws IllegalArgumentException if a value is not greater than the one
+   *                                  before it
+   */
+  public void buildFromSorted(Iterable<? extends T> sortedValues) {
+    Collection<? extends T> values = SortedBulkLoad.sized(sortedValues);
+    root = SortedBulkLoad.build(values, Node::new, this::updateSize);
+    size = values.size();
+  }
+
   /**
    * Removes a value from the binary search tree. The method first searches for
    * the node containing the target value. If the node is found, it handles three
@@ -215,10 +357,12 @@ public class LinkedBinarySearchTree<T extends Comparable<T>> implements BinarySe
     int cmp = value.compareTo(subtreeRoot.value);
     if (cmp < 0) {
       subtreeRoot.left = remove(subtreeRoot.left, value);
+      updateSize(subtreeRoot);
       return subtreeRoot;
     }
     if (cmp > 0) {
       subtreeRoot.right = remove(subtreeRoot.right, value);
+      updateSize(subtreeRoot);
       return subtreeRoot;
     }
 
@@ -242,6 +386,7 @@ public class LinkedBinarySearchTree<T extends Comparable<T>> implements BinarySe
     // ojo: aquí estamos eliminando el sucesor real sin decrementar size otra vez
     subtreeRoot.right = removeMin(subtreeRoot.right);
     size++; // compensación por el decremento extra dentro de removeMin
+    updateSize(subtreeRoot);
     return subtreeRoot;
   }
 
@@ -281,9 +426,19 @@ public class LinkedBinarySearchTree<T extends Comparable<T>> implements BinarySe
       return subtreeRoot.right;
     }
     subtreeRoot.left = removeMin(subtreeRoot.left);
+    updateSize(subtreeRoot);
     return subtreeRoot;
   }
 
+  /**
+   * Recomputes the subtree size of the given node from those of its children.
+   *
+   * @param n the node to update
+   */
+  private void updateSize(Node<T> n) {
+    n.size = 1 + SizedNode.sizeOf(n.left) + SizedNode.sizeOf(n.right);
+  }
+
   /**
    * Calculates the height of the binary search tree. The height is defined as the
    * number of edges on the longest path from the root to a leaf node. An empty
@@ -301,25 +456,4 @@ public class LinkedBinarySearchTree<T extends Comparable<T>> implements BinarySe
     return 1 + Math.max(height(n.left), height(n.right));
   }
 
-  /**
-   * Performs an in-order traversal of the binary search tree, which visits the
-   * nodes in sorted order. The method uses recursion to traverse the left
-   * subtree, adds the current node's value to the output list, and then
-   * traverses the right subtree. The resulting list contains all values in the
-   * tree in ascending order. This operation has a time complexity of O(n) since
-   * it needs to visit each node in the tree exactly once.
-   *
-   * @param traverseNode the current node being traversed (initially the root of
-   *                     the tree).
-   * @param out          the list to which the values will be added in sorted
-   *                     order.
-   */
-  private void inOrder(Node<T> traverseNode, List<T> out) {
-    if (traverseNode == null)
-      return;
-    inOrder(traverseNode.left, out);
-    out.add(traverseNode.value);
-    inOrder(traverseNode.right, out);
-  }
-
 }
@@ -0,0 +1,605 @@
+package co.edu.udla.ed.impl.scratch;
+
+import java.util.AbstractMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import co.edu.udla.ed.api.ConcurrentHashTable;
+
+/**
+ * Thread-safe hash table that splits its buckets into independently locked
+ * segments.
+ *
+ * <p>
+ * A single global lock makes every thread wait for every other thread. This
+ * table instead divides the key space into a fixed number of segments, each
+ * of them a small separate-chaining table with its own lock. The high bits of
+ * a mixed hash code choose the segment and the low bits choose the bucket
+ * inside it, so two threads only contend when they write keys of the same
+ * segment.
+ * </p>
+ *
+ * <p>
+ * Reads take no lock at all. Chain entries have {@code final} links, so a
+ * published chain never changes shape: writers add a new head, or copy the
+ * entries in front of a removed one, and publish the result with a volatile
+ * write to the bucket array. A reader therefore always walks a consistent
+ * chain, possibly one that is a moment old.
+ * </p>
+ *
+ * <p>
+ * Each segment resizes on its own, under its own lock, when its local load
+ * factor is exceeded. Writers to other segments are never blocked by that
+ * resize, and readers of the resizing segment keep using the previous bucket
+ * array until the new one is published.
+ * </p>
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class LockStripedHashTable<K, V> implements ConcurrentHashTable<K, V> {
+
+  private static final int DEFAULT_CAPACITY = 16;
+  private static final double DEFAULT_LOAD_FACTOR = 0.75;
+  private static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+  private static final int MAXIMUM_SEGMENTS = 1 << 16;
+  private static final int MAXIMUM_SEGMENT_CAPACITY = 1 << 30;
+
+  /**
+   * Immutable chain link. Only {@code value} can change after publication,
+   * and it is volatile so that an overwrite is immediately visible to readers.
+   */
+  private static final class Entry<K, V> {
+    final int hash;
+    final K key;
+    volatile V value;
+    final Entry<K, V> next;
+
+    Entry(int hash, K key, V value, Entry<K, V> next) {
+      this.hash = hash;
+      this.key = key;
+      this.value = value;
+      this.next = next;
+    }
+  }
+
+  /**
+   * One independently locked separate-chaining table.
+   *
+   * <p>
+   * {@code table} and {@code count} are volatile so lock-free readers see the
+   * latest published state. Every mutation happens while holding
+   * {@code lock}.
+   * </p>
+   */
+  private static final class Segment<K, V> {
+    private final ReentrantLock lock = new ReentrantLock();
+    private final double loadFactor;
+    private final int initialCapacity;
+    private volatile AtomicReferenceArray<Entry<K, V>> table;
+    private volatile int count;
+    private int threshold;
+
+    Segment(int initialCapacity, double loadFactor) {
+      this.loadFactor = loadFactor;
+      this.initialCapacity = initialCapacity;
+      setTable(new AtomicReferenceArray<>(initialCapacity));
+    }
+
+    /**
+     * Searches the current chain for a key without locking.
+     *
+     * @implNote Average-case time complexity is {@code O(1)}.
+     */
+    Entry<K, V> find(int hash, Object key) {
+      AtomicReferenceArray<Entry<K, V>> tab = table;
+      Entry<K, V> current = tab.get(hash & (tab.length() - 1));
+      while (current != null) {
+        if (current.hash == hash && Objects.equals(current.key, key)) {
+          return current;
+        }
+        current = current.next;
+      }
+      return null;
+    }
+
+    /**
+     * Inserts or updates a key under the segment lock.
+     *
+     * @param onlyIfAbsent when {@code true}, an existing mapping is left
+     *        untouched
+     * @return the previous value, or {@code null} if the key was absent
+     */
+    V put(int hash, K key, V value, boolean onlyIfAbsent) {
+      lock.lock();
+      try {
+        Entry<K, V> existing = find(hash, key);
+        if (existing != null) {
+          V previous = existing.value;
+          if (!onlyIfAbsent) {
+            existing.value = value;
+          }
+          return previous;
+        }
+        insert(hash, key, value);
+        return null;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /**
+     * Runs the absent-key branch of
+     * {@link LockStripedHashTable#computeIfAbsent(Object, Function)} under the
+     * segment lock, so the function runs at most once per absent key.
+     */
+    V computeIfAbsent(int hash, K key, Function<? super K, ? extends V> mappingFunction) {
+      lock.lock();
+      try {
+        Entry<K, V> existing = find(hash, key);
+        if (existing != null && existing.value != null) {
+          return existing.value;
+        }
+        V computed = mappingFunction.apply(key);
+        if (computed == null) {
+          return null;
+        }
+        if (existing != null) {
+          existing.value = computed;
+        } else {
+          insert(hash, key, computed);
+        }
+        return computed;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /**
+     * Removes a key under the segment lock.
+     *
+     * @return the removed value, or {@code null} if the key was absent
+     *
+     * @implNote Average-case time complexity is {@code O(1)}.
+     */
+    V remove(int hash, Object key) {
+      lock.lock();
+      try {
+        return removeLocked(hash, key);
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /**
+     * Runs {@link LockStripedHashTable#compute(Object, BiFunction)} under the
+     * segment lock: one search, then an update, an insertion, or a removal.
+     *
+     * @implNote Average-case time complexity is {@code O(1)} plus the cost of
+     *           the remapping function.
+     */
+    V compute(int hash, K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+      lock.lock();
+      try {
+        Entry<K, V> existing = find(hash, key);
+        V computed = remappingFunction.apply(key, existing == null ? null : existing.value);
+        if (computed == null) {
+          if (existing != null) {
+            removeLocked(hash, key);
+          }
+        } else if (existing != null) {
+          existing.value = computed;
+        } else {
+          insert(hash, key, computed);
+        }
+        return computed;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    void clear() {
+      lock.lock();
+      try {
+        setTable(new AtomicReferenceArray<>(initialCapacity));
+        count = 0;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /**
+     * Unlinks a key; the caller holds the lock.
+     *
+     * <p>
+     * Because links are final, the entries in front of the removed one are
+     * copied onto the rest of the chain and the new head is published in one
+     * volatile write. Readers already walking the old chain finish on it
+     * undisturbed.
+     * </p>
+     *
+     * @return the removed value, or {@code null} if the key was absent
+     */
+    private V removeLocked(int hash, Object key) {
+      AtomicReferenceArray<Entry<K, V>> tab = table;
+      int index = hash & (tab.length() - 1);
+      Entry<K, V> head = tab.get(index);
+      Entry<K, V> target = head;
+      while (target != null && !(target.hash == hash && Objects.equals(target.key, key))) {
+        target = target.next;
+      }
+      if (target == null) {
+        return null;
+      }
+
+      Entry<K, V> newHead = target.next;
+      for (Entry<K, V> current = head; current != target; current = current.next) {
+        newHead = new Entry<>(current.hash, current.key, current.value, newHead);
+      }
+      tab.set(index, newHead);
+      count--;
+      return target.value;
+    }
+
+    /**
+     * Links a new head entry; the caller holds the lock and has checked that
+     * the key is absent.
+     */
+    private void insert(int hash, K key, V value) {
+      if (count + 1 > threshold) {
+        rehash();
+      }
+      AtomicReferenceArray<Entry<K, V>> tab = table;
+      int index = hash & (tab.length() - 1);
+      tab.set(index, new Entry<>(hash, key, value, tab.get(index)));
+      count++;
+    }
+
+    /**
+     * Doubles this segment's bucket array.
+     *
+     * <p>
+     * Entries are copied rather than relinked, because relinking would change
+     * the {@code next} references that concurrent readers of the old array
+     * may be following. The new array becomes visible to readers with a
+     * single volatile write once it is complete.
+     * </p>
+     *
+     * @implNote Time complexity is {@code O(k)} for a segment holding
+     *           {@code k} entries.
+     */
+    private void rehash() {
+      AtomicReferenceArray<Entry<K, V>> oldTable = table;
+      int oldCapacity = oldTable.length();
+      if (oldCapacity >= MAXIMUM_SEGMENT_CAPACITY) {
+        return;
+      }
+
+      AtomicReferenceArray<Entry<K, V>> newTable = new AtomicReferenceArray<>(oldCapacity * 2);
+      int newMask = newTable.length() - 1;
+      for (int i = 0; i < oldCapacity; i++) {
+        for (Entry<K, V> current = oldTable.get(i); current != null; current = current.next) {
+          int index = current.hash & newMask;
+          newTable.set(index, new Entry<>(current.hash, current.key, current.value, newTable.get(index)));
+        }
+      }
+      setTable(newTable);
+    }
+
+    private void setTable(AtomicReferenceArray<Entry<K, V>> newTable) {
+      threshold = Math.max(1, (int) (newTable.length() * loadFactor));
+      table = newTable;
+    }
+  }
+
+  private final Segment<K, V>[] segments;
+  private final int segmentShift;
+  private final int segmentMask;
+
+  /**
+   * Creates a table with the default capacity, load factor, and concurrency
+   * level.
+   *
+   * @implNote Construction is {@code O(s)}, where {@code s} is the number of
+   *           segments.
+   */
+  public LockStripedHashTable() {
+    this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR, DEFAULT_CONCURRENCY_LEVEL);
+  }
+
+  /**
+   * Creates a table with custom sizing and striping settings.
+   *
+   * @param initialCapacity the total number of buckets across all segments;
+   *        each segment receives at least two
+   * @param loadFactor the per-segment resize threshold expressed as a ratio
+   *        of {@code entries / buckets}
+   * @param concurrencyLevel the expected number of concurrently writing
+   *        threads; it is rounded up to a power of two and becomes the number
+   *        of segments
+   * @throws IllegalArgumentException if {@code initialCapacity <= 0} or
+   *         {@code concurrencyLevel <= 0}
+   * @throws IllegalArgumentException if {@code loadFactor <= 0} or is not a
+   *         valid numeric value
+   *
+   * @implNote Construction is {@code O(s + m)}.
+   */
+  @SuppressWarnings("unchecked")
+  public LockStripedHashTable(int initialCapacity, double loadFactor, int concurrencyLevel) {
+    if (initialCapacity <= 0) {
+      throw new IllegalArgumentException("Initial capacity must be greater than zero.");
+    }
+    if (loadFactor <= 0.0 || Double.isNaN(loadFactor)) {
+      throw new IllegalArgumentException("Load factor must be a positive number.");
+    }
+    if (concurrencyLevel <= 0) {
+      throw new IllegalArgumentException("Concurrency level must be greater than zero.");
+    }
+
+    int segmentCount = powerOfTwoAtLeast(Math.min(concurrencyLevel, MAXIMUM_SEGMENTS));
+    int segmentCapacity = powerOfTwoAtLeast(Math.max(2, (initialCapacity + segmentCount - 1) / segmentCount));
+
+    this.segments = (Segment<K, V>[]) new Segment<?, ?>[segmentCount];
+    for (int i = 0; i < segmentCount; i++) {
+      segments[i] = new Segment<>(segmentCapacity, loadFactor);
+    }
+    this.segmentMask = segmentCount - 1;
+    this.segmentShift = 32 - Integer.numberOfTrailingZeros(segmentCount);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Average-case time complexity is {@code O(1)}. Only the key's
+   *           segment is locked.
+   */
+  @Override
+  public V put(K key, V value) {
+    int hash = hash(key);
+    return segmentFor(hash).put(hash, key, value, false);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Average-case time complexity is {@code O(1)}. No lock is taken.
+   */
+  @Override
+  public V get(K key) {
+    int hash = hash(key);
+    Entry<K, V> entry = segmentFor(hash).find(hash, key);
+    return entry == null ? null : entry.value;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Average-case time complexity is {@code O(1)}. Only the key's
+   *           segment is locked.
+   */
+  @Override
+  public V remove(K key) {
+    int hash = hash(key);
+    return segmentFor(hash).remove(hash, key);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Average-case time complexity is {@code O(1)}. No lock is taken.
+   */
+  @Override
+  public boolean containsKey(K key) {
+    int hash = hash(key);
+    return segmentFor(hash).find(hash, key) != null;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Average-case time complexity is {@code O(1)}. Only the key's
+   *           segment is locked.
+   */
+  @Override
+  public V putIfAbsent(K key, V value) {
+    int hash = hash(key);
+    return segmentFor(hash).put(hash, key, value, true);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * A present non-null value is returned from a lock-free lookup. Only when the
+   * key is missing does the call lock the segment, check again, and run the
+   * function while still holding the lock.
+   * </p>
+   *
+   * @implNote Average-case time complexity is {@code O(1)} plus the cost of the
+   *           mapping function.
+   */
+  @Override
+  public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+    Objects.requireNonNull(mappingFunction, "Mapping function must not be null.");
+    int hash = hash(key);
+    Segment<K, V> segment = segmentFor(hash);
+    Entry<K, V> existing = segment.find(hash, key);
+    if (existing != null) {
+      V value = existing.value;
+      if (value != null) {
+        return value;
+      }
+    }
+    return segment.computeIfAbsent(hash, key, mappingFunction);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Average-case time complexity is {@code O(1)}. No lock is taken,
+   *           and a single lookup decides between the value and the default.
+   */
+  @Override
+  public V getOrDefault(K key, V defaultValue) {
+    int hash = hash(key);
+    Entry<K, V> entry = segmentFor(hash).find(hash, key);
+    return entry == null ? defaultValue : entry.value;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * The search, the function call, and the resulting write happen under the
+   * key's segment lock, so concurrent updates of the same key never overwrite
+   * each other.
+   * </p>
+   *
+   * @implNote Average-case time complexity is {@code O(1)} plus the cost of the
+   *           remapping function.
+   */
+  @Override
+  public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+    Objects.requireNonNull(remappingFunction, "Remapping function must not be null.");
+    int hash = hash(key);
+    return segmentFor(hash).compute(hash, key, remappingFunction);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * Runs as an atomic {@link #compute(Object, BiFunction)} under the key's
+   * segment lock, so concurrent counter increments are never lost.
+   * </p>
+   *
+   * @implNote Average-case time complexity is {@code O(1)} plus the cost of the
+   *           remapping function.
+   */
+  @Override
+  public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+    Objects.requireNonNull(value, "Value must not be null.");
+    Objects.requireNonNull(remappingFunction, "Remapping function must not be null.");
+    int hash = hash(key);
+    return segmentFor(hash).compute(hash, key,
+        (k, current) -> current == null ? value : remappingFunction.apply(current, value));
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(s)}, where {@code s} is the number of
+   *           segments, because the per-segment counts are added up.
+   */
+  @Override
+  public int size() {
+    long total = 0;
+    for (Segment<K, V> segment : segments) {
+      total += segment.count;
+    }
+    return (int) Math.min(total, Integer.MAX_VALUE);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * Segments are cleared one after another, each under its own lock.
+   * </p>
+   *
+   * @implNote Time complexity is {@code O(s)} plus one small array allocation
+   *           per segment.
+   */
+  @Override
+  public void clear() {
+    for (Segment<K, V> segment : segments) {
+      segment.clear();
+    }
+  }
+
+  /**
+   * Returns a weakly consistent iterator over the stored entries.
+   *
+   * <p>
+   * The iterator never throws because of concurrent writes and takes no lock.
+   * It walks each segment's bucket array as it was when the iterator reached
+   * that segment, so it sees every entry that was present for the whole
+   * traversal and may or may not see entries added or removed meanwhile. Each
+   * returned entry is an immutable snapshot.
+   * </p>
+   *
+   * @return an iterator over every entry
+   *
+   * @implNote Creating the iterator is {@code O(1)}. A full traversal is
+   *           {@code O(n + m)}.
+   */
+  @Override
+  public Iterator<Map.Entry<K, V>> iterator() {
+    return new Iterator<Map.Entry<K, V>>() {
+      private int segmentIndex;
+      private AtomicReferenceArray<Entry<K, V>> table;
+      private int bucketIndex;
+      private Entry<K, V> next = advance(null);
+
+      @Override
+      public boolean hasNext() {
+        return next != null;
+      }
+
+      @Override
+      public Map.Entry<K, V> next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        Entry<K, V> entry = next;
+        next = advance(entry.next);
+        return new AbstractMap.SimpleImmutableEntry<>(entry.key, entry.value);
+      }
+
+      private Entry<K, V> advance(Entry<K, V> candidate) {
+        while (candidate == null) {
+          if (table == null || bucketIndex == table.length()) {
+            if (segmentIndex == segments.length) {
+              return null;
+            }
+            table = segments[segmentIndex++].table;
+            bucketIndex = 0;
+            continue;
+          }
+          candidate = table.get(bucketIndex++);
+        }
+        return candidate;
+      }
+    };
+  }
+
+  private Segment<K, V> segmentFor(int hash) {
+    return segments[(hash >>> segmentShift) & segmentMask];
+  }
+
+  /**
+   * Mixes the key's hash code with the murmur3 finalizer so that both the high
+   * bits (segment choice) and the low bits (bucket choice) depend on every
+   * input bit.
+   */
+  private static int hash(Object key) {
+    int h = Objects.hashCode(key);
+    h ^= h >>> 16;
+    h *= 0x85ebca6b;
+    h ^= h >>> 13;
+    h *= 0xc2b2ae35;
+    h ^= h >>> 16;
+    return h;
+  }
+
+  private static int powerOfTwoAtLeast(int value) {
+    return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+  }
+
+}
@@ -0,0 +1,942 @@
+package co.edu.udla.ed.impl.scratch;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.zip.CRC32;
+
+import co.edu.udla.ed.api.Codec;
+import co.edu.udla.ed.api.HashTable;
+
+/**
+ * Persistent hash table stored in two memory-mapped files.
+ *
+ * <p>
+ * Keys and values are serialized with a {@link Codec} and never live on the
+ * Java heap between calls. The table keeps two files:
+ * </p>
+ *
+ * <ul>
+ * <li>the <em>data file</em> ({@code path}): a small header followed by an
+ * append-only log of records {@code [keyLength][valueLength][key][value]}.
+ * Every {@code put} appends a record, a {@code remove} appends a removal
+ * marker, and {@code clear} appends a clear marker; committed bytes are never
+ * overwritten;</li>
+ * <li>the <em>index file</em> ({@code path + ".index"}): an open-addressing
+ * slot array with linear probing. Each slot stores the hash of the encoded key
+ * and the position of the key's latest record in the log.</li>
+ * </ul>
+ *
+ * <p>
+ * Key identity is defined by the encoded bytes: two keys are equal when their
+ * encodings are equal, and the hash is computed from those bytes, so it is the
+ * same in every JVM run.
+ * </p>
+ *
+ * <p>
+ * <strong>Durability.</strong> Changes reach the files through the operating
+ * system's page cache. {@link #snapshot()} makes them durable: it flushes the
+ * log and the index with {@code fsync} and then commits a new generation by
+ * rewriting the index header and one of the two data header slots. Reopening
+ * the files after a clean snapshot maps the index as it is, so a warm restart
+ * costs {@code O(1)} instead of a rebuild.
+ * </p>
+ *
+ * <p>
+ * <strong>Crash safety.</strong> The first change after a snapshot marks the
+ * index as stale on disk before touching anything. If the process dies before
+ * the next snapshot, reopening ignores the stale index and the uncommitted tail
+ * of the log, and rebuilds the index by replaying the log up to the last
+ * committed position. The data header of a new generation goes into the slot
+ * that held the generation before the current one, so a crash in the middle of
+ * that write leaves the current header intact and reopening falls back to it;
+ * a file whose headers are still all zeros opens as an empty table. The table
+ * therefore always reopens in the state of its last completed snapshot. A
+ * snapshot also compacts the log when more than half of it is obsolete: the
+ * live records are copied to new files, which atomically replace the old ones.
+ * </p>
+ *
+ * <p>
+ * Each file is mapped as a single {@link MappedByteBuffer}, which limits the
+ * data file to 2 GiB. Mappings are released by the garbage collector after
+ * {@link #close()}.
+ * </p>
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class MemoryMappedHashTable<K, V> implements HashTable<K, V>, Closeable {
+
+  private static final int DATA_MAGIC = 0x48544431;
+  private static final int INDEX_MAGIC = 0x48544931;
+  private static final int VERSION = 2;
+
+  /**
+   * Data header slot: magic, version, generation, committed log end, size,
+   * index capacity, garbage bytes, and a CRC32 of the preceding fields. The
+   * data file starts with two slots and generation {@code g} is written to slot
+   * {@code g % 2}, so a torn header write can only damage the slot of the
+   * older generation.
+   */
+  private static final int HEADER_SLOT_SIZE = 64;
+  private static final int DATA_HEADER_SIZE = 2 * HEADER_SLOT_SIZE;
+  private static final int DATA_CHECKSUMMED_BYTES = 40;
+
+  /**
+   * Index header: magic, version, generation (zero while stale), capacity, and
+   * size.
+   */
+  private static final int INDEX_HEADER_SIZE = 32;
+  private static final int SLOT_SIZE = 16;
+
+  private static final int NULL_LENGTH = -1;
+  private static final int REMOVED = -2;
+  private static final int CLEAR_MARKER = -2;
+
+  private static final int DEFAULT_CAPACITY = 1024;
+  private static final int INITIAL_DATA_SIZE = 1 << 16;
+  private static final double MAX_LOAD = 0.7;
+  private static final int MINIMUM_COMPACTION_GARBAGE = 1 << 16;
+
+  private final Path dataPath;
+  private final Path indexPath;
+  private final Codec<K> keyCodec;
+  private final Codec<V> valueCodec;
+
+  private FileChannel dataChannel;
+  private FileChannel indexChannel;
+  private MappedByteBuffer data;
+  private MappedByteBuffer index;
+
+  private int capacity;
+  private int mask;
+  private int threshold;
+  private int size;
+  private int logEnd;
+  private int committedEnd;
+  private long generation;
+  private long garbageBytes;
+  private boolean dirty;
+  private ByteBuffer scratch = ByteBuffer.allocate(64);
+
+  private MemoryMappedHashTable(Path path, Codec<K> keyCodec, Codec<V> valueCodec) {
+    this.dataPath = path;
+    this.indexPath = path.resolveSibling(path.getFileName() + ".index");
+    this.keyCodec = keyCodec;
+    this.valueCodec = valueCodec;
+  }
+
+  /**
+   * Opens the table stored at {@code path}, creating empty files if it does
+   * not exist.
+   *
+   * @param path the data file; the index is stored next to it with the
+   *        {@code .index} suffix
+   * @param keyCodec the codec for keys
+   * @param valueCodec the codec for values
+   * @param <K> the key type
+   * @param <V> the value type
+   * @return the opened table, in the state of its last snapshot
+   * @throws IOException if the files cannot be opened or are not a valid table
+   * @throws NullPointerException if any argument is {@code null}
+   *
+   * @implNote {@code O(1)} after a clean snapshot; {@code O(L)} for a log of
+   *           {@code L} bytes when the index has to be rebuilt after a crash.
+   */
+  public static <K, V> MemoryMappedHashTable<K, V> open(Path path, Codec<K> keyCodec, Codec<V> valueCodec)
+      throws IOException {
+    Objects.requireNonNull(path, "Path must not be null.");
+    Objects.requireNonNull(keyCodec, "Key codec must not be null.");
+    Objects.requireNonNull(valueCodec, "Value codec must not be null.");
+
+    MemoryMappedHashTable<K, V> table = new MemoryMappedHashTable<>(path, keyCodec, valueCodec);
+    try {
+      table.load();
+    } catch (IOException | RuntimeException e) {
+      table.closeChannels();
+      throw e;
+    }
+    return table;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * The new value is appended to the log and the slot is pointed at it; an
+   * overwritten record becomes garbage that a later snapshot compacts.
+   * </p>
+   *
+   * @implNote Average-case time complexity is {@code O(1)} plus the encoded
+   *           size of the key and value.
+   */
+  @Override
+  public V put(K key, V value) {
+    ensureOpen();
+    markDirty();
+    ByteBuffer encodedKey = encodeKey(key);
+    int hash = hash(encodedKey);
+    int slot = findSlot(hash, encodedKey);
+    if (slot >= 0) {
+      int previousRecord = slotRecord(slot);
+      V previous = readValue(previousRecord);
+      garbageBytes += recordLength(previousRecord);
+      setSlotRecord(slot, append(encodedKey, value, false));
+      return previous;
+    }
+
+    if (size + 1 > threshold) {
+      resizeIndex(capacity * 2);
+    }
+    insertSlot(hash, append(encodedKey, value, false));
+    size++;
+    return null;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Average-case time complexity is {@code O(1)} plus the cost of
+   *           encoding the key and decoding the value.
+   */
+  @Override
+  public V get(K key) {
+    ensureOpen();
+    ByteBuffer encodedKey = encodeKey(key);
+    int slot = findSlot(hash(encodedKey), encodedKey);
+    return slot < 0 ? null : readValue(slotRecord(slot));
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * A removal marker is appended to the log so that replaying the log after a
+   * crash reproduces the removal, and the slot is cleared with backward
+   * shifting.
+   * </p>
+   *
+   * @implNote Average-case time complexity is {@code O(1)}.
+   */
+  @Override
+  public V remove(K key) {
+    ensureOpen();
+    ByteBuffer encodedKey = encodeKey(key);
+    int slot = findSlot(hash(encodedKey), encodedKey);
+    if (slot < 0) {
+      return null;
+    }
+
+    markDirty();
+    int record = slotRecord(slot);
+    V removed = readValue(record);
+    int marker = append(encodedKey, null, true);
+    garbageBytes += recordLength(record) + recordLength(marker);
+    deleteSlot(slot);
+    size--;
+    return removed;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Average-case time complexity is {@code O(1)} plus the cost of
+   *           encoding the key.
+   */
+  @Override
+  public boolean containsKey(K key) {
+    ensureOpen();
+    ByteBuffer encodedKey = encodeKey(key);
+    return findSlot(hash(encodedKey), encodedKey) >= 0;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(1)}.
+   */
+  @Override
+  public int size() {
+    return size;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * A clear marker is appended to the log and every slot is reset. The whole
+   * log becomes garbage and is dropped by the next snapshot.
+   * </p>
+   *
+   * @implNote Time complexity is {@code O(m)}, where {@code m} is the number of
+   *           slots.
+   */
+  @Override
+  public void clear() {
+    ensureOpen();
+    markDirty();
+    ensureDataCapacity((long) logEnd + 8);
+    data.putInt(logEnd, CLEAR_MARKER);
+    data.putInt(logEnd + 4, 0);
+    logEnd += 8;
+    clearSlots();
+    size = 0;
+    garbageBytes = logEnd - DATA_HEADER_SIZE;
+  }
+
+  /**
+   * Returns an iterator over the stored entries in slot order.
+   *
+   * <p>
+   * Keys and values are decoded as the iterator reaches them, and each
+   * returned entry is an immutable snapshot.
+   * </p>
+   *
+   * @return an iterator over every entry
+   *
+   * @implNote Creating the iterator is {@code O(1)}. A full traversal is
+   *           {@code O(m)} plus the decoding cost.
+   */
+  @Override
+  public Iterator<Map.Entry<K, V>> iterator() {
+    ensureOpen();
+    return new Iterator<Map.Entry<K, V>>() {
+      private int slot = nextOccupied(0);
+
+      @Override
+      public boolean hasNext() {
+        return slot < capacity;
+      }
+
+      @Override
+      public Map.Entry<K, V> next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        int record = slotRecord(slot);
+        Map.Entry<K, V> entry = new AbstractMap.SimpleImmutableEntry<>(readKey(record), readValue(record));
+        slot = nextOccupied(slot + 1);
+        return entry;
+      }
+    };
+  }
+
+  /**
+   * Makes every change since the previous snapshot durable.
+   *
+   * <p>
+   * The log and the index are flushed first; then the index header and finally
+   * the data header record the new generation, each followed by its own flush.
+   * The data header goes into the slot of the generation before the current
+   * one, so a crash at any point, even in the middle of a header write, leaves
+   * either the previous snapshot or this one on disk. When more than half of the log is garbage, the committed snapshot is
+   * then also written as a compacted copy that atomically replaces the files.
+   * If that replacement fails, the table reopens whatever files are in place,
+   * which hold the same committed state, before the exception is rethrown.
+   * </p>
+   *
+   * @throws IOException if the files cannot be written
+   *
+   * @implNote Time complexity is {@code O(1)} plus the cost of flushing the
+   *           dirty pages, or {@code O(L)} when the log is compacted.
+   */
+  public void snapshot() throws IOException {
+    ensureOpen();
+    if (!dirty) {
+      return;
+    }
+
+    long nextGeneration = generation + 1;
+    data.force();
+    index.force();
+    writeIndexHeader(index, nextGeneration, capacity, size);
+    index.force(0, INDEX_HEADER_SIZE);
+
+    generation = nextGeneration;
+    committedEnd = logEnd;
+    writeDataHeader(data, generation, committedEnd, size, capacity, garbageBytes);
+    data.force(headerOffset(generation), HEADER_SLOT_SIZE);
+    dirty = false;
+
+    if (garbageBytes >= MINIMUM_COMPACTION_GARBAGE && garbageBytes * 2 > logEnd - DATA_HEADER_SIZE) {
+      compact();
+    }
+  }
+
+  /**
+   * Takes a final snapshot and releases the files.
+   *
+   * @throws IOException if the snapshot or closing the files fails
+   */
+  @Override
+  public void close() throws IOException {
+    if (dataChannel == null) {
+      return;
+    }
+    try {
+      snapshot();
+    } finally {
+      closeChannels();
+    }
+  }
+
+  /**
+   * Maps both files and restores the last committed state.
+   *
+   * <p>
+   * Mapping a new data file extends it with zeros before the first header is
+   * written, so a crash during the first open leaves headers that are all
+   * zeros. Such a file is initialized as an empty table.
+   * </p>
+   */
+  private void load() throws IOException {
+    dataChannel = FileChannel.open(dataPath, StandardOpenOption.CREATE, StandardOpenOption.READ,
+        StandardOpenOption.WRITE);
+    indexChannel = FileChannel.open(indexPath, StandardOpenOption.CREATE, StandardOpenOption.READ,
+        StandardOpenOption.WRITE);
+
+    if (dataChannel.size() == 0) {
+      data = dataChannel.map(FileChannel.MapMode.READ_WRITE, 0, INITIAL_DATA_SIZE);
+      initializeEmpty();
+      return;
+    }
+
+    if (dataChannel.size() < DATA_HEADER_SIZE || dataChannel.size() > Integer.MAX_VALUE) {
+      throw new IOException(dataPath + " is not a hash table data file.");
+    }
+    data = dataChannel.map(FileChannel.MapMode.READ_WRITE, 0, dataChannel.size());
+    if (isBlankHeader()) {
+      initializeEmpty();
+      return;
+    }
+    readDataHeader();
+    logEnd = committedEnd;
+
+    if (!openIndexInPlace()) {
+      rebuildIndex();
+    }
+  }
+
+  /**
+   * Writes the headers of an empty table at generation one into the mapped
+   * data file and a fresh index.
+   */
+  private void initializeEmpty() {
+    generation = 1;
+    committedEnd = DATA_HEADER_SIZE;
+    logEnd = DATA_HEADER_SIZE;
+    size = 0;
+    garbageBytes = 0;
+    mapIndex(DEFAULT_CAPACITY);
+    clearSlots();
+    writeIndexHeader(index, generation, capacity, 0);
+    index.force();
+    writeDataHeader(data, generation, committedEnd, 0, capacity, 0);
+    data.force();
+  }
+
+  private boolean isBlankHeader() {
+    for (int offset = 0; offset < DATA_HEADER_SIZE; offset += Long.BYTES) {
+      if (data.getLong(offset) != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Restores the committed state from the valid header slot with the highest
+   * generation. A slot with a bad checksum or an impossible log end is
+   * ignored, which is what a torn header write leaves behind.
+   */
+  private void readDataHeader() throws IOException {
+    ByteBuffer current = null;
+    boolean recognized = false;
+    for (int offset = 0; offset < DATA_HEADER_SIZE; offset += HEADER_SLOT_SIZE) {
+      ByteBuffer header = data.slice(offset, HEADER_SLOT_SIZE);
+      if (header.getInt(0) != DATA_MAGIC || header.getInt(4) != VERSION) {
+        continue;
+      }
+      recognized = true;
+      long end = header.getLong(16);
+      boolean valid = header.getInt(DATA_CHECKSUMMED_BYTES) == checksum(header)
+          && end >= DATA_HEADER_SIZE
+          && end <= data.capacity();
+      if (valid && (current == null || header.getLong(8) > current.getLong(8))) {
+        current = header;
+      }
+    }
+    if (!recognized) {
+      throw new IOException(dataPath + " is not a hash table data file.");
+    }
+    if (current == null) {
+      throw new IOException(dataPath + " has no valid header.");
+    }
+
+    generation = current.getLong(8);
+    committedEnd = (int) current.getLong(16);
+    size = current.getInt(24);
+    garbageBytes = current.getLong(32);
+  }
+
+  /**
+   * Uses the index file as it is when it belongs to the committed generation.
+   *
+   * @return {@code true} if the index is valid; {@code false} if it must be
+   *         rebuilt
+   */
+  private boolean openIndexInPlace() throws IOException {
+    long indexSize = indexChannel.size();
+    if (indexSize < INDEX_HEADER_SIZE) {
+      return false;
+    }
+    MappedByteBuffer header = indexChannel.map(FileChannel.MapMode.READ_ONLY, 0, INDEX_HEADER_SIZE);
+    int storedCapacity = header.getInt(16);
+    boolean valid = header.getInt(0) == INDEX_MAGIC
+        && header.getInt(4) == VERSION
+        && header.getLong(8) == generation
+        && storedCapacity > 0
+        && Integer.bitCount(storedCapacity) == 1
+        && indexSize >= INDEX_HEADER_SIZE + (long) storedCapacity * SLOT_SIZE
+        && header.getInt(20) == size;
+    if (valid) {
+      mapIndex(storedCapacity);
+    }
+    return valid;
+  }
+
+  /**
+   * Rebuilds the index by replaying the committed part of the log, then marks
+   * it valid for the current generation.
+   *
+   * @implNote Time complexity is {@code O(L)} for a log of {@code L} bytes.
+   */
+  private void rebuildIndex() {
+    mapIndex(capacityFor(Math.max(size, 0)));
+    clearSlots();
+    size = 0;
+
+    int position = DATA_HEADER_SIZE;
+    while (position < committedEnd) {
+      int keyLength = data.getInt(position);
+      int valueLength = data.getInt(position + 4);
+      if (keyLength == CLEAR_MARKER) {
+        clearSlots();
+        size = 0;
+      } else {
+        ByteBuffer key = keyLength == NULL_LENGTH ? null : data.slice(position + 8, keyLength);
+        int hash = hash(key);
+        int slot = findSlot(hash, key);
+        if (valueLength == REMOVED) {
+          if (slot >= 0) {
+            deleteSlot(slot);
+            size--;
+          }
+        } else if (slot >= 0) {
+          setSlotRecord(slot, position);
+        } else {
+          if (size + 1 > threshold) {
+            resizeIndex(capacity * 2);
+          }
+          insertSlot(hash, position);
+          size++;
+        }
+      }
+      position += recordLength(position);
+    }
+
+    garbageBytes = committedEnd - DATA_HEADER_SIZE - liveBytes();
+    writeIndexHeader(index, generation, capacity, size);
+    index.force();
+  }
+
+  /**
+   * Writes the live records into fresh files and swaps them in atomically.
+   *
+   * <p>
+   * The new index is moved into place first. Until the new data file follows,
+   * its generation does not match the old data header, so a crash between the
+   * two moves only causes a rebuild from the old log. A failed move is handled
+   * the same way: the files are reloaded, which rebuilds the index if it no
+   * longer matches the data file, and the exception is rethrown.
+   * </p>
+   */
+  private void compact() throws IOException {
+    Path compactData = dataPath.resolveSibling(dataPath.getFileName() + ".compact");
+    Path compactIndex = indexPath.resolveSibling(indexPath.getFileName() + ".compact");
+    long nextGeneration = generation + 1;
+    int compactedEnd = DATA_HEADER_SIZE + (int) liveBytes();
+
+    try (FileChannel newData = FileChannel.open(compactData, StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        FileChannel newIndex = FileChannel.open(compactIndex, StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      MappedByteBuffer dataCopy = newData.map(FileChannel.MapMode.READ_WRITE, 0,
+          Math.max(INITIAL_DATA_SIZE, compactedEnd));
+      MappedByteBuffer indexCopy = newIndex.map(FileChannel.MapMode.READ_WRITE, 0,
+          INDEX_HEADER_SIZE + (long) capacity * SLOT_SIZE);
+
+      int position = DATA_HEADER_SIZE;
+      for (int slot = 0; slot < capacity; slot++) {
+        int record = slotRecord(slot);
+        if (record == 0) {
+          continue;
+        }
+        int length = recordLength(record);
+        dataCopy.put(position, data, record, length);
+        indexCopy.putInt(slotOffset(slot), slotHash(slot));
+        indexCopy.putLong(slotOffset(slot) + 8, position);
+        position += length;
+      }
+
+      writeIndexHeader(indexCopy, nextGeneration, capacity, size);
+      writeDataHeader(dataCopy, nextGeneration, compactedEnd, size, capacity, 0);
+      indexCopy.force();
+      dataCopy.force();
+    }
+
+    closeChannels();
+    try {
+      Files.move(compactIndex, indexPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      Files.move(compactData, dataPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException | RuntimeException e) {
+      try {
+        load();
+      } catch (IOException | RuntimeException reloadFailure) {
+        e.addSuppressed(reloadFailure);
+        closeChannels();
+      }
+      throw e;
+    }
+    syncDirectory();
+    load();
+  }
+
+  /**
+   * Flushes the directory entry changes made by the atomic moves. Not every
+   * platform allows opening a directory, so failures are ignored.
+   */
+  private void syncDirectory() {
+    Path directory = dataPath.toAbsolutePath().getParent();
+    try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+      channel.force(true);
+    } catch (IOException | UnsupportedOperationException e) {
+      // Durability of the rename then depends on the file system.
+    }
+  }
+
+  /**
+   * Records on disk that the index no longer matches the committed
+   * generation. Called before the first change after a snapshot.
+   */
+  private void markDirty() {
+    if (dirty) {
+      return;
+    }
+    index.putLong(8, 0L);
+    index.force(0, INDEX_HEADER_SIZE);
+    dirty = true;
+  }
+
+  /**
+   * Appends a record for {@code key} and returns its position.
+   *
+   * @param encodedKey the encoded key, or {@code null} for the {@code null} key
+   * @param value the value to store
+   * @param removal {@code true} to append a removal marker instead of a value
+   */
+  private int append(ByteBuffer encodedKey, V value, boolean removal) {
+    int keyLength = encodedKey == null ? NULL_LENGTH : encodedKey.remaining();
+    int valueLength = removal ? REMOVED : value == null ? NULL_LENGTH : valueCodec.encodedSize(value);
+    int position = logEnd;
+    ensureDataCapacity((long) position + 8 + Math.max(keyLength, 0) + Math.max(valueLength, 0));
+
+    data.putInt(position, keyLength);
+    data.putInt(position + 4, valueLength);
+    if (keyLength > 0) {
+      data.put(position + 8, encodedKey, encodedKey.position(), keyLength);
+    }
+    if (valueLength > 0) {
+      valueCodec.encode(value, data.slice(position + 8 + Math.max(keyLength, 0), valueLength));
+    }
+    logEnd = position + recordLength(position);
+    return position;
+  }
+
+  private K readKey(int record) {
+    int keyLength = data.getInt(record);
+    return keyLength == NULL_LENGTH ? null : keyCodec.decode(data.slice(record + 8, keyLength));
+  }
+
+  private V readValue(int record) {
+    int keyLength = Math.max(data.getInt(record), 0);
+    int valueLength = data.getInt(record + 4);
+    return valueLength == NULL_LENGTH ? null : valueCodec.decode(data.slice(record + 8 + keyLength, valueLength));
+  }
+
+  private int recordLength(int record) {
+    return 8 + Math.max(data.getInt(record), 0) + Math.max(data.getInt(record + 4), 0);
+  }
+
+  private long liveBytes() {
+    long live = 0;
+    for (int slot = 0; slot < capacity; slot++) {
+      int record = slotRecord(slot);
+      if (record != 0) {
+        live += recordLength(record);
+      }
+    }
+    return live;
+  }
+
+  /**
+   * Encodes {@code key} into a reusable scratch buffer.
+   *
+   * @return the encoded key, or {@code null} for the {@code null} key
+   */
+  private ByteBuffer encodeKey(K key) {
+    if (key == null) {
+      return null;
+    }
+    int length = keyCodec.encodedSize(key);
+    if (scratch.capacity() < length) {
+      scratch = ByteBuffer.allocate(Math.max(length, scratch.capacity() * 2));
+    }
+    scratch.clear();
+    keyCodec.encode(key, scratch);
+    scratch.flip();
+    return scratch;
+  }
+
+  /**
+   * Hashes the encoded key bytes, so the result is stable across JVM runs.
+   */
+  private static int hash(ByteBuffer encodedKey) {
+    if (encodedKey == null) {
+      return 0;
+    }
+    int h = 1;
+    for (int i = encodedKey.position(); i < encodedKey.limit(); i++) {
+      h = 31 * h + encodedKey.get(i);
+    }
+    h ^= h >>> 16;
+    h *= 0x85ebca6b;
+    h ^= h >>> 13;
+    h *= 0xc2b2ae35;
+    h ^= h >>> 16;
+    return h;
+  }
+
+  /**
+   * Locates the slot whose record holds {@code encodedKey}.
+   *
+   * @return the slot index, or {@code -1} if the key is absent
+   */
+  private int findSlot(int hash, ByteBuffer encodedKey) {
+    int slot = hash & mask;
+    while (true) {
+      int record = slotRecord(slot);
+      if (record == 0) {
+        return -1;
+      }
+      if (slotHash(slot) == hash && keyMatches(record, encodedKey)) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+  }
+
+  private boolean keyMatches(int record, ByteBuffer encodedKey) {
+    int keyLength = data.getInt(record);
+    if (encodedKey == null) {
+      return keyLength == NULL_LENGTH;
+    }
+    return keyLength == encodedKey.remaining()
+        && data.slice(record + 8, keyLength).equals(encodedKey);
+  }
+
+  private void insertSlot(int hash, int record) {
+    int slot = hash & mask;
+    while (slotRecord(slot) != 0) {
+      slot = (slot + 1) & mask;
+    }
+    index.putInt(slotOffset(slot), hash);
+    setSlotRecord(slot, record);
+  }
+
+  /**
+   * Clears a slot and shifts later entries of the same probe run back, so no
+   * tombstones are needed.
+   */
+  private void deleteSlot(int slot) {
+    int hole = slot;
+    int next = (hole + 1) & mask;
+    while (slotRecord(next) != 0) {
+      int home = slotHash(next) & mask;
+      if (((next - home) & mask) >= ((next - hole) & mask)) {
+        index.putInt(slotOffset(hole), slotHash(next));
+        setSlotRecord(hole, slotRecord(next));
+        hole = next;
+      }
+      next = (next + 1) & mask;
+    }
+    setSlotRecord(hole, 0);
+  }
+
+  /**
+   * Grows the slot array and reinserts every slot.
+   *
+   * @implNote Time complexity is {@code O(m)}.
+   */
+  private void resizeIndex(int newCapacity) {
+    int[] hashes = new int[size];
+    int[] records = new int[size];
+    int count = 0;
+    for (int slot = 0; slot < capacity; slot++) {
+      int record = slotRecord(slot);
+      if (record != 0) {
+        hashes[count] = slotHash(slot);
+        records[count] = record;
+        count++;
+      }
+    }
+
+    mapIndex(newCapacity);
+    clearSlots();
+    index.putInt(16, capacity);
+    for (int i = 0; i < count; i++) {
+      insertSlot(hashes[i], records[i]);
+    }
+  }
+
+  private void mapIndex(int newCapacity) {
+    try {
+      index = indexChannel.map(FileChannel.MapMode.READ_WRITE, 0, INDEX_HEADER_SIZE + (long) newCapacity * SLOT_SIZE);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    capacity = newCapacity;
+    mask = newCapacity - 1;
+    threshold = (int) (newCapacity * MAX_LOAD);
+  }
+
+  private void clearSlots() {
+    for (int slot = 0; slot < capacity; slot++) {
+      setSlotRecord(slot, 0);
+    }
+  }
+
+  private void ensureDataCapacity(long needed) {
+    if (needed <= data.capacity()) {
+      return;
+    }
+    if (needed > Integer.MAX_VALUE) {
+      throw new IllegalStateException("Memory-mapped hash table cannot grow beyond 2 GiB of data.");
+    }
+    long newSize = Math.min(Integer.MAX_VALUE, Math.max(needed, 2L * data.capacity()));
+    try {
+      data = dataChannel.map(FileChannel.MapMode.READ_WRITE, 0, newSize);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private int nextOccupied(int from) {
+    int slot = from;
+    while (slot < capacity && slotRecord(slot) == 0) {
+      slot++;
+    }
+    return slot;
+  }
+
+  private int slotOffset(int slot) {
+    return INDEX_HEADER_SIZE + slot * SLOT_SIZE;
+  }
+
+  private int slotHash(int slot) {
+    return index.getInt(slotOffset(slot));
+  }
+
+  private int slotRecord(int slot) {
+    return (int) index.getLong(slotOffset(slot) + 8);
+  }
+
+  private void setSlotRecord(int slot, int record) {
+    index.putLong(slotOffset(slot) + 8, record);
+  }
+
+  private int capacityFor(int entries) {
+    int needed = Math.max(DEFAULT_CAPACITY, (int) Math.ceil(entries / MAX_LOAD) + 1);
+    return Integer.highestOneBit(needed - 1) << 1;
+  }
+
+  private void ensureOpen() {
+    if (dataChannel == null) {
+      throw new IllegalStateException("Memory-mapped hash table is closed.");
+    }
+  }
+
+  private void closeChannels() throws IOException {
+    try {
+      if (dataChannel != null) {
+        dataChannel.close();
+      }
+    } finally {
+      if (indexChannel != null) {
+        indexChannel.close();
+      }
+      dataChannel = null;
+      indexChannel = null;
+      data = null;
+      index = null;
+    }
+  }
+
+  private static void writeIndexHeader(ByteBuffer target, long generation, int capacity, int size) {
+    target.putInt(0, INDEX_MAGIC);
+    target.putInt(4, VERSION);
+    target.putLong(8, generation);
+    target.putInt(16, capacity);
+    target.putInt(20, size);
+  }
+
+  /**
+   * Writes the data header of {@code generation} into its slot, leaving the
+   * other slot untouched.
+   */
+  private static void writeDataHeader(ByteBuffer target, long generation, int committedEnd, int size, int capacity,
+      long garbageBytes) {
+    ByteBuffer header = target.slice(headerOffset(generation), HEADER_SLOT_SIZE);
+    header.putInt(0, DATA_MAGIC);
+    header.putInt(4, VERSION);
+    header.putLong(8, generation);
+    header.putLong(16, committedEnd);
+    header.putInt(24, size);
+    header.putInt(28, capacity);
+    header.putLong(32, garbageBytes);
+    header.putInt(DATA_CHECKSUMMED_BYTES, checksum(header));
+  }
+
+  private static int headerOffset(long generation) {
+    return (int) (generation & 1) * HEADER_SLOT_SIZE;
+  }
+
+  private static int checksum(ByteBuffer header) {
+    CRC32 crc = new CRC32();
+    crc.update(header.slice(0, DATA_CHECKSUMMED_BYTES));
+    return (int) crc.getValue();
+  }
+
+}
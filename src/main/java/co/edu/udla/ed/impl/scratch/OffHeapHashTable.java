@@ -0,0 +1,672 @@
+package co.edu.udla.ed.impl.scratch;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+import co.edu.udla.ed.api.Codec;
+import co.edu.udla.ed.api.HashTable;
+
+/**
+ * Hash-table implementation that keeps every entry outside the Java heap.
+ *
+ * <p>
+ * Entries live in native memory allocated from an {@link Arena}, so a table
+ * with millions of entries adds no objects for the garbage collector to trace;
+ * the heap only holds the table object itself. Keys and values are converted
+ * to bytes with a {@link Codec}, and two keys are the same key when their
+ * encodings are equal.
+ * </p>
+ *
+ * <p>
+ * The slot array is a single {@link MemorySegment} probed linearly from a
+ * power-of-two home slot. Each slot starts with the hash of the encoded key
+ * (zero marks a free slot) and a flags word. What follows depends on the
+ * codecs:
+ * </p>
+ *
+ * <ul>
+ * <li>when both codecs report a {@link Codec#fixedSize() fixed size}, the key
+ * and value bytes are stored inline in the slot, so a lookup touches a single
+ * contiguous region;</li>
+ * <li>otherwise the slot stores the position and lengths of a record
+ * {@code [key bytes][value bytes]} in a separate record segment. Records are
+ * appended; replaced and removed records become garbage that is dropped when
+ * the record segment has to grow.</li>
+ * </ul>
+ *
+ * <p>
+ * Deletion uses backward shifting, so there are no tombstones. Growing either
+ * segment allocates it from a fresh arena and closes the old one, which frees
+ * the old memory immediately. {@link #close()} frees everything; the table
+ * cannot be used afterwards.
+ * </p>
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class OffHeapHashTable<K, V> implements HashTable<K, V>, AutoCloseable {
+
+  private static final int DEFAULT_CAPACITY = 16;
+  private static final double DEFAULT_LOAD_FACTOR = 0.75;
+  private static final int MAXIMUM_CAPACITY = 1 << 30;
+  private static final long MINIMUM_RECORD_BYTES = 64;
+
+  /**
+   * Hash stored in a free slot. Real hashes are remapped away from this value.
+   */
+  private static final int EMPTY = 0;
+
+  private static final int NULL_KEY = 1;
+  private static final int NULL_VALUE = 2;
+
+  private static final long HASH_OFFSET = 0;
+  private static final long FLAGS_OFFSET = 4;
+  private static final long INLINE_DATA_OFFSET = 8;
+  private static final long RECORD_OFFSET = 8;
+  private static final long KEY_LENGTH_OFFSET = 16;
+  private static final long VALUE_LENGTH_OFFSET = 20;
+  private static final int RECORD_SLOT_SIZE = 24;
+
+  private final Codec<K> keyCodec;
+  private final Codec<V> valueCodec;
+  private final boolean inline;
+  private final int keyWidth;
+  private final int valueWidth;
+  private final int slotSize;
+  private final double loadFactor;
+
+  private Arena slotArena;
+  private MemorySegment slots;
+  private int capacity;
+  private int mask;
+  private int threshold;
+  private int size;
+
+  private Arena recordArena;
+  private MemorySegment records;
+  private long recordsEnd;
+  private long garbageBytes;
+
+  /**
+   * Heap copy of the key being looked up, followed by the value being
+   * written. The segment view lets it be compared with and copied into native
+   * memory without allocating.
+   */
+  private byte[] scratchBytes = new byte[64];
+  private ByteBuffer scratchBuffer = ByteBuffer.wrap(scratchBytes);
+  private MemorySegment scratchSegment = MemorySegment.ofArray(scratchBytes);
+
+  /**
+   * Creates a table with the default capacity and default load factor.
+   *
+   * @param keyCodec the codec for keys
+   * @param valueCodec the codec for values
+   * @throws NullPointerException if a codec is {@code null}
+   *
+   * @implNote Construction is {@code O(m)}, where {@code m} is the initial
+   *           number of slots, because the slot segment is allocated zeroed.
+   */
+  public OffHeapHashTable(Codec<K> keyCodec, Codec<V> valueCodec) {
+    this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR, keyCodec, valueCodec);
+  }
+
+  /**
+   * Creates a table with custom capacity and load-factor settings.
+   *
+   * @param initialCapacity the minimum number of slots in the initial table;
+   *        it is rounded up to a power of two
+   * @param loadFactor the resize threshold expressed as a ratio of
+   *        {@code size / slotCount}
+   * @param keyCodec the codec for keys
+   * @param valueCodec the codec for values
+   * @throws IllegalArgumentException if {@code initialCapacity <= 0}
+   * @throws IllegalArgumentException if {@code loadFactor} is not in the open
+   *         interval {@code (0, 1)}
+   * @throws NullPointerException if a codec is {@code null}
+   *
+   * @implNote Construction is {@code O(m)}.
+   */
+  public OffHeapHashTable(int initialCapacity, double loadFactor, Codec<K> keyCodec, Codec<V> valueCodec) {
+    if (initialCapacity <= 0) {
+      throw new IllegalArgumentException("Initial capacity must be greater than zero.");
+    }
+    if (!(loadFactor > 0.0 && loadFactor < 1.0)) {
+      throw new IllegalArgumentException("Load factor must be greater than zero and less than one.");
+    }
+
+    this.keyCodec = Objects.requireNonNull(keyCodec, "Key codec must not be null.");
+    this.valueCodec = Objects.requireNonNull(valueCodec, "Value codec must not be null.");
+    this.loadFactor = loadFactor;
+    this.keyWidth = keyCodec.fixedSize();
+    this.valueWidth = valueCodec.fixedSize();
+    this.inline = keyWidth >= 0 && valueWidth >= 0;
+    this.slotSize = inline ? align8((int) INLINE_DATA_OFFSET + keyWidth + valueWidth) : RECORD_SLOT_SIZE;
+
+    allocateSlots(tableSizeFor(initialCapacity));
+    if (!inline) {
+      recordArena = Arena.ofShared();
+      records = recordArena.allocate(Math.max(MINIMUM_RECORD_BYTES, (long) capacity * 16), Long.BYTES);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * With inline slots the new value overwrites the old bytes. With records, a
+   * value that fits in the old value's space is written in place; a larger one
+   * is appended as a new record.
+   * </p>
+   *
+   * @implNote Average-case time complexity is {@code O(1)} plus the encoded
+   *           size of the key and value. Growing a segment is {@code O(n + m)},
+   *           but it happens only occasionally.
+   */
+  @Override
+  public V put(K key, V value) {
+    ensureOpen();
+    int keyLength = encodeKey(key);
+    int hash = hash(keyLength);
+    int slot = findSlot(hash, keyLength);
+    if (slot >= 0) {
+      V previous = valueAt(slot);
+      replaceValue(slot, value);
+      return previous;
+    }
+
+    if (size + 1 > threshold) {
+      resize(capacity * 2);
+    }
+    insertNew(hash, keyLength, value);
+    size++;
+    return null;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Average-case time complexity is {@code O(1)} plus the cost of
+   *           encoding the key and decoding the value.
+   */
+  @Override
+  public V get(K key) {
+    ensureOpen();
+    int keyLength = encodeKey(key);
+    int slot = findSlot(hash(keyLength), keyLength);
+    return slot < 0 ? null : valueAt(slot);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * Every following slot of the same probe run moves one position back, so
+   * lookups never slow down after many deletions.
+   * </p>
+   *
+   * @implNote Average-case time complexity is {@code O(1)}.
+   */
+  @Override
+  public V remove(K key) {
+    ensureOpen();
+    int keyLength = encodeKey(key);
+    int slot = findSlot(hash(keyLength), keyLength);
+    if (slot < 0) {
+      return null;
+    }
+
+    V removed = valueAt(slot);
+    if (!inline) {
+      garbageBytes += recordLength(slotBase(slot));
+    }
+    deleteSlot(slot);
+    size--;
+    return removed;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Average-case time complexity is {@code O(1)} plus the cost of
+   *           encoding the key.
+   */
+  @Override
+  public boolean containsKey(K key) {
+    ensureOpen();
+    int keyLength = encodeKey(key);
+    return findSlot(hash(keyLength), keyLength) >= 0;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(1)}.
+   */
+  @Override
+  public int size() {
+    return size;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(m)}, where {@code m} is the number of
+   *           slots, because the slot segment is zeroed.
+   */
+  @Override
+  public void clear() {
+    ensureOpen();
+    slots.fill((byte) 0);
+    size = 0;
+    recordsEnd = 0;
+    garbageBytes = 0;
+  }
+
+  /**
+   * Returns an iterator over the stored entries in slot order.
+   *
+   * <p>
+   * Keys and values are decoded as the iterator reaches them, and each
+   * returned entry is an immutable snapshot.
+   * </p>
+   *
+   * @return an iterator over every entry
+   *
+   * @implNote Creating the iterator is {@code O(1)}. A full traversal is
+   *           {@code O(m)} plus the decoding cost.
+   */
+  @Override
+  public Iterator<Map.Entry<K, V>> iterator() {
+    ensureOpen();
+    return new Iterator<Map.Entry<K, V>>() {
+      private int slot = nextOccupied(0);
+
+      @Override
+      public boolean hasNext() {
+        return slot < capacity;
+      }
+
+      @Override
+      public Map.Entry<K, V> next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        Map.Entry<K, V> entry = new AbstractMap.SimpleImmutableEntry<>(keyAt(slot), valueAt(slot));
+        slot = nextOccupied(slot + 1);
+        return entry;
+      }
+    };
+  }
+
+  /**
+   * Returns the number of native bytes currently reserved by the table.
+   *
+   * @return the size of the slot segment plus the record segment, if any
+   *
+   * @implNote Time complexity is {@code O(1)}.
+   */
+  public long offHeapBytes() {
+    ensureOpen();
+    return slots.byteSize() + (records == null ? 0 : records.byteSize());
+  }
+
+  /**
+   * Frees the native memory. Further operations throw
+   * {@link IllegalStateException}.
+   */
+  @Override
+  public void close() {
+    if (slots == null) {
+      return;
+    }
+    slotArena.close();
+    if (recordArena != null) {
+      recordArena.close();
+    }
+    slots = null;
+    records = null;
+  }
+
+  /**
+   * Encodes {@code key} at the start of the scratch area.
+   *
+   * @return the encoded length, or {@code -1} for the {@code null} key
+   */
+  private int encodeKey(K key) {
+    if (key == null) {
+      return -1;
+    }
+    int length = keyCodec.encodedSize(key);
+    ensureScratch(length);
+    scratchBuffer.clear();
+    keyCodec.encode(key, scratchBuffer);
+    return length;
+  }
+
+  /**
+   * Encodes {@code value} into the scratch area at {@code offset}, keeping the
+   * bytes before it.
+   *
+   * @return the encoded length, or {@code -1} for a {@code null} value
+   */
+  private int encodeValue(V value, int offset) {
+    if (value == null) {
+      return -1;
+    }
+    int length = valueCodec.encodedSize(value);
+    ensureScratch(offset + length);
+    scratchBuffer.clear().position(offset);
+    valueCodec.encode(value, scratchBuffer);
+    return length;
+  }
+
+  private void ensureScratch(int length) {
+    if (scratchBytes.length >= length) {
+      return;
+    }
+    scratchBytes = Arrays.copyOf(scratchBytes, Math.max(length, scratchBytes.length * 2));
+    scratchBuffer = ByteBuffer.wrap(scratchBytes);
+    scratchSegment = MemorySegment.ofArray(scratchBytes);
+  }
+
+  /**
+   * Hashes the encoded key in the scratch area. The high bits are mixed into
+   * the low bits because only the low bits select the home slot, and the
+   * result is never {@link #EMPTY}.
+   */
+  private int hash(int keyLength) {
+    int h = keyLength < 0 ? 0 : 1;
+    for (int i = 0; i < keyLength; i++) {
+      h = 31 * h + scratchBytes[i];
+    }
+    h ^= h >>> 16;
+    h *= 0x85ebca6b;
+    h ^= h >>> 13;
+    h *= 0xc2b2ae35;
+    h ^= h >>> 16;
+    return h == EMPTY ? 1 : h;
+  }
+
+  /**
+   * Locates the slot whose key equals the encoded key in the scratch area.
+   *
+   * @return the slot index, or {@code -1} if the key is absent
+   */
+  private int findSlot(int hash, int keyLength) {
+    int slot = hash & mask;
+    while (true) {
+      long base = slotBase(slot);
+      int residentHash = slots.get(ValueLayout.JAVA_INT, base + HASH_OFFSET);
+      if (residentHash == EMPTY) {
+        return -1;
+      }
+      if (residentHash == hash && keyMatches(base, keyLength)) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+  }
+
+  private boolean keyMatches(long base, int keyLength) {
+    if (inline) {
+      boolean nullKey = (slots.get(ValueLayout.JAVA_INT, base + FLAGS_OFFSET) & NULL_KEY) != 0;
+      if (keyLength < 0 || nullKey) {
+        return keyLength < 0 && nullKey;
+      }
+      long keyStart = base + INLINE_DATA_OFFSET;
+      return MemorySegment.mismatch(slots, keyStart, keyStart + keyWidth, scratchSegment, 0, keyLength) == -1;
+    }
+
+    int storedLength = slots.get(ValueLayout.JAVA_INT, base + KEY_LENGTH_OFFSET);
+    if (storedLength != keyLength) {
+      return false;
+    }
+    if (keyLength <= 0) {
+      return true;
+    }
+    long keyStart = slots.get(ValueLayout.JAVA_LONG, base + RECORD_OFFSET);
+    return MemorySegment.mismatch(records, keyStart, keyStart + keyLength, scratchSegment, 0, keyLength) == -1;
+  }
+
+  /**
+   * Stores a new entry whose encoded key is in the scratch area. The caller
+   * must guarantee that at least one slot is free.
+   */
+  private void insertNew(int hash, int keyLength, V value) {
+    int keyBytes = Math.max(keyLength, 0);
+    int valueLength = encodeValue(value, keyBytes);
+    int valueBytes = Math.max(valueLength, 0);
+
+    int slot = hash & mask;
+    while (slots.get(ValueLayout.JAVA_INT, slotBase(slot) + HASH_OFFSET) != EMPTY) {
+      slot = (slot + 1) & mask;
+    }
+    long base = slotBase(slot);
+
+    if (inline) {
+      int flags = (keyLength < 0 ? NULL_KEY : 0) | (valueLength < 0 ? NULL_VALUE : 0);
+      MemorySegment.copy(scratchSegment, 0, slots, base + INLINE_DATA_OFFSET, keyBytes);
+      MemorySegment.copy(scratchSegment, keyBytes, slots, base + INLINE_DATA_OFFSET + keyWidth, valueBytes);
+      slots.set(ValueLayout.JAVA_INT, base + FLAGS_OFFSET, flags);
+    } else {
+      long record = reserveRecord(keyBytes + valueBytes);
+      MemorySegment.copy(scratchSegment, 0, records, record, keyBytes + valueBytes);
+      slots.set(ValueLayout.JAVA_LONG, base + RECORD_OFFSET, record);
+      slots.set(ValueLayout.JAVA_INT, base + KEY_LENGTH_OFFSET, keyLength);
+      slots.set(ValueLayout.JAVA_INT, base + VALUE_LENGTH_OFFSET, valueLength);
+    }
+    slots.set(ValueLayout.JAVA_INT, base + HASH_OFFSET, hash);
+  }
+
+  /**
+   * Overwrites the value of an occupied slot.
+   */
+  private void replaceValue(int slot, V value) {
+    int valueLength = encodeValue(value, 0);
+    int valueBytes = Math.max(valueLength, 0);
+    long base = slotBase(slot);
+
+    if (inline) {
+      int flags = slots.get(ValueLayout.JAVA_INT, base + FLAGS_OFFSET);
+      flags = valueLength < 0 ? flags | NULL_VALUE : flags & ~NULL_VALUE;
+      MemorySegment.copy(scratchSegment, 0, slots, base + INLINE_DATA_OFFSET + keyWidth, valueBytes);
+      slots.set(ValueLayout.JAVA_INT, base + FLAGS_OFFSET, flags);
+      return;
+    }
+
+    int keyBytes = Math.max(slots.get(ValueLayout.JAVA_INT, base + KEY_LENGTH_OFFSET), 0);
+    int oldValueBytes = Math.max(slots.get(ValueLayout.JAVA_INT, base + VALUE_LENGTH_OFFSET), 0);
+    if (valueBytes <= oldValueBytes) {
+      long record = slots.get(ValueLayout.JAVA_LONG, base + RECORD_OFFSET);
+      MemorySegment.copy(scratchSegment, 0, records, record + keyBytes, valueBytes);
+      garbageBytes += oldValueBytes - valueBytes;
+    } else {
+      // Reserve first: compaction may move the old record that holds the key.
+      long record = reserveRecord(keyBytes + valueBytes);
+      long oldRecord = slots.get(ValueLayout.JAVA_LONG, base + RECORD_OFFSET);
+      MemorySegment.copy(records, oldRecord, records, record, keyBytes);
+      MemorySegment.copy(scratchSegment, 0, records, record + keyBytes, valueBytes);
+      slots.set(ValueLayout.JAVA_LONG, base + RECORD_OFFSET, record);
+      garbageBytes += keyBytes + oldValueBytes;
+    }
+    slots.set(ValueLayout.JAVA_INT, base + VALUE_LENGTH_OFFSET, valueLength);
+  }
+
+  /**
+   * Clears a slot and shifts later entries of the same probe run back.
+   */
+  private void deleteSlot(int slot) {
+    int hole = slot;
+    int next = (hole + 1) & mask;
+    while (true) {
+      int nextHash = slots.get(ValueLayout.JAVA_INT, slotBase(next) + HASH_OFFSET);
+      if (nextHash == EMPTY) {
+        break;
+      }
+      int home = nextHash & mask;
+      if (((next - home) & mask) >= ((next - hole) & mask)) {
+        MemorySegment.copy(slots, slotBase(next), slots, slotBase(hole), slotSize);
+        hole = next;
+      }
+      next = (next + 1) & mask;
+    }
+    slots.set(ValueLayout.JAVA_INT, slotBase(hole) + HASH_OFFSET, EMPTY);
+  }
+
+  /**
+   * Moves every slot into a segment of {@code newCapacity} slots and frees the
+   * old one.
+   *
+   * @implNote Time complexity is {@code O(n + m)}. Stored hashes are reused,
+   *           so no key is encoded again.
+   */
+  private void resize(int newCapacity) {
+    if (capacity >= MAXIMUM_CAPACITY) {
+      throw new IllegalStateException("Hash table cannot grow beyond " + MAXIMUM_CAPACITY + " slots.");
+    }
+
+    Arena oldArena = slotArena;
+    MemorySegment oldSlots = slots;
+    int oldCapacity = capacity;
+    allocateSlots(newCapacity);
+
+    for (int oldSlot = 0; oldSlot < oldCapacity; oldSlot++) {
+      long oldBase = (long) oldSlot * slotSize;
+      int hash = oldSlots.get(ValueLayout.JAVA_INT, oldBase + HASH_OFFSET);
+      if (hash == EMPTY) {
+        continue;
+      }
+      int slot = hash & mask;
+      while (slots.get(ValueLayout.JAVA_INT, slotBase(slot) + HASH_OFFSET) != EMPTY) {
+        slot = (slot + 1) & mask;
+      }
+      MemorySegment.copy(oldSlots, oldBase, slots, slotBase(slot), slotSize);
+    }
+    oldArena.close();
+  }
+
+  private void allocateSlots(int newCapacity) {
+    slotArena = Arena.ofShared();
+    slots = slotArena.allocate((long) newCapacity * slotSize, Long.BYTES);
+    capacity = newCapacity;
+    mask = newCapacity - 1;
+    threshold = Math.min(newCapacity - 1, Math.max(1, (int) (newCapacity * loadFactor)));
+  }
+
+  /**
+   * Returns the position of {@code length} free bytes at the end of the record
+   * segment. When the segment is full, the live records are compacted into a
+   * new segment twice the size they need.
+   *
+   * @implNote Amortized time complexity is {@code O(length)}.
+   */
+  private long reserveRecord(int length) {
+    if (recordsEnd + length > records.byteSize()) {
+      long live = recordsEnd - garbageBytes;
+      Arena newArena = Arena.ofShared();
+      MemorySegment newRecords =
+          newArena.allocate(Math.max(MINIMUM_RECORD_BYTES, 2 * (live + length)), Long.BYTES);
+
+      long position = 0;
+      for (int slot = 0; slot < capacity; slot++) {
+        long base = slotBase(slot);
+        if (slots.get(ValueLayout.JAVA_INT, base + HASH_OFFSET) == EMPTY) {
+          continue;
+        }
+        int recordLength = recordLength(base);
+        MemorySegment.copy(records, slots.get(ValueLayout.JAVA_LONG, base + RECORD_OFFSET), newRecords, position,
+            recordLength);
+        slots.set(ValueLayout.JAVA_LONG, base + RECORD_OFFSET, position);
+        position += recordLength;
+      }
+
+      recordArena.close();
+      recordArena = newArena;
+      records = newRecords;
+      recordsEnd = position;
+      garbageBytes = 0;
+    }
+
+    long record = recordsEnd;
+    recordsEnd += length;
+    return record;
+  }
+
+  private int recordLength(long base) {
+    return Math.max(slots.get(ValueLayout.JAVA_INT, base + KEY_LENGTH_OFFSET), 0)
+        + Math.max(slots.get(ValueLayout.JAVA_INT, base + VALUE_LENGTH_OFFSET), 0);
+  }
+
+  private K keyAt(int slot) {
+    long base = slotBase(slot);
+    if (inline) {
+      if ((slots.get(ValueLayout.JAVA_INT, base + FLAGS_OFFSET) & NULL_KEY) != 0) {
+        return null;
+      }
+      return keyCodec.decode(slots.asSlice(base + INLINE_DATA_OFFSET, keyWidth).asByteBuffer());
+    }
+
+    int keyLength = slots.get(ValueLayout.JAVA_INT, base + KEY_LENGTH_OFFSET);
+    if (keyLength < 0) {
+      return null;
+    }
+    long record = slots.get(ValueLayout.JAVA_LONG, base + RECORD_OFFSET);
+    return keyCodec.decode(records.asSlice(record, keyLength).asByteBuffer());
+  }
+
+  private V valueAt(int slot) {
+    long base = slotBase(slot);
+    if (inline) {
+      if ((slots.get(ValueLayout.JAVA_INT, base + FLAGS_OFFSET) & NULL_VALUE) != 0) {
+        return null;
+      }
+      return valueCodec.decode(slots.asSlice(base + INLINE_DATA_OFFSET + keyWidth, valueWidth).asByteBuffer());
+    }
+
+    int valueLength = slots.get(ValueLayout.JAVA_INT, base + VALUE_LENGTH_OFFSET);
+    if (valueLength < 0) {
+      return null;
+    }
+    int keyBytes = Math.max(slots.get(ValueLayout.JAVA_INT, base + KEY_LENGTH_OFFSET), 0);
+    long record = slots.get(ValueLayout.JAVA_LONG, base + RECORD_OFFSET);
+    return valueCodec.decode(records.asSlice(record + keyBytes, valueLength).asByteBuffer());
+  }
+
+  private int nextOccupied(int from) {
+    int slot = from;
+    while (slot < capacity && slots.get(ValueLayout.JAVA_INT, slotBase(slot) + HASH_OFFSET) == EMPTY) {
+      slot++;
+    }
+    return slot;
+  }
+
+  private long slotBase(int slot) {
+    return (long) slot * slotSize;
+  }
+
+  private void ensureOpen() {
+    if (slots == null) {
+      throw new IllegalStateException("Off-heap hash table is closed.");
+    }
+  }
+
+  private static int align8(int bytes) {
+    return (bytes + 7) & ~7;
+  }
+
+  private static int tableSizeFor(int capacity) {
+    if (capacity >= MAXIMUM_CAPACITY) {
+      return MAXIMUM_CAPACITY;
+    }
+    return Math.max(2, Integer.highestOneBit(capacity - 1) << 1);
+  }
+
+}
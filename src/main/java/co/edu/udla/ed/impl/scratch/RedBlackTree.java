@@ -0,0 +1,717 @@
+package co.edu.udla.ed.impl.scratch;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import co.edu.udla.ed.api.BinarySearchTree;
+
+/**
+ * Balanced binary search tree that keeps the classic red-black invariants.
+ *
+ * <p>
+ * Every node is red or black, the root is black, a red node has no red
+ * child, and every path from a node down to a missing child passes the same
+ * number of black nodes. Together these rules keep the longest path at most
+ * twice as long as the shortest one, so the height stays below
+ * {@code 2 log2(n + 1)}.
+ * </p>
+ *
+ * <p>
+ * The red-black rules are looser than the AVL rule, so the tree can be
+ * taller than an AVL tree with the same values; ascending insertions show it
+ * most. In exchange, an insertion needs at most two rotations and a removal at
+ * most three, and most repairs only recolor nodes on the way up, while an AVL
+ * removal may rotate at every level. On random and mixed workloads this tree
+ * rotates somewhat less often than {@link LinkedAVLTree}; compare
+ * {@link #rotationCount()} with {@link LinkedAVLTree#rotationCount()} for a
+ * given workload.
+ * </p>
+ *
+ * <p>
+ * Nodes keep a parent link, which lets the repairs after an update and the
+ * iterators walk upwards without recursion or an explicit stack. Like the
+ * other linked trees, every node also stores the size of its subtree for the
+ * order-statistic queries. Duplicate insertions are ignored.
+ * </p>
+ *
+ * @param <T> the element type
+ */
+public class RedBlackTree<T extends Comparable<T>> implements BinarySearchTree<T> {
+
+  private static final boolean RED = true;
+  private static final boolean BLACK = false;
+
+  private static final class Node<T> {
+    T value;
+    Node<T> left;
+    Node<T> right;
+    Node<T> parent;
+    boolean color = RED;
+    int size = 1;
+
+    Node(T value, Node<T> parent) {
+      this.value = value;
+      this.parent = parent;
+    }
+  }
+
+  private Node<T> root;
+  private long rotationCount;
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * The new node starts red below the last node of the search path. If its
+   * parent is also red, the repair recolors while the parent's sibling is
+   * red and finishes with at most two rotations.
+   * </p>
+   *
+   * @implNote Time complexity is {@code O(log n)}.
+   */
+  @Override
+  public void insert(T value) {
+    if (root == null) {
+      root = new Node<>(value, null);
+      root.color = BLACK;
+      return;
+    }
+
+    Node<T> parent = root;
+    int comparison;
+    while (true) {
+      comparison = value.compareTo(parent.value);
+      if (comparison == 0) {
+        return;
+      }
+      Node<T> next = comparison < 0 ? parent.left : parent.right;
+      if (next == null) {
+        break;
+      }
+      parent = next;
+    }
+
+    Node<T> node = new Node<>(value, parent);
+    if (comparison < 0) {
+      parent.left = node;
+    } else {
+      parent.right = node;
+    }
+    for (Node<T> ancestor = parent; ancestor != null; ancestor = ancestor.parent) {
+      ancestor.size++;
+    }
+    fixAfterInsertion(node);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(log n)}.
+   */
+  @Override
+  public boolean contains(T value) {
+    return findNode(value) != null;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * A node with two children takes the value of its successor, which is then
+   * removed instead. Removing a black node leaves one path short of a black
+   * node; the repair moves that deficit upwards by recoloring and resolves it
+   * with at most three rotations.
+   * </p>
+   *
+   * @implNote Time complexity is {@code O(log n)}.
+   */
+  @Override
+  public boolean remove(T value) {
+    Node<T> node = findNode(value);
+    if (node == null) {
+      return false;
+    }
+    deleteNode(node);
+    return true;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(1)}.
+   */
+  @Override
+  public int size() {
+    return sizeOf(root);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(n)}, because heights are not stored.
+   *           The recursion depth is bounded by the height, which is at most
+   *           {@code 2 log2(n + 1)}.
+   */
+  @Override
+  public int height() {
+    return height(root);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(n)}.
+   */
+  @Override
+  public List<T> inOrder() {
+    List<T> out = new ArrayList<>(size());
+    for (T value : this) {
+      out.add(value);
+    }
+    return out;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * The rotation counter is kept.
+   * </p>
+   *
+   * @implNote Time complexity is {@code O(1)}.
+   */
+  @Override
+  public void clear() {
+    root = null;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(log n)}, from the stored subtree
+   *           sizes.
+   */
+  @Override
+  public int rank(T value) {
+    return countBelow(value, false);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(log n)}, from the stored subtree
+   *           sizes.
+   */
+  @Override
+  public T select(int index) {
+    if (index < 0 || index >= size()) {
+      throw new IndexOutOfBoundsException("index=" + index + ", size=" + size());
+    }
+    Node<T> current = root;
+    int remaining = index;
+    while (true) {
+      int leftSize = sizeOf(current.left);
+      if (remaining < leftSize) {
+        current = current.left;
+      } else if (remaining == leftSize) {
+        return current.value;
+      } else {
+        remaining -= leftSize + 1;
+        current = current.right;
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(log n)}.
+   */
+  @Override
+  public T floor(T value) {
+    Node<T> node = floorNode(value);
+    return node == null ? null : node.value;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(log n)}.
+   */
+  @Override
+  public T ceiling(T value) {
+    Node<T> node = ceilingNode(value);
+    return node == null ? null : node.value;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(log n)}, from the stored subtree
+   *           sizes.
+   */
+  @Override
+  public int countInRange(T low, T high) {
+    if (low.compareTo(high) > 0) {
+      return 0;
+    }
+    return countBelow(high, true) - countBelow(low, false);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(log n + k)} for {@code k} values in
+   *           the range.
+   */
+  @Override
+  public List<T> range(T low, T high) {
+    List<T> out = new ArrayList<>();
+    if (low.compareTo(high) > 0) {
+      return out;
+    }
+    for (Node<T> node = ceilingNode(low); node != null && node.value.compareTo(high) <= 0; node = successor(node)) {
+      out.add(node.value);
+    }
+    return out;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * The iterator follows parent links from one node to its successor, so it
+   * needs no stack.
+   * </p>
+   *
+   * @implNote Creating the iterator is {@code O(log n)} and it uses
+   *           {@code O(1)} memory. A full traversal is {@code O(n)}.
+   */
+  @Override
+  public Iterator<T> iterator() {
+    Node<T> first = root;
+    if (first != null) {
+      while (first.left != null) {
+        first = first.left;
+      }
+    }
+    return new NodeIterator(first, true);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Creating the iterator is {@code O(log n)} and it uses
+   *           {@code O(1)} memory.
+   */
+  @Override
+  public Iterator<T> descendingIterator() {
+    Node<T> last = root;
+    if (last != null) {
+      while (last.right != null) {
+        last = last.right;
+      }
+    }
+    return new NodeIterator(last, false);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Creating the iterator is {@code O(log n)} and it uses
+   *           {@code O(1)} memory.
+   */
+  @Override
+  public Iterator<T> iteratorFrom(T fromValue) {
+    return new NodeIterator(ceilingNode(fromValue), true);
+  }
+
+  /**
+   * Returns the number of single rotations performed since the tree was
+   * created. The counter is not reset by {@link #clear()}.
+   *
+   * @return the number of rotations performed so far
+   *
+   * @implNote Time complexity is {@code O(1)}.
+   */
+  public long rotationCount() {
+    return rotationCount;
+  }
+
+  private Node<T> findNode(T value) {
+    Node<T> current = root;
+    while (current != null) {
+      int comparison = value.compareTo(current.value);
+      if (comparison == 0) {
+        return current;
+      }
+      current = comparison < 0 ? current.left : current.right;
+    }
+    return null;
+  }
+
+  private Node<T> floorNode(T value) {
+    Node<T> candidate = null;
+    Node<T> current = root;
+    while (current != null) {
+      int comparison = value.compareTo(current.value);
+      if (comparison == 0) {
+        return current;
+      }
+      if (comparison < 0) {
+        current = current.left;
+      } else {
+        candidate = current;
+        current = current.right;
+      }
+    }
+    return candidate;
+  }
+
+  private Node<T> ceilingNode(T value) {
+    Node<T> candidate = null;
+    Node<T> current = root;
+    while (current != null) {
+      int comparison = value.compareTo(current.value);
+      if (comparison == 0) {
+        return current;
+      }
+      if (comparison > 0) {
+        current = current.right;
+      } else {
+        candidate = current;
+        current = current.left;
+      }
+    }
+    return candidate;
+  }
+
+  /**
+   * Counts the stored values smaller than {@code value}, or smaller than or
+   * equal to it when {@code inclusive} is set.
+   */
+  private int countBelow(T value, boolean inclusive) {
+    int count = 0;
+    Node<T> current = root;
+    while (current != null) {
+      int comparison = value.compareTo(current.value);
+      if (comparison < 0) {
+        current = current.left;
+      } else if (comparison > 0) {
+        count += sizeOf(current.left) + 1;
+        current = current.right;
+      } else {
+        return count + sizeOf(current.left) + (inclusive ? 1 : 0);
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Unlinks a node and restores the red-black invariants.
+   *
+   * <p>
+   * The node that is physically removed has at most one child. If it is
+   * black and has a child, that child takes its place and is repaired. If it
+   * is a black leaf, it stays in place as a phantom with size {@code 0} while
+   * the repair runs, and is unlinked afterwards.
+   * </p>
+   */
+  private void deleteNode(Node<T> node) {
+    if (node.left != null && node.right != null) {
+      Node<T> successor = successor(node);
+      node.value = successor.value;
+      node = successor;
+    }
+
+    Node<T> replacement = node.left != null ? node.left : node.right;
+    if (replacement != null) {
+      replacement.parent = node.parent;
+      replaceChild(node, replacement);
+      node.left = null;
+      node.right = null;
+      node.parent = null;
+      decrementSizes(replacement.parent);
+      if (node.color == BLACK) {
+        fixAfterDeletion(replacement);
+      }
+    } else if (node.parent == null) {
+      root = null;
+    } else {
+      node.size = 0;
+      decrementSizes(node.parent);
+      if (node.color == BLACK) {
+        fixAfterDeletion(node);
+      }
+      if (node.parent != null) {
+        replaceChild(node, null);
+        node.parent = null;
+      }
+    }
+  }
+
+  private void decrementSizes(Node<T> from) {
+    for (Node<T> ancestor = from; ancestor != null; ancestor = ancestor.parent) {
+      ancestor.size--;
+    }
+  }
+
+  /**
+   * Repairs a red node whose parent may also be red. While the uncle is red,
+   * the parent and uncle turn black, the grandparent turns red, and the check
+   * moves two levels up. A black uncle ends the loop with one or two
+   * rotations.
+   */
+  private void fixAfterInsertion(Node<T> node) {
+    Node<T> x = node;
+    while (x != root && colorOf(parentOf(x)) == RED) {
+      Node<T> parent = parentOf(x);
+      Node<T> grandparent = parentOf(parent);
+      if (parent == leftOf(grandparent)) {
+        Node<T> uncle = rightOf(grandparent);
+        if (colorOf(uncle) == RED) {
+          setColor(parent, BLACK);
+          setColor(uncle, BLACK);
+          setColor(grandparent, RED);
+          x = grandparent;
+        } else {
+          if (x == rightOf(parent)) {
+            x = parent;
+            rotateLeft(x);
+          }
+          setColor(parentOf(x), BLACK);
+          setColor(parentOf(parentOf(x)), RED);
+          rotateRight(parentOf(parentOf(x)));
+        }
+      } else {
+        Node<T> uncle = leftOf(grandparent);
+        if (colorOf(uncle) == RED) {
+          setColor(parent, BLACK);
+          setColor(uncle, BLACK);
+          setColor(grandparent, RED);
+          x = grandparent;
+        } else {
+          if (x == leftOf(parent)) {
+            x = parent;
+            rotateRight(x);
+          }
+          setColor(parentOf(x), BLACK);
+          setColor(parentOf(parentOf(x)), RED);
+          rotateLeft(parentOf(parentOf(x)));
+        }
+      }
+    }
+    root.color = BLACK;
+  }
+
+  /**
+   * Repairs a node that carries an extra black after a removal. A red sibling
+   * is rotated up first; a black sibling with black children turns red and
+   * moves the extra black to the parent; otherwise one or two rotations absorb
+   * it and the loop ends.
+   */
+  private void fixAfterDeletion(Node<T> node) {
+    Node<T> x = node;
+    while (x != root && colorOf(x) == BLACK) {
+      if (x == leftOf(parentOf(x))) {
+        Node<T> sibling = rightOf(parentOf(x));
+        if (colorOf(sibling) == RED) {
+          setColor(sibling, BLACK);
+          setColor(parentOf(x), RED);
+          rotateLeft(parentOf(x));
+          sibling = rightOf(parentOf(x));
+        }
+        if (colorOf(leftOf(sibling)) == BLACK && colorOf(rightOf(sibling)) == BLACK) {
+          setColor(sibling, RED);
+          x = parentOf(x);
+        } else {
+          if (colorOf(rightOf(sibling)) == BLACK) {
+            setColor(leftOf(sibling), BLACK);
+            setColor(sibling, RED);
+            rotateRight(sibling);
+            sibling = rightOf(parentOf(x));
+          }
+          setColor(sibling, colorOf(parentOf(x)));
+          setColor(parentOf(x), BLACK);
+          setColor(rightOf(sibling), BLACK);
+          rotateLeft(parentOf(x));
+          x = root;
+        }
+      } else {
+        Node<T> sibling = leftOf(parentOf(x));
+        if (colorOf(sibling) == RED) {
+          setColor(sibling, BLACK);
+          setColor(parentOf(x), RED);
+          rotateRight(parentOf(x));
+          sibling = leftOf(parentOf(x));
+        }
+        if (colorOf(rightOf(sibling)) == BLACK && colorOf(leftOf(sibling)) == BLACK) {
+          setColor(sibling, RED);
+          x = parentOf(x);
+        } else {
+          if (colorOf(leftOf(sibling)) == BLACK) {
+            setColor(rightOf(sibling), BLACK);
+            setColor(sibling, RED);
+            rotateLeft(sibling);
+            sibling = leftOf(parentOf(x));
+          }
+          setColor(sibling, colorOf(parentOf(x)));
+          setColor(parentOf(x), BLACK);
+          setColor(leftOf(sibling), BLACK);
+          rotateRight(parentOf(x));
+          x = root;
+        }
+      }
+    }
+    setColor(x, BLACK);
+  }
+
+  private void rotateLeft(Node<T> node) {
+    rotationCount++;
+    Node<T> pivot = node.right;
+    node.right = pivot.left;
+    if (pivot.left != null) {
+      pivot.left.parent = node;
+    }
+    pivot.parent = node.parent;
+    replaceChild(node, pivot);
+    pivot.left = node;
+    node.parent = pivot;
+    updateSize(node);
+    updateSize(pivot);
+  }
+
+  private void rotateRight(Node<T> node) {
+    rotationCount++;
+    Node<T> pivot = node.left;
+    node.left = pivot.right;
+    if (pivot.right != null) {
+      pivot.right.parent = node;
+    }
+    pivot.parent = node.parent;
+    replaceChild(node, pivot);
+    pivot.right = node;
+    node.parent = pivot;
+    updateSize(node);
+    updateSize(pivot);
+  }
+
+  /**
+   * Points the link that leads to {@code oldChild} from its parent, or the
+   * root if it has none, at {@code newChild}.
+   */
+  private void replaceChild(Node<T> oldChild, Node<T> newChild) {
+    Node<T> parent = oldChild.parent;
+    if (parent == null) {
+      root = newChild;
+    } else if (parent.left == oldChild) {
+      parent.left = newChild;
+    } else {
+      parent.right = newChild;
+    }
+  }
+
+  /**
+   * Recomputes a subtree size from the children. The rotations of a repair
+   * never move the node being repaired, so a phantom leaf is only ever read
+   * here as a child of size {@code 0}.
+   */
+  private void updateSize(Node<T> node) {
+    node.size = 1 + sizeOf(node.left) + sizeOf(node.right);
+  }
+
+  private static <T> Node<T> successor(Node<T> node) {
+    if (node.right != null) {
+      Node<T> current = node.right;
+      while (current.left != null) {
+        current = current.left;
+      }
+      return current;
+    }
+    Node<T> child = node;
+    Node<T> parent = node.parent;
+    while (parent != null && child == parent.right) {
+      child = parent;
+      parent = parent.parent;
+    }
+    return parent;
+  }
+
+  private static <T> Node<T> predecessor(Node<T> node) {
+    if (node.left != null) {
+      Node<T> current = node.left;
+      while (current.right != null) {
+        current = current.right;
+      }
+      return current;
+    }
+    Node<T> child = node;
+    Node<T> parent = node.parent;
+    while (parent != null && child == parent.left) {
+      child = parent;
+      parent = parent.parent;
+    }
+    return parent;
+  }
+
+  private static int height(Node<?> node) {
+    return node == null ? 0 : 1 + Math.max(height(node.left), height(node.right));
+  }
+
+  private static int sizeOf(Node<?> node) {
+    return node == null ? 0 : node.size;
+  }
+
+  private static boolean colorOf(Node<?> node) {
+    return node == null ? BLACK : node.color;
+  }
+
+  private static <T> Node<T> parentOf(Node<T> node) {
+    return node == null ? null : node.parent;
+  }
+
+  private static <T> Node<T> leftOf(Node<T> node) {
+    return node == null ? null : node.left;
+  }
+
+  private static <T> Node<T> rightOf(Node<T> node) {
+    return node == null ? null : node.right;
+  }
+
+  private static void setColor(Node<?> node, boolean color) {
+    if (node != null) {
+      node.color = color;
+    }
+  }
+
+  /**
+   * Iterator that moves between neighbouring nodes through parent links.
+   */
+  private final class NodeIterator implements Iterator<T> {
+    private Node<T> next;
+    private final boolean ascending;
+
+    NodeIterator(Node<T> first, boolean ascending) {
+      this.next = first;
+      this.ascending = ascending;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next != null;
+    }
+
+    @Override
+    public T next() {
+      if (next == null) {
+        throw new NoSuchElementException();
+      }
+      Node<T> current = next;
+      next = ascending ? successor(current) : predecessor(current);
+      return current.value;
+    }
+  }
+
+}
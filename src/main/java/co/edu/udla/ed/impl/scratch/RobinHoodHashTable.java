@@ -0,0 +1,416 @@
+package co.edu.udla.ed.impl.scratch;
+
+import java.util.AbstractMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+import co.edu.udla.ed.api.HashTable;
+
+/**
+ * Hash-table implementation that resolves collisions with open addressing and
+ * Robin Hood linear probing.
+ *
+ * <p>
+ * Keys, values, and hash codes live in three parallel arrays instead of one
+ * heap object per entry. A lookup computes a home slot and then walks forward
+ * through adjacent slots, so consecutive probes usually touch the same cache
+ * line instead of following {@code next} references the way
+ * {@link SeparateChainingHashTable} does.
+ * </p>
+ *
+ * <p>
+ * The Robin Hood rule keeps probe sequences short: while inserting, if the
+ * entry being placed is farther from its home slot than the entry already
+ * occupying a slot, the two swap and the displaced entry keeps probing. Every
+ * slot therefore stores an entry that is at least as "poor" (far from home) as
+ * the entries before it in the same run, which gives two useful properties:
+ * </p>
+ *
+ * <ul>
+ * <li>a failed lookup can stop as soon as it reaches an entry closer to home
+ * than the current probe distance;</li>
+ * <li>deletion can use backward shifting, which moves the following entries
+ * one slot back instead of leaving tombstones.</li>
+ * </ul>
+ *
+ * <p>
+ * The bucket count is always a power of two so the home slot is computed with
+ * a bit mask. The table grows when the configured load factor is exceeded; it
+ * must stay below {@code 1} because open addressing needs at least one empty
+ * slot to terminate probe sequences.
+ * </p>
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class RobinHoodHashTable<K, V> implements HashTable<K, V> {
+
+  private static final int DEFAULT_CAPACITY = 16;
+  private static final double DEFAULT_LOAD_FACTOR = 0.75;
+  private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+  /**
+   * Marker stored in {@link #hashes} for a free slot. Real hash codes are
+   * remapped away from this value by {@link #hash(Object)}.
+   */
+  private static final int EMPTY = 0;
+
+  private Object[] keys;
+  private Object[] values;
+  private int[] hashes;
+  private int mask;
+  private final double loadFactor;
+  private int threshold;
+  private int size;
+
+  /**
+   * Creates a table with the default capacity and default load factor.
+   *
+   * @implNote Construction is {@code O(m)}, where {@code m} is the initial
+   *           number of slots, because the three backing arrays are allocated.
+   */
+  public RobinHoodHashTable() {
+    this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR);
+  }
+
+  /**
+   * Creates a table with a custom initial capacity and the default load factor.
+   *
+   * @param initialCapacity the minimum number of slots in the initial table;
+   *        it is rounded up to a power of two
+   *
+   * @implNote Construction is {@code O(m)}.
+   */
+  public RobinHoodHashTable(int initialCapacity) {
+    this(initialCapacity, DEFAULT_LOAD_FACTOR);
+  }
+
+  /**
+   * Creates a table with custom capacity and load-factor settings.
+   *
+   * @param initialCapacity the minimum number of slots in the initial table;
+   *        it is rounded up to a power of two
+   * @param loadFactor the resize threshold expressed as a ratio of
+   *        {@code size / slotCount}
+   * @throws IllegalArgumentException if {@code initialCapacity <= 0}
+   * @throws IllegalArgumentException if {@code loadFactor} is not in the open
+   *         interval {@code (0, 1)}
+   *
+   * @implNote Construction is {@code O(m)}.
+   */
+  public RobinHoodHashTable(int initialCapacity, double loadFactor) {
+    if (initialCapacity <= 0) {
+      throw new IllegalArgumentException("Initial capacity must be greater than zero.");
+    }
+    if (!(loadFactor > 0.0 && loadFactor < 1.0)) {
+      throw new IllegalArgumentException("Load factor must be greater than zero and less than one.");
+    }
+
+    this.loadFactor = loadFactor;
+    allocate(tableSizeFor(initialCapacity));
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * Overwriting an existing key never triggers a resize. A new key is placed
+   * with Robin Hood displacement: it probes forward from its home slot and
+   * swaps with any resident that sits closer to its own home slot, continuing
+   * with the displaced entry until an empty slot is found.
+   * </p>
+   *
+   * @implNote Average-case time complexity is {@code O(1)}. A resize step costs
+   *           {@code O(n + m)}, but it happens only occasionally.
+   */
+  @Override
+  public V put(K key, V value) {
+    int hash = hash(key);
+    int slot = findSlot(key, hash);
+    if (slot >= 0) {
+      V previous = valueAt(slot);
+      values[slot] = value;
+      return previous;
+    }
+
+    if (size + 1 > threshold) {
+      resize(hashes.length * 2);
+    }
+    insertNew(hash, key, value);
+    size++;
+    return null;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Average-case time complexity is {@code O(1)}. The probe stops at
+   *           the first empty slot or at the first resident closer to home than
+   *           the current probe distance.
+   */
+  @Override
+  public V get(K key) {
+    int slot = findSlot(key, hash(key));
+    return slot < 0 ? null : valueAt(slot);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * After clearing the matching slot, every following entry that is not in its
+   * home slot moves one position back. This backward shift keeps the probe
+   * sequences contiguous without tombstones, so lookups never slow down after
+   * many deletions.
+   * </p>
+   *
+   * @implNote Average-case time complexity is {@code O(1)}.
+   */
+  @Override
+  public V remove(K key) {
+    int slot = findSlot(key, hash(key));
+    if (slot < 0) {
+      return null;
+    }
+
+    V removed = valueAt(slot);
+    int next = (slot + 1) & mask;
+    while (hashes[next] != EMPTY && probeDistance(hashes[next], next) > 0) {
+      hashes[slot] = hashes[next];
+      keys[slot] = keys[next];
+      values[slot] = values[next];
+      slot = next;
+      next = (next + 1) & mask;
+    }
+    hashes[slot] = EMPTY;
+    keys[slot] = null;
+    values[slot] = null;
+    size--;
+    return removed;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * Occupancy is tracked by the hash array, so a key mapped to a {@code null}
+   * value is found by the same single probe sequence as any other key.
+   * </p>
+   *
+   * @implNote Average-case time complexity is {@code O(1)}.
+   */
+  @Override
+  public boolean containsKey(K key) {
+    return findSlot(key, hash(key)) >= 0;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(1)}.
+   */
+  @Override
+  public int size() {
+    return size;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(m)}, where {@code m} is the number of
+   *           slots, because the three backing arrays are reset.
+   */
+  @Override
+  public void clear() {
+    for (int i = 0; i < hashes.length; i++) {
+      hashes[i] = EMPTY;
+      keys[i] = null;
+      values[i] = null;
+    }
+    size = 0;
+  }
+
+  /**
+   * Returns an iterator over the stored entries in slot order.
+   *
+   * <p>
+   * Each returned entry is an immutable snapshot of one slot.
+   * </p>
+   *
+   * @return an iterator over every entry
+   *
+   * @implNote Creating the iterator is {@code O(1)}. A full traversal is
+   *           {@code O(m)}.
+   */
+  @Override
+  public Iterator<Map.Entry<K, V>> iterator() {
+    return new Iterator<Map.Entry<K, V>>() {
+      private int slot = nextOccupied(0);
+
+      @Override
+      public boolean hasNext() {
+        return slot < hashes.length;
+      }
+
+      @Override
+      @SuppressWarnings("unchecked")
+      public Map.Entry<K, V> next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        Map.Entry<K, V> entry = new AbstractMap.SimpleImmutableEntry<>((K) keys[slot], valueAt(slot));
+        slot = nextOccupied(slot + 1);
+        return entry;
+      }
+    };
+  }
+
+  /**
+   * Returns the first occupied slot at or after {@code from}, or the slot
+   * count if there is none.
+   */
+  private int nextOccupied(int from) {
+    int slot = from;
+    while (slot < hashes.length && hashes[slot] == EMPTY) {
+      slot++;
+    }
+    return slot;
+  }
+
+  /**
+   * Locates the slot that stores {@code key}.
+   *
+   * @param key the key to search for
+   * @param hash the precomputed hash of {@code key}
+   * @return the slot index, or {@code -1} if the key is absent
+   *
+   * @implNote Average-case time complexity is {@code O(1)}.
+   */
+  private int findSlot(K key, int hash) {
+    int slot = hash & mask;
+    int distance = 0;
+    while (true) {
+      int residentHash = hashes[slot];
+      if (residentHash == EMPTY || probeDistance(residentHash, slot) < distance) {
+        return -1;
+      }
+      if (residentHash == hash && Objects.equals(keys[slot], key)) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+      distance++;
+    }
+  }
+
+  /**
+   * Places an entry that is known to be absent, applying the Robin Hood swap
+   * rule along the way.
+   *
+   * @param hash the hash of the entry being placed
+   * @param key the key being placed
+   * @param value the value being placed
+   *
+   * @implNote Average-case time complexity is {@code O(1)}. The caller must
+   *           guarantee that at least one slot is free.
+   */
+  private void insertNew(int hash, Object key, Object value) {
+    int slot = hash & mask;
+    int distance = 0;
+    while (true) {
+      int residentHash = hashes[slot];
+      if (residentHash == EMPTY) {
+        hashes[slot] = hash;
+        keys[slot] = key;
+        values[slot] = value;
+        return;
+      }
+
+      int residentDistance = probeDistance(residentHash, slot);
+      if (residentDistance < distance) {
+        Object residentKey = keys[slot];
+        Object residentValue = values[slot];
+        hashes[slot] = hash;
+        keys[slot] = key;
+        values[slot] = value;
+        hash = residentHash;
+        key = residentKey;
+        value = residentValue;
+        distance = residentDistance;
+      }
+
+      slot = (slot + 1) & mask;
+      distance++;
+    }
+  }
+
+  /**
+   * Reinserts every entry into freshly allocated arrays of a larger size.
+   *
+   * @param newCapacity the number of slots in the new table
+   *
+   * @implNote Time complexity is {@code O(n + m)}. Stored hashes are reused, so
+   *           no key's {@code hashCode()} is called again.
+   */
+  private void resize(int newCapacity) {
+    if (hashes.length >= MAXIMUM_CAPACITY) {
+      throw new IllegalStateException("Hash table cannot grow beyond " + MAXIMUM_CAPACITY + " slots.");
+    }
+
+    int[] oldHashes = hashes;
+    Object[] oldKeys = keys;
+    Object[] oldValues = values;
+    allocate(newCapacity);
+
+    for (int i = 0; i < oldHashes.length; i++) {
+      if (oldHashes[i] != EMPTY) {
+        insertNew(oldHashes[i], oldKeys[i], oldValues[i]);
+      }
+    }
+  }
+
+  private void allocate(int capacity) {
+    keys = new Object[capacity];
+    values = new Object[capacity];
+    hashes = new int[capacity];
+    mask = capacity - 1;
+    threshold = Math.min(capacity - 1, Math.max(1, (int) (capacity * loadFactor)));
+  }
+
+  /**
+   * Returns how many slots {@code slot} is away from the home slot of the
+   * entry whose hash is {@code hash}, accounting for wrap-around.
+   */
+  private int probeDistance(int hash, int slot) {
+    return (slot - (hash & mask)) & mask;
+  }
+
+  @SuppressWarnings("unchecked")
+  private V valueAt(int slot) {
+    return (V) values[slot];
+  }
+
+  /**
+   * Computes the stored hash of a key.
+   *
+   * <p>
+   * The high half of {@code hashCode()} is folded into the low half because
+   * only the low bits select the home slot. The result is never
+   * {@link #EMPTY}, so the hash array doubles as the occupancy map.
+   * </p>
+   */
+  private static int hash(Object key) {
+    int h = Objects.hashCode(key);
+    h ^= h >>> 16;
+    return h == EMPTY ? 1 : h;
+  }
+
+  private static int tableSizeFor(int capacity) {
+    if (capacity >= MAXIMUM_CAPACITY) {
+      return MAXIMUM_CAPACITY;
+    }
+    return Math.max(2, Integer.highestOneBit(capacity - 1) << 1);
+  }
+
+}
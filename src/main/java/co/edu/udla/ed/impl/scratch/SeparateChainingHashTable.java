@@ -1,6 +1,17 @@
 package co.edu.udla.ed.impl.scratch;
 
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import co.edu.udla.ed.api.HashTable;
 
@@ -21,6 +32,58 @@ import co.edu.udla.ed.api.HashTable;
  * array so average lookup and update costs stay close to constant time.
  * </p>
  *
+ * <p>
+ * Removals shrink it again: once the load falls below a quarter of the load
+ * factor, the bucket array is halved, but never below the initial capacity.
+ * After halving, the load is still at most half of the load factor, so a table
+ * hovering around one size does not alternate between growing and shrinking.
+ * {@link #trimToSize()} shrinks the array as far as the current size allows,
+ * and {@link #clear()} simply swaps in a fresh array of the initial capacity.
+ * </p>
+ *
+ * <p>
+ * Resizing cannot help when many keys share the same hash code. A chain that
+ * grows beyond {@value #TREEIFY_THRESHOLD} entries is therefore converted into
+ * a small AVL tree ordered by hash code, then by {@link Comparable} order when
+ * the keys support it, then by an insertion-sequence tie-break. Lookups inside
+ * such a bucket cost {@code O(log k)} for comparable keys instead of
+ * {@code O(k)}. When removals shrink the bucket to
+ * {@value #UNTREEIFY_THRESHOLD} entries or fewer, it goes back to a plain
+ * chain; the gap between both thresholds avoids converting back and forth.
+ * </p>
+ *
+ * <p>
+ * With {@link ResizeMode#INCREMENTAL}, growing the table does not rehash every
+ * entry in one step. The old and new bucket arrays coexist while each
+ * {@code put} and {@code remove} migrates a few old buckets, so the cost of a
+ * resize is spread across many operations instead of landing on one unlucky
+ * {@code put}.
+ * </p>
+ *
+ * <p>
+ * With {@link IndexingMode#POWER_OF_TWO}, the bucket count is kept at a power
+ * of two, every hash code is scrambled with the murmur3 finalizer, and the
+ * bucket index is taken with a bit mask instead of an integer division. The
+ * default {@link IndexingMode#MODULO} keeps the textbook
+ * {@code hash % capacity} formula.
+ * </p>
+ *
+ * <p>
+ * {@link #stats()} reports the bucket layout, resize counters, and, once
+ * enabled with {@link #setStatisticsEnabled(boolean)}, the average number of
+ * probes per {@code get}. These numbers are meant for tuning
+ * {@code initialCapacity} and {@code loadFactor} from real workloads.
+ * </p>
+ *
+ * <p>
+ * Bulk operations work on the buckets directly: {@link #forEach(BiConsumer)}
+ * and the entry iterator walk the bucket arrays in index order, and
+ * {@link #spliterator()} splits that index range in halves so a parallel
+ * stream can process disjoint bucket ranges on different threads. Entries
+ * returned by the iterator are the table's own nodes, so
+ * {@link Map.Entry#setValue(Object)} writes through.
+ * </p>
+ *
  * @param <K> the key type
  * @param <V> the value type
  */
@@ -28,32 +91,428 @@ public class SeparateChainingHashTable<K, V> implements HashTable<K, V> {
 
   private static final int DEFAULT_CAPACITY = 16;
   private static final double DEFAULT_LOAD_FACTOR = 0.75;
+  private static final int TREEIFY_THRESHOLD = 8;
+  private static final int UNTREEIFY_THRESHOLD = 6;
+
+  /**
+   * The bucket array is halved when {@code size} falls below
+   * {@code threshold / SHRINK_RATIO}.
+   */
+  private static final int SHRINK_RATIO = 4;
+
+  /**
+   * Strategy used to move entries into a new bucket array when the table is
+   * resized.
+   */
+  public enum ResizeMode {
+
+    /**
+     * Rehashes every entry as soon as the load threshold is crossed. Simple and
+     * fastest overall, but the {@code put} that triggers the resize pays
+     * {@code O(n)} on its own.
+     */
+    ALL_AT_ONCE,
+
+    /**
+     * Keeps the old bucket array alive and migrates a bounded number of its
+     * buckets on every later {@code put} and {@code remove}. Each operation
+     * stays {@code O(1)} on average, at the price of holding both arrays until
+     * the migration finishes.
+     */
+    INCREMENTAL
+  }
+
+  /**
+   * Formula used to turn a key's hash code into a bucket index.
+   */
+  public enum IndexingMode {
+
+    /**
+     * Uses the raw {@code hashCode()} and {@code (hash & 0x7fffffff) % capacity}.
+     * This is the textbook formula and accepts any bucket count, but it costs
+     * an integer division on every access and relies on the key's own
+     * {@code hashCode()} to spread the low bits.
+     */
+    MODULO,
+
+    /**
+     * Rounds the bucket count up to a power of two, mixes every hash code with
+     * the murmur3 finalizer, and keeps the low bits with
+     * {@code hash & (capacity - 1)}. The mask is a single instruction, and the
+     * mixing step lets keys whose hash codes differ only in their high bits,
+     * such as multiples of a large power of two, still reach different buckets.
+     */
+    POWER_OF_TWO
+  }
 
   /**
    * Entry node stored inside a collision chain.
    *
    * <p>
-   * Each node stores one key-value pair plus a reference to the next entry in
-   * the same bucket.
+   * Each node stores one key-value pair, the key's hash code, and a reference
+   * to the next entry in the same bucket. Keeping the hash avoids calling
+   * {@code equals} on entries that cannot match and avoids calling
+   * {@code hashCode()} again during resizing.
+   * </p>
+   *
+   * <p>
+   * The node doubles as the {@link Map.Entry} handed out by the iterator, so
+   * iteration does not allocate one wrapper per entry.
    * </p>
    */
-  private static final class Entry<K, V> {
-    private final K key;
-    private V value;
-    private Entry<K, V> next;
+  private static class Entry<K, V> implements Map.Entry<K, V> {
+    final int hash;
+    final K key;
+    V value;
+    Entry<K, V> next;
 
-    private Entry(K key, V value, Entry<K, V> next) {
+    private Entry(int hash, K key, V value, Entry<K, V> next) {
+      this.hash = hash;
       this.key = key;
       this.value = value;
       this.next = next;
     }
+
+    @Override
+    public K getKey() {
+      return key;
+    }
+
+    @Override
+    public V getValue() {
+      return value;
+    }
+
+    @Override
+    public V setValue(V newValue) {
+      V previous = value;
+      value = newValue;
+      return previous;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof Map.Entry<?, ?> other
+          && Objects.equals(key, other.getKey())
+          && Objects.equals(value, other.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hashCode(key) ^ Objects.hashCode(value);
+    }
+
+    @Override
+    public String toString() {
+      return key + "=" + value;
+    }
+  }
+
+  /**
+   * Entry stored inside a treeified bucket.
+   *
+   * <p>
+   * The {@code left}, {@code right}, and {@code height} fields form an AVL node.
+   * The {@code sequence} number is unique inside one bin and breaks ties
+   * between keys that have the same hash and no usable {@link Comparable}
+   * order, so every pair of nodes has a well-defined position.
+   * </p>
+   */
+  private static final class TreeNode<K, V> extends Entry<K, V> {
+    private final long sequence;
+    private TreeNode<K, V> left;
+    private TreeNode<K, V> right;
+    private int height;
+
+    private TreeNode(int hash, K key, V value, long sequence) {
+      super(hash, key, value, null);
+      this.sequence = sequence;
+      this.height = 1;
+    }
+  }
+
+  /**
+   * Bucket head that replaces a long collision chain with an AVL tree.
+   *
+   * <p>
+   * The bin is stored in the bucket array in place of the first chain entry, so
+   * every bucket operation first checks whether the head is a {@code TreeBin}.
+   * Its own key and value fields are unused.
+   * </p>
+   */
+  private static final class TreeBin<K, V> extends Entry<K, V> {
+    private TreeNode<K, V> root;
+    private int count;
+    private long nextSequence;
+
+    private TreeBin() {
+      super(0, null, null, null);
+    }
+
+    /**
+     * Searches the tree for {@code key}.
+     *
+     * <p>
+     * The hash code always decides the direction when it differs. Among nodes
+     * with the same hash, {@link Comparable} order decides it when both keys
+     * are of the same comparable class; otherwise the match may be on either
+     * side and both subtrees are searched.
+     * </p>
+     *
+     * @param hash the hash code of {@code key}
+     * @param key the key to search for
+     * @return the matching node, or {@code null} if the key is absent
+     *
+     * @implNote {@code O(log k)} for distinct hashes or comparable keys, where
+     *           {@code k} is the bin size; {@code O(k)} for keys that share a
+     *           hash and cannot be ordered.
+     */
+    private TreeNode<K, V> find(int hash, Object key) {
+      return find(root, hash, key);
+    }
+
+    private static <K, V> TreeNode<K, V> find(TreeNode<K, V> node, int hash, Object key) {
+      while (node != null) {
+        if (hash != node.hash) {
+          node = hash < node.hash ? node.left : node.right;
+        } else if (Objects.equals(key, node.key)) {
+          return node;
+        } else {
+          int cmp = compareComparable(key, node.key);
+          if (cmp < 0) {
+            node = node.left;
+          } else if (cmp > 0) {
+            node = node.right;
+          } else {
+            TreeNode<K, V> found = find(node.right, hash, key);
+            if (found != null) {
+              return found;
+            }
+            node = node.left;
+          }
+        }
+      }
+      return null;
+    }
+
+    /**
+     * Inserts a key that is known to be absent from the bin.
+     *
+     * @implNote Time complexity is {@code O(log k)}.
+     */
+    private void insert(int hash, K key, V value) {
+      root = insert(root, new TreeNode<>(hash, key, value, nextSequence++));
+      count++;
+    }
+
+    private TreeNode<K, V> insert(TreeNode<K, V> node, TreeNode<K, V> added) {
+      if (node == null) {
+        return added;
+      }
+      if (order(added, node) < 0) {
+        node.left = insert(node.left, added);
+      } else {
+        node.right = insert(node.right, added);
+      }
+      return rebalance(node);
+    }
+
+    /**
+     * Unlinks a node previously returned by {@link #find(int, Object)}.
+     *
+     * <p>
+     * Because {@link #order(TreeNode, TreeNode)} is a strict total order, the
+     * path to the target is unique. A node with two children is replaced by
+     * its in-order successor node, which keeps node identity (and therefore
+     * the final key field) intact.
+     * </p>
+     *
+     * @implNote Time complexity is {@code O(log k)}.
+     */
+    private void remove(TreeNode<K, V> target) {
+      root = remove(root, target);
+      count--;
+    }
+
+    private TreeNode<K, V> remove(TreeNode<K, V> node, TreeNode<K, V> target) {
+      if (node == target) {
+        if (node.left == null) {
+          return node.right;
+        }
+        if (node.right == null) {
+          return node.left;
+        }
+        TreeNode<K, V> successor = node.right;
+        while (successor.left != null) {
+          successor = successor.left;
+        }
+        successor.right = removeMin(node.right);
+        successor.left = node.left;
+        return rebalance(successor);
+      }
+
+      if (order(target, node) < 0) {
+        node.left = remove(node.left, target);
+      } else {
+        node.right = remove(node.right, target);
+      }
+      return rebalance(node);
+    }
+
+    private TreeNode<K, V> removeMin(TreeNode<K, V> node) {
+      if (node.left == null) {
+        return node.right;
+      }
+      node.left = removeMin(node.left);
+      return rebalance(node);
+    }
+
+    /**
+     * Converts the tree back into a singly linked chain in ascending tree
+     * order, reusing the existing nodes.
+     *
+     * @return the head of the chain
+     *
+     * @implNote Time complexity is {@code O(k)}.
+     */
+    private Entry<K, V> toChain() {
+      return link(root, null);
+    }
+
+    private Entry<K, V> link(TreeNode<K, V> node, Entry<K, V> rest) {
+      if (node == null) {
+        return rest;
+      }
+      Entry<K, V> tail = link(node.right, rest);
+      TreeNode<K, V> left = node.left;
+      node.left = null;
+      node.right = null;
+      node.height = 1;
+      node.next = tail;
+      return link(left, node);
+    }
+
+    private TreeNode<K, V> rebalance(TreeNode<K, V> node) {
+      updateHeight(node);
+      int balance = height(node.left) - height(node.right);
+      if (balance > 1) {
+        if (height(node.left.left) < height(node.left.right)) {
+          node.left = rotateLeft(node.left);
+        }
+        return rotateRight(node);
+      }
+      if (balance < -1) {
+        if (height(node.right.right) < height(node.right.left)) {
+          node.right = rotateRight(node.right);
+        }
+        return rotateLeft(node);
+      }
+      return node;
+    }
+
+    private TreeNode<K, V> rotateRight(TreeNode<K, V> y) {
+      TreeNode<K, V> x = y.left;
+      y.left = x.right;
+      x.right = y;
+      updateHeight(y);
+      updateHeight(x);
+      return x;
+    }
+
+    private TreeNode<K, V> rotateLeft(TreeNode<K, V> x) {
+      TreeNode<K, V> y = x.right;
+      x.right = y.left;
+      y.left = x;
+      updateHeight(x);
+      updateHeight(y);
+      return y;
+    }
+
+    private void updateHeight(TreeNode<K, V> node) {
+      node.height = 1 + Math.max(height(node.left), height(node.right));
+    }
+
+    private int height(TreeNode<K, V> node) {
+      return node == null ? 0 : node.height;
+    }
+
+    /**
+     * Strict total order used to place nodes: hash code, then key class name,
+     * then {@link Comparable} order inside one class, then insertion sequence.
+     */
+    private static int order(TreeNode<?, ?> a, TreeNode<?, ?> b) {
+      if (a.hash != b.hash) {
+        return a.hash < b.hash ? -1 : 1;
+      }
+      int cmp = className(a.key).compareTo(className(b.key));
+      if (cmp != 0) {
+        return cmp;
+      }
+      cmp = compareComparable(a.key, b.key);
+      if (cmp != 0) {
+        return cmp;
+      }
+      return Long.compare(a.sequence, b.sequence);
+    }
+
+    private static String className(Object key) {
+      return key == null ? "" : key.getClass().getName();
+    }
+
+    /**
+     * Compares two keys by their natural order when both belong to the same
+     * {@link Comparable} class.
+     *
+     * @return the {@code compareTo} result, or {@code 0} when the keys cannot be
+     *         ordered
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareComparable(Object a, Object b) {
+      if (a == null || b == null || a.getClass() != b.getClass() || !(a instanceof Comparable)) {
+        return 0;
+      }
+      return ((Comparable) a).compareTo(b);
+    }
   }
 
   private Entry<K, V>[] buckets;
+  private final int initialCapacity;
   private final double loadFactor;
+  private final ResizeMode resizeMode;
+  private final IndexingMode indexingMode;
+  private final int bucketsPerMigrationStep;
+  private final int bucketsPerShrinkMigrationStep;
   private int threshold;
   private int size;
 
+  /**
+   * Bucket array being drained by an incremental resize, or {@code null} when
+   * no migration is in progress.
+   *
+   * <p>
+   * Old buckets are migrated in index order. A key whose old bucket index is
+   * below {@link #migrationIndex} has already moved to {@link #buckets}; any
+   * other key still lives in {@code oldBuckets}, and new keys for that bucket
+   * are inserted there too. Every key is therefore stored in exactly one of
+   * the two arrays, and lookups know which one to consult.
+   * </p>
+   */
+  private Entry<K, V>[] oldBuckets;
+  private int migrationIndex;
+  private int migrationStep;
+
+  /**
+   * Usage counters reported by {@link #stats()}. Resize counters are updated
+   * on the rare resize path and are always kept; the {@code get} counters are
+   * only touched while {@link #statisticsEnabled} is set, so a table that never
+   * enables statistics pays one predictable branch per lookup.
+   */
+  private boolean statisticsEnabled;
+  private long resizeCount;
+  private long rehashedEntryCount;
+  private long getCount;
+  private long getProbeCount;
+
   /**
    * Creates a table with the default capacity and default load factor.
    *
@@ -87,8 +546,62 @@ public class SeparateChainingHashTable<K, V> implements HashTable<K, V> {
    *
    * @implNote Construction is {@code O(1)}.
    */
-  @SuppressWarnings("unchecked")
   public SeparateChainingHashTable(int initialCapacity, double loadFactor) {
+    this(initialCapacity, loadFactor, ResizeMode.ALL_AT_ONCE);
+  }
+
+  /**
+   * Creates a table with custom capacity, load-factor, and resize settings.
+   *
+   * <p>
+   * In {@link ResizeMode#INCREMENTAL} mode every mutating operation migrates
+   * {@code ceil(1 / loadFactor) + 1} old buckets. Between two resizes the
+   * table receives at least {@code loadFactor * oldCapacity} insertions, so
+   * that step size finishes a migration before the next one is needed. A
+   * shrink leaves twice as many old buckets and only about
+   * {@code loadFactor * oldCapacity / (2 * SHRINK_RATIO)} operations before
+   * the next resize, so its migration moves
+   * {@code ceil(2 * SHRINK_RATIO / loadFactor)} old buckets per operation
+   * instead.
+   * </p>
+   *
+   * @param initialCapacity the number of buckets in the initial table
+   * @param loadFactor the resize threshold expressed as a ratio of
+   *        {@code size / bucketCount}
+   * @param resizeMode how entries are moved when the table grows
+   * @throws IllegalArgumentException if {@code initialCapacity <= 0}
+   * @throws IllegalArgumentException if {@code loadFactor <= 0} or is not a
+   *         valid numeric value
+   * @throws NullPointerException if {@code resizeMode} is {@code null}
+   *
+   * @implNote Construction is {@code O(1)}.
+   */
+  public SeparateChainingHashTable(int initialCapacity, double loadFactor, ResizeMode resizeMode) {
+    this(initialCapacity, loadFactor, resizeMode, IndexingMode.MODULO);
+  }
+
+  /**
+   * Creates a table with custom capacity, load-factor, resize, and indexing
+   * settings.
+   *
+   * @param initialCapacity the number of buckets in the initial table; in
+   *        {@link IndexingMode#POWER_OF_TWO} mode it is rounded up to a power
+   *        of two
+   * @param loadFactor the resize threshold expressed as a ratio of
+   *        {@code size / bucketCount}
+   * @param resizeMode how entries are moved when the table grows
+   * @param indexingMode how hash codes are mapped to bucket indices
+   * @throws IllegalArgumentException if {@code initialCapacity <= 0}
+   * @throws IllegalArgumentException if {@code loadFactor <= 0} or is not a
+   *         valid numeric value
+   * @throws NullPointerException if {@code resizeMode} or
+   *         {@code indexingMode} is {@code null}
+   *
+   * @implNote Construction is {@code O(1)}.
+   */
+  @SuppressWarnings("unchecked")
+  public SeparateChainingHashTable(int initialCapacity, double loadFactor, ResizeMode resizeMode,
+      IndexingMode indexingMode) {
     if (initialCapacity <= 0) {
       throw new IllegalArgumentException("Initial capacity must be greater than zero.");
     }
@@ -96,8 +609,17 @@ public class SeparateChainingHashTable<K, V> implements HashTable<K, V> {
       throw new IllegalArgumentException("Load factor must be a positive number.");
     }
 
+    this.indexingMode = Objects.requireNonNull(indexingMode, "Indexing mode must not be null.");
+    if (indexingMode == IndexingMode.POWER_OF_TWO) {
+      initialCapacity = powerOfTwoAtLeast(initialCapacity);
+    }
     this.buckets = new Entry[initialCapacity];
+    this.initialCapacity = initialCapacity;
     this.loadFactor = loadFactor;
+    this.resizeMode = Objects.requireNonNull(resizeMode, "Resize mode must not be null.");
+    this.bucketsPerMigrationStep = (int) Math.ceil(1.0 / loadFactor) + 1;
+    this.bucketsPerShrinkMigrationStep = Math.max(bucketsPerMigrationStep,
+        (int) Math.ceil(2.0 * SHRINK_RATIO / loadFactor));
     this.threshold = Math.max(1, (int) (initialCapacity * loadFactor));
     this.size = 0;
   }
@@ -117,47 +639,166 @@ public class SeparateChainingHashTable<K, V> implements HashTable<K, V> {
    * {@code 0}.
    * </p>
    *
+   * <p>
+   * If the bucket is already a tree bin, the key is searched and inserted in
+   * the tree. Otherwise the chain walk also counts the chain length, and a
+   * chain that becomes longer than {@value #TREEIFY_THRESHOLD} entries is
+   * converted into a tree bin.
+   * </p>
+   *
+   * <p>
+   * The load threshold is checked only after the search has shown that the key
+   * is new, so overwriting an existing key never triggers a resize.
+   * </p>
+   *
    * @implNote Average-case time complexity is {@code O(1)}. In the worst case,
-   *           if many keys collide into one bucket, it becomes {@code O(n)}.
+   *           if many keys collide into one bucket, it becomes
+   *           {@code O(log n)} for comparable keys and {@code O(n)} otherwise.
    *           A resize step costs {@code O(n)}, but it happens only
    *           occasionally.
    */
   @Override
   public V put(K key, V value) {
-    ensureCapacity(size + 1);
+    migrateStep();
+    return putValue(hash(key), key, value);
+  }
 
-    int index = bucketIndex(key, buckets.length);
-    Entry<K, V> current = buckets[index];
-    while (current != null) {
-      if (Objects.equals(current.key, key)) {
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * The capacity is checked once for the whole batch: if {@code source} could
+   * push the table past its load threshold, the bucket array grows directly to
+   * a size that fits every source entry and is filled in one pass, even in
+   * {@link ResizeMode#INCREMENTAL} mode. The entries are then inserted without
+   * triggering another resize, reusing the stored hash codes when
+   * {@code source} is also a {@code SeparateChainingHashTable} with the same
+   * {@link IndexingMode}.
+   * </p>
+   *
+   * @implNote Time complexity is {@code O(n + s)}, where {@code s} is the size
+   *           of {@code source}, with at most one rehash of the existing
+   *           entries.
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public void putAll(HashTable<? extends K, ? extends V> source) {
+    if (source.isEmpty()) {
+      return;
+    }
+    int neededSize = size + source.size();
+    if (neededSize > threshold) {
+      resize(capacityFor(neededSize));
+      finishMigration();
+    }
+
+    if (source instanceof SeparateChainingHashTable<?, ?> chained && chained.indexingMode == indexingMode) {
+      ((SeparateChainingHashTable<K, V>) chained).forEachEntry(entry -> putValue(entry.hash, entry.key, entry.value));
+      return;
+    }
+    for (Map.Entry<? extends K, ? extends V> entry : source) {
+      putValue(hash(entry.getKey()), entry.getKey(), entry.getValue());
+    }
+  }
+
+  /**
+   * Inserts or updates a key in a single bucket traversal.
+   *
+   * @param hash the precomputed hash code of {@code key}
+   * @param key the key to insert or update
+   * @param value the value associated with the key
+   * @return the previous value, or {@code null} if the key was absent
+   *
+   * @implNote Average-case time complexity is {@code O(1)}.
+   */
+  private V putValue(int hash, K key, V value) {
+    Entry<K, V>[] table = tableFor(hash);
+    int index = bucketIndex(hash, table.length);
+    Entry<K, V> head = table[index];
+    if (head instanceof TreeBin<K, V> bin) {
+      TreeNode<K, V> existing = bin.find(hash, key);
+      if (existing != null) {
+        V previous = existing.value;
+        existing.value = value;
+        return previous;
+      }
+      addAbsent(table, index, hash, key, value, 0);
+      return null;
+    }
+
+    int chainLength = 0;
+    for (Entry<K, V> current = head; current != null; current = current.next) {
+      if (current.hash == hash && Objects.equals(current.key, key)) {
         V previous = current.value;
         current.value = value;
         return previous;
       }
-      current = current.next;
+      chainLength++;
     }
 
-    buckets[index] = new Entry<>(key, value, buckets[index]);
-    size++;
+    addAbsent(table, index, hash, key, value, chainLength);
     return null;
   }
 
+  /**
+   * Adds a key that the caller has just searched for and not found.
+   *
+   * <p>
+   * Only now is the load threshold checked. If the table has to grow, the
+   * key's bucket is located again in the new layout; otherwise the entry is
+   * linked into the bucket that was already searched, without walking it a
+   * second time.
+   * </p>
+   *
+   * @param table the bucket array that was searched
+   * @param index the bucket that was searched
+   * @param hash the precomputed hash code of {@code key}
+   * @param key the absent key
+   * @param value the value to associate with {@code key}
+   * @param chainLength the length of the searched chain, or {@code 0} for a
+   *        tree bin
+   *
+   * @implNote Time complexity is {@code O(1)}, plus an occasional resize.
+   */
+  private void addAbsent(Entry<K, V>[] table, int index, int hash, K key, V value, int chainLength) {
+    if (size + 1 > threshold) {
+      resize(buckets.length * 2);
+      table = tableFor(hash);
+      index = bucketIndex(hash, table.length);
+      chainLength = 0;
+      if (!(table[index] instanceof TreeBin)) {
+        for (Entry<K, V> current = table[index]; current != null; current = current.next) {
+          chainLength++;
+        }
+      }
+    }
+
+    if (table[index] instanceof TreeBin<K, V> bin) {
+      bin.insert(hash, key, value);
+      size++;
+      return;
+    }
+    table[index] = new Entry<>(hash, key, value, table[index]);
+    size++;
+    if (chainLength >= TREEIFY_THRESHOLD) {
+      treeifyBucket(table, index);
+    }
+  }
+
   /**
    * {@inheritDoc}
    *
    * @implNote Average-case time complexity is {@code O(1)}. Worst-case time is
-   *           {@code O(n)} when collision chains become long.
+   *           {@code O(log n)} inside a tree bin of comparable keys and
+   *           {@code O(n)} when colliding keys cannot be ordered.
    */
   @Override
   public V get(K key) {
-    Entry<K, V> current = buckets[bucketIndex(key, buckets.length)];
-    while (current != null) {
-      if (Objects.equals(current.key, key)) {
-        return current.value;
-      }
-      current = current.next;
+    if (statisticsEnabled) {
+      return getRecordingProbes(key);
     }
-    return null;
+    Entry<K, V> entry = findEntry(key);
+    return entry == null ? null : entry.value;
   }
 
   /**
@@ -166,26 +807,43 @@ public class SeparateChainingHashTable<K, V> implements HashTable<K, V> {
    * <p>
    * When the key is found, the method unlinks the matching entry from its
    * bucket chain and returns the removed value. If the key is absent, the table
-   * remains unchanged and the method returns {@code null}.
+   * remains unchanged and the method returns {@code null}. A tree bin that
+   * shrinks to {@value #UNTREEIFY_THRESHOLD} entries or fewer is converted back
+   * into a chain.
+   * </p>
+   *
+   * <p>
+   * A removal that leaves the table sparse halves the bucket array, as
+   * described in the class documentation.
    * </p>
    *
    * @implNote Average-case time complexity is {@code O(1)}. Worst-case time is
-   *           {@code O(n)}.
+   *           {@code O(n)}. A shrink step costs {@code O(n + m)}, but it needs
+   *           a number of removals proportional to the bucket count.
    */
   @Override
   public V remove(K key) {
-    int index = bucketIndex(key, buckets.length);
-    Entry<K, V> current = buckets[index];
-    Entry<K, V> previous = null;
+    migrateStep();
 
+    int hash = hash(key);
+    Entry<K, V>[] table = tableFor(hash);
+    int index = bucketIndex(hash, table.length);
+    Entry<K, V> current = table[index];
+    if (current instanceof TreeBin<K, V> bin) {
+      TreeNode<K, V> node = bin.find(hash, key);
+      if (node == null) {
+        return null;
+      }
+      removeTreeNode(table, index, bin, node);
+      shrinkIfSparse();
+      return node.value;
+    }
+
+    Entry<K, V> previous = null;
     while (current != null) {
-      if (Objects.equals(current.key, key)) {
-        if (previous == null) {
-          buckets[index] = current.next;
-        } else {
-          previous.next = current.next;
-        }
-        size--;
+      if (current.hash == hash && Objects.equals(current.key, key)) {
+        unlink(table, index, previous, current);
+        shrinkIfSparse();
         return current.value;
       }
       previous = current;
@@ -201,8 +859,8 @@ public class SeparateChainingHashTable<K, V> implements HashTable<K, V> {
    * <p>
    * This method handles the subtle case where a stored key is associated with a
    * {@code null} value. A plain {@code get(key) != null} check would incorrectly
-   * report that such a key is absent, so the implementation performs an
-   * additional explicit search when needed.
+   * report that such a key is absent, so the implementation looks for the entry
+   * itself rather than its value, in a single bucket traversal.
    * </p>
    *
    * @implNote Average-case time complexity is {@code O(1)}. Worst-case time is
@@ -210,109 +868,940 @@ public class SeparateChainingHashTable<K, V> implements HashTable<K, V> {
    */
   @Override
   public boolean containsKey(K key) {
-    return get(key) != null || containsNullValueForKey(key);
+    return findEntry(key) != null;
   }
 
   /**
    * {@inheritDoc}
    *
-   * @implNote Time complexity is {@code O(1)} because the value is maintained
-   *           incrementally.
+   * @implNote Average-case time complexity is {@code O(1)}, with a single
+   *           bucket traversal.
    */
   @Override
-  public int size() {
-    return size;
+  public V getOrDefault(K key, V defaultValue) {
+    Entry<K, V> entry = findEntry(key);
+    return entry == null ? defaultValue : entry.value;
   }
 
   /**
    * {@inheritDoc}
    *
-   * @implNote Time complexity is {@code O(m)}, where {@code m} is the number of
-   *           buckets, because each bucket reference is reset explicitly.
+   * <p>
+   * The bucket is searched once. A present non-{@code null} value is returned
+   * directly; otherwise the computed value is stored in the entry that was
+   * found, or linked into the searched bucket.
+   * </p>
+   *
+   * @implNote Average-case time complexity is {@code O(1)} plus the cost of the
+   *           mapping function.
    */
   @Override
-  public void clear() {
-    for (int i = 0; i < buckets.length; i++) {
-      buckets[i] = null;
-    }
-    size = 0;
-  }
+  public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+    Objects.requireNonNull(mappingFunction, "Mapping function must not be null.");
+    migrateStep();
 
-  /**
-   * Searches for a key that may be associated with a {@code null} value.
-   *
-   * @param key the key to search for
-   * @return {@code true} if the key exists in the table, even if its stored
-   *         value is {@code null}; {@code false} otherwise
-   *
-   * @implNote Average-case time complexity is {@code O(1)}. Worst-case time is
-   *           {@code O(n)}.
-   */
-  private boolean containsNullValueForKey(K key) {
-    Entry<K, V> current = buckets[bucketIndex(key, buckets.length)];
-    while (current != null) {
-      if (Objects.equals(current.key, key)) {
-        return true;
+    int hash = hash(key);
+    Entry<K, V>[] table = tableFor(hash);
+    int index = bucketIndex(hash, table.length);
+    Entry<K, V> head = table[index];
+    Entry<K, V> existing = null;
+    int chainLength = 0;
+    if (head instanceof TreeBin<K, V> bin) {
+      existing = bin.find(hash, key);
+    } else {
+      for (Entry<K, V> current = head; current != null; current = current.next) {
+        if (current.hash == hash && Objects.equals(current.key, key)) {
+          existing = current;
+          break;
+        }
+        chainLength++;
       }
-      current = current.next;
     }
-    return false;
+
+    if (existing != null && existing.value != null) {
+      return existing.value;
+    }
+    V computed = mappingFunction.apply(key);
+    if (computed == null) {
+      return null;
+    }
+    if (existing != null) {
+      existing.value = computed;
+    } else {
+      addAbsent(table, index, hash, key, computed, chainLength);
+    }
+    return computed;
   }
 
   /**
-   * Grows the table when inserting one more element would exceed the load
-   * threshold.
+   * {@inheritDoc}
    *
-   * @param neededSize the logical size after the pending insertion
+   * <p>
+   * The bucket is searched once; the function's result then updates the entry
+   * that was found, unlinks it, or is linked into the searched bucket.
+   * </p>
+   *
+   * @implNote Average-case time complexity is {@code O(1)} plus the cost of the
+   *           remapping function.
+   */
+  @Override
+  public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+    Objects.requireNonNull(remappingFunction, "Remapping function must not be null.");
+    return remap(key, null, remappingFunction, null);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * The bucket is searched once, so incrementing a counter with
+   * {@code merge(key, 1, Integer::sum)} costs one traversal whether or not the
+   * key is already present.
+   * </p>
+   *
+   * @implNote Average-case time complexity is {@code O(1)} plus the cost of the
+   *           remapping function.
+   */
+  @Override
+  public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+    Objects.requireNonNull(value, "Value must not be null.");
+    Objects.requireNonNull(remappingFunction, "Remapping function must not be null.");
+    return remap(key, value, null, remappingFunction);
+  }
+
+  /**
+   * Single-pass core of {@link #compute(Object, BiFunction)} and
+   * {@link #merge(Object, Object, BiFunction)}. Exactly one of the two
+   * functions is non-{@code null}.
+   *
+   * @param key the key to update
+   * @param value the value to merge, used with {@code mergeFunction}
+   * @param computeFunction the {@code compute} function, or {@code null}
+   * @param mergeFunction the {@code merge} function, or {@code null}
+   * @return the new value, or {@code null} if the key is now absent
+   *
+   * @implNote Average-case time complexity is {@code O(1)}.
+   */
+  private V remap(K key, V value, BiFunction<? super K, ? super V, ? extends V> computeFunction,
+      BiFunction<? super V, ? super V, ? extends V> mergeFunction) {
+    migrateStep();
+
+    int hash = hash(key);
+    Entry<K, V>[] table = tableFor(hash);
+    int index = bucketIndex(hash, table.length);
+    Entry<K, V> head = table[index];
+    TreeBin<K, V> bin = head instanceof TreeBin<K, V> treeBin ? treeBin : null;
+    Entry<K, V> existing = null;
+    Entry<K, V> previous = null;
+    int chainLength = 0;
+    if (bin != null) {
+      existing = bin.find(hash, key);
+    } else {
+      for (Entry<K, V> current = head; current != null; current = current.next) {
+        if (current.hash == hash && Objects.equals(current.key, key)) {
+          existing = current;
+          break;
+        }
+        previous = current;
+        chainLength++;
+      }
+    }
+
+    V current = existing == null ? null : existing.value;
+    V updated;
+    if (computeFunction != null) {
+      updated = computeFunction.apply(key, current);
+    } else {
+      updated = current == null ? value : mergeFunction.apply(current, value);
+    }
+
+    if (updated != null) {
+      if (existing != null) {
+        existing.value = updated;
+      } else {
+        addAbsent(table, index, hash, key, updated, chainLength);
+      }
+    } else if (existing != null) {
+      if (bin != null) {
+        removeTreeNode(table, index, bin, (TreeNode<K, V>) existing);
+      } else {
+        unlink(table, index, previous, existing);
+      }
+      shrinkIfSparse();
+    }
+    return updated;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @implNote Time complexity is {@code O(1)} because the value is maintained
+   *           incrementally.
+   */
+  @Override
+  public int size() {
+    return size;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * The bucket arrays are dropped rather than emptied: a fresh array of the
+   * initial capacity replaces them, so a table that was filled to millions of
+   * entries does not keep its peak-sized array after being cleared.
+   * </p>
+   *
+   * @implNote Time complexity is {@code O(1)} with respect to the number of
+   *           entries and buckets; only an array of the initial capacity is
+   *           allocated.
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public void clear() {
+    buckets = (Entry<K, V>[]) new Entry<?, ?>[initialCapacity];
+    threshold = Math.max(1, (int) (initialCapacity * loadFactor));
+    oldBuckets = null;
+    migrationIndex = 0;
+    size = 0;
+  }
+
+  /**
+   * Shrinks the bucket array to the smallest capacity whose load threshold
+   * still admits the current number of entries.
+   *
+   * <p>
+   * Unlike the automatic shrinking on removal, this may go below the initial
+   * capacity. The entries are rehashed in one pass, even in
+   * {@link ResizeMode#INCREMENTAL} mode. Later insertions grow the table again
+   * as usual.
+   * </p>
+   *
+   * @implNote Time complexity is {@code O(n + m)}.
+   */
+  public void trimToSize() {
+    long capacity = Math.max(1, (long) Math.ceil(size / loadFactor));
+    while ((int) (capacity * loadFactor) < size) {
+      capacity++;
+    }
+    if (indexingMode == IndexingMode.POWER_OF_TWO) {
+      capacity = powerOfTwoAtLeast((int) Math.min(capacity, Integer.MAX_VALUE));
+    }
+    if (capacity < buckets.length) {
+      resize((int) capacity);
+      finishMigration();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * The current bucket array is walked in index order, followed by the buckets
+   * of an unfinished incremental migration. Each callback receives the stored
+   * key and value directly; no entry objects are allocated.
+   * </p>
+   *
+   * @implNote Time complexity is {@code O(n + m)}.
+   */
+  @Override
+  public void forEach(BiConsumer<? super K, ? super V> action) {
+    Objects.requireNonNull(action, "Action must not be null.");
+    forEachEntry(entry -> action.accept(entry.key, entry.value));
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * Each key is hashed once and searched in the bucket array that currently
+   * owns it, with the same lookup that backs {@link #get(Object)}.
+   * </p>
+   *
+   * @implNote Average-case time complexity is {@code O(k)} for {@code k}
+   *           requested keys.
+   */
+  @Override
+  public Map<K, V> getAll(Iterable<? extends K> keys) {
+    Map<K, V> found = new LinkedHashMap<>();
+    for (K key : keys) {
+      Entry<K, V> entry = findEntry(key);
+      if (entry != null) {
+        found.put(key, entry.value);
+      }
+    }
+    return found;
+  }
+
+  /**
+   * Returns an iterator over the stored entries in bucket order.
+   *
+   * <p>
+   * The returned entries are the table's own nodes: {@link Map.Entry#setValue}
+   * updates the table. The iterator does not support {@code remove}.
+   * </p>
+   *
+   * @return an iterator over every entry
+   *
+   * @implNote Creating the iterator is {@code O(1)}. A full traversal is
+   *           {@code O(n + m)}.
+   */
+  @Override
+  public Iterator<Map.Entry<K, V>> iterator() {
+    BucketCursor<K, V> cursor = new BucketCursor<>(buckets, oldBuckets);
+    return new Iterator<Map.Entry<K, V>>() {
+      private Entry<K, V> next = cursor.nextEntry();
+
+      @Override
+      public boolean hasNext() {
+        return next != null;
+      }
+
+      @Override
+      public Map.Entry<K, V> next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        Entry<K, V> entry = next;
+        next = cursor.nextEntry();
+        return entry;
+      }
+    };
+  }
+
+  /**
+   * Returns a spliterator that partitions the table by bucket ranges.
+   *
+   * <p>
+   * {@code trySplit} hands the first half of the remaining bucket range to a
+   * new spliterator, so a parallel stream gives each worker a disjoint slice
+   * of the bucket arrays. Size estimates assume entries are spread evenly over
+   * the buckets, which is what the load factor aims for.
+   * </p>
+   *
+   * @return a spliterator over every entry
+   *
+   * @implNote Creating the spliterator and each split are {@code O(1)}.
+   */
+  @Override
+  public Spliterator<Map.Entry<K, V>> spliterator() {
+    return new BucketSpliterator<>(new BucketCursor<>(buckets, oldBuckets), size, true);
+  }
+
+  /**
+   * Returns a snapshot of the table's shape and usage counters.
+   *
+   * @return the current statistics
+   *
+   * @implNote Time complexity is {@code O(n + m)} because the chain-length
+   *           histogram is rebuilt.
+   */
+  public HashTableStats stats() {
+    int bucketCount = buckets.length + (oldBuckets == null ? 0 : oldBuckets.length);
+    return new HashTableStats(size, bucketCount, chainLengthHistogram(), resizeCount, rehashedEntryCount, getCount,
+        getProbeCount);
+  }
+
+  /**
+   * Turns the recording of {@code get} probe counts on or off.
+   *
+   * <p>
+   * Statistics are disabled by default. Resize counters are recorded either
+   * way because they cost nothing on the lookup path.
+   * </p>
+   *
+   * @param enabled {@code true} to start recording lookups
+   *
+   * @implNote Time complexity is {@code O(1)}.
+   */
+  public void setStatisticsEnabled(boolean enabled) {
+    this.statisticsEnabled = enabled;
+  }
+
+  /**
+   * Reports whether {@code get} probe counts are being recorded.
+   *
+   * @return {@code true} if statistics are enabled
+   */
+  public boolean isStatisticsEnabled() {
+    return statisticsEnabled;
+  }
+
+  /**
+   * Sets every usage counter back to zero. Stored entries are unaffected.
+   *
+   * @implNote Time complexity is {@code O(1)}.
+   */
+  public void resetStatistics() {
+    resizeCount = 0;
+    rehashedEntryCount = 0;
+    getCount = 0;
+    getProbeCount = 0;
+  }
+
+  /**
+   * Counts how many buckets hold each number of entries.
    *
-   * @implNote The check itself is {@code O(1)}. When growth is required, the
-   *           resize step is {@code O(n)} because every stored entry must be
-   *           rehashed.
+   * <p>
+   * Element {@code i} of the result is the number of buckets that store
+   * exactly {@code i} entries, so element {@code 0} counts empty buckets and
+   * the last element belongs to the longest chain or tree bin. With a good
+   * hash spread the counts follow a Poisson distribution whose mean is the
+   * current load factor; a long tail points to clustered hash codes. While an
+   * incremental migration is in progress, buckets of both arrays are counted.
+   * </p>
+   *
+   * @return the chain-length histogram, with at least one element
+   *
+   * @implNote Time complexity is {@code O(n + m)}.
    */
-  private void ensureCapacity(int neededSize) {
-    if (neededSize <= threshold) {
+  public int[] chainLengthHistogram() {
+    int[] histogram = new int[1];
+    histogram = addChainLengths(buckets, histogram);
+    if (oldBuckets != null) {
+      histogram = addChainLengths(oldBuckets, histogram);
+    }
+    return histogram;
+  }
+
+  private static <K, V> int[] addChainLengths(Entry<K, V>[] table, int[] histogram) {
+    for (Entry<K, V> head : table) {
+      int length = 0;
+      if (head instanceof TreeBin<K, V> bin) {
+        length = bin.count;
+      } else {
+        for (Entry<K, V> current = head; current != null; current = current.next) {
+          length++;
+        }
+      }
+      if (length >= histogram.length) {
+        histogram = Arrays.copyOf(histogram, length + 1);
+      }
+      histogram[length]++;
+    }
+    return histogram;
+  }
+
+  /**
+   * Applies {@code action} to every stored entry in bucket order.
+   *
+   * @implNote Time complexity is {@code O(n + m)}.
+   */
+  private void forEachEntry(Consumer<Entry<K, V>> action) {
+    forEachEntry(buckets, action);
+    if (oldBuckets != null) {
+      forEachEntry(oldBuckets, action);
+    }
+  }
+
+  private static <K, V> void forEachEntry(Entry<K, V>[] table, Consumer<Entry<K, V>> action) {
+    for (Entry<K, V> head : table) {
+      if (head instanceof TreeBin<K, V> bin) {
+        forEachNode(bin.root, action);
+        continue;
+      }
+      for (Entry<K, V> current = head; current != null; current = current.next) {
+        action.accept(current);
+      }
+    }
+  }
+
+  private static <K, V> void forEachNode(TreeNode<K, V> node, Consumer<Entry<K, V>> action) {
+    if (node == null) {
       return;
     }
-    resize(buckets.length * 2);
+    forEachNode(node.left, action);
+    action.accept(node);
+    forEachNode(node.right, action);
   }
 
   /**
-   * Rehashes all existing entries into a larger bucket array.
+   * Walks a range of buckets one entry at a time.
+   *
+   * <p>
+   * The two arrays form one index space: positions below
+   * {@code primary.length} are buckets of the current array, and the rest are
+   * buckets of the array being drained by an incremental resize. Buckets of
+   * that array that were already migrated are {@code null}, so no entry is
+   * visited twice. Tree bins are walked in order with an explicit stack.
+   * </p>
+   */
+  private static final class BucketCursor<K, V> {
+    private final Entry<K, V>[] primary;
+    private final Entry<K, V>[] secondary;
+    private int index;
+    private int fence;
+    private Entry<K, V> chain;
+    private ArrayDeque<TreeNode<K, V>> treePath;
+
+    private BucketCursor(Entry<K, V>[] primary, Entry<K, V>[] secondary) {
+      this(primary, secondary, 0, primary.length + (secondary == null ? 0 : secondary.length));
+    }
+
+    private BucketCursor(Entry<K, V>[] primary, Entry<K, V>[] secondary, int index, int fence) {
+      this.primary = primary;
+      this.secondary = secondary;
+      this.index = index;
+      this.fence = fence;
+    }
+
+    /**
+     * Returns the next entry of the range, or {@code null} when it is
+     * exhausted.
+     *
+     * @implNote Amortized {@code O(1)} per entry plus {@code O(1)} per empty
+     *           bucket.
+     */
+    private Entry<K, V> nextEntry() {
+      while (true) {
+        if (treePath != null && !treePath.isEmpty()) {
+          TreeNode<K, V> node = treePath.pop();
+          pushLeftPath(node.right);
+          return node;
+        }
+        if (chain != null) {
+          Entry<K, V> entry = chain;
+          chain = entry.next;
+          return entry;
+        }
+        if (index >= fence) {
+          return null;
+        }
+
+        Entry<K, V> head = bucketAt(index++);
+        if (head instanceof TreeBin<K, V> bin) {
+          if (treePath == null) {
+            treePath = new ArrayDeque<>();
+          }
+          pushLeftPath(bin.root);
+        } else {
+          chain = head;
+        }
+      }
+    }
+
+    /**
+     * Gives the lower half of the untouched buckets to a new cursor.
+     *
+     * @return the new cursor, or {@code null} if fewer than two untouched
+     *         buckets remain or a bucket is partially consumed
+     */
+    private BucketCursor<K, V> splitLowerHalf() {
+      boolean midBucket = chain != null || (treePath != null && !treePath.isEmpty());
+      int middle = (index + fence) >>> 1;
+      if (midBucket || middle <= index) {
+        return null;
+      }
+      BucketCursor<K, V> lower = new BucketCursor<>(primary, secondary, index, middle);
+      index = middle;
+      return lower;
+    }
+
+    private int remainingBuckets() {
+      return fence - index;
+    }
+
+    private Entry<K, V> bucketAt(int position) {
+      return position < primary.length ? primary[position] : secondary[position - primary.length];
+    }
+
+    private void pushLeftPath(TreeNode<K, V> node) {
+      while (node != null) {
+        treePath.push(node);
+        node = node.left;
+      }
+    }
+  }
+
+  /**
+   * Spliterator view of a {@link BucketCursor}.
+   */
+  private static final class BucketSpliterator<K, V> implements Spliterator<Map.Entry<K, V>> {
+    private final BucketCursor<K, V> cursor;
+    private long estimatedSize;
+    private boolean exact;
+
+    private BucketSpliterator(BucketCursor<K, V> cursor, long estimatedSize, boolean exact) {
+      this.cursor = cursor;
+      this.estimatedSize = estimatedSize;
+      this.exact = exact;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Map.Entry<K, V>> action) {
+      Entry<K, V> entry = cursor.nextEntry();
+      if (entry == null) {
+        return false;
+      }
+      action.accept(entry);
+      return true;
+    }
+
+    @Override
+    public Spliterator<Map.Entry<K, V>> trySplit() {
+      int bucketsBefore = cursor.remainingBuckets();
+      BucketCursor<K, V> lower = cursor.splitLowerHalf();
+      if (lower == null) {
+        return null;
+      }
+      long lowerEstimate = estimatedSize * lower.remainingBuckets() / bucketsBefore;
+      estimatedSize -= lowerEstimate;
+      exact = false;
+      return new BucketSpliterator<>(lower, lowerEstimate, false);
+    }
+
+    @Override
+    public long estimateSize() {
+      return estimatedSize;
+    }
+
+    @Override
+    public int characteristics() {
+      return DISTINCT | NONNULL | (exact ? SIZED : 0);
+    }
+  }
+
+  /**
+   * Returns the smallest bucket count, reached by repeated doubling, whose
+   * load threshold admits {@code neededSize} entries.
+   *
+   * @implNote Time complexity is {@code O(log n)}.
+   */
+  private int capacityFor(int neededSize) {
+    long capacity = buckets.length;
+    while ((long) (capacity * loadFactor) < neededSize && capacity < Integer.MAX_VALUE) {
+      capacity *= 2;
+    }
+    return (int) Math.min(capacity, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Variant of {@link #get(Object)} used while statistics are enabled. It
+   * performs the same search and also records how many entries were examined.
+   *
+   * @implNote Average-case time complexity is {@code O(1)}.
+   */
+  private V getRecordingProbes(K key) {
+    int hash = hash(key);
+    Entry<K, V>[] table = tableFor(hash);
+    Entry<K, V> current = table[bucketIndex(hash, table.length)];
+    getCount++;
+    if (current instanceof TreeBin<K, V> bin) {
+      getProbeCount += bin.root == null ? 0 : bin.root.height;
+      TreeNode<K, V> node = bin.find(hash, key);
+      return node == null ? null : node.value;
+    }
+    while (current != null) {
+      getProbeCount++;
+      if (current.hash == hash && Objects.equals(current.key, key)) {
+        return current.value;
+      }
+      current = current.next;
+    }
+    return null;
+  }
+
+  /**
+   * Locates the entry that stores {@code key}, whether its bucket is a chain
+   * or a tree bin.
+   *
+   * @param key the key to search for
+   * @return the matching entry, or {@code null} if the key is absent
+   *
+   * @implNote Average-case time complexity is {@code O(1)}.
+   */
+  private Entry<K, V> findEntry(K key) {
+    int hash = hash(key);
+    Entry<K, V>[] table = tableFor(hash);
+    Entry<K, V> current = table[bucketIndex(hash, table.length)];
+    if (current instanceof TreeBin<K, V> bin) {
+      return bin.find(hash, key);
+    }
+    while (current != null) {
+      if (current.hash == hash && Objects.equals(current.key, key)) {
+        return current;
+      }
+      current = current.next;
+    }
+    return null;
+  }
+
+  /**
+   * Removes {@code current} from the chain stored at {@code index}.
+   *
+   * @param table the bucket array that owns the chain
+   * @param index the bucket that holds {@code current}
+   * @param previous the entry before {@code current}, or {@code null} if
+   *        {@code current} is the head
+   * @param current the entry to remove
+   *
+   * @implNote Time complexity is {@code O(1)}.
+   */
+  private void unlink(Entry<K, V>[] table, int index, Entry<K, V> previous, Entry<K, V> current) {
+    if (previous == null) {
+      table[index] = current.next;
+    } else {
+      previous.next = current.next;
+    }
+    size--;
+  }
+
+  /**
+   * Removes {@code node} from a tree bin and turns the bin back into a chain
+   * once it holds {@value #UNTREEIFY_THRESHOLD} entries or fewer.
+   *
+   * @implNote Time complexity is {@code O(log k)} for a bin of {@code k}
+   *           entries, or {@code O(k)} when the bin is converted.
+   */
+  private void removeTreeNode(Entry<K, V>[] table, int index, TreeBin<K, V> bin, TreeNode<K, V> node) {
+    bin.remove(node);
+    size--;
+    if (bin.count <= UNTREEIFY_THRESHOLD) {
+      table[index] = bin.toChain();
+    }
+  }
+
+  /**
+   * Replaces the chain stored at {@code index} with an equivalent tree bin.
+   *
+   * @param table the bucket array that owns the chain
+   * @param index the bucket whose chain became too long
+   *
+   * @implNote Time complexity is {@code O(k log k)} for a chain of {@code k}
+   *           entries. It runs only when a chain crosses the threshold.
+   */
+  private void treeifyBucket(Entry<K, V>[] table, int index) {
+    TreeBin<K, V> bin = new TreeBin<>();
+    for (Entry<K, V> current = table[index]; current != null; current = current.next) {
+      bin.insert(current.hash, current.key, current.value);
+    }
+    table[index] = bin;
+  }
+
+  /**
+   * Returns the bucket array that currently stores keys with the given hash.
+   *
+   * @param hash the key hash code
+   * @return {@link #oldBuckets} if the key's old bucket has not been migrated
+   *         yet; {@link #buckets} otherwise
+   *
+   * @implNote Time complexity is {@code O(1)}.
+   */
+  private Entry<K, V>[] tableFor(int hash) {
+    if (oldBuckets != null && bucketIndex(hash, oldBuckets.length) >= migrationIndex) {
+      return oldBuckets;
+    }
+    return buckets;
+  }
+
+  /**
+   * Halves the bucket array when a removal has left the load below
+   * {@code threshold / SHRINK_RATIO}, unless that would go below the initial
+   * capacity.
+   *
+   * <p>
+   * While an incremental migration is still pending the shrink is postponed,
+   * so a removal never has to finish that migration in one step. A later
+   * removal shrinks the table once the old array has been drained.
+   * </p>
+   *
+   * @implNote The check is {@code O(1)}. A shrink costs the same as a resize.
+   */
+  private void shrinkIfSparse() {
+    if (oldBuckets == null && size < threshold / SHRINK_RATIO && buckets.length / 2 >= initialCapacity) {
+      resize(buckets.length / 2);
+    }
+  }
+
+  /**
+   * Replaces the bucket array with a larger or smaller one and starts moving
+   * the stored entries into it.
+   *
+   * <p>
+   * The current array becomes {@link #oldBuckets}. In
+   * {@link ResizeMode#ALL_AT_ONCE} mode every old bucket is migrated
+   * immediately; in {@link ResizeMode#INCREMENTAL} mode later operations
+   * migrate them a few at a time. A migration that is still unfinished when
+   * the next resize is due is completed first, so at most two arrays exist.
+   * </p>
    *
    * @param newCapacity the number of buckets in the new table
    *
-   * @implNote Time complexity is {@code O(n + m)}, dominated by visiting each
-   *           stored entry and redistributing it into the new array.
+   * @implNote Time complexity is {@code O(n + m)} in all-at-once mode and
+   *           {@code O(m)} in incremental mode.
    */
   @SuppressWarnings("unchecked")
   private void resize(int newCapacity) {
-    Entry<K, V>[] oldBuckets = buckets;
+    finishMigration();
+
+    migrationStep = newCapacity < buckets.length ? bucketsPerShrinkMigrationStep : bucketsPerMigrationStep;
+    oldBuckets = buckets;
+    migrationIndex = 0;
+    resizeCount++;
     buckets = new Entry[newCapacity];
     threshold = Math.max(1, (int) (newCapacity * loadFactor));
 
-    for (Entry<K, V> bucket : oldBuckets) {
-      Entry<K, V> current = bucket;
-      while (current != null) {
-        Entry<K, V> next = current.next;
-        int newIndex = bucketIndex(current.key, newCapacity);
-        current.next = buckets[newIndex];
+    if (resizeMode == ResizeMode.ALL_AT_ONCE) {
+      finishMigration();
+    }
+  }
+
+  /**
+   * Migrates the next few old buckets when an incremental resize is in
+   * progress.
+   *
+   * @implNote Time complexity is {@code O(1)} on average: a fixed number of
+   *           buckets with an average chain length bounded by the load factor.
+   */
+  private void migrateStep() {
+    if (oldBuckets != null) {
+      migrateBuckets(migrationStep);
+    }
+  }
+
+  /**
+   * Migrates every remaining old bucket.
+   *
+   * @implNote Time complexity is {@code O(n + m)} in the worst case.
+   */
+  private void finishMigration() {
+    if (oldBuckets != null) {
+      migrateBuckets(oldBuckets.length - migrationIndex);
+    }
+  }
+
+  /**
+   * Moves up to {@code count} old buckets into {@link #buckets}, in index
+   * order, and drops the old array once it is empty.
+   *
+   * @param count the maximum number of old buckets to migrate
+   *
+   * @implNote Time complexity is linear in the number of migrated buckets plus
+   *           the entries they contain.
+   */
+  private void migrateBuckets(int count) {
+    int end = Math.min(oldBuckets.length, migrationIndex + count);
+    while (migrationIndex < end) {
+      Entry<K, V> bucket = oldBuckets[migrationIndex];
+      oldBuckets[migrationIndex] = null;
+      migrationIndex++;
+      moveBucket(bucket);
+    }
+
+    if (migrationIndex == oldBuckets.length) {
+      oldBuckets = null;
+      migrationIndex = 0;
+    }
+  }
+
+  /**
+   * Redistributes the entries of one old bucket into {@link #buckets}.
+   *
+   * <p>
+   * A tree bin is flattened first and its nodes are relinked individually.
+   * Those entries collided before, so they may collide again: after each one
+   * is linked, its target chain is checked and treeified if it became too
+   * long, which is what happens when the keys share one hash code and resizing
+   * cannot separate them.
+   * </p>
+   *
+   * @param bucket the head of the old bucket, possibly {@code null}
+   *
+   * @implNote Time complexity is {@code O(k)} for a chain of {@code k} entries
+   *           and {@code O(k log k)} when a tree bin is rebuilt.
+   */
+  private void moveBucket(Entry<K, V> bucket) {
+    Entry<K, V> current = bucket;
+    boolean fromTreeBin = bucket instanceof TreeBin;
+    if (bucket instanceof TreeBin<K, V> bin) {
+      current = bin.toChain();
+    }
+
+    while (current != null) {
+      Entry<K, V> next = current.next;
+      rehashedEntryCount++;
+      int newIndex = bucketIndex(current.hash, buckets.length);
+      Entry<K, V> head = buckets[newIndex];
+      if (head instanceof TreeBin<K, V> targetBin) {
+        targetBin.insert(current.hash, current.key, current.value);
+      } else {
+        current.next = head;
         buckets[newIndex] = current;
-        current = next;
+        if (fromTreeBin && chainLength(current) > TREEIFY_THRESHOLD) {
+          treeifyBucket(buckets, newIndex);
+        }
       }
+      current = next;
     }
   }
 
   /**
-   * Computes the bucket index for a key under a specific table capacity.
+   * Counts a chain, stopping one entry past {@value #TREEIFY_THRESHOLD}.
    *
-   * @param key the key whose bucket should be computed
+   * @implNote Time complexity is {@code O(1)}: at most
+   *           {@code TREEIFY_THRESHOLD + 1} steps.
+   */
+  private int chainLength(Entry<K, V> head) {
+    int length = 0;
+    for (Entry<K, V> current = head; current != null && length <= TREEIFY_THRESHOLD; current = current.next) {
+      length++;
+    }
+    return length;
+  }
+
+  /**
+   * Computes the hash code stored with a key.
+   *
+   * <p>
+   * In {@link IndexingMode#MODULO} mode this is {@link Objects#hashCode(Object)}.
+   * In {@link IndexingMode#POWER_OF_TWO} mode that value is passed through the
+   * murmur3 32-bit finalizer, a bijection in which every input bit affects
+   * every output bit. Being a bijection, it keeps distinct hash codes distinct,
+   * so the stored hash still works as a cheap pre-check before
+   * {@code equals} and as the first ordering key inside tree bins.
+   * </p>
+   *
+   * @param key the key, possibly {@code null}
+   * @return the hash code used for bucket selection and comparisons
+   *
+   * @implNote Time complexity is {@code O(1)} plus the cost of
+   *           {@code hashCode()}.
+   */
+  private int hash(Object key) {
+    int h = Objects.hashCode(key);
+    if (indexingMode == IndexingMode.MODULO) {
+      return h;
+    }
+    h ^= h >>> 16;
+    h *= 0x85ebca6b;
+    h ^= h >>> 13;
+    h *= 0xc2b2ae35;
+    h ^= h >>> 16;
+    return h;
+  }
+
+  /**
+   * Computes the bucket index for a hash code under a specific table capacity.
+   *
+   * @param hash the stored hash code, as returned by {@link #hash(Object)}
    * @param capacity the number of buckets available in the target table
    * @return the normalized bucket index in the range {@code [0, capacity)}
    *
-   * @implNote Time complexity is {@code O(1)}.
+   * @implNote Time complexity is {@code O(1)}. {@link IndexingMode#POWER_OF_TWO}
+   *           mode replaces the division with a mask.
    */
-  private int bucketIndex(K key, int capacity) {
-    return (Objects.hashCode(key) & 0x7fffffff) % capacity;
+  private int bucketIndex(int hash, int capacity) {
+    if (indexingMode == IndexingMode.POWER_OF_TWO) {
+      return hash & (capacity - 1);
+    }
+    return (hash & 0x7fffffff) % capacity;
+  }
+
+  private static int powerOfTwoAtLeast(int value) {
+    if (value >= 1 << 30) {
+      return 1 << 30;
+    }
+    return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
   }
 
 }
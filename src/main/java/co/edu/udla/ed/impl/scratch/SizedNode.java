@@ -0,0 +1,199 @@
+package co.edu.udla.ed.impl.scratch;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Common part of the nodes of {@link LinkedBinarySearchTree} and
+ * {@link LinkedAVLTree}: a value, two children, and the number of nodes in the
+ * subtree rooted at the node. The static methods answer the order queries of
+ * {@link co.edu.udla.ed.api.BinarySearchTree} for both trees from those stored
+ * sizes; each one walks a single root-to-leaf path, so it takes O(h) time for a
+ * tree of height h. The trees keep the sizes up to date themselves.
+ *
+ * @param <T> the type of the value stored in the node
+ * @param <N> the concrete node type, so that children have the same type as
+ *            their parent
+ */
+abstract class SizedNode<T, N extends SizedNode<T, N>> {
+  T value;
+  N left;
+  N right;
+  int size; // nodos del subárbol, incluido este
+
+  SizedNode(T value) {
+    this.value = value;
+    this.size = 1;
+  }
+
+  /**
+   * Returns the number of nodes in the subtree rooted at the given node, or 0
+   * if the node is null.
+   *
+   * @param node the root of the subtree
+   * @return the subtree size or 0 if null
+   */
+  static int sizeOf(SizedNode<?, ?> node) {
+    return node == null ? 0 : node.size;
+  }
+
+  /**
+   * Counts the values smaller than {@code value}, or smaller than or equal to
+   * it when {@code inclusive} is set. The method walks from the root towards
+   * {@code value}; every time it moves to a right child, the current node and
+   * its whole left subtree are below the bound, so their size is added to the
+   * result. This is {@code rank} for an exclusive bound, and
+   * {@code countInRange(low, high)} is the inclusive count up to {@code high}
+   * minus the exclusive count below {@code low}, so no value in the range is
+   * visited.
+   *
+   * @param root      the root of the tree, or null if it is empty
+   * @param value     the bound to compare with
+   * @param inclusive whether a stored value equal to {@code value} is counted
+   * @return the number of values below the bound
+   */
+  static <T extends Comparable<T>, N extends SizedNode<T, N>> int countBelow(N root, T value, boolean inclusive) {
+    int count = 0;
+    N cur = root;
+    while (cur != null) {
+      int cmp = value.compareTo(cur.value);
+      if (cmp < 0) {
+        cur = cur.left;
+      } else if (cmp > 0) {
+        count += sizeOf(cur.left) + 1;
+        cur = cur.right;
+      } else {
+        return count + sizeOf(cur.left) + (inclusive ? 1 : 0);
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Returns the value at position {@code index} in ascending order. The method
+   * compares {@code index} with the size of the left subtree at each node: a
+   * smaller index continues to the left, an equal index is the current node,
+   * and a greater index continues to the right after skipping the left subtree
+   * and the node.
+   *
+   * @param root  the root of the tree, or null if it is empty
+   * @param index the zero-based position of the value
+   * @return the {@code index}-th smallest value
+   * @throws IndexOutOfBoundsException if {@code index} is negative or not
+   *                                   smaller than the size of the tree
+   */
+  static <T, N extends SizedNode<T, N>> T select(N root, int index) {
+    int size = sizeOf(root);
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("index=" + index + ", size=" + size);
+    }
+    N cur = root;
+    int remaining = index;
+    while (true) {
+      int leftSize = sizeOf(cur.left);
+      if (remaining < leftSize) {
+        cur = cur.left;
+      } else if (remaining == leftSize) {
+        return cur.value;
+      } else {
+        remaining -= leftSize + 1;
+        cur = cur.right;
+      }
+    }
+  }
+
+  /**
+   * Returns the greatest value less than or equal to {@code value}. The method
+   * walks down as a search does and remembers the last node where it moved
+   * right, which is the best candidate seen so far.
+   *
+   * @param root  the root of the tree, or null if it is empty
+   * @param value the upper bound
+   * @return the floor of {@code value}, or {@code null} if there is none
+   */
+  static <T extends Comparable<T>, N extends SizedNode<T, N>> T floor(N root, T value) {
+    T candidate = null;
+    N cur = root;
+    while (cur != null) {
+      int cmp = value.compareTo(cur.value);
+      if (cmp == 0)
+        return cur.value;
+      if (cmp < 0) {
+        cur = cur.left;
+      } else {
+        candidate = cur.value;
+        cur = cur.right;
+      }
+    }
+    return candidate;
+  }
+
+  /**
+   * Returns the smallest value greater than or equal to {@code value}. The
+   * method mirrors {@link #floor(SizedNode, Comparable)} and remembers the last
+   * node where it moved left.
+   *
+   * @param root  the root of the tree, or null if it is empty
+   * @param value the lower bound
+   * @return the ceiling of {@code value}, or {@code null} if there is none
+   */
+  static <T extends Comparable<T>, N extends SizedNode<T, N>> T ceiling(N root, T value) {
+    T candidate = null;
+    N cur = root;
+    while (cur != null) {
+      int cmp = value.compareTo(cur.value);
+      if (cmp == 0)
+        return cur.value;
+      if (cmp > 0) {
+        cur = cur.right;
+      } else {
+        candidate = cur.value;
+        cur = cur.left;
+      }
+    }
+    return candidate;
+  }
+
+  /**
+   * Returns the values {@code v} with {@code low <= v <= high} in ascending
+   * order. The method runs an in-order traversal with an explicit stack that
+   * skips every subtree lying entirely below {@code low} and stops at the first
+   * value above {@code high}, so it takes O(h + k) time for k values in the
+   * range.
+   *
+   * @param root the root of the tree, or null if it is empty
+   * @param low  the inclusive lower bound
+   * @param high the inclusive upper bound
+   * @return a new list with the values in the range, empty if
+   *         {@code low > high}
+   */
+  static <T extends Comparable<T>, N extends SizedNode<T, N>> List<T> range(N root, T low, T high) {
+    List<T> out = new ArrayList<>();
+    if (low.compareTo(high) > 0)
+      return out;
+
+    Deque<N> stack = new ArrayDeque<>();
+    N cur = root;
+    while (true) {
+      while (cur != null) {
+        if (cur.value.compareTo(low) < 0) {
+          cur = cur.right; // todo el subárbol izquierdo es menor que low
+        } else {
+          stack.push(cur);
+          cur = cur.left;
+        }
+      }
+      if (stack.isEmpty())
+        break;
+      N next = stack.pop();
+      if (next.value.compareTo(high) > 0)
+        break;
+      out.add(next.value);
+      cur = next.right;
+    }
+    return out;
+  }
+
+}
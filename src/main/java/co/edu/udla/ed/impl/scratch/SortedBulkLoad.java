@@ -0,0 +1,111 @@
+package co.edu.udla.ed.impl.scratch;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Builds the balanced trees behind {@link LinkedBinarySearchTree#buildFromSorted}
+ * and {@link LinkedAVLTree#buildFromSorted} from values in strictly ascending
+ * order, in O(n) time. Instead of n separate insertions, each walking down the
+ * tree, the nodes are created in order: the middle value becomes the root, and
+ * the values before and after it are built the same way into its left and
+ * right subtrees, so subtree heights differ by at most one. The left subtree
+ * takes the first half of the values, the root the one after them, and the
+ * right subtree the rest, so the values are read in a single pass and the
+ * recursion depth is only O(log n). Each value is checked against the previous
+ * one as it is read.
+ */
+final class SortedBulkLoad {
+
+  private SortedBulkLoad() {
+  }
+
+  /**
+   * Returns the values as a collection, so that their count is known before
+   * the build starts. A {@link Collection} is used as it is; any other
+   * {@link Iterable} is copied into a list first.
+   *
+   * @param values the values to load
+   * @return a collection with the same values in the same order
+   * @throws NullPointerException if {@code values} is {@code null}
+   */
+  static <T> Collection<? extends T> sized(Iterable<? extends T> values) {
+    Objects.requireNonNull(values, "Values must not be null.");
+    if (values instanceof Collection<? extends T> collection) {
+      return collection;
+    }
+    List<T> copy = new ArrayList<>();
+    values.forEach(copy::add);
+    return copy;
+  }
+
+  /**
+   * Builds a balanced tree from the values. Nothing is published until the
+   * build returns, so a caller that only installs the result afterwards keeps
+   * its previous contents when the values are out of order.
+   *
+   * @param values  the values, in strictly ascending order
+   * @param newNode creates a leaf node for a value
+   * @param update  recomputes the derived fields of a node, such as its
+   *                subtree size, once both children are linked
+   * @return the root of the new tree, or null if {@code values} is empty
+   * @throws NullPointerException     if a value is {@code null}
+   * @throws IllegalArgumentException if a value is not greater than the one
+   *                                  before it
+   */
+  static <T extends Comparable<T>, N extends SizedNode<T, N>> N build(Collection<? extends T> values,
+      Function<? super T, N> newNode, Consumer<? super N> update) {
+    return buildBalanced(new SortedCursor<>(values.iterator()), values.size(), newNode, update);
+  }
+
+  /**
+   * Builds a balanced subtree from the next {@code count} values of the
+   * cursor.
+   *
+   * @param cursor  the source of the values, checked for ascending order
+   * @param count   the number of values in the subtree
+   * @param newNode creates a leaf node for a value
+   * @param update  recomputes the derived fields of a linked node
+   * @return the root of the subtree, or null if {@code count} is 0
+   */
+  private static <T extends Comparable<T>, N extends SizedNode<T, N>> N buildBalanced(SortedCursor<T> cursor,
+      int count, Function<? super T, N> newNode, Consumer<? super N> update) {
+    if (count == 0)
+      return null;
+    int leftCount = (count - 1) / 2;
+    N left = buildBalanced(cursor, leftCount, newNode, update);
+    N node = newNode.apply(cursor.next());
+    node.left = left;
+    node.right = buildBalanced(cursor, count - 1 - leftCount, newNode, update);
+    update.accept(node);
+    return node;
+  }
+
+  /**
+   * Reads the values of a bulk load and checks that each one is greater than
+   * the previous one.
+   */
+  private static final class SortedCursor<T extends Comparable<T>> {
+    private final Iterator<? extends T> values;
+    private T previous;
+
+    SortedCursor(Iterator<? extends T> values) {
+      this.values = values;
+    }
+
+    T next() {
+      T value = Objects.requireNonNull(values.next(), "Values must not contain null.");
+      if (previous != null && previous.compareTo(value) >= 0) {
+        throw new IllegalArgumentException("Values must be in strictly ascending order.");
+      }
+      previous = value;
+      return value;
+    }
+  }
+
+}
@@ -1,8 +1,17 @@
 package co.edu.udla.ed.contract;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.stream.StreamSupport;
+
 import co.edu.udla.ed.api.AVLTree;
 
 public abstract class AbstractAVLContractTest {
@@ -114,4 +123,132 @@ public abstract class AbstractAVLContractTest {
     assertThat(avl.inOrder()).isEmpty();
   }
 
+  @Test
+  void rank_and_select_should_follow_sorted_order() {
+    var avl = create();
+    for (int value : new int[] {50, 20, 70, 10, 30, 60, 80}) {
+      avl.insert(value);
+    }
+
+    assertThat(avl.rank(10)).isZero();
+    assertThat(avl.rank(30)).isEqualTo(2);
+    assertThat(avl.rank(55)).isEqualTo(4);
+    assertThat(avl.rank(99)).isEqualTo(7);
+    assertThat(avl.select(0)).isEqualTo(10);
+    assertThat(avl.select(3)).isEqualTo(50);
+    assertThat(avl.select(6)).isEqualTo(80);
+    assertThatThrownBy(() -> avl.select(7)).isInstanceOf(IndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> avl.select(-1)).isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  @Test
+  void floor_and_ceiling_should_return_nearest_values() {
+    var avl = create();
+    for (int value : new int[] {50, 20, 70, 10, 30}) {
+      avl.insert(value);
+    }
+
+    assertThat(avl.floor(30)).isEqualTo(30);
+    assertThat(avl.floor(45)).isEqualTo(30);
+    assertThat(avl.floor(5)).isNull();
+    assertThat(avl.ceiling(45)).isEqualTo(50);
+    assertThat(avl.ceiling(10)).isEqualTo(10);
+    assertThat(avl.ceiling(71)).isNull();
+  }
+
+  @Test
+  void range_queries_should_include_both_bounds() {
+    var avl = create();
+    for (int value = 1; value <= 20; value++) {
+      avl.insert(value * 5);
+    }
+
+    assertThat(avl.countInRange(10, 30)).isEqualTo(5);
+    assertThat(avl.range(10, 30)).containsExactly(10, 15, 20, 25, 30);
+    assertThat(avl.countInRange(11, 29)).isEqualTo(3);
+    assertThat(avl.range(11, 29)).containsExactly(15, 20, 25);
+    assertThat(avl.countInRange(30, 10)).isZero();
+    assertThat(avl.range(30, 10)).isEmpty();
+    assertThat(avl.countInRange(0, 1_000)).isEqualTo(20);
+  }
+
+  @Test
+  void order_queries_should_track_inserts_and_removals() {
+    var avl = create();
+    TreeSet<Integer> expected = new TreeSet<>();
+    Random random = new Random(21L);
+    for (int i = 0; i < 2_000; i++) {
+      int value = random.nextInt(300);
+      if (random.nextInt(3) == 0) {
+        avl.remove(value);
+        expected.remove(value);
+      } else {
+        avl.insert(value);
+        expected.add(value);
+      }
+      if (i % 50 == 0 && !expected.isEmpty()) {
+        int probe = random.nextInt(320) - 10;
+        int index = random.nextInt(expected.size());
+        List<Integer> sorted = new ArrayList<>(expected);
+        List<Integer> inRange = new ArrayList<>(expected.subSet(probe, true, probe + 40, true));
+        assertThat(avl.rank(probe)).isEqualTo(expected.headSet(probe).size());
+        assertThat(avl.select(index)).isEqualTo(sorted.get(index));
+        assertThat(avl.floor(probe)).isEqualTo(expected.floor(probe));
+        assertThat(avl.ceiling(probe)).isEqualTo(expected.ceiling(probe));
+        assertThat(avl.countInRange(probe, probe + 40)).isEqualTo(inRange.size());
+        assertThat(avl.range(probe, probe + 40)).isEqualTo(inRange);
+      }
+    }
+  }
+
+  @Test
+  void iterators_should_visit_values_in_both_orders() {
+    var avl = create();
+    for (int value : new int[] {40, 20, 60, 10, 30, 50, 70}) {
+      avl.insert(value);
+    }
+
+    List<Integer> ascending = new ArrayList<>();
+    avl.forEach(ascending::add);
+    List<Integer> descending = new ArrayList<>();
+    avl.descendingIterator().forEachRemaining(descending::add);
+
+    assertThat(ascending).containsExactly(10, 20, 30, 40, 50, 60, 70);
+    assertThat(descending).containsExactly(70, 60, 50, 40, 30, 20, 10);
+    assertThat(StreamSupport.stream(avl.spliterator(), false).mapToInt(Integer::intValue).sum()).isEqualTo(280);
+    assertThat(avl.spliterator().getExactSizeIfKnown()).isEqualTo(7);
+  }
+
+  @Test
+  void iteratorFrom_should_start_at_the_ceiling_and_allow_early_exit() {
+    var avl = create();
+    for (int value = 1; value <= 100; value++) {
+      avl.insert(value * 2);
+    }
+
+    Iterator<Integer> fromPresent = avl.iteratorFrom(50);
+    assertThat(fromPresent.next()).isEqualTo(50);
+    assertThat(fromPresent.next()).isEqualTo(52);
+
+    Iterator<Integer> fromAbsent = avl.iteratorFrom(51);
+    assertThat(fromAbsent.next()).isEqualTo(52);
+
+    Iterator<Integer> fromLast = avl.iteratorFrom(199);
+    assertThat(fromLast.next()).isEqualTo(200);
+    assertThat(fromLast.hasNext()).isFalse();
+    assertThatThrownBy(fromLast::next).isInstanceOf(NoSuchElementException.class);
+
+    assertThat(avl.iteratorFrom(201).hasNext()).isFalse();
+    assertThat(avl.iteratorFrom(-5).next()).isEqualTo(2);
+  }
+
+  @Test
+  void iterators_of_empty_tree_should_have_no_values() {
+    var avl = create();
+
+    assertThat(avl.iterator().hasNext()).isFalse();
+    assertThat(avl.descendingIterator().hasNext()).isFalse();
+    assertThat(avl.iteratorFrom(0).hasNext()).isFalse();
+  }
+
 }
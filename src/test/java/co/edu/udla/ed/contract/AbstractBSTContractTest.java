@@ -1,8 +1,17 @@
 package co.edu.udla.ed.contract;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.stream.StreamSupport;
+
 import co.edu.udla.ed.api.BinarySearchTree;
 
 public abstract class AbstractBSTContractTest {
@@ -88,4 +97,132 @@ public abstract class AbstractBSTContractTest {
     assertThat(bst.inOrder()).isEmpty();
   }
 
+  @Test
+  void rank_and_select_should_follow_sorted_order() {
+    var bst = create();
+    for (int value : new int[] {50, 20, 70, 10, 30, 60, 80}) {
+      bst.insert(value);
+    }
+
+    assertThat(bst.rank(10)).isZero();
+    assertThat(bst.rank(30)).isEqualTo(2);
+    assertThat(bst.rank(55)).isEqualTo(4);
+    assertThat(bst.rank(99)).isEqualTo(7);
+    assertThat(bst.select(0)).isEqualTo(10);
+    assertThat(bst.select(3)).isEqualTo(50);
+    assertThat(bst.select(6)).isEqualTo(80);
+    assertThatThrownBy(() -> bst.select(7)).isInstanceOf(IndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> bst.select(-1)).isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  @Test
+  void floor_and_ceiling_should_return_nearest_values() {
+    var bst = create();
+    for (int value : new int[] {50, 20, 70, 10, 30}) {
+      bst.insert(value);
+    }
+
+    assertThat(bst.floor(30)).isEqualTo(30);
+    assertThat(bst.floor(45)).isEqualTo(30);
+    assertThat(bst.floor(5)).isNull();
+    assertThat(bst.ceiling(45)).isEqualTo(50);
+    assertThat(bst.ceiling(10)).isEqualTo(10);
+    assertThat(bst.ceiling(71)).isNull();
+  }
+
+  @Test
+  void range_queries_should_include_both_bounds() {
+    var bst = create();
+    for (int value = 1; value <= 20; value++) {
+      bst.insert(value * 5);
+    }
+
+    assertThat(bst.countInRange(10, 30)).isEqualTo(5);
+    assertThat(bst.range(10, 30)).containsExactly(10, 15, 20, 25, 30);
+    assertThat(bst.countInRange(11, 29)).isEqualTo(3);
+    assertThat(bst.range(11, 29)).containsExactly(15, 20, 25);
+    assertThat(bst.countInRange(30, 10)).isZero();
+    assertThat(bst.range(30, 10)).isEmpty();
+    assertThat(bst.countInRange(0, 1_000)).isEqualTo(20);
+  }
+
+  @Test
+  void order_queries_should_track_inserts_and_removals() {
+    var bst = create();
+    TreeSet<Integer> expected = new TreeSet<>();
+    Random random = new Random(21L);
+    for (int i = 0; i < 2_000; i++) {
+      int value = random.nextInt(300);
+      if (random.nextInt(3) == 0) {
+        bst.remove(value);
+        expected.remove(value);
+      } else {
+        bst.insert(value);
+        expected.add(value);
+      }
+      if (i % 50 == 0 && !expected.isEmpty()) {
+        int probe = random.nextInt(320) - 10;
+        int index = random.nextInt(expected.size());
+        List<Integer> sorted = new ArrayList<>(expected);
+        List<Integer> inRange = new ArrayList<>(expected.subSet(probe, true, probe + 40, true));
+        assertThat(bst.rank(probe)).isEqualTo(expected.headSet(probe).size());
+        assertThat(bst.select(index)).isEqualTo(sorted.get(index));
+        assertThat(bst.floor(probe)).isEqualTo(expected.floor(probe));
+        assertThat(bst.ceiling(probe)).isEqualTo(expected.ceiling(probe));
+        assertThat(bst.countInRange(probe, probe + 40)).isEqualTo(inRange.size());
+        assertThat(bst.range(probe, probe + 40)).isEqualTo(inRange);
+      }
+    }
+  }
+
+  @Test
+  void iterators_should_visit_values_in_both_orders() {
+    var bst = create();
+    for (int value : new int[] {40, 20, 60, 10, 30, 50, 70}) {
+      bst.insert(value);
+    }
+
+    List<Integer> ascending = new ArrayList<>();
+    bst.forEach(ascending::add);
+    List<Integer> descending = new ArrayList<>();
+    bst.descendingIterator().forEachRemaining(descending::add);
+
+    assertThat(ascending).containsExactly(10, 20, 30, 40, 50, 60, 70);
+    assertThat(descending).containsExactly(70, 60, 50, 40, 30, 20, 10);
+    assertThat(StreamSupport.stream(bst.spliterator(), false).mapToInt(Integer::intValue).sum()).isEqualTo(280);
+    assertThat(bst.spliterator().getExactSizeIfKnown()).isEqualTo(7);
+  }
+
+  @Test
+  void iteratorFrom_should_start_at_the_ceiling_and_allow_early_exit() {
+    var bst = create();
+    for (int value = 1; value <= 100; value++) {
+      bst.insert(value * 2);
+    }
+
+    Iterator<Integer> fromPresent = bst.iteratorFrom(50);
+    assertThat(fromPresent.next()).isEqualTo(50);
+    assertThat(fromPresent.next()).isEqualTo(52);
+
+    Iterator<Integer> fromAbsent = bst.iteratorFrom(51);
+    assertThat(fromAbsent.next()).isEqualTo(52);
+
+    Iterator<Integer> fromLast = bst.iteratorFrom(199);
+    assertThat(fromLast.next()).isEqualTo(200);
+    assertThat(fromLast.hasNext()).isFalse();
+    assertThatThrownBy(fromLast::next).isInstanceOf(NoSuchElementException.class);
+
+    assertThat(bst.iteratorFrom(201).hasNext()).isFalse();
+    assertThat(bst.iteratorFrom(-5).next()).isEqualTo(2);
+  }
+
+  @Test
+  void iterators_of_empty_tree_should_have_no_values() {
+    var bst = create();
+
+    assertThat(bst.iterator().hasNext()).isFalse();
+    assertThat(bst.descendingIterator().hasNext()).isFalse();
+    assertThat(bst.iteratorFrom(0).hasNext()).isFalse();
+  }
+
 }
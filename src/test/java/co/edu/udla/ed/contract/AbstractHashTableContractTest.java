@@ -1,6 +1,14 @@
 package co.edu.udla.ed.contract;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 import org.junit.jupiter.api.Test;
 
 import co.edu.udla.ed.api.HashTable;
@@ -73,4 +81,163 @@ public abstract class AbstractHashTableContractTest {
     assertThat(table.containsKey("B")).isFalse();
   }
 
+  @Test
+  void iterator_should_visit_every_entry_once() {
+    var table = create();
+    table.put("A", 10);
+    table.put("B", 20);
+    table.put("C", null);
+
+    Map<String, Integer> seen = new HashMap<>();
+    for (Map.Entry<String, Integer> entry : table) {
+      assertThat(seen.containsKey(entry.getKey())).isFalse();
+      seen.put(entry.getKey(), entry.getValue());
+    }
+
+    assertThat(seen).hasSize(3);
+    assertThat(seen).containsEntry("A", 10);
+    assertThat(seen).containsEntry("B", 20);
+    assertThat(seen).containsKey("C");
+  }
+
+  @Test
+  void for_each_should_pass_every_pair() {
+    var table = create();
+    for (int i = 0; i < 100; i++) {
+      table.put("K" + i, i);
+    }
+
+    List<String> keys = new ArrayList<>();
+    int[] sum = new int[1];
+    table.forEach((key, value) -> {
+      keys.add(key);
+      sum[0] += value;
+    });
+
+    assertThat(keys).hasSize(100);
+    assertThat(sum[0]).isEqualTo(4950);
+  }
+
+  @Test
+  void put_all_should_copy_and_overwrite() {
+    var table = create();
+    table.put("A", 1);
+    table.put("B", 2);
+    var source = create();
+    source.put("B", 20);
+    for (int i = 0; i < 50; i++) {
+      source.put("S" + i, i);
+    }
+
+    table.putAll(source);
+
+    assertThat(table.size()).isEqualTo(52);
+    assertThat(table.get("A")).isEqualTo(1);
+    assertThat(table.get("B")).isEqualTo(20);
+    assertThat(table.get("S49")).isEqualTo(49);
+    assertThat(source.size()).isEqualTo(51);
+  }
+
+  @Test
+  void get_all_should_return_present_keys_in_request_order() {
+    var table = create();
+    table.put("A", 10);
+    table.put("B", null);
+    table.put("C", 30);
+
+    Map<String, Integer> found = table.getAll(List.of("C", "missing", "B", "A"));
+
+    assertThat(new ArrayList<>(found.keySet())).containsExactly("C", "B", "A");
+    assertThat(found).containsEntry("C", 30);
+    assertThat(found).containsEntry("B", null);
+  }
+
+  @Test
+  void parallel_stream_should_see_every_entry() {
+    var table = create();
+    for (int i = 0; i < 1_000; i++) {
+      table.put("K" + i, i);
+    }
+
+    Map<String, Integer> collected = StreamSupport.stream(table.spliterator(), true)
+        .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+
+    assertThat(collected).hasSize(1_000);
+    assertThat(collected).containsEntry("K999", 999);
+  }
+
+  @Test
+  void get_or_default_should_only_fall_back_for_missing_keys() {
+    var table = create();
+    table.put("A", 1);
+    table.put("B", null);
+
+    assertThat(table.getOrDefault("A", 0)).isEqualTo(1);
+    assertThat(table.getOrDefault("B", 0)).isNull();
+    assertThat(table.getOrDefault("missing", 0)).isZero();
+  }
+
+  @Test
+  void compute_if_absent_should_only_call_the_function_for_missing_keys() {
+    var table = create();
+    table.put("A", 1);
+    table.put("B", null);
+
+    assertThat(table.computeIfAbsent("A", key -> 100)).isEqualTo(1);
+    assertThat(table.computeIfAbsent("B", key -> 2)).isEqualTo(2);
+    assertThat(table.computeIfAbsent("C", String::length)).isEqualTo(1);
+    assertThat(table.computeIfAbsent("D", key -> null)).isNull();
+
+    assertThat(table.get("B")).isEqualTo(2);
+    assertThat(table.get("C")).isEqualTo(1);
+    assertThat(table.containsKey("D")).isFalse();
+    assertThat(table.size()).isEqualTo(3);
+  }
+
+  @Test
+  void compute_should_insert_update_and_remove() {
+    var table = create();
+
+    assertThat(table.compute("A", (key, value) -> value == null ? 1 : value + 1)).isEqualTo(1);
+    assertThat(table.compute("A", (key, value) -> value == null ? 1 : value + 1)).isEqualTo(2);
+    assertThat(table.compute("missing", (key, value) -> null)).isNull();
+    assertThat(table.size()).isEqualTo(1);
+
+    assertThat(table.compute("A", (key, value) -> null)).isNull();
+    assertThat(table.containsKey("A")).isFalse();
+    assertThat(table.isEmpty()).isTrue();
+  }
+
+  @Test
+  void merge_should_combine_with_the_current_value() {
+    var table = create();
+    table.put("B", null);
+
+    assertThat(table.merge("A", 5, Integer::sum)).isEqualTo(5);
+    assertThat(table.merge("A", 7, Integer::sum)).isEqualTo(12);
+    assertThat(table.merge("B", 3, Integer::sum)).isEqualTo(3);
+    assertThat(table.merge("A", 1, (current, value) -> null)).isNull();
+
+    assertThat(table.containsKey("A")).isFalse();
+    assertThat(table.get("B")).isEqualTo(3);
+    assertThatThrownBy(() -> table.merge("C", null, Integer::sum))
+        .isInstanceOf(NullPointerException.class);
+  }
+
+  @Test
+  void merge_should_count_occurrences_across_growth() {
+    var table = create();
+    Map<String, Integer> expected = new HashMap<>();
+    for (int i = 0; i < 5_000; i++) {
+      String key = "K" + (i * 31 % 1_200);
+      table.merge(key, 1, Integer::sum);
+      expected.merge(key, 1, Integer::sum);
+    }
+
+    assertThat(table.size()).isEqualTo(expected.size());
+    for (Map.Entry<String, Integer> entry : expected.entrySet()) {
+      assertThat(table.get(entry.getKey())).isEqualTo(entry.getValue());
+    }
+  }
+
 }
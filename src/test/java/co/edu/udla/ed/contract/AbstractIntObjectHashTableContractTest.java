@@ -0,0 +1,121 @@
+package co.edu.udla.ed.contract;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+
+import co.edu.udla.ed.api.IntObjectHashTable;
+
+public abstract class AbstractIntObjectHashTableContractTest {
+
+  protected abstract IntObjectHashTable<String> create();
+
+  @Test
+  void starts_empty() {
+    var table = create();
+
+    assertThat(table.isEmpty()).isTrue();
+    assertThat(table.size()).isZero();
+    assertThat(table.get(42)).isNull();
+    assertThat(table.remove(42)).isNull();
+  }
+
+  @Test
+  void put_get_contains_should_work() {
+    var table = create();
+
+    assertThat(table.put(1, "A")).isNull();
+    assertThat(table.put(2, "B")).isNull();
+
+    assertThat(table.size()).isEqualTo(2);
+    assertThat(table.containsKey(1)).isTrue();
+    assertThat(table.containsKey(2)).isTrue();
+    assertThat(table.containsKey(3)).isFalse();
+    assertThat(table.get(1)).isEqualTo("A");
+    assertThat(table.get(2)).isEqualTo("B");
+    assertThat(table.get(3)).isNull();
+  }
+
+  @Test
+  void put_existing_key_should_overwrite_without_growing() {
+    var table = create();
+
+    assertThat(table.put(1, "A")).isNull();
+    assertThat(table.put(1, "Z")).isEqualTo("A");
+
+    assertThat(table.size()).isEqualTo(1);
+    assertThat(table.get(1)).isEqualTo("Z");
+  }
+
+  @Test
+  void remove_should_delete_entry() {
+    var table = create();
+    table.put(1, "A");
+    table.put(2, "B");
+
+    assertThat(table.remove(1)).isEqualTo("A");
+    assertThat(table.remove(1)).isNull();
+    assertThat(table.containsKey(1)).isFalse();
+    assertThat(table.get(1)).isNull();
+    assertThat(table.size()).isEqualTo(1);
+  }
+
+  @Test
+  void clear_should_reset() {
+    var table = create();
+    table.put(1, "A");
+    table.put(0, "ZERO");
+
+    table.clear();
+
+    assertThat(table.isEmpty()).isTrue();
+    assertThat(table.get(1)).isNull();
+    assertThat(table.containsKey(0)).isFalse();
+  }
+
+  @Test
+  void zero_negative_and_extreme_keys_should_be_regular_keys() {
+    var table = create();
+
+    table.put(0, "ZERO");
+    table.put(-1, "MINUS_ONE");
+    table.put(Integer.MIN_VALUE, "MIN");
+    table.put(Integer.MAX_VALUE, "MAX");
+
+    assertThat(table.size()).isEqualTo(4);
+    assertThat(table.get(0)).isEqualTo("ZERO");
+    assertThat(table.get(-1)).isEqualTo("MINUS_ONE");
+    assertThat(table.get(Integer.MIN_VALUE)).isEqualTo("MIN");
+    assertThat(table.get(Integer.MAX_VALUE)).isEqualTo("MAX");
+    assertThat(table.remove(0)).isEqualTo("ZERO");
+    assertThat(table.containsKey(0)).isFalse();
+    assertThat(table.size()).isEqualTo(3);
+  }
+
+  @Test
+  void null_values_should_still_count_as_present() {
+    var table = create();
+
+    table.put(7, null);
+
+    assertThat(table.containsKey(7)).isTrue();
+    assertThat(table.size()).isEqualTo(1);
+  }
+
+  @Test
+  void growing_and_shrinking_should_preserve_entries() {
+    var table = create();
+
+    for (int i = 0; i < 1_000; i++) {
+      table.put(i * 31, "V" + i);
+    }
+    for (int i = 0; i < 1_000; i += 2) {
+      assertThat(table.remove(i * 31)).isEqualTo("V" + i);
+    }
+
+    assertThat(table.size()).isEqualTo(500);
+    for (int i = 0; i < 1_000; i++) {
+      assertThat(table.get(i * 31)).isEqualTo(i % 2 == 0 ? null : "V" + i);
+    }
+  }
+
+}
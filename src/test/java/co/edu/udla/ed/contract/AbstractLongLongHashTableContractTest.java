@@ -0,0 +1,127 @@
+package co.edu.udla.ed.contract;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+
+import co.edu.udla.ed.api.LongLongHashTable;
+
+public abstract class AbstractLongLongHashTableContractTest {
+
+  protected static final long MISSING = -1L;
+
+  /**
+   * Creates an empty table that reports {@link #MISSING} for absent keys.
+   */
+  protected abstract LongLongHashTable create();
+
+  @Test
+  void starts_empty() {
+    var table = create();
+
+    assertThat(table.isEmpty()).isTrue();
+    assertThat(table.size()).isZero();
+    assertThat(table.missingValue()).isEqualTo(MISSING);
+    assertThat(table.get(42L)).isEqualTo(MISSING);
+    assertThat(table.remove(42L)).isEqualTo(MISSING);
+  }
+
+  @Test
+  void put_get_contains_should_work() {
+    var table = create();
+
+    assertThat(table.put(1L, 10L)).isEqualTo(MISSING);
+    assertThat(table.put(2L, 20L)).isEqualTo(MISSING);
+
+    assertThat(table.size()).isEqualTo(2);
+    assertThat(table.containsKey(1L)).isTrue();
+    assertThat(table.containsKey(2L)).isTrue();
+    assertThat(table.containsKey(3L)).isFalse();
+    assertThat(table.get(1L)).isEqualTo(10L);
+    assertThat(table.get(2L)).isEqualTo(20L);
+    assertThat(table.get(3L)).isEqualTo(MISSING);
+  }
+
+  @Test
+  void put_existing_key_should_overwrite_without_growing() {
+    var table = create();
+
+    assertThat(table.put(1L, 10L)).isEqualTo(MISSING);
+    assertThat(table.put(1L, 99L)).isEqualTo(10L);
+
+    assertThat(table.size()).isEqualTo(1);
+    assertThat(table.get(1L)).isEqualTo(99L);
+  }
+
+  @Test
+  void remove_should_delete_entry() {
+    var table = create();
+    table.put(1L, 10L);
+    table.put(2L, 20L);
+
+    assertThat(table.remove(1L)).isEqualTo(10L);
+    assertThat(table.remove(1L)).isEqualTo(MISSING);
+    assertThat(table.containsKey(1L)).isFalse();
+    assertThat(table.size()).isEqualTo(1);
+  }
+
+  @Test
+  void clear_should_reset() {
+    var table = create();
+    table.put(1L, 10L);
+    table.put(0L, 5L);
+
+    table.clear();
+
+    assertThat(table.isEmpty()).isTrue();
+    assertThat(table.get(1L)).isEqualTo(MISSING);
+    assertThat(table.get(0L)).isEqualTo(MISSING);
+    assertThat(table.containsKey(0L)).isFalse();
+  }
+
+  @Test
+  void zero_negative_and_extreme_keys_should_be_regular_keys() {
+    var table = create();
+
+    table.put(0L, 1L);
+    table.put(-1L, 2L);
+    table.put(Long.MIN_VALUE, 3L);
+    table.put(Long.MAX_VALUE, 4L);
+
+    assertThat(table.size()).isEqualTo(4);
+    assertThat(table.get(0L)).isEqualTo(1L);
+    assertThat(table.get(-1L)).isEqualTo(2L);
+    assertThat(table.get(Long.MIN_VALUE)).isEqualTo(3L);
+    assertThat(table.get(Long.MAX_VALUE)).isEqualTo(4L);
+    assertThat(table.remove(0L)).isEqualTo(1L);
+    assertThat(table.get(0L)).isEqualTo(MISSING);
+  }
+
+  @Test
+  void storing_the_sentinel_should_be_distinguishable_with_contains() {
+    var table = create();
+
+    table.put(5L, MISSING);
+
+    assertThat(table.get(5L)).isEqualTo(MISSING);
+    assertThat(table.containsKey(5L)).isTrue();
+    assertThat(table.containsKey(6L)).isFalse();
+  }
+
+  @Test
+  void growing_and_shrinking_should_preserve_entries() {
+    var table = create();
+
+    for (long i = 0; i < 1_000; i++) {
+      table.put(i << 32, i);
+    }
+    for (long i = 0; i < 1_000; i += 2) {
+      assertThat(table.remove(i << 32)).isEqualTo(i);
+    }
+
+    assertThat(table.size()).isEqualTo(500);
+    for (long i = 0; i < 1_000; i++) {
+      assertThat(table.get(i << 32)).isEqualTo(i % 2 == 0 ? MISSING : i);
+    }
+  }
+
+}
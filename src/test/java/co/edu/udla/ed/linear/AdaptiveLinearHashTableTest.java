@@ -0,0 +1,70 @@
+package co.edu.udla.ed.linear;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import co.edu.udla.ed.api.HashTable;
+import co.edu.udla.ed.contract.AbstractHashTableContractTest;
+import co.edu.udla.ed.impl.linear.LinearHashTable;
+import co.edu.udla.ed.impl.linear.LinearHashTable.LookupMode;
+
+class AdaptiveLinearHashTableTest extends AbstractHashTableContractTest {
+
+  @Override
+  protected HashTable<String, Integer> create() {
+    // A tiny threshold makes the contract tests run against the hash index.
+    return new LinearHashTable<>(LookupMode.ADAPTIVE, 2);
+  }
+
+  @Test
+  void constructor_should_reject_non_positive_threshold() {
+    assertThatThrownBy(() -> new LinearHashTable<String, Integer>(LookupMode.ADAPTIVE, 0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void indexed_table_should_keep_insertion_order_across_removals() {
+    LinearHashTable<Integer, Integer> table = new LinearHashTable<>(LookupMode.ADAPTIVE);
+    for (int i = 0; i < 1_000; i++) {
+      table.put(i, i);
+    }
+    for (int i = 0; i < 1_000; i += 2) {
+      assertThat(table.remove(i)).isEqualTo(i);
+    }
+    table.put(1, -1);
+    table.put(5_000, 5_000);
+
+    List<Integer> keys = new ArrayList<>();
+    for (Map.Entry<Integer, Integer> entry : table) {
+      keys.add(entry.getKey());
+    }
+    assertThat(table.size()).isEqualTo(501);
+    assertThat(keys.get(0)).isEqualTo(1);
+    assertThat(keys.get(1)).isEqualTo(3);
+    assertThat(keys.get(500)).isEqualTo(5_000);
+    assertThat(table.get(1)).isEqualTo(-1);
+    assertThat(table.containsKey(998)).isFalse();
+  }
+
+  @Test
+  void shrinking_below_the_threshold_should_return_to_scanning() {
+    LinearHashTable<String, Integer> table = new LinearHashTable<>(LookupMode.ADAPTIVE, 4);
+    for (int i = 0; i < 10; i++) {
+      table.put("K" + i, i);
+    }
+    for (int i = 0; i < 9; i++) {
+      table.remove("K" + i);
+    }
+    table.put("K0", 0);
+
+    assertThat(table.size()).isEqualTo(2);
+    assertThat(table.get("K9")).isEqualTo(9);
+    assertThat(table.get("K0")).isZero();
+  }
+
+}
@@ -1,5 +1,13 @@
 package co.edu.udla.ed.linear;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
 import co.edu.udla.ed.api.AVLTree;
 import co.edu.udla.ed.contract.AbstractAVLContractTest;
 import co.edu.udla.ed.impl.linear.LinearAVLTree;
@@ -11,4 +19,36 @@ public class LinearAVLTreeTest extends AbstractAVLContractTest {
     return new LinearAVLTree<>();
   }
 
+  @Test
+  void insertAll_should_match_repeated_single_insertions() {
+    Random random = new Random(19L);
+    LinearAVLTree<Integer> merged = new LinearAVLTree<>();
+    LinearAVLTree<Integer> single = new LinearAVLTree<>();
+    for (int round = 0; round < 5; round++) {
+      List<Integer> batch = new ArrayList<>();
+      for (int i = 0; i < 200; i++) {
+        batch.add(random.nextInt(500));
+      }
+      merged.insertAll(batch);
+      for (Integer value : batch) {
+        single.insert(value);
+      }
+      single.remove(batch.get(0));
+      merged.remove(batch.get(0));
+    }
+
+    assertThat(merged.inOrder()).isEqualTo(single.inOrder());
+    assertThat(merged.height()).isEqualTo(single.height());
+  }
+
+  @Test
+  void insertAll_with_no_values_should_leave_tree_unchanged() {
+    LinearAVLTree<Integer> avl = new LinearAVLTree<>();
+    avl.insert(3);
+
+    avl.insertAll(Collections.emptyList());
+
+    assertThat(avl.inOrder()).containsExactly(3);
+  }
+
 }
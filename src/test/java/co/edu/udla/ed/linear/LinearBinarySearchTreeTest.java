@@ -1,5 +1,12 @@
 package co.edu.udla.ed.linear;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
 import co.edu.udla.ed.api.BinarySearchTree;
 import co.edu.udla.ed.contract.AbstractBSTContractTest;
 import co.edu.udla.ed.impl.linear.LinearBinarySearchTree;
@@ -11,4 +18,29 @@ public class LinearBinarySearchTreeTest extends AbstractBSTContractTest {
     return new LinearBinarySearchTree<>();
   }
 
+  @Test
+  void insertAll_should_merge_unsorted_values_and_ignore_duplicates() {
+    LinearBinarySearchTree<Integer> bst = new LinearBinarySearchTree<>();
+    bst.insert(5);
+    bst.insert(1);
+    bst.insert(9);
+
+    bst.insertAll(List.of(7, 3, 5, 11, 3, 0, 9));
+
+    assertThat(bst.inOrder()).containsExactly(0, 1, 3, 5, 7, 9, 11);
+    assertThat(bst.size()).isEqualTo(7);
+    assertThat(bst.contains(7)).isTrue();
+    assertThat(bst.contains(4)).isFalse();
+  }
+
+  @Test
+  void insertAll_should_reject_null_values() {
+    LinearBinarySearchTree<Integer> bst = new LinearBinarySearchTree<>();
+    bst.insert(2);
+
+    assertThatThrownBy(() -> bst.insertAll(Arrays.asList(1, null)))
+        .isInstanceOf(NullPointerException.class);
+    assertThat(bst.inOrder()).containsExactly(2);
+  }
+
 }
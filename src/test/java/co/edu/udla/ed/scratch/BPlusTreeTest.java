@@ -0,0 +1,97 @@
+package co.edu.udla.ed.scratch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import co.edu.udla.ed.api.BinarySearchTree;
+import co.edu.udla.ed.contract.AbstractBSTContractTest;
+import co.edu.udla.ed.impl.scratch.BPlusTree;
+
+class BPlusTreeTest extends AbstractBSTContractTest {
+
+  @Override
+  protected BinarySearchTree<Integer> create() {
+    // Un fanout pequeño obliga a dividir y fusionar nodos en los tests del contrato.
+    return new BPlusTree<>(4);
+  }
+
+  @Test
+  void constructor_should_reject_fanout_below_three() {
+    assertThat(new BPlusTree<Integer>().fanout()).isEqualTo(BPlusTree.DEFAULT_FANOUT);
+    assertThat(new BPlusTree<Integer>(3).fanout()).isEqualTo(3);
+    assertThatThrownBy(() -> new BPlusTree<Integer>(2)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void height_should_grow_with_the_logarithm_in_base_fanout() {
+    BPlusTree<Integer> tree = new BPlusTree<>(16);
+    for (int i = 0; i < 15; i++) {
+      tree.insert(i);
+    }
+    assertThat(tree.height()).isEqualTo(1);
+
+    for (int i = 15; i < 100_000; i++) {
+      tree.insert(i);
+    }
+    // Cada nodo no raíz tiene al menos 8 hijos, así que bastan 6 niveles.
+    assertThat(tree.height()).isBetween(5, 6);
+
+    for (int i = 0; i < 100_000; i++) {
+      tree.remove(i);
+    }
+    assertThat(tree.isEmpty()).isTrue();
+    assertThat(tree.height()).isZero();
+  }
+
+  @Test
+  void random_updates_should_match_a_sorted_set_for_every_fanout() {
+    for (int fanout : new int[] {3, 4, 5, 8, 64}) {
+      BPlusTree<Integer> tree = new BPlusTree<>(fanout);
+      TreeSet<Integer> expected = new TreeSet<>();
+      Random random = new Random(fanout);
+      for (int i = 0; i < 20_000; i++) {
+        int value = random.nextInt(2_000);
+        if (random.nextInt(5) < 3) {
+          tree.insert(value);
+          expected.add(value);
+        } else {
+          assertThat(tree.remove(value)).isEqualTo(expected.remove(value));
+        }
+      }
+
+      List<Integer> descending = new ArrayList<>();
+      tree.descendingIterator().forEachRemaining(descending::add);
+      assertThat(tree.inOrder()).isEqualTo(new ArrayList<>(expected));
+      assertThat(descending).isEqualTo(new ArrayList<>(expected.descendingSet()));
+      assertThat(tree.size()).isEqualTo(expected.size());
+      assertThat(tree.select(expected.size() - 1)).isEqualTo(expected.last());
+    }
+  }
+
+  @Test
+  void range_iteration_should_cross_leaf_boundaries() {
+    BPlusTree<Integer> tree = new BPlusTree<>(3);
+    for (int value = 0; value < 1_000; value += 3) {
+      tree.insert(value);
+    }
+
+    assertThat(tree.range(100, 130)).containsExactly(102, 105, 108, 111, 114, 117, 120, 123, 126, 129);
+    assertThat(tree.countInRange(100, 130)).isEqualTo(10);
+
+    Iterator<Integer> iterator = tree.iteratorFrom(995);
+    assertThat(iterator.next()).isEqualTo(996);
+    assertThat(iterator.next()).isEqualTo(999);
+    assertThat(iterator.hasNext()).isFalse();
+    assertThat(tree.floor(1)).isZero();
+    assertThat(tree.ceiling(998)).isEqualTo(999);
+    assertThat(tree.floor(-1)).isNull();
+  }
+
+}
@@ -0,0 +1,63 @@
+package co.edu.udla.ed.scratch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.Test;
+
+import co.edu.udla.ed.impl.scratch.BloomFilter;
+
+class BloomFilterTest {
+
+  @Test
+  void added_elements_should_always_be_reported() {
+    BloomFilter<String> filter = new BloomFilter<>(1_000, 0.01);
+    for (int i = 0; i < 1_000; i++) {
+      filter.add("key-" + i);
+    }
+    filter.add(null);
+
+    for (int i = 0; i < 1_000; i++) {
+      assertThat(filter.mightContain("key-" + i)).isTrue();
+    }
+    assertThat(filter.mightContain(null)).isTrue();
+    assertThat(filter.insertionCount()).isEqualTo(1_001);
+  }
+
+  @Test
+  void false_positive_rate_should_stay_near_the_target() {
+    BloomFilter<Integer> filter = new BloomFilter<>(10_000, 0.01);
+    for (int i = 0; i < 10_000; i++) {
+      filter.add(i);
+    }
+
+    int falsePositives = 0;
+    for (int i = 10_000; i < 110_000; i++) {
+      if (filter.mightContain(i)) {
+        falsePositives++;
+      }
+    }
+
+    assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+    assertThat(filter.hashCount()).isEqualTo(7);
+    assertThat(filter.expectedFalsePositiveRate()).isLessThan(0.011);
+  }
+
+  @Test
+  void clear_should_forget_every_element() {
+    BloomFilter<String> filter = new BloomFilter<>(100, 0.01);
+    filter.add("A");
+
+    filter.clear();
+
+    assertThat(filter.mightContain("A")).isFalse();
+    assertThat(filter.insertionCount()).isZero();
+  }
+
+  @Test
+  void constructor_should_reject_invalid_settings() {
+    assertThatThrownBy(() -> new BloomFilter<String>(0, 0.01)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new BloomFilter<String>(100, 0.0)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new BloomFilter<String>(100, 1.0)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+}
@@ -0,0 +1,80 @@
+package co.edu.udla.ed.scratch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.Test;
+
+import co.edu.udla.ed.api.HashTable;
+import co.edu.udla.ed.contract.AbstractHashTableContractTest;
+import co.edu.udla.ed.impl.scratch.BloomFilteredHashTable;
+import co.edu.udla.ed.impl.scratch.SeparateChainingHashTable;
+
+class BloomFilteredHashTableTest extends AbstractHashTableContractTest {
+
+  @Override
+  protected HashTable<String, Integer> create() {
+    return new BloomFilteredHashTable<>(new SeparateChainingHashTable<>());
+  }
+
+  @Test
+  void lookups_of_absent_keys_should_mostly_skip_the_wrapped_table() {
+    BloomFilteredHashTable<Integer, Integer> table = new BloomFilteredHashTable<>(new SeparateChainingHashTable<>());
+    for (int i = 0; i < 10_000; i++) {
+      table.put(i, i);
+    }
+    table.resetStatistics();
+
+    for (int i = 10_000; i < 20_000; i++) {
+      assertThat(table.get(i)).isNull();
+    }
+    for (int i = 0; i < 100; i++) {
+      assertThat(table.get(i)).isEqualTo(i);
+    }
+
+    assertThat(table.lookupCount()).isEqualTo(10_100);
+    assertThat(table.avoidedLookupCount() + table.falsePositiveCount()).isEqualTo(10_000);
+    assertThat(table.observedFalsePositiveRate()).isLessThan(0.03);
+  }
+
+  @Test
+  void wrapping_a_filled_table_should_index_its_keys() {
+    SeparateChainingHashTable<String, Integer> delegate = new SeparateChainingHashTable<>();
+    delegate.put("A", 1);
+    delegate.put("B", null);
+
+    BloomFilteredHashTable<String, Integer> table = new BloomFilteredHashTable<>(delegate);
+
+    assertThat(table.get("A")).isEqualTo(1);
+    assertThat(table.containsKey("B")).isTrue();
+    assertThat(table.size()).isEqualTo(2);
+  }
+
+  @Test
+  void standard_filter_should_stay_correct_across_removals_and_rebuilds() {
+    BloomFilteredHashTable<Integer, Integer> table = new BloomFilteredHashTable<>(new SeparateChainingHashTable<>(),
+        0.01, BloomFilteredHashTable.FilterMode.STANDARD);
+    for (int round = 0; round < 5; round++) {
+      for (int i = 0; i < 1_000; i++) {
+        table.put(round * 1_000 + i, i);
+      }
+      for (int i = 0; i < 1_000; i++) {
+        assertThat(table.remove(round * 1_000 + i)).isEqualTo(i);
+      }
+    }
+    table.put(42, 42);
+
+    assertThat(table.size()).isEqualTo(1);
+    assertThat(table.get(42)).isEqualTo(42);
+    assertThat(table.containsKey(4_999)).isFalse();
+    assertThat(table.rebuildCount()).isPositive();
+  }
+
+  @Test
+  void constructor_should_reject_invalid_settings() {
+    assertThatThrownBy(() -> new BloomFilteredHashTable<String, Integer>(new SeparateChainingHashTable<>(), 1.5,
+        BloomFilteredHashTable.FilterMode.COUNTING)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new BloomFilteredHashTable<String, Integer>(null))
+        .isInstanceOf(NullPointerException.class);
+  }
+
+}
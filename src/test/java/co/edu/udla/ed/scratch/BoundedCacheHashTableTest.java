@@ -0,0 +1,127 @@
+package co.edu.udla.ed.scratch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.Test;
+
+import co.edu.udla.ed.api.HashTable;
+import co.edu.udla.ed.contract.AbstractHashTableContractTest;
+import co.edu.udla.ed.impl.scratch.BoundedCacheHashTable;
+import co.edu.udla.ed.impl.scratch.BoundedCacheHashTable.EvictionPolicy;
+
+class BoundedCacheHashTableTest extends AbstractHashTableContractTest {
+
+  @Override
+  protected HashTable<String, Integer> create() {
+    return new BoundedCacheHashTable<>(10_000, EvictionPolicy.TINY_LFU);
+  }
+
+  @Test
+  void constructor_should_reject_invalid_limits() {
+    assertThatThrownBy(() -> new BoundedCacheHashTable<String, Integer>(0))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new BoundedCacheHashTable<String, Integer>(10, -1, (k, v) -> 1, EvictionPolicy.LRU))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void lru_should_evict_the_least_recently_used_entry() {
+    BoundedCacheHashTable<String, Integer> cache = new BoundedCacheHashTable<>(3);
+    cache.put("A", 1);
+    cache.put("B", 2);
+    cache.put("C", 3);
+
+    cache.get("A");
+    cache.put("D", 4);
+
+    assertThat(cache.size()).isEqualTo(3);
+    assertThat(cache.containsKey("B")).isFalse();
+    assertThat(cache.containsKey("A")).isTrue();
+    assertThat(cache.evictionCount()).isEqualTo(1);
+  }
+
+  @Test
+  void weight_limit_should_evict_until_total_weight_fits() {
+    BoundedCacheHashTable<String, String> cache =
+        new BoundedCacheHashTable<>(100, 10, (key, value) -> value.length(), EvictionPolicy.LRU);
+    cache.put("A", "xxxx");
+    cache.put("B", "xxxx");
+    cache.put("C", "xxxx");
+
+    assertThat(cache.weightedSize()).isEqualTo(8);
+    assertThat(cache.containsKey("A")).isFalse();
+
+    cache.put("D", "x".repeat(11));
+    assertThat(cache.containsKey("D")).isFalse();
+    assertThat(cache.containsKey("B")).isTrue();
+    assertThat(cache.containsKey("C")).isTrue();
+    assertThat(cache.weightedSize()).isEqualTo(8);
+  }
+
+  @Test
+  void oversized_entry_should_not_flush_the_other_entries() {
+    for (EvictionPolicy policy : EvictionPolicy.values()) {
+      BoundedCacheHashTable<Integer, Integer> cache =
+          new BoundedCacheHashTable<>(1_000, 100, (key, value) -> value, policy);
+      for (int key = 0; key < 50; key++) {
+        cache.put(key, 1);
+      }
+
+      cache.put(999, 500);
+      assertThat(cache.size()).isEqualTo(50);
+      assertThat(cache.containsKey(999)).isFalse();
+      assertThat(cache.evictionCount()).isEqualTo(1);
+
+      // Una actualización que vuelve la entrada demasiado pesada solo la elimina a ella.
+      assertThat(cache.put(7, 101)).isEqualTo(1);
+      assertThat(cache.containsKey(7)).isFalse();
+      assertThat(cache.size()).isEqualTo(49);
+      assertThat(cache.weightedSize()).isEqualTo(49);
+      assertThat(cache.evictionCount()).isEqualTo(2);
+    }
+  }
+
+  @Test
+  void counters_should_track_hits_and_misses() {
+    BoundedCacheHashTable<String, Integer> cache = new BoundedCacheHashTable<>(10);
+    cache.put("A", 1);
+
+    cache.get("A");
+    cache.get("A");
+    cache.get("missing");
+    cache.containsKey("missing");
+
+    assertThat(cache.hitCount()).isEqualTo(2);
+    assertThat(cache.missCount()).isEqualTo(1);
+    assertThat(cache.hitRate()).isEqualTo(2.0 / 3.0);
+  }
+
+  @Test
+  void tiny_lfu_should_keep_frequent_keys_through_a_scan() {
+    BoundedCacheHashTable<Integer, Integer> lru = new BoundedCacheHashTable<>(100, EvictionPolicy.LRU);
+    BoundedCacheHashTable<Integer, Integer> tinyLfu = new BoundedCacheHashTable<>(100, EvictionPolicy.TINY_LFU);
+    for (BoundedCacheHashTable<Integer, Integer> cache : java.util.List.of(lru, tinyLfu)) {
+      for (int round = 0; round < 5; round++) {
+        for (int hot = 0; hot < 50; hot++) {
+          if (cache.get(hot) == null) {
+            cache.put(hot, hot);
+          }
+        }
+      }
+      for (int cold = 1_000; cold < 1_500; cold++) {
+        cache.put(cold, cold);
+      }
+    }
+
+    int lruHot = 0;
+    int tinyLfuHot = 0;
+    for (int hot = 0; hot < 50; hot++) {
+      lruHot += lru.containsKey(hot) ? 1 : 0;
+      tinyLfuHot += tinyLfu.containsKey(hot) ? 1 : 0;
+    }
+    assertThat(lruHot).isZero();
+    assertThat(tinyLfuHot).isEqualTo(50);
+    assertThat(tinyLfu.size()).isEqualTo(100);
+  }
+
+}
@@ -0,0 +1,176 @@
+package co.edu.udla.ed.scratch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+import co.edu.udla.ed.api.HashTable;
+import co.edu.udla.ed.contract.AbstractHashTableContractTest;
+import co.edu.udla.ed.impl.scratch.CopyOnWriteHashTable;
+
+class CopyOnWriteHashTableTest extends AbstractHashTableContractTest {
+
+  private static final int THREADS = 8;
+
+  @Override
+  protected HashTable<String, Integer> create() {
+    return new CopyOnWriteHashTable<>();
+  }
+
+  @Test
+  void constructor_should_reject_invalid_settings() {
+    assertThatThrownBy(() -> new CopyOnWriteHashTable<String, Integer>(0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void iterator_should_not_see_later_writes() {
+    CopyOnWriteHashTable<String, Integer> table = new CopyOnWriteHashTable<>();
+    table.put("A", 1);
+    table.put("B", 2);
+
+    Iterator<Map.Entry<String, Integer>> iterator = table.iterator();
+    table.put("C", 3);
+    table.remove("A");
+    table.clear();
+
+    List<String> keys = new ArrayList<>();
+    iterator.forEachRemaining(entry -> keys.add(entry.getKey()));
+    assertThat(keys).containsExactlyInAnyOrder("A", "B");
+  }
+
+  @Test
+  void update_should_publish_all_changes_or_none() {
+    CopyOnWriteHashTable<String, Integer> table = new CopyOnWriteHashTable<>();
+    table.put("A", 1);
+
+    table.update(batch -> {
+      batch.put("B", 2);
+      batch.remove("A");
+      batch.merge("B", 10, Integer::sum);
+    });
+
+    assertThat(table.size()).isEqualTo(1);
+    assertThat(table.get("B")).isEqualTo(12);
+
+    assertThatThrownBy(() -> table.update(batch -> {
+      batch.put("C", 3);
+      throw new IllegalArgumentException("rejected");
+    })).isInstanceOf(IllegalArgumentException.class);
+    assertThat(table.containsKey("C")).isFalse();
+    assertThat(table.size()).isEqualTo(1);
+  }
+
+  @Test
+  void batch_should_not_be_usable_after_the_update_or_modify_the_table_directly() {
+    CopyOnWriteHashTable<String, Integer> table = new CopyOnWriteHashTable<>();
+    AtomicReference<HashTable<String, Integer>> escaped = new AtomicReference<>();
+
+    table.update(escaped::set);
+
+    assertThatThrownBy(() -> escaped.get().put("A", 1)).isInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(() -> table.update(batch -> table.put("A", 1)))
+        .isInstanceOf(IllegalStateException.class);
+    assertThat(table.isEmpty()).isTrue();
+  }
+
+  @Test
+  void put_if_absent_and_compute_if_absent_should_keep_the_first_value() {
+    CopyOnWriteHashTable<String, Integer> table = new CopyOnWriteHashTable<>();
+
+    assertThat(table.putIfAbsent("A", 1)).isNull();
+    assertThat(table.putIfAbsent("A", 2)).isEqualTo(1);
+    assertThat(table.computeIfAbsent("B", key -> null)).isNull();
+    assertThat(table.computeIfAbsent("B", key -> 3)).isEqualTo(3);
+    assertThat(table.computeIfAbsent("B", key -> 4)).isEqualTo(3);
+    assertThat(table.size()).isEqualTo(2);
+  }
+
+  @Test
+  void readers_should_see_complete_batches_while_writers_publish() throws Exception {
+    CopyOnWriteHashTable<Integer, Integer> table = new CopyOnWriteHashTable<>();
+    int keyCount = 64;
+    table.update(batch -> {
+      for (int key = 0; key < keyCount; key++) {
+        batch.put(key, 0);
+      }
+    });
+    AtomicBoolean writing = new AtomicBoolean(true);
+
+    runConcurrently(thread -> {
+      if (thread == 0) {
+        for (int round = 1; round <= 2_000; round++) {
+          int value = round;
+          table.update(batch -> {
+            for (int key = 0; key < keyCount; key++) {
+              batch.put(key, value);
+            }
+          });
+        }
+        writing.set(false);
+        return;
+      }
+      int lastSeen = 0;
+      while (writing.get()) {
+        int first = -1;
+        for (Map.Entry<Integer, Integer> entry : table) {
+          if (first < 0) {
+            first = entry.getValue();
+          } else if (entry.getValue() != first) {
+            throw new AssertionError("Saw a partially applied batch");
+          }
+        }
+        int seen = table.get(0);
+        if (seen < lastSeen) {
+          throw new AssertionError("Went back to an older snapshot");
+        }
+        lastSeen = seen;
+      }
+    });
+
+    assertThat(table.get(keyCount - 1)).isEqualTo(2_000);
+  }
+
+  private interface Worker {
+    void run(int thread) throws Exception;
+  }
+
+  /**
+   * Starts {@link #THREADS} workers at the same moment and rethrows the first
+   * failure.
+   */
+  private static void runConcurrently(Worker worker) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    CountDownLatch start = new CountDownLatch(1);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int thread = 0; thread < THREADS; thread++) {
+        int id = thread;
+        futures.add(executor.submit(() -> {
+          start.await();
+          worker.run(id);
+          return null;
+        }));
+      }
+      start.countDown();
+      for (Future<?> future : futures) {
+        future.get(60, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+}
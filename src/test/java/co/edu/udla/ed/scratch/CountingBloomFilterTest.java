@@ -0,0 +1,69 @@
+package co.edu.udla.ed.scratch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.Test;
+
+import co.edu.udla.ed.impl.scratch.CountingBloomFilter;
+
+class CountingBloomFilterTest {
+
+  @Test
+  void removed_elements_should_no_longer_be_reported() {
+    CountingBloomFilter<Integer> filter = new CountingBloomFilter<>(1_000, 0.01);
+    for (int i = 0; i < 1_000; i++) {
+      filter.add(i);
+    }
+    for (int i = 0; i < 1_000; i += 2) {
+      filter.remove(i);
+    }
+
+    int stillReported = 0;
+    for (int i = 0; i < 1_000; i++) {
+      if (i % 2 == 1) {
+        assertThat(filter.mightContain(i)).isTrue();
+      } else if (filter.mightContain(i)) {
+        stillReported++;
+      }
+    }
+    assertThat(stillReported).isLessThan(25);
+    assertThat(filter.elementCount()).isEqualTo(500);
+  }
+
+  @Test
+  void an_element_added_twice_should_need_two_removals() {
+    CountingBloomFilter<String> filter = new CountingBloomFilter<>(100, 0.01);
+    filter.add("A");
+    filter.add("A");
+
+    filter.remove("A");
+    assertThat(filter.mightContain("A")).isTrue();
+
+    filter.remove("A");
+    assertThat(filter.mightContain("A")).isFalse();
+  }
+
+  @Test
+  void saturated_counters_should_not_cause_false_negatives() {
+    CountingBloomFilter<String> filter = new CountingBloomFilter<>(100, 0.01);
+    for (int i = 0; i < 20; i++) {
+      filter.add("hot");
+    }
+    filter.add("other");
+
+    for (int i = 0; i < 20; i++) {
+      filter.remove("hot");
+    }
+
+    assertThat(filter.mightContain("other")).isTrue();
+  }
+
+  @Test
+  void constructor_should_reject_invalid_settings() {
+    assertThatThrownBy(() -> new CountingBloomFilter<String>(-1, 0.01))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new CountingBloomFilter<String>(100, Double.NaN))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+}
@@ -0,0 +1,83 @@
+package co.edu.udla.ed.scratch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.Test;
+
+import co.edu.udla.ed.api.HashTable;
+import co.edu.udla.ed.contract.AbstractHashTableContractTest;
+import co.edu.udla.ed.impl.scratch.CuckooHashTable;
+
+class CuckooHashTableTest extends AbstractHashTableContractTest {
+
+  private static final class BadHashKey {
+    private final String id;
+
+    private BadHashKey(String id) {
+      this.id = id;
+    }
+
+    @Override
+    public int hashCode() {
+      return 1;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof BadHashKey other)) {
+        return false;
+      }
+      return id.equals(other.id);
+    }
+  }
+
+  @Override
+  protected HashTable<String, Integer> create() {
+    return new CuckooHashTable<>();
+  }
+
+  @Test
+  void constructor_should_reject_invalid_settings() {
+    assertThatThrownBy(() -> new CuckooHashTable<String, Integer>(0, 0.9))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new CuckooHashTable<String, Integer>(16, 1.0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void high_load_should_keep_every_key_reachable() {
+    CuckooHashTable<Integer, Integer> table = new CuckooHashTable<>(4, 0.95);
+    for (int i = 0; i < 50_000; i++) {
+      table.put(i, -i);
+    }
+    for (int i = 0; i < 50_000; i += 3) {
+      assertThat(table.remove(i)).isEqualTo(-i);
+    }
+
+    assertThat(table.size()).isEqualTo(33_333);
+    for (int i = 0; i < 50_000; i++) {
+      assertThat(table.get(i)).isEqualTo(i % 3 == 0 ? null : -i);
+    }
+  }
+
+  @Test
+  void identical_hash_codes_should_spill_into_the_stash() {
+    CuckooHashTable<BadHashKey, Integer> table = new CuckooHashTable<>();
+    for (int i = 0; i < 40; i++) {
+      table.put(new BadHashKey("K" + i), i);
+    }
+
+    assertThat(table.size()).isEqualTo(40);
+    for (int i = 0; i < 40; i++) {
+      assertThat(table.get(new BadHashKey("K" + i))).isEqualTo(i);
+    }
+    assertThat(table.remove(new BadHashKey("K0"))).isZero();
+    assertThat(table.remove(new BadHashKey("K39"))).isEqualTo(39);
+    assertThat(table.size()).isEqualTo(38);
+    assertThat(table.get(new BadHashKey("K20"))).isEqualTo(20);
+  }
+
+}
@@ -0,0 +1,14 @@
+package co.edu.udla.ed.scratch;
+
+import co.edu.udla.ed.api.IntObjectHashTable;
+import co.edu.udla.ed.contract.AbstractIntObjectHashTableContractTest;
+import co.edu.udla.ed.impl.scratch.LinearProbingIntObjectHashTable;
+
+class LinearProbingIntObjectHashTableTest extends AbstractIntObjectHashTableContractTest {
+
+  @Override
+  protected IntObjectHashTable<String> create() {
+    return new LinearProbingIntObjectHashTable<>();
+  }
+
+}
@@ -0,0 +1,14 @@
+package co.edu.udla.ed.scratch;
+
+import co.edu.udla.ed.api.LongLongHashTable;
+import co.edu.udla.ed.contract.AbstractLongLongHashTableContractTest;
+import co.edu.udla.ed.impl.scratch.LinearProbingLongLongHashTable;
+
+class LinearProbingLongLongHashTableTest extends AbstractLongLongHashTableContractTest {
+
+  @Override
+  protected LongLongHashTable create() {
+    return new LinearProbingLongLongHashTable(MISSING);
+  }
+
+}
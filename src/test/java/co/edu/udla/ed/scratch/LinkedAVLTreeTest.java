@@ -1,8 +1,17 @@
 package co.edu.udla.ed.scratch;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
 import co.edu.udla.ed.api.AVLTree;
 import co.edu.udla.ed.contract.AbstractAVLContractTest;
 import co.edu.udla.ed.impl.scratch.LinkedAVLTree;
+import co.edu.udla.ed.impl.scratch.LinkedAVLTree.UpdateMode;
 
 public class LinkedAVLTreeTest extends AbstractAVLContractTest {
 
@@ -11,4 +20,78 @@ public class LinkedAVLTreeTest extends AbstractAVLContractTest {
     return new LinkedAVLTree<>();
   }
 
+  @Test
+  void iterative_updates_should_build_the_same_tree_as_recursive_updates() {
+    Random random = new Random(20L);
+    LinkedAVLTree<Integer> iterative = new LinkedAVLTree<>(UpdateMode.ITERATIVE);
+    LinkedAVLTree<Integer> recursive = new LinkedAVLTree<>(UpdateMode.RECURSIVE);
+    for (int i = 0; i < 20_000; i++) {
+      int value = random.nextInt(2_000);
+      if (random.nextInt(3) == 0) {
+        assertThat(iterative.remove(value)).isEqualTo(recursive.remove(value));
+      } else {
+        iterative.insert(value);
+        recursive.insert(value);
+      }
+      assertThat(iterative.height()).isEqualTo(recursive.height());
+    }
+
+    assertThat(iterative.size()).isEqualTo(recursive.size());
+    assertThat(iterative.inOrder()).isEqualTo(recursive.inOrder());
+  }
+
+  @Test
+  void sequential_inserts_should_stay_balanced() {
+    LinkedAVLTree<Integer> avl = new LinkedAVLTree<>();
+    for (int i = 1; i <= 1_023; i++) {
+      avl.insert(i);
+    }
+
+    assertThat(avl.height()).isEqualTo(10);
+
+    for (int i = 1; i <= 1_023; i += 2) {
+      assertThat(avl.remove(i)).isTrue();
+    }
+    assertThat(avl.size()).isEqualTo(511);
+    assertThat(avl.height()).isLessThanOrEqualTo(9);
+  }
+
+  @Test
+  void buildFromSorted_should_build_a_valid_avl_tree() {
+    LinkedAVLTree<Integer> avl = new LinkedAVLTree<>();
+    List<Integer> values = new ArrayList<>();
+    for (int i = 0; i < 1_500; i++) {
+      values.add(i * 3);
+    }
+
+    avl.buildFromSorted(values);
+
+    assertThat(avl.size()).isEqualTo(1_500);
+    assertThat(avl.height()).isEqualTo(11);
+    assertThat(avl.inOrder()).isEqualTo(values);
+    assertThat(avl.select(1_000)).isEqualTo(3_000);
+
+    for (int i = 0; i < 1_500; i += 2) {
+      avl.remove(i * 3);
+      avl.insert(i * 3 + 1);
+    }
+    assertThat(avl.size()).isEqualTo(1_500);
+    assertThat(avl.height()).isLessThanOrEqualTo(15);
+    assertThat(avl.rank(1_501)).isEqualTo(500);
+  }
+
+  @Test
+  void buildFromSorted_should_reject_unsorted_values_and_keep_the_tree() {
+    LinkedAVLTree<Integer> avl = new LinkedAVLTree<>();
+    avl.insert(5);
+
+    assertThatThrownBy(() -> avl.buildFromSorted(List.of(3, 2)))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThat(avl.inOrder()).containsExactly(5);
+
+    avl.buildFromSorted(List.of());
+    assertThat(avl.isEmpty()).isTrue();
+    assertThat(avl.height()).isZero();
+  }
+
 }
@@ -1,5 +1,13 @@
 package co.edu.udla.ed.scratch;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
 import co.edu.udla.ed.api.BinarySearchTree;
 import co.edu.udla.ed.contract.AbstractBSTContractTest;
 import co.edu.udla.ed.impl.scratch.LinkedBinarySearchTree;
@@ -11,4 +19,47 @@ public class LinkedBinarySearchTreeTest extends AbstractBSTContractTest {
     return new LinkedBinarySearchTree<>();
   }
 
+  @Test
+  void buildFromSorted_should_build_a_balanced_tree() {
+    LinkedBinarySearchTree<Integer> bst = new LinkedBinarySearchTree<>();
+    List<Integer> values = new ArrayList<>();
+    for (int i = 1; i <= 1_000; i++) {
+      values.add(i);
+    }
+
+    bst.buildFromSorted(values);
+
+    assertThat(bst.size()).isEqualTo(1_000);
+    assertThat(bst.height()).isEqualTo(10);
+    assertThat(bst.inOrder()).isEqualTo(values);
+    assertThat(bst.select(499)).isEqualTo(500);
+    assertThat(bst.rank(750)).isEqualTo(749);
+  }
+
+  @Test
+  void buildFromSorted_should_replace_contents_and_keep_accepting_updates() {
+    LinkedBinarySearchTree<Integer> bst = new LinkedBinarySearchTree<>();
+    bst.insert(42);
+
+    bst.buildFromSorted(IntStream.rangeClosed(1, 7).boxed()::iterator);
+    bst.insert(8);
+    bst.remove(4);
+
+    assertThat(bst.contains(42)).isFalse();
+    assertThat(bst.inOrder()).containsExactly(1, 2, 3, 5, 6, 7, 8);
+    assertThat(bst.countInRange(2, 6)).isEqualTo(4);
+  }
+
+  @Test
+  void buildFromSorted_should_reject_unsorted_values_and_keep_the_tree() {
+    LinkedBinarySearchTree<Integer> bst = new LinkedBinarySearchTree<>();
+    bst.insert(1);
+
+    assertThatThrownBy(() -> bst.buildFromSorted(List.of(1, 3, 2)))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> bst.buildFromSorted(List.of(1, 1)))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThat(bst.inOrder()).containsExactly(1);
+  }
+
 }
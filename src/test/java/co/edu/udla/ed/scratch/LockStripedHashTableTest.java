@@ -0,0 +1,148 @@
+package co.edu.udla.ed.scratch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+import co.edu.udla.ed.api.HashTable;
+import co.edu.udla.ed.contract.AbstractHashTableContractTest;
+import co.edu.udla.ed.impl.scratch.LockStripedHashTable;
+
+class LockStripedHashTableTest extends AbstractHashTableContractTest {
+
+  private static final int THREADS = 8;
+
+  @Override
+  protected HashTable<String, Integer> create() {
+    return new LockStripedHashTable<>();
+  }
+
+  @Test
+  void constructor_should_reject_invalid_settings() {
+    assertThatThrownBy(() -> new LockStripedHashTable<String, Integer>(0, 0.75, 4))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new LockStripedHashTable<String, Integer>(16, 0.0, 4))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new LockStripedHashTable<String, Integer>(16, 0.75, 0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void put_if_absent_should_keep_the_first_value() {
+    LockStripedHashTable<String, Integer> table = new LockStripedHashTable<>();
+
+    assertThat(table.putIfAbsent("A", 1)).isNull();
+    assertThat(table.putIfAbsent("A", 2)).isEqualTo(1);
+    assertThat(table.get("A")).isEqualTo(1);
+    assertThat(table.size()).isEqualTo(1);
+  }
+
+  @Test
+  void compute_if_absent_should_skip_null_results_and_fill_null_values() {
+    LockStripedHashTable<String, Integer> table = new LockStripedHashTable<>();
+
+    assertThat(table.computeIfAbsent("A", key -> null)).isNull();
+    assertThat(table.containsKey("A")).isFalse();
+
+    table.put("B", null);
+    assertThat(table.computeIfAbsent("B", key -> 2)).isEqualTo(2);
+    assertThat(table.computeIfAbsent("B", key -> 3)).isEqualTo(2);
+    assertThat(table.size()).isEqualTo(1);
+  }
+
+  @Test
+  void concurrent_writers_and_readers_should_not_lose_updates() throws Exception {
+    LockStripedHashTable<Integer, Integer> table = new LockStripedHashTable<>(2, 0.75, 4);
+    int keysPerThread = 20_000;
+
+    runConcurrently(thread -> {
+      int base = thread * keysPerThread;
+      for (int i = 0; i < keysPerThread; i++) {
+        table.put(base + i, i);
+        if (table.get(base + i) == null) {
+          throw new AssertionError("Key " + (base + i) + " vanished after put");
+        }
+        if (i % 3 == 0) {
+          table.remove(base + i);
+        }
+      }
+    });
+
+    int expected = 0;
+    for (int thread = 0; thread < THREADS; thread++) {
+      for (int i = 0; i < keysPerThread; i++) {
+        int key = thread * keysPerThread + i;
+        boolean removed = i % 3 == 0;
+        assertThat(table.containsKey(key)).isEqualTo(!removed);
+        if (!removed) {
+          assertThat(table.get(key)).isEqualTo(i);
+          expected++;
+        }
+      }
+    }
+    assertThat(table.size()).isEqualTo(expected);
+  }
+
+  @Test
+  void compute_if_absent_should_run_once_per_key_under_contention() throws Exception {
+    LockStripedHashTable<Integer, Integer> table = new LockStripedHashTable<>();
+    AtomicInteger calls = new AtomicInteger();
+    int keyCount = 1_000;
+
+    runConcurrently(thread -> {
+      for (int i = 0; i < keyCount; i++) {
+        int key = (i + thread * 37) % keyCount;
+        Integer value = table.computeIfAbsent(key, k -> {
+          calls.incrementAndGet();
+          return k * 2;
+        });
+        if (value != key * 2) {
+          throw new AssertionError("Unexpected value " + value + " for key " + key);
+        }
+      }
+    });
+
+    assertThat(calls.get()).isEqualTo(keyCount);
+    assertThat(table.size()).isEqualTo(keyCount);
+  }
+
+  private interface Worker {
+    void run(int thread) throws Exception;
+  }
+
+  /**
+   * Starts {@link #THREADS} workers at the same moment and rethrows the first
+   * failure.
+   */
+  private static void runConcurrently(Worker worker) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    CountDownLatch start = new CountDownLatch(1);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int thread = 0; thread < THREADS; thread++) {
+        int id = thread;
+        futures.add(executor.submit(() -> {
+          start.await();
+          worker.run(id);
+          return null;
+        }));
+      }
+      start.countDown();
+      for (Future<?> future : futures) {
+        future.get(60, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+}
@@ -0,0 +1,206 @@
+package co.edu.udla.ed.scratch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import co.edu.udla.ed.api.Codec;
+import co.edu.udla.ed.api.HashTable;
+import co.edu.udla.ed.contract.AbstractHashTableContractTest;
+import co.edu.udla.ed.impl.scratch.MemoryMappedHashTable;
+
+class MemoryMappedHashTableTest extends AbstractHashTableContractTest {
+
+  private final List<MemoryMappedHashTable<String, Integer>> created = new ArrayList<>();
+
+  @Override
+  protected HashTable<String, Integer> create() {
+    try {
+      MemoryMappedHashTable<String, Integer> table = open(newTablePath());
+      created.add(table);
+      return table;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @AfterEach
+  void closeCreatedTables() throws IOException {
+    for (MemoryMappedHashTable<String, Integer> table : created) {
+      table.close();
+    }
+  }
+
+  @Test
+  void reopen_should_restore_the_last_snapshot() throws IOException {
+    Path path = newTablePath();
+    try (MemoryMappedHashTable<String, Integer> table = open(path)) {
+      for (int i = 0; i < 5_000; i++) {
+        table.put("key-" + i, i);
+      }
+      table.remove("key-7");
+      table.put(null, -1);
+      table.put("null-value", null);
+    }
+
+    try (MemoryMappedHashTable<String, Integer> table = open(path)) {
+      assertThat(table.size()).isEqualTo(5_001);
+      assertThat(table.get("key-4999")).isEqualTo(4_999);
+      assertThat(table.containsKey("key-7")).isFalse();
+      assertThat(table.get(null)).isEqualTo(-1);
+      assertThat(table.containsKey("null-value")).isTrue();
+      assertThat(table.get("null-value")).isNull();
+    }
+  }
+
+  @Test
+  void changes_after_the_last_snapshot_should_be_discarded_on_reopen() throws IOException {
+    Path path = newTablePath();
+    MemoryMappedHashTable<String, Integer> crashed = open(path);
+    crashed.put("A", 1);
+    crashed.put("B", 2);
+    crashed.snapshot();
+
+    crashed.put("A", 10);
+    crashed.remove("B");
+    crashed.put("C", 3);
+    crashed.clear();
+    crashed.put("D", 4);
+    // Simulates a crash: the table is abandoned without close() or snapshot().
+
+    try (MemoryMappedHashTable<String, Integer> table = open(path)) {
+      assertThat(table.size()).isEqualTo(2);
+      assertThat(table.get("A")).isEqualTo(1);
+      assertThat(table.get("B")).isEqualTo(2);
+      assertThat(table.containsKey("C")).isFalse();
+      assertThat(table.containsKey("D")).isFalse();
+    }
+  }
+
+  @Test
+  void a_torn_header_write_should_fall_back_to_the_previous_snapshot() throws IOException {
+    Path path = newTablePath();
+    try (MemoryMappedHashTable<String, Integer> table = open(path)) {
+      table.put("A", 1);
+      table.snapshot();
+      table.put("B", 2);
+    }
+
+    // The data file starts with two 64-byte header slots; the generation is
+    // the long at offset 8. Damage the slot holding the newest one.
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      ByteBuffer headers = ByteBuffer.allocate(128);
+      channel.read(headers, 0);
+      int newest = headers.getLong(8) > headers.getLong(64 + 8) ? 0 : 64;
+      channel.write(ByteBuffer.wrap(new byte[] {1, 2, 3, 4}), newest + 16);
+    }
+
+    try (MemoryMappedHashTable<String, Integer> table = open(path)) {
+      assertThat(table.size()).isEqualTo(1);
+      assertThat(table.get("A")).isEqualTo(1);
+      assertThat(table.containsKey("B")).isFalse();
+    }
+  }
+
+  @Test
+  void a_zero_filled_data_file_should_open_as_an_empty_table() throws IOException {
+    Path path = newTablePath();
+    // What a crash leaves when the first open has mapped the file but not yet
+    // written its header.
+    Files.write(path, new byte[1 << 16]);
+
+    try (MemoryMappedHashTable<String, Integer> table = open(path)) {
+      assertThat(table.isEmpty()).isTrue();
+      table.put("A", 1);
+    }
+
+    try (MemoryMappedHashTable<String, Integer> table = open(path)) {
+      assertThat(table.get("A")).isEqualTo(1);
+    }
+  }
+
+  @Test
+  void snapshot_should_compact_an_overwritten_log() throws IOException {
+    Path path = newTablePath();
+    try (MemoryMappedHashTable<String, Integer> table = open(path)) {
+      for (int round = 0; round < 50; round++) {
+        for (int i = 0; i < 1_000; i++) {
+          table.put("key-" + i, round * 1_000 + i);
+        }
+      }
+      long before = Files.size(path);
+      table.snapshot();
+
+      assertThat(Files.size(path)).isLessThan(before);
+      assertThat(table.size()).isEqualTo(1_000);
+      assertThat(table.get("key-999")).isEqualTo(49_999);
+
+      table.put("after", 1);
+    }
+
+    try (MemoryMappedHashTable<String, Integer> table = open(path)) {
+      assertThat(table.size()).isEqualTo(1_001);
+      assertThat(table.get("key-0")).isEqualTo(49_000);
+      assertThat(table.get("after")).isEqualTo(1);
+    }
+  }
+
+  @Test
+  void multibyte_string_keys_should_round_trip() throws IOException {
+    Path path = newTablePath();
+    String[] keys = {"ñandú", "€", "😀", "a߿bࠀc"};
+    try (MemoryMappedHashTable<String, Integer> table = open(path)) {
+      for (int i = 0; i < keys.length; i++) {
+        table.put(keys[i], i);
+      }
+    }
+
+    try (MemoryMappedHashTable<String, Integer> table = open(path)) {
+      assertThat(table.size()).isEqualTo(keys.length);
+      for (int i = 0; i < keys.length; i++) {
+        assertThat(table.get(keys[i])).isEqualTo(i);
+      }
+    }
+  }
+
+  @Test
+  void closed_table_should_reject_operations() throws IOException {
+    MemoryMappedHashTable<String, Integer> table = open(newTablePath());
+    table.close();
+
+    assertThatThrownBy(() -> table.get("A")).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void open_should_reject_a_file_that_is_not_a_table() throws IOException {
+    Path path = newTablePath();
+    Files.writeString(path, "x".repeat(100));
+
+    assertThatThrownBy(() -> open(path)).isInstanceOf(IOException.class);
+  }
+
+  private static MemoryMappedHashTable<String, Integer> open(Path path) throws IOException {
+    return MemoryMappedHashTable.open(path, Codec.utf8(), Codec.int32());
+  }
+
+  private static Path newTablePath() throws IOException {
+    Path directory = Files.createTempDirectory("mmap-hash-table");
+    directory.toFile().deleteOnExit();
+    Path path = directory.resolve("table.dat");
+    path.toFile().deleteOnExit();
+    directory.resolve("table.dat.index").toFile().deleteOnExit();
+    return path;
+  }
+
+}
@@ -0,0 +1,85 @@
+package co.edu.udla.ed.scratch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import co.edu.udla.ed.api.Codec;
+import co.edu.udla.ed.api.HashTable;
+import co.edu.udla.ed.contract.AbstractHashTableContractTest;
+import co.edu.udla.ed.impl.scratch.OffHeapHashTable;
+
+class OffHeapHashTableTest extends AbstractHashTableContractTest {
+
+  private final List<OffHeapHashTable<String, Integer>> created = new ArrayList<>();
+
+  @Override
+  protected HashTable<String, Integer> create() {
+    OffHeapHashTable<String, Integer> table = new OffHeapHashTable<>(Codec.utf8(), Codec.int32());
+    created.add(table);
+    return table;
+  }
+
+  @AfterEach
+  void closeCreatedTables() {
+    for (OffHeapHashTable<String, Integer> table : created) {
+      table.close();
+    }
+  }
+
+  @Test
+  void constructor_should_reject_invalid_settings() {
+    assertThatThrownBy(() -> new OffHeapHashTable<>(0, 0.75, Codec.int64(), Codec.int64()))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new OffHeapHashTable<>(16, 1.0, Codec.int64(), Codec.int64()))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void fixed_width_entries_should_survive_resizes_and_removals() {
+    try (OffHeapHashTable<Long, Long> table = new OffHeapHashTable<>(2, 0.75, Codec.int64(), Codec.int64())) {
+      for (long i = 0; i < 10_000; i++) {
+        table.put(i, i * 3);
+      }
+      for (long i = 0; i < 10_000; i += 2) {
+        assertThat(table.remove(i)).isEqualTo(i * 3);
+      }
+      table.put(null, 7L);
+      table.put(1L, null);
+
+      assertThat(table.size()).isEqualTo(5_001);
+      assertThat(table.get(9_999L)).isEqualTo(29_997L);
+      assertThat(table.containsKey(4L)).isFalse();
+      assertThat(table.get(null)).isEqualTo(7L);
+      assertThat(table.containsKey(1L)).isTrue();
+      assertThat(table.get(1L)).isNull();
+    }
+  }
+
+  @Test
+  void growing_values_should_reclaim_replaced_records() {
+    try (OffHeapHashTable<String, String> table = new OffHeapHashTable<>(Codec.utf8(), Codec.utf8())) {
+      for (int round = 1; round <= 20; round++) {
+        for (int i = 0; i < 100; i++) {
+          table.put("key-" + i, "v".repeat(round));
+        }
+      }
+
+      assertThat(table.get("key-42")).isEqualTo("v".repeat(20));
+      assertThat(table.offHeapBytes()).isLessThan(20 * 100 * 30);
+    }
+  }
+
+  @Test
+  void closed_table_should_reject_operations() {
+    OffHeapHashTable<Long, Long> table = new OffHeapHashTable<>(Codec.int64(), Codec.int64());
+    table.close();
+
+    assertThatThrownBy(() -> table.put(1L, 1L)).isInstanceOf(IllegalStateException.class);
+  }
+
+}
@@ -0,0 +1,15 @@
+package co.edu.udla.ed.scratch;
+
+import co.edu.udla.ed.api.AVLTree;
+import co.edu.udla.ed.contract.AbstractAVLContractTest;
+import co.edu.udla.ed.impl.scratch.LinkedAVLTree;
+import co.edu.udla.ed.impl.scratch.LinkedAVLTree.UpdateMode;
+
+class RecursiveLinkedAVLTreeTest extends AbstractAVLContractTest {
+
+  @Override
+  protected AVLTree<Integer> create() {
+    return new LinkedAVLTree<>(UpdateMode.RECURSIVE);
+  }
+
+}
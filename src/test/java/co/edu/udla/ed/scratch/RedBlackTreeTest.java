@@ -0,0 +1,79 @@
+package co.edu.udla.ed.scratch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import co.edu.udla.ed.api.BinarySearchTree;
+import co.edu.udla.ed.contract.AbstractBSTContractTest;
+import co.edu.udla.ed.impl.scratch.RedBlackTree;
+
+class RedBlackTreeTest extends AbstractBSTContractTest {
+
+  @Override
+  protected BinarySearchTree<Integer> create() {
+    return new RedBlackTree<>();
+  }
+
+  @Test
+  void sequential_inserts_should_keep_height_logarithmic() {
+    RedBlackTree<Integer> tree = new RedBlackTree<>();
+    for (int i = 0; i < 4_095; i++) {
+      tree.insert(i);
+    }
+
+    // Un árbol rojo-negro con n nodos mide como mucho 2 log2(n + 1).
+    assertThat(tree.height()).isLessThanOrEqualTo(24);
+
+    for (int i = 0; i < 4_095; i += 2) {
+      tree.remove(i);
+    }
+    assertThat(tree.size()).isEqualTo(2_047);
+    assertThat(tree.height()).isLessThanOrEqualTo(22);
+  }
+
+  @Test
+  void random_updates_should_match_a_sorted_set() {
+    RedBlackTree<Integer> tree = new RedBlackTree<>();
+    TreeSet<Integer> expected = new TreeSet<>();
+    Random random = new Random(24L);
+    for (int i = 0; i < 20_000; i++) {
+      int value = random.nextInt(1_000);
+      if (random.nextBoolean()) {
+        tree.insert(value);
+        expected.add(value);
+      } else {
+        assertThat(tree.remove(value)).isEqualTo(expected.remove(value));
+      }
+    }
+
+    List<Integer> descending = new ArrayList<>();
+    tree.descendingIterator().forEachRemaining(descending::add);
+    assertThat(tree.inOrder()).isEqualTo(new ArrayList<>(expected));
+    assertThat(descending).isEqualTo(new ArrayList<>(expected.descendingSet()));
+    assertThat(tree.size()).isEqualTo(expected.size());
+    assertThat(tree.height()).isLessThanOrEqualTo(20);
+  }
+
+  @Test
+  void updates_should_need_at_most_two_or_three_rotations() {
+    RedBlackTree<Integer> tree = new RedBlackTree<>();
+    Random random = new Random(7L);
+    for (int i = 0; i < 20_000; i++) {
+      int value = random.nextInt(5_000);
+      long before = tree.rotationCount();
+      if (random.nextBoolean()) {
+        tree.insert(value);
+        assertThat(tree.rotationCount() - before).isLessThanOrEqualTo(2);
+      } else {
+        tree.remove(value);
+        assertThat(tree.rotationCount() - before).isLessThanOrEqualTo(3);
+      }
+    }
+  }
+
+}
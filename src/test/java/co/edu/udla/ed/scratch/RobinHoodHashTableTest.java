@@ -0,0 +1,113 @@
+package co.edu.udla.ed.scratch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.Test;
+
+import co.edu.udla.ed.api.HashTable;
+import co.edu.udla.ed.contract.AbstractHashTableContractTest;
+import co.edu.udla.ed.impl.scratch.RobinHoodHashTable;
+
+class RobinHoodHashTableTest extends AbstractHashTableContractTest {
+
+  private static final class BadHashKey {
+    private final String id;
+
+    private BadHashKey(String id) {
+      this.id = id;
+    }
+
+    @Override
+    public int hashCode() {
+      return 1;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof BadHashKey other)) {
+        return false;
+      }
+      return id.equals(other.id);
+    }
+  }
+
+  @Override
+  protected HashTable<String, Integer> create() {
+    return new RobinHoodHashTable<>();
+  }
+
+  @Test
+  void collisions_should_keep_all_values_accessible() {
+    RobinHoodHashTable<BadHashKey, Integer> table = new RobinHoodHashTable<>(2);
+
+    BadHashKey a = new BadHashKey("A");
+    BadHashKey b = new BadHashKey("B");
+    BadHashKey c = new BadHashKey("C");
+
+    table.put(a, 10);
+    table.put(b, 20);
+    table.put(c, 30);
+
+    assertThat(table.get(a)).isEqualTo(10);
+    assertThat(table.get(b)).isEqualTo(20);
+    assertThat(table.get(c)).isEqualTo(30);
+    assertThat(table.remove(b)).isEqualTo(20);
+    assertThat(table.get(a)).isEqualTo(10);
+    assertThat(table.get(c)).isEqualTo(30);
+    assertThat(table.containsKey(b)).isFalse();
+  }
+
+  @Test
+  void resizing_should_preserve_entries() {
+    RobinHoodHashTable<Integer, String> table = new RobinHoodHashTable<>(2);
+
+    for (int i = 0; i < 100; i++) {
+      table.put(i, "V" + i);
+    }
+
+    assertThat(table.size()).isEqualTo(100);
+    for (int i = 0; i < 100; i++) {
+      assertThat(table.get(i)).isEqualTo("V" + i);
+    }
+  }
+
+  @Test
+  void backward_shift_deletion_should_keep_remaining_keys_reachable() {
+    RobinHoodHashTable<Integer, Integer> table = new RobinHoodHashTable<>(64, 0.9);
+
+    for (int i = 0; i < 50; i++) {
+      table.put(i * 64, i);
+    }
+    for (int i = 0; i < 50; i += 2) {
+      assertThat(table.remove(i * 64)).isEqualTo(i);
+    }
+
+    assertThat(table.size()).isEqualTo(25);
+    for (int i = 0; i < 50; i++) {
+      assertThat(table.containsKey(i * 64)).isEqualTo(i % 2 == 1);
+    }
+  }
+
+  @Test
+  void null_keys_and_values_should_be_supported() {
+    RobinHoodHashTable<String, Integer> table = new RobinHoodHashTable<>();
+
+    table.put(null, 1);
+    table.put("A", null);
+
+    assertThat(table.get(null)).isEqualTo(1);
+    assertThat(table.containsKey("A")).isTrue();
+    assertThat(table.remove(null)).isEqualTo(1);
+    assertThat(table.containsKey(null)).isFalse();
+  }
+
+  @Test
+  void load_factor_must_leave_a_free_slot() {
+    assertThatThrownBy(() -> new RobinHoodHashTable<String, Integer>(16, 1.0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+}
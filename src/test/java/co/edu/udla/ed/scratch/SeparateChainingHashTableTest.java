@@ -1,10 +1,17 @@
 package co.edu.udla.ed.scratch;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
 import org.junit.jupiter.api.Test;
 
 import co.edu.udla.ed.api.HashTable;
 import co.edu.udla.ed.contract.AbstractHashTableContractTest;
+import co.edu.udla.ed.impl.scratch.HashTableStats;
 import co.edu.udla.ed.impl.scratch.SeparateChainingHashTable;
 
 class SeparateChainingHashTableTest extends AbstractHashTableContractTest {
@@ -33,6 +40,35 @@ class SeparateChainingHashTableTest extends AbstractHashTableContractTest {
     }
   }
 
+  private static final class ComparableBadHashKey implements Comparable<ComparableBadHashKey> {
+    private final int id;
+
+    private ComparableBadHashKey(int id) {
+      this.id = id;
+    }
+
+    @Override
+    public int compareTo(ComparableBadHashKey other) {
+      return Integer.compare(id, other.id);
+    }
+
+    @Override
+    public int hashCode() {
+      return 1;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof ComparableBadHashKey other)) {
+        return false;
+      }
+      return id == other.id;
+    }
+  }
+
   @Override
   protected HashTable<String, Integer> create() {
     return new SeparateChainingHashTable<>();
@@ -72,4 +108,303 @@ class SeparateChainingHashTableTest extends AbstractHashTableContractTest {
     }
   }
 
+  @Test
+  void long_collision_chains_should_survive_treeify_and_untreeify() {
+    SeparateChainingHashTable<BadHashKey, Integer> table = new SeparateChainingHashTable<>();
+
+    for (int i = 0; i < 40; i++) {
+      table.put(new BadHashKey("K" + i), i);
+    }
+    for (int i = 0; i < 37; i++) {
+      assertThat(table.remove(new BadHashKey("K" + i))).isEqualTo(i);
+    }
+
+    assertThat(table.size()).isEqualTo(3);
+    assertThat(table.get(new BadHashKey("K37"))).isEqualTo(37);
+    assertThat(table.get(new BadHashKey("K39"))).isEqualTo(39);
+    assertThat(table.containsKey(new BadHashKey("K0"))).isFalse();
+  }
+
+  @Test
+  void comparable_colliding_keys_should_stay_accessible_in_tree_bins() {
+    SeparateChainingHashTable<ComparableBadHashKey, Integer> table = new SeparateChainingHashTable<>();
+
+    for (int i = 0; i < 1_000; i++) {
+      table.put(new ComparableBadHashKey(i), i);
+    }
+    assertThat(table.put(new ComparableBadHashKey(500), -1)).isEqualTo(500);
+    for (int i = 0; i < 1_000; i += 2) {
+      table.remove(new ComparableBadHashKey(i));
+    }
+
+    assertThat(table.size()).isEqualTo(500);
+    for (int i = 0; i < 1_000; i++) {
+      assertThat(table.containsKey(new ComparableBadHashKey(i))).isEqualTo(i % 2 == 1);
+    }
+    assertThat(table.get(new ComparableBadHashKey(999))).isEqualTo(999);
+  }
+
+  @Test
+  void incremental_resizing_should_keep_entries_reachable_during_migration() {
+    SeparateChainingHashTable<Integer, String> table =
+        new SeparateChainingHashTable<>(2, 0.75, SeparateChainingHashTable.ResizeMode.INCREMENTAL);
+
+    for (int i = 0; i < 500; i++) {
+      table.put(i, "V" + i);
+      assertThat(table.get(i / 2)).isEqualTo("V" + (i / 2));
+    }
+    for (int i = 0; i < 500; i += 3) {
+      assertThat(table.remove(i)).isEqualTo("V" + i);
+    }
+
+    assertThat(table.size()).isEqualTo(333);
+    for (int i = 0; i < 500; i++) {
+      assertThat(table.containsKey(i)).isEqualTo(i % 3 != 0);
+    }
+  }
+
+  @Test
+  void incremental_draining_should_never_finish_a_migration_inside_one_removal() {
+    for (double loadFactor : new double[] {0.75, 0.3}) {
+      SeparateChainingHashTable<Integer, Integer> table = new SeparateChainingHashTable<>(16, loadFactor,
+          SeparateChainingHashTable.ResizeMode.INCREMENTAL);
+      for (int i = 0; i < 4_000; i++) {
+        table.put(i, i);
+      }
+      table.resetStatistics();
+
+      // A removal migrates a fixed number of buckets holding about one entry
+      // each; finishing a whole pending migration would move hundreds.
+      long maxRehashedPerRemoval = 2 * (long) Math.ceil(8 / loadFactor);
+      for (int i = 0; i < 4_000; i++) {
+        long before = table.stats().rehashedEntryCount();
+        assertThat(table.remove(i)).isEqualTo(i);
+        assertThat(table.stats().rehashedEntryCount() - before).isLessThanOrEqualTo(maxRehashedPerRemoval);
+      }
+
+      assertThat(table.isEmpty()).isTrue();
+      assertThat(table.stats().resizeCount()).isGreaterThan(1);
+    }
+  }
+
+  @Test
+  void spliterator_should_split_by_buckets_across_tree_bins_and_migration() {
+    SeparateChainingHashTable<Object, Integer> table =
+        new SeparateChainingHashTable<>(2, 0.75, SeparateChainingHashTable.ResizeMode.INCREMENTAL);
+    for (int i = 0; i < 20; i++) {
+      table.put(new BadHashKey("C" + i), i);
+    }
+    for (int i = 0; i < 300; i++) {
+      table.put(i, i);
+    }
+
+    List<Spliterator<Map.Entry<Object, Integer>>> parts = new ArrayList<>();
+    parts.add(table.spliterator());
+    for (int round = 0; round < 4; round++) {
+      List<Spliterator<Map.Entry<Object, Integer>>> next = new ArrayList<>();
+      for (Spliterator<Map.Entry<Object, Integer>> part : parts) {
+        Spliterator<Map.Entry<Object, Integer>> lower = part.trySplit();
+        if (lower != null) {
+          next.add(lower);
+        }
+        next.add(part);
+      }
+      parts = next;
+    }
+
+    Set<Object> keys = new HashSet<>();
+    for (Spliterator<Map.Entry<Object, Integer>> part : parts) {
+      part.forEachRemaining(entry -> assertThat(keys.add(entry.getKey())).isTrue());
+    }
+    assertThat(parts.size()).isGreaterThan(1);
+    assertThat(keys).hasSize(320);
+  }
+
+  @Test
+  void put_all_from_another_chained_table_should_keep_collisions_reachable() {
+    SeparateChainingHashTable<Object, Integer> source = new SeparateChainingHashTable<>();
+    for (int i = 0; i < 20; i++) {
+      source.put(new BadHashKey("C" + i), i);
+      source.put(i, i);
+    }
+    SeparateChainingHashTable<Object, Integer> target =
+        new SeparateChainingHashTable<>(2, 0.75, SeparateChainingHashTable.ResizeMode.INCREMENTAL);
+    target.put(0, -1);
+
+    target.putAll(source);
+
+    assertThat(target.size()).isEqualTo(40);
+    assertThat(target.get(0)).isEqualTo(0);
+    assertThat(target.get(new BadHashKey("C19"))).isEqualTo(19);
+  }
+
+  @Test
+  void iterator_entries_should_write_through() {
+    SeparateChainingHashTable<String, Integer> table = new SeparateChainingHashTable<>();
+    table.put("A", 1);
+
+    for (Map.Entry<String, Integer> entry : table) {
+      entry.setValue(entry.getValue() + 1);
+    }
+
+    assertThat(table.get("A")).isEqualTo(2);
+  }
+
+  @Test
+  void power_of_two_indexing_should_round_the_bucket_count() {
+    SeparateChainingHashTable<String, Integer> table = new SeparateChainingHashTable<>(10, 0.75,
+        SeparateChainingHashTable.ResizeMode.ALL_AT_ONCE, SeparateChainingHashTable.IndexingMode.POWER_OF_TWO);
+
+    assertThat(table.chainLengthHistogram()).containsExactly(16);
+  }
+
+  @Test
+  void power_of_two_indexing_should_spread_keys_with_weak_low_bits() {
+    SeparateChainingHashTable<Integer, Integer> modulo = new SeparateChainingHashTable<>();
+    SeparateChainingHashTable<Integer, Integer> mixed = new SeparateChainingHashTable<>(16, 0.75,
+        SeparateChainingHashTable.ResizeMode.ALL_AT_ONCE, SeparateChainingHashTable.IndexingMode.POWER_OF_TWO);
+    for (int i = 0; i < 1_000; i++) {
+      modulo.put(i << 16, i);
+      mixed.put(i << 16, i);
+    }
+
+    int[] moduloHistogram = modulo.chainLengthHistogram();
+    int[] mixedHistogram = mixed.chainLengthHistogram();
+    assertThat(moduloHistogram[moduloHistogram.length - 1]).isEqualTo(1);
+    assertThat(moduloHistogram.length - 1).isEqualTo(1_000);
+    assertThat(mixedHistogram.length - 1).isLessThan(10);
+    for (int i = 0; i < 1_000; i++) {
+      assertThat(mixed.get(i << 16)).isEqualTo(i);
+    }
+  }
+
+  @Test
+  void stats_should_report_layout_resizes_and_probes() {
+    SeparateChainingHashTable<Object, Integer> table = new SeparateChainingHashTable<>(4, 1.0);
+    for (int i = 0; i < 8; i++) {
+      table.put(i, i);
+    }
+    table.put(new BadHashKey("X"), 100);
+    table.put(new BadHashKey("Y"), 200);
+
+    HashTableStats stats = table.stats();
+    assertThat(stats.size()).isEqualTo(10);
+    assertThat(stats.bucketCount()).isEqualTo(16);
+    assertThat(stats.resizeCount()).isEqualTo(2);
+    assertThat(stats.rehashedEntryCount()).isEqualTo(4 + 8);
+    assertThat(stats.maxChainLength()).isEqualTo(3);
+    assertThat(stats.chainLengthHistogram()).containsExactly(8, 7, 0, 1);
+    assertThat(stats.getCount()).isZero();
+
+    table.get(5);
+    assertThat(table.stats().getCount()).isZero();
+
+    table.setStatisticsEnabled(true);
+    table.get(5);
+    table.get(new BadHashKey("X"));
+    table.get(new BadHashKey("missing"));
+
+    stats = table.stats();
+    assertThat(stats.getCount()).isEqualTo(3);
+    assertThat(stats.averageProbesPerGet()).isEqualTo((1 + 2 + 3) / 3.0);
+
+    table.resetStatistics();
+    assertThat(table.stats().getCount()).isZero();
+    assertThat(table.stats().resizeCount()).isZero();
+  }
+
+  @Test
+  void updating_existing_keys_at_the_threshold_should_not_resize() {
+    SeparateChainingHashTable<Integer, Integer> table = new SeparateChainingHashTable<>(4, 1.0);
+    for (int i = 0; i < 4; i++) {
+      table.put(i, i);
+    }
+
+    table.put(0, 10);
+    table.merge(1, 1, Integer::sum);
+    table.compute(2, (key, value) -> value * 2);
+    table.computeIfAbsent(3, key -> -1);
+
+    assertThat(table.stats().resizeCount()).isZero();
+    assertThat(table.stats().bucketCount()).isEqualTo(4);
+    assertThat(table.get(0)).isEqualTo(10);
+    assertThat(table.get(1)).isEqualTo(2);
+    assertThat(table.get(2)).isEqualTo(4);
+    assertThat(table.get(3)).isEqualTo(3);
+
+    table.merge(4, 4, Integer::sum);
+    assertThat(table.stats().resizeCount()).isEqualTo(1);
+    assertThat(table.get(4)).isEqualTo(4);
+  }
+
+  @Test
+  void removals_should_shrink_the_table_down_to_its_initial_capacity() {
+    SeparateChainingHashTable<Integer, Integer> table = new SeparateChainingHashTable<>(16, 0.75);
+    for (int i = 0; i < 10_000; i++) {
+      table.put(i, i);
+    }
+    assertThat(table.stats().bucketCount()).isEqualTo(16_384);
+
+    for (int i = 0; i < 9_995; i++) {
+      table.remove(i);
+    }
+
+    assertThat(table.stats().bucketCount()).isEqualTo(16);
+    assertThat(table.size()).isEqualTo(5);
+    for (int i = 9_995; i < 10_000; i++) {
+      assertThat(table.get(i)).isEqualTo(i);
+    }
+  }
+
+  @Test
+  void alternating_put_and_remove_at_a_boundary_should_not_resize_repeatedly() {
+    SeparateChainingHashTable<Integer, Integer> table = new SeparateChainingHashTable<>(4, 1.0);
+    for (int i = 0; i <= 64; i++) {
+      table.put(i, i);
+    }
+    table.resetStatistics();
+
+    for (int round = 0; round < 1_000; round++) {
+      table.remove(64);
+      table.put(64, 64);
+    }
+
+    assertThat(table.stats().resizeCount()).isZero();
+    assertThat(table.stats().bucketCount()).isEqualTo(128);
+  }
+
+  @Test
+  void trim_to_size_should_fit_the_current_entries() {
+    SeparateChainingHashTable<Integer, Integer> table = new SeparateChainingHashTable<>(1_024, 0.75);
+    for (int i = 0; i < 30; i++) {
+      table.put(i, i);
+    }
+
+    table.trimToSize();
+
+    assertThat(table.stats().bucketCount()).isEqualTo(40);
+    assertThat(table.size()).isEqualTo(30);
+    assertThat(table.get(29)).isEqualTo(29);
+
+    table.put(30, 30);
+    assertThat(table.stats().bucketCount()).isEqualTo(80);
+  }
+
+  @Test
+  void clear_should_restore_the_initial_capacity() {
+    SeparateChainingHashTable<Integer, Integer> table = new SeparateChainingHashTable<>(8, 0.75,
+        SeparateChainingHashTable.ResizeMode.INCREMENTAL, SeparateChainingHashTable.IndexingMode.POWER_OF_TWO);
+    for (int i = 0; i < 1_000; i++) {
+      table.put(i, i);
+    }
+
+    table.clear();
+
+    assertThat(table.stats().bucketCount()).isEqualTo(8);
+    assertThat(table.isEmpty()).isTrue();
+    table.put(1, 1);
+    assertThat(table.get(1)).isEqualTo(1);
+    assertThat(table.get(999)).isNull();
+  }
+
 }